@@ -0,0 +1,110 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.api.cmdb.pojo;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * CMDB changes after a version.
+ *
+ * @author nacos
+ */
+public class ChangeFeed {
+    
+    private long version;
+    
+    private long timestamp;
+    
+    private List<Entity> updatedEntities = new ArrayList<>();
+    
+    private List<Entity> removedEntities = new ArrayList<>();
+    
+    private List<Label> updatedLabels = new ArrayList<>();
+    
+    private Set<String> removedLabels = new HashSet<>();
+    
+    /**
+     * Version of the last change in this feed.
+     *
+     * @return version
+     */
+    public long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(long version) {
+        this.version = version;
+    }
+    
+    /**
+     * Time when the last change in this feed happened in CMDB.
+     *
+     * @return timestamp in milliseconds
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+    
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+    
+    public List<Entity> getUpdatedEntities() {
+        return updatedEntities;
+    }
+    
+    public void setUpdatedEntities(List<Entity> updatedEntities) {
+        this.updatedEntities = updatedEntities;
+    }
+    
+    /**
+     * Removed entities, only type and name are required.
+     *
+     * @return removed entities
+     */
+    public List<Entity> getRemovedEntities() {
+        return removedEntities;
+    }
+    
+    public void setRemovedEntities(List<Entity> removedEntities) {
+        this.removedEntities = removedEntities;
+    }
+    
+    public List<Label> getUpdatedLabels() {
+        return updatedLabels;
+    }
+    
+    public void setUpdatedLabels(List<Label> updatedLabels) {
+        this.updatedLabels = updatedLabels;
+    }
+    
+    public Set<String> getRemovedLabels() {
+        return removedLabels;
+    }
+    
+    public void setRemovedLabels(Set<String> removedLabels) {
+        this.removedLabels = removedLabels;
+    }
+    
+    public boolean isEmpty() {
+        return updatedEntities.isEmpty() && removedEntities.isEmpty() && updatedLabels.isEmpty() && removedLabels
+                .isEmpty();
+    }
+}
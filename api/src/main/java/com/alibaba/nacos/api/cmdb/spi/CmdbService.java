@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.api.cmdb.spi;
 
+import com.alibaba.nacos.api.cmdb.pojo.ChangeFeed;
 import com.alibaba.nacos.api.cmdb.pojo.Entity;
 import com.alibaba.nacos.api.cmdb.pojo.EntityEvent;
 import com.alibaba.nacos.api.cmdb.pojo.Label;
@@ -96,4 +97,33 @@ public interface CmdbService {
      * @return entity.
      */
     Entity getEntity(String entityName, String entityType);
+    
+    /**
+     * Whether the change feed is supported. If supported, labels and entities are synchronized by {@link
+     * #getChanges(long)} instead of periodical full dump.
+     *
+     * @return true if supported
+     */
+    default boolean isChangeFeedSupported() {
+        return false;
+    }
+    
+    /**
+     * Get version of the latest change in CMDB, called before a full dump to start the change feed.
+     *
+     * @return latest version
+     */
+    default long getLatestVersion() {
+        return 0L;
+    }
+    
+    /**
+     * Get the changes after the version. Only the latest state of each changed label or entity is required.
+     *
+     * @param version version of the last applied change
+     * @return changes after the version, or null if the changes are no longer retained and a full dump is required
+     */
+    default ChangeFeed getChanges(long version) {
+        return null;
+    }
 }
@@ -96,6 +96,21 @@ public interface NamingService {
      */
     void registerInstance(String serviceName, String groupName, Instance instance) throws NacosException;
     
+    /**
+     * batch register instances to service with specified instance properties.
+     *
+     * <p>The instances replace all ephemeral instances this client registered to the service before.
+     *
+     * @param serviceName name of service
+     * @param groupName   group of service
+     * @param instances   instances to register
+     * @throws NacosException nacos exception, thrown by default if the implementation does not support batch register
+     */
+    default void batchRegisterInstance(String serviceName, String groupName, List<Instance> instances)
+            throws NacosException {
+        throw new NacosException(NacosException.SERVER_ERROR, "Batch register instance is not supported.");
+    }
+    
     /**
      * deregister instance from a service.
      *
@@ -160,6 +175,19 @@ public interface NamingService {
      */
     void deregisterInstance(String serviceName, String groupName, Instance instance) throws NacosException;
     
+    /**
+     * batch deregister instances from a service.
+     *
+     * @param serviceName name of service
+     * @param groupName   group of service
+     * @param instances   instances to deregister
+     * @throws NacosException nacos exception, thrown by default if the implementation does not support batch deregister
+     */
+    default void batchDeregisterInstance(String serviceName, String groupName, List<Instance> instances)
+            throws NacosException {
+        throw new NacosException(NacosException.SERVER_ERROR, "Batch deregister instance is not supported.");
+    }
+    
     /**
      * get all instances of a service.
      *
@@ -28,6 +28,10 @@ public class NamingRemoteConstants {
     
     public static final String DE_REGISTER_INSTANCE = "deregisterInstance";
     
+    public static final String BATCH_REGISTER_INSTANCE = "batchRegisterInstance";
+    
+    public static final String BATCH_DE_REGISTER_INSTANCE = "batchDeregisterInstance";
+    
     public static final String QUERY_SERVICE = "queryService";
     
     public static final String SUBSCRIBE_SERVICE = "subscribeService";
@@ -0,0 +1,59 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.api.naming.remote.request;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+
+import java.util.List;
+
+/**
+ * Nacos batch instances request, register or deregister a set of instances of one service in one request.
+ *
+ * @author nacos
+ */
+public class BatchInstanceRequest extends AbstractNamingRequest {
+    
+    private String type;
+    
+    private List<Instance> instances;
+    
+    public BatchInstanceRequest() {
+    }
+    
+    public BatchInstanceRequest(String namespace, String serviceName, String groupName, String type,
+            List<Instance> instances) {
+        super(namespace, serviceName, groupName);
+        this.type = type;
+        this.instances = instances;
+    }
+    
+    public void setType(String type) {
+        this.type = type;
+    }
+    
+    public String getType() {
+        return this.type;
+    }
+    
+    public void setInstances(List<Instance> instances) {
+        this.instances = instances;
+    }
+    
+    public List<Instance> getInstances() {
+        return instances;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark;
+
+import com.alibaba.nacos.sys.env.Constants;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Prepare the static environment that server components otherwise get from the Spring context.
+ *
+ * <p>The node runs in standalone mode with a temporary nacos home, so the benchmarks neither need a cluster nor touch
+ * the real nacos home of the machine.
+ *
+ * @author nacos
+ */
+public final class BenchmarkEnvironment {
+    
+    private static boolean initialized = false;
+    
+    private BenchmarkEnvironment() {
+    }
+    
+    /**
+     * Initialize {@link EnvUtil} once per JVM.
+     */
+    public static synchronized void init() {
+        if (initialized) {
+            return;
+        }
+        try {
+            System.setProperty(EnvUtil.NACOS_HOME_KEY, Files.createTempDirectory("nacos-benchmark").toString());
+        } catch (IOException e) {
+            throw new IllegalStateException("create temporary nacos home failed", e);
+        }
+        System.setProperty(Constants.STANDALONE_MODE_PROPERTY_NAME, "true");
+        EnvUtil.setEnvironment(new StandardEnvironment());
+        initialized = true;
+    }
+}
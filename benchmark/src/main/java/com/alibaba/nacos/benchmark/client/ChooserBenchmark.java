@@ -0,0 +1,108 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.client;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.benchmark.data.NamingDataGenerator;
+import com.alibaba.nacos.client.naming.core.Balancer;
+import com.alibaba.nacos.client.naming.utils.Chooser;
+import com.alibaba.nacos.client.naming.utils.Pair;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import com.alibaba.nacos.naming.utils.InstanceUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark the weighted random selection of the client: {@link Balancer.RandomByWeight#selectHost(ServiceInfo)} as
+ * used by {@code selectOneHealthyInstance}, and {@link Chooser} on its own.
+ *
+ * @author nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChooserBenchmark {
+    
+    @Param({"8", "128"})
+    private int instanceCount;
+    
+    private ServiceInfo serviceInfo;
+    
+    private List<Pair<Instance>> instancesWithWeight;
+    
+    private Chooser<String, Instance> chooser;
+    
+    /**
+     * Build a service with generated instances.
+     */
+    @Setup
+    public void setUp() {
+        NamingDataGenerator generator = new NamingDataGenerator();
+        Service service = generator.services(1).get(0);
+        List<Instance> instances = new ArrayList<>(instanceCount);
+        instancesWithWeight = new ArrayList<>(instanceCount);
+        for (int i = 0; i < instanceCount; i++) {
+            Instance instance = InstanceUtil.parseToApiInstance(service, generator.instance());
+            instance.setWeight(1 + i % 3);
+            instances.add(instance);
+            instancesWithWeight.add(new Pair<>(instance, instance.getWeight()));
+        }
+        serviceInfo = new ServiceInfo(service.getGroupedServiceName(), "");
+        serviceInfo.setHosts(instances);
+        chooser = new Chooser<>(service.getGroupedServiceName());
+        chooser.refresh(instancesWithWeight);
+    }
+    
+    @Benchmark
+    public Instance balancerSelectHost() {
+        return Balancer.RandomByWeight.selectHost(serviceInfo);
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public Instance chooserRandomWithWeight() {
+        return chooser.randomWithWeight();
+    }
+    
+    /**
+     * Rebuild the weighted chooser as the client does on every service change.
+     */
+    @Benchmark
+    public Chooser<String, Instance> chooserRefresh() {
+        Chooser<String, Instance> result = new Chooser<>("benchmark");
+        result.refresh(instancesWithWeight);
+        return result;
+    }
+}
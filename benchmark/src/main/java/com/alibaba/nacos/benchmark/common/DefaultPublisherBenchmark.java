@@ -0,0 +1,117 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.common;
+
+import com.alibaba.nacos.common.notify.DefaultPublisher;
+import com.alibaba.nacos.common.notify.Event;
+import com.alibaba.nacos.common.notify.listener.Subscriber;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Benchmark {@link DefaultPublisher#publish(Event)} with several producers and subscribers.
+ *
+ * <p>Once the queue is full the producer delivers the event itself, so the sustained throughput is bounded by the
+ * subscribers as in the server.
+ *
+ * @author nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DefaultPublisherBenchmark {
+    
+    @Param({"16384"})
+    private int bufferSize;
+    
+    @Param({"1", "8"})
+    private int subscriberCount;
+    
+    private DefaultPublisher publisher;
+    
+    private final LongAdder received = new LongAdder();
+    
+    /**
+     * Start a publisher with counting subscribers.
+     */
+    @Setup
+    public void setUp() {
+        publisher = new DefaultPublisher();
+        publisher.init(BenchmarkEvent.class, bufferSize);
+        for (int i = 0; i < subscriberCount; i++) {
+            publisher.addSubscriber(new CountingSubscriber(received));
+        }
+    }
+    
+    @TearDown
+    public void tearDown() {
+        publisher.shutdown();
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public boolean publish() {
+        return publisher.publish(new BenchmarkEvent());
+    }
+    
+    @Benchmark
+    public void publishSingleProducer(Blackhole blackhole) {
+        blackhole.consume(publisher.publish(new BenchmarkEvent()));
+    }
+    
+    public static class BenchmarkEvent extends Event {
+        
+        private static final long serialVersionUID = -5461217735512208424L;
+    }
+    
+    private static class CountingSubscriber extends Subscriber<BenchmarkEvent> {
+        
+        private final LongAdder received;
+        
+        CountingSubscriber(LongAdder received) {
+            this.received = received;
+        }
+        
+        @Override
+        public void onEvent(BenchmarkEvent event) {
+            received.increment();
+        }
+        
+        @Override
+        public Class<? extends Event> subscribeType() {
+            return BenchmarkEvent.class;
+        }
+    }
+}
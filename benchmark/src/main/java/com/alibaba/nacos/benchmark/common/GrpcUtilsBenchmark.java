@@ -0,0 +1,134 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.common;
+
+import com.alibaba.nacos.api.config.remote.request.ConfigPublishRequest;
+import com.alibaba.nacos.api.grpc.auto.Payload;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.NamingRemoteConstants;
+import com.alibaba.nacos.api.naming.remote.request.InstanceRequest;
+import com.alibaba.nacos.api.naming.remote.response.QueryServiceResponse;
+import com.alibaba.nacos.api.remote.PayloadRegistry;
+import com.alibaba.nacos.benchmark.data.ConfigDataGenerator;
+import com.alibaba.nacos.benchmark.data.NamingDataGenerator;
+import com.alibaba.nacos.common.remote.client.grpc.GrpcUtils;
+import com.alibaba.nacos.config.server.model.ConfigInfo;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import com.alibaba.nacos.naming.utils.InstanceUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark the conversion between models and grpc payloads in {@link GrpcUtils}, for an instance register, a config
+ * publish and a service query response.
+ *
+ * @author nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GrpcUtilsBenchmark {
+    
+    @Param({"8", "128"})
+    private int instanceCount;
+    
+    private InstanceRequest instanceRequest;
+    
+    private ConfigPublishRequest configPublishRequest;
+    
+    private QueryServiceResponse queryServiceResponse;
+    
+    private Payload instanceRequestPayload;
+    
+    private Payload configPublishRequestPayload;
+    
+    private Payload queryServiceResponsePayload;
+    
+    /**
+     * Build the models from the generated datasets.
+     */
+    @Setup
+    public void setUp() {
+        PayloadRegistry.init();
+        NamingDataGenerator namingGenerator = new NamingDataGenerator();
+        Service service = namingGenerator.services(1).get(0);
+        List<Instance> instances = new ArrayList<>(instanceCount);
+        for (int i = 0; i < instanceCount; i++) {
+            instances.add(InstanceUtil.parseToApiInstance(service, namingGenerator.instance()));
+        }
+        instanceRequest = new InstanceRequest(service.getNamespace(), service.getName(), service.getGroup(),
+                NamingRemoteConstants.REGISTER_INSTANCE, instances.get(0));
+        ServiceInfo serviceInfo = new ServiceInfo(service.getGroupedServiceName(), "");
+        serviceInfo.setHosts(instances);
+        queryServiceResponse = QueryServiceResponse.buildSuccessResponse(serviceInfo);
+        
+        ConfigInfo config = new ConfigDataGenerator().config(0, 0);
+        configPublishRequest = new ConfigPublishRequest(config.getDataId(), config.getGroup(), config.getTenant(),
+                config.getContent());
+        
+        instanceRequestPayload = GrpcUtils.convert(instanceRequest);
+        configPublishRequestPayload = GrpcUtils.convert(configPublishRequest);
+        queryServiceResponsePayload = GrpcUtils.convert(queryServiceResponse);
+    }
+    
+    @Benchmark
+    public Payload convertInstanceRequest() {
+        return GrpcUtils.convert(instanceRequest);
+    }
+    
+    @Benchmark
+    public Payload convertConfigPublishRequest() {
+        return GrpcUtils.convert(configPublishRequest);
+    }
+    
+    @Benchmark
+    public Payload convertQueryServiceResponse() {
+        return GrpcUtils.convert(queryServiceResponse);
+    }
+    
+    @Benchmark
+    public Object parseInstanceRequest() {
+        return GrpcUtils.parse(instanceRequestPayload);
+    }
+    
+    @Benchmark
+    public Object parseConfigPublishRequest() {
+        return GrpcUtils.parse(configPublishRequestPayload);
+    }
+    
+    @Benchmark
+    public Object parseQueryServiceResponse() {
+        return GrpcUtils.parse(queryServiceResponsePayload);
+    }
+}
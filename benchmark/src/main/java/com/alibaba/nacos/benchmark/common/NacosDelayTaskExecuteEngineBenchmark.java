@@ -0,0 +1,106 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.common;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.common.task.AbstractDelayTask;
+import com.alibaba.nacos.common.task.engine.NacosDelayTaskExecuteEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark {@link NacosDelayTaskExecuteEngine#addTask(Object, AbstractDelayTask)}, both adding new keys and merging
+ * into pending ones, while the engine keeps processing in the background like the push and sync engines do.
+ *
+ * @author nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NacosDelayTaskExecuteEngineBenchmark {
+    
+    /**
+     * Few keys means almost every task is merged, many keys means most tasks are new.
+     */
+    @Param({"16", "10000"})
+    private int keyCount;
+    
+    private NacosDelayTaskExecuteEngine engine;
+    
+    private String[] keys;
+    
+    /**
+     * Start an engine whose processor accepts every task.
+     */
+    @Setup
+    public void setUp() {
+        engine = new NacosDelayTaskExecuteEngine("nacos.benchmark.delay.task");
+        engine.setDefaultTaskProcessor(task -> true);
+        keys = new String[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = "public##DEFAULT_GROUP@@service-" + i;
+        }
+    }
+    
+    @TearDown
+    public void tearDown() throws NacosException {
+        engine.shutdown();
+    }
+    
+    @Benchmark
+    public void addTask() {
+        engine.addTask(keys[ThreadLocalRandom.current().nextInt(keys.length)], new BenchmarkDelayTask());
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public void addTaskConcurrently() {
+        engine.addTask(keys[ThreadLocalRandom.current().nextInt(keys.length)], new BenchmarkDelayTask());
+    }
+    
+    private static class BenchmarkDelayTask extends AbstractDelayTask {
+        
+        private int mergedCount = 1;
+        
+        BenchmarkDelayTask() {
+            setTaskInterval(100L);
+            setLastProcessTime(System.currentTimeMillis());
+        }
+        
+        @Override
+        public void merge(AbstractDelayTask task) {
+            mergedCount += ((BenchmarkDelayTask) task).mergedCount;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.config;
+
+import com.alibaba.nacos.benchmark.BenchmarkEnvironment;
+import com.alibaba.nacos.benchmark.data.ConfigDataGenerator;
+import com.alibaba.nacos.common.notify.NotifyCenter;
+import com.alibaba.nacos.config.server.model.ConfigInfo;
+import com.alibaba.nacos.config.server.model.event.LocalDataChangeEvent;
+import com.alibaba.nacos.config.server.service.ConfigCacheService;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark the md5 lookups done by every listener check and the dump done by every config change in
+ * {@link ConfigCacheService}.
+ *
+ * <p>With {@code directRead} the dump only updates the in-memory md5 like an embedded standalone node, otherwise the
+ * content is also written to the local disk cache.
+ *
+ * @author nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ConfigCacheServiceBenchmark {
+    
+    private static final int CHANGE_POOL_SIZE = 1024;
+    
+    @Param({"100000"})
+    private int configCount;
+    
+    @Param({"true", "false"})
+    private boolean directRead;
+    
+    private String[] groupKeys;
+    
+    private String[] md5s;
+    
+    private ConfigInfo[][] changes;
+    
+    private int changeCursor;
+    
+    /**
+     * Dump the generated dataset, and prepare two new revisions of a sample of it so that every measured dump really
+     * changes the md5. The dataset must not be smaller than the sample.
+     */
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.init();
+        PropertyUtil.setEmbeddedStorage(directRead);
+        NotifyCenter.registerToPublisher(LocalDataChangeEvent.class, 16384);
+        ConfigDataGenerator generator = new ConfigDataGenerator();
+        groupKeys = new String[configCount];
+        md5s = new String[configCount];
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < configCount; i++) {
+            ConfigInfo config = generator.config(i, 0);
+            ConfigCacheService.dump(config.getDataId(), config.getGroup(), config.getTenant(), config.getContent(),
+                    now, config.getType());
+            groupKeys[i] = GroupKey2.getKey(config.getDataId(), config.getGroup(), config.getTenant());
+            md5s[i] = ConfigCacheService.getContentMd5(groupKeys[i]);
+        }
+        // Distinct configs spread over the dataset, so that each dump of a round changes its config
+        changes = new ConfigInfo[CHANGE_POOL_SIZE][];
+        for (int i = 0; i < CHANGE_POOL_SIZE; i++) {
+            int index = (int) ((long) i * configCount / CHANGE_POOL_SIZE);
+            changes[i] = new ConfigInfo[] {generator.config(index, 1), generator.config(index, 2)};
+        }
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public String getContentMd5() {
+        return ConfigCacheService.getContentMd5(groupKeys[ThreadLocalRandom.current().nextInt(groupKeys.length)]);
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public boolean isUptodate() {
+        int index = ThreadLocalRandom.current().nextInt(groupKeys.length);
+        return ConfigCacheService.isUptodate(groupKeys[index], md5s[index], "127.0.0.1", null);
+    }
+    
+    /**
+     * Dump the next prepared revision, alternating between the two revisions of each sampled config.
+     */
+    @Benchmark
+    public boolean dump() {
+        int cursor = changeCursor++ & Integer.MAX_VALUE;
+        ConfigInfo config = changes[cursor % CHANGE_POOL_SIZE][cursor / CHANGE_POOL_SIZE & 1];
+        return ConfigCacheService.dump(config.getDataId(), config.getGroup(), config.getTenant(),
+                config.getContent(), System.currentTimeMillis(), config.getType());
+    }
+}
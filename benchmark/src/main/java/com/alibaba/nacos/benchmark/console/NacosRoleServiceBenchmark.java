@@ -0,0 +1,235 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.console;
+
+import com.alibaba.nacos.auth.common.AuthConfigs;
+import com.alibaba.nacos.auth.model.Permission;
+import com.alibaba.nacos.benchmark.BenchmarkEnvironment;
+import com.alibaba.nacos.config.server.auth.PermissionInfo;
+import com.alibaba.nacos.config.server.auth.PermissionPersistService;
+import com.alibaba.nacos.config.server.auth.RoleInfo;
+import com.alibaba.nacos.config.server.auth.RolePersistService;
+import com.alibaba.nacos.config.server.model.Page;
+import com.alibaba.nacos.console.security.nacos.roles.NacosRoleServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark {@link NacosRoleServiceImpl#hasPermission(String, Permission)}, which runs on every authenticated request
+ * when auth is enabled, with the role and permission caches loaded from an in-memory store.
+ *
+ * @author nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NacosRoleServiceBenchmark {
+    
+    private static final int USER_COUNT = 1000;
+    
+    private static final int REQUEST_COUNT = 4096;
+    
+    @Param({"200"})
+    private int roleCount;
+    
+    @Param({"10"})
+    private int permissionsPerRole;
+    
+    private NacosRoleServiceImpl roleService;
+    
+    private String[] usernames;
+    
+    private Permission[] permissions;
+    
+    /**
+     * Generate users, roles and permissions, and load them into the caches of the role service.
+     */
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.init();
+        AuthConfigs.setCachingEnabled(true);
+        Random random = new Random(roleCount);
+        List<RoleInfo> roles = new ArrayList<>();
+        usernames = new String[USER_COUNT];
+        for (int i = 0; i < USER_COUNT; i++) {
+            usernames[i] = "user-" + i;
+            int userRoleCount = 1 + random.nextInt(3);
+            for (int j = 0; j < userRoleCount; j++) {
+                roles.add(roleInfo("role-" + random.nextInt(roleCount), usernames[i]));
+            }
+        }
+        roles.add(roleInfo(NacosRoleServiceImpl.GLOBAL_ADMIN_ROLE, "nacos"));
+        Map<String, List<PermissionInfo>> rolePermissions = new HashMap<>(roleCount);
+        for (int i = 0; i < roleCount; i++) {
+            List<PermissionInfo> permissionInfos = new ArrayList<>(permissionsPerRole);
+            for (int j = 0; j < permissionsPerRole; j++) {
+                String resource = random.nextBoolean() ? "tenant-" + random.nextInt(64) + ":*:*"
+                        : "tenant-" + random.nextInt(64) + ":group-" + random.nextInt(16) + ":config/*";
+                permissionInfos.add(permissionInfo("role-" + i, resource, random.nextBoolean() ? "r" : "rw"));
+            }
+            rolePermissions.put("role-" + i, permissionInfos);
+        }
+        
+        roleService = new NacosRoleServiceImpl();
+        setField("authConfigs", new AuthConfigs());
+        setField("rolePersistService", new InMemoryRolePersistService(roles));
+        setField("permissionPersistService", new InMemoryPermissionPersistService(rolePermissions));
+        Method reload = ReflectionUtils.findMethod(NacosRoleServiceImpl.class, "reload");
+        ReflectionUtils.makeAccessible(reload);
+        ReflectionUtils.invokeMethod(reload, roleService);
+        
+        permissions = new Permission[REQUEST_COUNT];
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            String resource = "tenant-" + random.nextInt(64) + ":group-" + random.nextInt(16) + ":config/data-" + i;
+            permissions[i] = new Permission(resource, random.nextInt(4) == 0 ? "w" : "r");
+        }
+    }
+    
+    /**
+     * Check a permission of a random user against the cached roles and permissions.
+     */
+    @Benchmark
+    @Threads(4)
+    public boolean hasPermission() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return roleService.hasPermission(usernames[random.nextInt(USER_COUNT)],
+                permissions[random.nextInt(REQUEST_COUNT)]);
+    }
+    
+    @Benchmark
+    public boolean hasPermissionGlobalAdmin() {
+        return roleService.hasPermission("nacos", permissions[ThreadLocalRandom.current().nextInt(REQUEST_COUNT)]);
+    }
+    
+    private void setField(String name, Object value) {
+        Field field = ReflectionUtils.findField(NacosRoleServiceImpl.class, name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, roleService, value);
+    }
+    
+    private static RoleInfo roleInfo(String role, String username) {
+        RoleInfo result = new RoleInfo();
+        result.setRole(role);
+        result.setUsername(username);
+        return result;
+    }
+    
+    private static PermissionInfo permissionInfo(String role, String resource, String action) {
+        PermissionInfo result = new PermissionInfo();
+        result.setRole(role);
+        result.setResource(resource);
+        result.setAction(action);
+        return result;
+    }
+    
+    private static <E> Page<E> page(List<E> items) {
+        Page<E> result = new Page<>();
+        result.setPageNumber(1);
+        result.setPagesAvailable(1);
+        result.setTotalCount(items.size());
+        result.setPageItems(items);
+        return result;
+    }
+    
+    private static class InMemoryRolePersistService implements RolePersistService {
+        
+        private final List<RoleInfo> roles;
+        
+        InMemoryRolePersistService(List<RoleInfo> roles) {
+            this.roles = roles;
+        }
+        
+        @Override
+        public Page<RoleInfo> getRoles(int pageNo, int pageSize) {
+            return page(roles);
+        }
+        
+        @Override
+        public Page<RoleInfo> getRolesByUserName(String username, int pageNo, int pageSize) {
+            return page(roles);
+        }
+        
+        @Override
+        public void addRole(String role, String userName) {
+            throw new UnsupportedOperationException();
+        }
+        
+        @Override
+        public void deleteRole(String role) {
+            throw new UnsupportedOperationException();
+        }
+        
+        @Override
+        public void deleteRole(String role, String username) {
+            throw new UnsupportedOperationException();
+        }
+        
+        @Override
+        public List<String> findRolesLikeRoleName(String role) {
+            return Collections.emptyList();
+        }
+    }
+    
+    private static class InMemoryPermissionPersistService implements PermissionPersistService {
+        
+        private final Map<String, List<PermissionInfo>> rolePermissions;
+        
+        InMemoryPermissionPersistService(Map<String, List<PermissionInfo>> rolePermissions) {
+            this.rolePermissions = rolePermissions;
+        }
+        
+        @Override
+        public Page<PermissionInfo> getPermissions(String role, int pageNo, int pageSize) {
+            return page(rolePermissions.getOrDefault(role, Collections.emptyList()));
+        }
+        
+        @Override
+        public void addPermission(String role, String resource, String action) {
+            throw new UnsupportedOperationException();
+        }
+        
+        @Override
+        public void deletePermission(String role, String resource, String action) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.core;
+
+import com.alibaba.nacos.core.remote.control.ClientIpMonitorKey;
+import com.alibaba.nacos.core.remote.control.ConnectionIdMonitorKey;
+import com.alibaba.nacos.core.remote.control.MonitorKey;
+import com.alibaba.nacos.core.remote.control.MonitorType;
+import com.alibaba.nacos.core.remote.control.TpsControlRule;
+import com.alibaba.nacos.core.remote.control.TpsMonitorPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark {@link TpsMonitorPoint#applyTps(String, List)}, which runs on every grpc request of a monitored point.
+ *
+ * <p>The rules only monitor, so every request passes and the cost is the matching against the monitor key rules.
+ *
+ * @author nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TpsMonitorPointBenchmark {
+    
+    private static final int CONNECTION_COUNT = 4096;
+    
+    @Param({"0", "16"})
+    private int monitorKeyRuleCount;
+    
+    private TpsMonitorPoint tpsMonitorPoint;
+    
+    private String[] connectionIds;
+    
+    private List<List<MonitorKey>> monitorKeys;
+    
+    /**
+     * Apply the rules and prepare the monitor keys of the connections.
+     */
+    @Setup
+    public void setUp() {
+        tpsMonitorPoint = new TpsMonitorPoint("ConfigQuery");
+        TpsControlRule rule = new TpsControlRule();
+        rule.setPointName("ConfigQuery");
+        rule.setPointRule(new TpsControlRule.Rule(Long.MAX_VALUE, TimeUnit.SECONDS, TpsControlRule.Rule.MODEL_FUZZY,
+                MonitorType.MONITOR.getType()));
+        Map<String, TpsControlRule.Rule> monitorKeyRules = new HashMap<>(monitorKeyRuleCount);
+        for (int i = 0; i < monitorKeyRuleCount; i++) {
+            monitorKeyRules.put("clientIp:10.0." + i + ".*",
+                    new TpsControlRule.Rule(Long.MAX_VALUE, TimeUnit.SECONDS, TpsControlRule.Rule.MODEL_FUZZY,
+                            MonitorType.MONITOR.getType()));
+        }
+        rule.setMonitorKeyRule(monitorKeyRules);
+        tpsMonitorPoint.applyRule(rule);
+        
+        connectionIds = new String[CONNECTION_COUNT];
+        monitorKeys = new ArrayList<>(CONNECTION_COUNT);
+        for (int i = 0; i < CONNECTION_COUNT; i++) {
+            connectionIds[i] = System.currentTimeMillis() + "_10.0." + (i >> 8) + "." + (i & 0xFF) + "_" + i;
+            List<MonitorKey> keys = new ArrayList<>(2);
+            keys.add(new ClientIpMonitorKey("10.0." + (i >> 8) + "." + (i & 0xFF)));
+            keys.add(new ConnectionIdMonitorKey(connectionIds[i]));
+            monitorKeys.add(keys);
+        }
+    }
+    
+    @Benchmark
+    public boolean applyTps() {
+        int index = ThreadLocalRandom.current().nextInt(CONNECTION_COUNT);
+        return tpsMonitorPoint.applyTps(connectionIds[index], monitorKeys.get(index));
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public boolean applyTpsConcurrently() {
+        int index = ThreadLocalRandom.current().nextInt(CONNECTION_COUNT);
+        return tpsMonitorPoint.applyTps(connectionIds[index], monitorKeys.get(index));
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.data;
+
+import com.alibaba.nacos.api.common.Constants;
+import com.alibaba.nacos.config.server.model.ConfigInfo;
+
+import java.util.Random;
+
+/**
+ * Generate a config dataset shaped like a production config center.
+ *
+ * <p>About half of the configs live in the public namespace, most of them in the default group. Content sizes are
+ * skewed: most configs are a few hundred bytes of properties or yaml while a long tail reaches several kilobytes.
+ *
+ * <p>Every config is derived from its index and revision only, so a dataset of any size can be streamed without
+ * holding all contents in memory, and every run sees the same data.
+ *
+ * @author nacos
+ */
+public class ConfigDataGenerator {
+    
+    public static final int DEFAULT_CONFIG_COUNT = 100_000;
+    
+    private static final String[] TYPES = {"properties", "properties", "yaml", "json", "text"};
+    
+    private static final int MIN_CONTENT_SIZE = 128;
+    
+    private static final int MAX_CONTENT_SIZE = 4096;
+    
+    private final long seed;
+    
+    private final int tenantCount;
+    
+    private final int groupCount;
+    
+    public ConfigDataGenerator() {
+        this(20_210_101L, 8, 16);
+    }
+    
+    public ConfigDataGenerator(long seed, int tenantCount, int groupCount) {
+        this.seed = seed;
+        this.tenantCount = tenantCount;
+        this.groupCount = groupCount;
+    }
+    
+    /**
+     * Generate the config of the index.
+     *
+     * @param index    config index
+     * @param revision content revision, a new revision produces a different content of the same config
+     * @return config info, type is set
+     */
+    public ConfigInfo config(int index, int revision) {
+        Random random = new Random(seed + index);
+        String tenant = random.nextBoolean() ? "" : "tenant-" + random.nextInt(tenantCount);
+        String group = random.nextInt(4) == 0 ? "group-" + random.nextInt(groupCount) : Constants.DEFAULT_GROUP;
+        String type = TYPES[random.nextInt(TYPES.length)];
+        String appName = "app" + (index % 512);
+        String dataId = "com.example." + appName + ".config-" + index + "." + type;
+        ConfigInfo result = new ConfigInfo(dataId, group, tenant, appName, content(random, type, revision));
+        result.setType(type);
+        return result;
+    }
+    
+    private String content(Random random, String type, int revision) {
+        double skew = Math.pow(random.nextDouble(), 4);
+        int size = MIN_CONTENT_SIZE + (int) (skew * (MAX_CONTENT_SIZE - MIN_CONTENT_SIZE));
+        StringBuilder builder = new StringBuilder(size + 64);
+        builder.append("# revision ").append(revision).append('\n');
+        for (int line = 0; builder.length() < size; line++) {
+            if ("yaml".equals(type)) {
+                builder.append("section").append(line % 8).append(":\n  key").append(line).append(": value-")
+                        .append(random.nextInt(100_000)).append('\n');
+            } else {
+                builder.append("spring.example.key").append(line).append('=').append("value-")
+                        .append(random.nextInt(100_000)).append('\n');
+            }
+        }
+        return builder.toString();
+    }
+}
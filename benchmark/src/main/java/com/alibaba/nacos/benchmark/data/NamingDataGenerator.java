@@ -0,0 +1,117 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.data;
+
+import com.alibaba.nacos.naming.constants.Constants;
+import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generate a naming dataset shaped like a production registry.
+ *
+ * <p>Services are spread over a few namespaces and groups, most of them have a handful of instances while a long tail
+ * has many. Every instance carries the usual metadata. The generator is seeded so that every run builds the same
+ * dataset.
+ *
+ * @author nacos
+ */
+public class NamingDataGenerator {
+    
+    public static final int DEFAULT_SERVICE_COUNT = 10_000;
+    
+    private static final String[] CLUSTERS = {"DEFAULT", "DEFAULT", "DEFAULT", "cluster-a", "cluster-b"};
+    
+    private static final String[] ENVS = {"prod", "pre", "gray"};
+    
+    private final Random random;
+    
+    private final int namespaceCount;
+    
+    private final int groupCount;
+    
+    private final int maxInstances;
+    
+    private int ipSequence;
+    
+    public NamingDataGenerator() {
+        this(20_210_101L, 4, 16, 64);
+    }
+    
+    public NamingDataGenerator(long seed, int namespaceCount, int groupCount, int maxInstances) {
+        this.random = new Random(seed);
+        this.namespaceCount = namespaceCount;
+        this.groupCount = groupCount;
+        this.maxInstances = maxInstances;
+    }
+    
+    /**
+     * Generate services, the first namespace is the public one and holds about half of them.
+     *
+     * @param count service count
+     * @return services
+     */
+    public List<Service> services(int count) {
+        List<Service> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String namespace = random.nextBoolean() ? com.alibaba.nacos.api.common.Constants.DEFAULT_NAMESPACE_ID
+                    : "namespace-" + random.nextInt(namespaceCount);
+            String group = random.nextInt(4) == 0 ? "group-" + random.nextInt(groupCount)
+                    : com.alibaba.nacos.api.common.Constants.DEFAULT_GROUP;
+            String name = "com.example.app" + (i % 512) + ".service-" + i;
+            result.add(Service.newService(namespace, group, name));
+        }
+        return result;
+    }
+    
+    /**
+     * Instance count of the next service, skewed so that most services are small.
+     *
+     * @return instance count, at least 1
+     */
+    public int instanceCount() {
+        double skew = Math.pow(random.nextDouble(), 3);
+        return 1 + (int) (skew * maxInstances);
+    }
+    
+    /**
+     * Generate the next instance with a unique ip.
+     *
+     * @return instance publish info
+     */
+    public InstancePublishInfo instance() {
+        int sequence = ipSequence++;
+        String ip = "10." + (sequence >> 16 & 0xFF) + "." + (sequence >> 8 & 0xFF) + "." + (sequence & 0xFF);
+        InstancePublishInfo result = new InstancePublishInfo(ip, 8080 + random.nextInt(4));
+        result.setCluster(CLUSTERS[random.nextInt(CLUSTERS.length)]);
+        result.setHealthy(random.nextInt(20) != 0);
+        Map<String, Object> extendDatum = new HashMap<>(8);
+        extendDatum.put(Constants.PUBLISH_INSTANCE_WEIGHT, 1.0D);
+        extendDatum.put(Constants.PUBLISH_INSTANCE_ENABLE, true);
+        extendDatum.put("version", "1." + random.nextInt(10) + "." + random.nextInt(20));
+        extendDatum.put("env", ENVS[random.nextInt(ENVS.length)]);
+        extendDatum.put("zone", "zone-" + random.nextInt(3));
+        extendDatum.put("preserved.register.source", "SPRING_CLOUD");
+        result.setExtendDatum(extendDatum);
+        return result;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.naming;
+
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.benchmark.BenchmarkEnvironment;
+import com.alibaba.nacos.benchmark.data.NamingDataGenerator;
+import com.alibaba.nacos.common.notify.NotifyCenter;
+import com.alibaba.nacos.naming.core.v2.ServiceManager;
+import com.alibaba.nacos.naming.core.v2.client.impl.ConnectionBasedClient;
+import com.alibaba.nacos.naming.core.v2.client.manager.ClientManagerDelegate;
+import com.alibaba.nacos.naming.core.v2.client.manager.impl.ConnectionBasedClientManager;
+import com.alibaba.nacos.naming.core.v2.event.client.ClientEvent;
+import com.alibaba.nacos.naming.core.v2.event.client.ClientOperationEvent;
+import com.alibaba.nacos.naming.core.v2.event.service.ServiceEvent;
+import com.alibaba.nacos.naming.core.v2.index.ClientServiceIndexesManager;
+import com.alibaba.nacos.naming.core.v2.index.ServiceStorage;
+import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import com.alibaba.nacos.naming.misc.SwitchDomain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark {@link ServiceStorage#getPushData(Service)}, which rebuilds the service info from the client index on
+ * every instance change and push.
+ *
+ * @author nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ServiceStorageBenchmark {
+    
+    @Param({"10000"})
+    private int serviceCount;
+    
+    private ServiceStorage serviceStorage;
+    
+    private Service[] services;
+    
+    /**
+     * Register the generated dataset as connection based clients, one client per instance.
+     */
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.init();
+        NotifyCenter.registerToPublisher(ClientEvent.ClientChangedEvent.class, 16384);
+        NotifyCenter.registerToPublisher(ServiceEvent.ServiceChangedEvent.class, 16384);
+        ClientServiceIndexesManager indexesManager = new ClientServiceIndexesManager();
+        ConnectionBasedClientManager connectionBasedClientManager = new ConnectionBasedClientManager();
+        ClientManagerDelegate clientManager = new ClientManagerDelegate(connectionBasedClientManager, null, null);
+        serviceStorage = new ServiceStorage(indexesManager, clientManager, new SwitchDomain(),
+                new NamingMetadataManager());
+        
+        NamingDataGenerator generator = new NamingDataGenerator();
+        List<Service> generated = generator.services(serviceCount);
+        services = new Service[generated.size()];
+        int clientSequence = 0;
+        for (int i = 0; i < services.length; i++) {
+            Service service = ServiceManager.getInstance().getSingleton(generated.get(i));
+            int instanceCount = generator.instanceCount();
+            for (int j = 0; j < instanceCount; j++) {
+                ConnectionBasedClient client = new ConnectionBasedClient("benchmark-" + clientSequence++, true);
+                connectionBasedClientManager.clientConnected(client);
+                client.addServiceInstance(service, generator.instance());
+                indexesManager.onEvent(new ClientOperationEvent.ClientRegisterServiceEvent(service,
+                        client.getClientId()));
+            }
+            services[i] = service;
+        }
+    }
+    
+    @Benchmark
+    public ServiceInfo getPushData() {
+        return serviceStorage.getPushData(services[ThreadLocalRandom.current().nextInt(services.length)]);
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public ServiceInfo getPushDataConcurrently() {
+        return serviceStorage.getPushData(services[ThreadLocalRandom.current().nextInt(services.length)]);
+    }
+    
+    @Benchmark
+    public ServiceInfo getData() {
+        return serviceStorage.getData(services[ThreadLocalRandom.current().nextInt(services.length)]);
+    }
+}
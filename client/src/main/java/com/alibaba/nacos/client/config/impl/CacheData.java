@@ -24,6 +24,7 @@ import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.client.config.filter.impl.ConfigFilterChainManager;
 import com.alibaba.nacos.client.config.filter.impl.ConfigResponse;
 import com.alibaba.nacos.client.config.listener.impl.AbstractConfigChangeListener;
+import com.alibaba.nacos.client.monitor.MetricsMonitor;
 import com.alibaba.nacos.client.utils.LogUtils;
 import com.alibaba.nacos.client.utils.TenantUtil;
 import com.alibaba.nacos.common.utils.MD5Utils;
@@ -33,11 +34,12 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Listener Management.
@@ -55,8 +57,17 @@ public class CacheData {
         return t;
     };
 
-    static final ThreadPoolExecutor INTERNAL_NOTIFIER = new ThreadPoolExecutor(0, CONCURRENCY, 60L, TimeUnit.SECONDS,
-            new SynchronousQueue<>(), internalNotifierFactory);
+    /**
+     * There is at most one queued notification for each listener, so the queue is only a safety bound.
+     */
+    static final int NOTIFY_QUEUE_CAPACITY = 65536;
+
+    static final ThreadPoolExecutor INTERNAL_NOTIFIER = new ThreadPoolExecutor(CONCURRENCY, CONCURRENCY, 60L,
+            TimeUnit.SECONDS, new LinkedBlockingQueue<>(NOTIFY_QUEUE_CAPACITY), internalNotifierFactory);
+
+    static {
+        INTERNAL_NOTIFIER.allowCoreThreadTimeOut(true);
+    }
 
     private static final Logger LOGGER = LogUtils.logger(CacheData.class);
 
@@ -69,7 +80,7 @@ public class CacheData {
     }
 
     public String getMd5() {
-        return md5;
+        return snapshot.md5;
     }
 
     public String getTenant() {
@@ -77,12 +88,11 @@ public class CacheData {
     }
 
     public String getContent() {
-        return content;
+        return snapshot.content;
     }
 
-    public void setContent(String content) {
-        this.content = content;
-        this.md5 = getMd5String(this.content);
+    public synchronized void setContent(String content) {
+        this.snapshot = new ContentSnapshot(content, snapshot.encryptedDataKey);
     }
 
     /**
@@ -120,9 +130,9 @@ public class CacheData {
         if (null == listener) {
             throw new IllegalArgumentException("listener is null");
         }
-        ManagerListenerWrap wrap =
-                (listener instanceof AbstractConfigChangeListener) ? new ManagerListenerWrap(listener, md5, content)
-                        : new ManagerListenerWrap(listener, md5);
+        ContentSnapshot current = snapshot;
+        ManagerListenerWrap wrap = (listener instanceof AbstractConfigChangeListener) ? new ManagerListenerWrap(
+                listener, current.md5, current.content) : new ManagerListenerWrap(listener, current.md5);
 
         /**
          * 添加监听
@@ -216,12 +226,13 @@ public class CacheData {
      * 最新的md5和listeners中存储的md5不一致   则进行通知
      */
     void checkListenerMd5() {
+        final String md5 = snapshot.md5;
         for (ManagerListenerWrap wrap : listeners) {
             if (!md5.equals(wrap.lastCallMd5)) {
                 /**
                  * 通知监听  并修改对应的md5
                  */
-                safeNotifyListener(dataId, group, content, type, md5, encryptedDataKey, wrap);
+                safeNotifyListener(wrap);
             }
         }
     }
@@ -230,6 +241,7 @@ public class CacheData {
      * check if all listeners md5 is equal with cache data.
      */
     public boolean checkListenersMd5Consistent() {
+        final String md5 = snapshot.md5;
         for (ManagerListenerWrap wrap : listeners) {
             if (!md5.equals(wrap.lastCallMd5)) {
                 return false;
@@ -237,115 +249,107 @@ public class CacheData {
         }
         return true;
     }
+
     /**
-     * 通知监听
-     * @param dataId
-     * @param group
-     * @param content
-     * @param md5
-     * @param listenerWrap
+     * Schedule a notification to the listener. Changes are coalesced while the listener is being notified, the
+     * running notification delivers the latest content when the current callback finishes.
+     *
+     * @param listenerWrap listener wrap
      */
-    private void safeNotifyListener(final String dataId, final String group, final String content, final String type,
-            final String md5, final String encryptedDataKey, final ManagerListenerWrap listenerWrap) {
-        final Listener listener = listenerWrap.listener;
-        if (listenerWrap.inNotifying) {
-            LOGGER.warn(
-                    "[{}] [notify-currentSkip] dataId={}, group={}, md5={}, listener={}, listener is not finish yet,will try next time.",
-                    name, dataId, group, md5, listener);
+    private void safeNotifyListener(final ManagerListenerWrap listenerWrap) {
+        // mark the change before trying to take the listener, so either the running notification sees it or this
+        // thread takes the listener after the running notification releases it.
+        listenerWrap.pending = true;
+        if (!listenerWrap.inNotifying.compareAndSet(false, true)) {
             return;
         }
-        Runnable job = new Runnable() {
-            @Override
-            public void run() {
-                long start = System.currentTimeMillis();
-                ClassLoader myClassLoader = Thread.currentThread().getContextClassLoader();
-                ClassLoader appClassLoader = listener.getClass().getClassLoader();
-                try {
-                    if (listener instanceof AbstractSharedListener) {
-                        AbstractSharedListener adapter = (AbstractSharedListener) listener;
-                        adapter.fillContext(dataId, group);
-                        LOGGER.info("[{}] [notify-context] dataId={}, group={}, md5={}", name, dataId, group, md5);
-                    }
-                    // 执行回调之前先将线程classloader设置为具体webapp的classloader，以免回调方法中调用spi接口是出现异常或错用（多应用部署才会有该问题）。
-                    /**
-                     * 执行回调之前先将线程classloader设置为具体webapp的classloader，以免回调方法中调用spi接口是出现异常或错用（多应用部署才会有该问题）。
-                     */
-                    Thread.currentThread().setContextClassLoader(appClassLoader);
-
-                    ConfigResponse cr = new ConfigResponse();
-                    cr.setDataId(dataId);
-                    cr.setGroup(group);
-                    cr.setContent(content);
-                    cr.setEncryptedDataKey(encryptedDataKey);
-                    /**
-                     * 接口   供开发者使用
-                     */
-                    configFilterChainManager.doFilter(null, cr);
-                    String contentTmp = cr.getContent();
-                    listenerWrap.inNotifying = true;
-                    /**
-                     * 通知
-                     * 通知
-                     * 通知
-                     */
-                    listener.receiveConfigInfo(contentTmp);
-                    // compare lastContent and content
-                    if (listener instanceof AbstractConfigChangeListener) {
-                        Map data = ConfigChangeHandler.getInstance()
-                                .parseChangeData(listenerWrap.lastContent, content, type);
-                        ConfigChangeEvent event = new ConfigChangeEvent(data);
-                        ((AbstractConfigChangeListener) listener).receiveConfigChange(event);
-                        listenerWrap.lastContent = content;
-                    }
-
-                    /**
-                     * 修改监听内的md5
-                     */
-                    listenerWrap.lastCallMd5 = md5;
-                    LOGGER.info("[{}] [notify-ok] dataId={}, group={}, md5={}, listener={} ,cost={} millis.", name,
-                            dataId, group, md5, listener, (System.currentTimeMillis() - start));
-                } catch (NacosException ex) {
-                    LOGGER.error("[{}] [notify-error] dataId={}, group={}, md5={}, listener={} errCode={} errMsg={}",
-                            name, dataId, group, md5, listener, ex.getErrCode(), ex.getErrMsg());
-                } catch (Throwable t) {
-                    LOGGER.error("[{}] [notify-error] dataId={}, group={}, md5={}, listener={} tx={}", name, dataId,
-                            group, md5, listener, t.getCause());
-                } finally {
-                    listenerWrap.inNotifying = false;
-                    Thread.currentThread().setContextClassLoader(myClassLoader);
-                }
-            }
-        };
-
-        final long startNotify = System.currentTimeMillis();
+        listenerWrap.scheduleTime = System.currentTimeMillis();
+        MetricsMonitor.getConfigNotifyBacklogMonitor().inc();
+        final Listener listener = listenerWrap.listener;
+        Runnable job = () -> runNotify(listenerWrap);
         try {
             if (null != listener.getExecutor()) {
-                /**
-                 * 有异常
-                 */
                 listener.getExecutor().execute(job);
             } else {
-                try {
-                    INTERNAL_NOTIFIER.submit(job);
-                } catch (RejectedExecutionException rejectedExecutionException) {
-                    LOGGER.warn(
-                            "[{}] [notify-blocked] dataId={}, group={}, md5={}, listener={}, no available internal notifier,will sync notifier ",
-                            name, dataId, group, md5, listener);
-                    job.run();
-                } catch (Throwable throwable) {
-                    LOGGER.error(
-                            "[{}] [notify-blocked] dataId={}, group={}, md5={}, listener={}, submit internal async task fail,throwable= ",
-                            name, dataId, group, md5, listener, throwable);
-                    job.run();
+                INTERNAL_NOTIFIER.execute(job);
+            }
+        } catch (RejectedExecutionException rejectedExecutionException) {
+            LOGGER.warn(
+                    "[{}] [notify-blocked] dataId={}, group={}, listener={}, no available notifier,will sync notifier ",
+                    name, dataId, group, listener);
+            job.run();
+        } catch (Throwable throwable) {
+            LOGGER.error("[{}] [notify-blocked] dataId={}, group={}, listener={}, submit async task fail,throwable= ",
+                    name, dataId, group, listener, throwable);
+            job.run();
+        }
+    }
+
+    private void runNotify(ManagerListenerWrap listenerWrap) {
+        try {
+            do {
+                listenerWrap.pending = false;
+                // always deliver the latest content, intermediate changes are skipped.
+                ContentSnapshot current = this.snapshot;
+                if (!current.md5.equals(listenerWrap.lastCallMd5)) {
+                    notifyListener(current.content, type, current.md5, current.encryptedDataKey, listenerWrap);
+                    MetricsMonitor.getConfigNotifyMonitor()
+                            .observe((System.currentTimeMillis() - listenerWrap.scheduleTime) / 1000.0);
                 }
+            } while (listenerWrap.pending);
+        } finally {
+            listenerWrap.inNotifying.set(false);
+            MetricsMonitor.getConfigNotifyBacklogMonitor().dec();
+        }
+        if (listenerWrap.pending) {
+            safeNotifyListener(listenerWrap);
+        }
+    }
+
+    private void notifyListener(final String content, final String type, final String md5,
+            final String encryptedDataKey, final ManagerListenerWrap listenerWrap) {
+        final Listener listener = listenerWrap.listener;
+        long start = System.currentTimeMillis();
+        ClassLoader myClassLoader = Thread.currentThread().getContextClassLoader();
+        ClassLoader appClassLoader = listener.getClass().getClassLoader();
+        try {
+            if (listener instanceof AbstractSharedListener) {
+                AbstractSharedListener adapter = (AbstractSharedListener) listener;
+                adapter.fillContext(dataId, group);
+                LOGGER.info("[{}] [notify-context] dataId={}, group={}, md5={}", name, dataId, group, md5);
+            }
+            // 执行回调之前先将线程classloader设置为具体webapp的classloader，以免回调方法中调用spi接口是出现异常或错用（多应用部署才会有该问题）。
+            Thread.currentThread().setContextClassLoader(appClassLoader);
+
+            ConfigResponse cr = new ConfigResponse();
+            cr.setDataId(dataId);
+            cr.setGroup(group);
+            cr.setContent(content);
+            cr.setEncryptedDataKey(encryptedDataKey);
+            configFilterChainManager.doFilter(null, cr);
+            String contentTmp = cr.getContent();
+            listener.receiveConfigInfo(contentTmp);
+            // compare lastContent and content
+            if (listener instanceof AbstractConfigChangeListener) {
+                Map data = ConfigChangeHandler.getInstance()
+                        .parseChangeData(listenerWrap.lastContent, content, type);
+                ConfigChangeEvent event = new ConfigChangeEvent(data);
+                ((AbstractConfigChangeListener) listener).receiveConfigChange(event);
+                listenerWrap.lastContent = content;
             }
+
+            listenerWrap.lastCallMd5 = md5;
+            LOGGER.info("[{}] [notify-ok] dataId={}, group={}, md5={}, listener={} ,cost={} millis.", name,
+                    dataId, group, md5, listener, (System.currentTimeMillis() - start));
+        } catch (NacosException ex) {
+            LOGGER.error("[{}] [notify-error] dataId={}, group={}, md5={}, listener={} errCode={} errMsg={}",
+                    name, dataId, group, md5, listener, ex.getErrCode(), ex.getErrMsg());
         } catch (Throwable t) {
-            LOGGER.error("[{}] [notify-error] dataId={}, group={}, md5={}, listener={} throwable={}", name, dataId,
+            LOGGER.error("[{}] [notify-error] dataId={}, group={}, md5={}, listener={} tx={}", name, dataId,
                     group, md5, listener, t.getCause());
+        } finally {
+            Thread.currentThread().setContextClassLoader(myClassLoader);
         }
-        final long finishNotify = System.currentTimeMillis();
-        LOGGER.info("[{}] [notify-listener] time cost={}ms in ClientWorker, dataId={}, group={}, md5={}, listener={} ",
-                name, (finishNotify - startNotify), dataId, group, md5, listener);
     }
 
     public static String getMd5String(String config) {
@@ -396,9 +400,8 @@ public class CacheData {
         this.tenant = TenantUtil.getUserTenantForAcm();
         listeners = new CopyOnWriteArrayList<ManagerListenerWrap>();
         this.isInitializing = true;
-        this.content = loadCacheContentFromDiskLocal(name, dataId, group, tenant);
-        this.md5 = getMd5String(content);
-        this.encryptedDataKey = loadEncryptedDataKeyFromDiskLocal(name, dataId, group, tenant);
+        this.snapshot = new ContentSnapshot(loadCacheContentFromDiskLocal(name, dataId, group, tenant),
+                loadEncryptedDataKeyFromDiskLocal(name, dataId, group, tenant));
     }
 
     public CacheData(ConfigFilterChainManager configFilterChainManager, String name, String dataId, String group,
@@ -416,11 +419,7 @@ public class CacheData {
         /**
          * 先获取容错文件中的内容  如果不存在   则获取快照文件中的内容
          */
-        this.content = loadCacheContentFromDiskLocal(name, dataId, group, tenant);
-        /**
-         * MD5加密
-         */
-        this.md5 = getMd5String(content);
+        this.snapshot = new ContentSnapshot(loadCacheContentFromDiskLocal(name, dataId, group, tenant), null);
     }
 
     // ==================
@@ -437,8 +436,6 @@ public class CacheData {
 
     private final CopyOnWriteArrayList<ManagerListenerWrap> listeners;
 
-    private volatile String md5;
-
     /**
      * whether use local config.
      */
@@ -449,9 +446,10 @@ public class CacheData {
      */
     private volatile long localConfigLastModified;
 
-    private volatile String content;
-
-    private volatile String encryptedDataKey;
+    /**
+     * content, md5 and encrypted data key of the same version.
+     */
+    private volatile ContentSnapshot snapshot;
 
     private volatile long lastModifiedTs;
 
@@ -467,11 +465,11 @@ public class CacheData {
     private String type;
 
     public String getEncryptedDataKey() {
-        return encryptedDataKey;
+        return snapshot.encryptedDataKey;
     }
 
-    public void setEncryptedDataKey(String encryptedDataKey) {
-        this.encryptedDataKey = encryptedDataKey;
+    public synchronized void setEncryptedDataKey(String encryptedDataKey) {
+        this.snapshot = new ContentSnapshot(snapshot.content, encryptedDataKey);
     }
 
     private String loadEncryptedDataKeyFromDiskLocal(String name, String dataId, String group, String tenant) {
@@ -484,9 +482,31 @@ public class CacheData {
         return LocalEncryptedDataKeyProcessor.getEncryptDataKeySnapshot(name, dataId, group, tenant);
     }
 
+    private static class ContentSnapshot {
+
+        final String content;
+
+        final String md5;
+
+        final String encryptedDataKey;
+
+        ContentSnapshot(String content, String encryptedDataKey) {
+            this.content = content;
+            this.md5 = getMd5String(content);
+            this.encryptedDataKey = encryptedDataKey;
+        }
+    }
+
     private static class ManagerListenerWrap {
 
-        boolean inNotifying = false;
+        final AtomicBoolean inNotifying = new AtomicBoolean(false);
+
+        /**
+         * whether there is a change arrived while notifying.
+         */
+        volatile boolean pending = false;
+
+        volatile long scheduleTime;
 
         final Listener listener;
 
@@ -33,6 +33,9 @@ public class MetricsMonitor {
             .labelNames("module", "method", "url", "code").name("nacos_client_request").help("nacos_client_request")
             .register();
     
+    private static final Histogram NACOS_CLIENT_NOTIFY_HISTOGRAM = Histogram.build().labelNames("module")
+            .name("nacos_client_notify").help("nacos_client_notify").register();
+    
     public static Gauge.Child getServiceInfoMapSizeMonitor() {
         return NACOS_MONITOR.labels("naming", "serviceInfoMapSize");
     }
@@ -45,6 +48,14 @@ public class MetricsMonitor {
         return NACOS_MONITOR.labels("naming", "listenConfigCount");
     }
     
+    public static Gauge.Child getConfigNotifyBacklogMonitor() {
+        return NACOS_MONITOR.labels("config", "notifyBacklog");
+    }
+    
+    public static Histogram.Child getConfigNotifyMonitor() {
+        return NACOS_CLIENT_NOTIFY_HISTOGRAM.labels("config");
+    }
+    
     public static Histogram.Timer getConfigRequestMonitor(String method, String url, String code) {
         return NACOS_CLIENT_REQUEST_HISTOGRAM.labels("config", method, url, code).startTimer();
     }
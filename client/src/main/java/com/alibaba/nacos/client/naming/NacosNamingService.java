@@ -198,6 +198,13 @@ public class NacosNamingService implements NamingService {
         clientProxy.registerService(serviceName, groupName, instance);
     }
 
+    @Override
+    public void batchRegisterInstance(String serviceName, String groupName, List<Instance> instances)
+            throws NacosException {
+        checkBatchInstances(instances);
+        clientProxy.batchRegisterService(serviceName, groupName, instances);
+    }
+
     @Override
     public void deregisterInstance(String serviceName, String ip, int port) throws NacosException {
         deregisterInstance(serviceName, ip, port, Constants.DEFAULT_CLUSTER_NAME);
@@ -267,6 +274,26 @@ public class NacosNamingService implements NamingService {
         clientProxy.deregisterService(serviceName, groupName, instance);
     }
 
+    @Override
+    public void batchDeregisterInstance(String serviceName, String groupName, List<Instance> instances)
+            throws NacosException {
+        checkBatchInstances(instances);
+        clientProxy.batchDeregisterService(serviceName, groupName, instances);
+    }
+    
+    private void checkBatchInstances(List<Instance> instances) throws NacosException {
+        if (CollectionUtils.isEmpty(instances)) {
+            throw new NacosException(NacosException.INVALID_PARAM, "batch instances can't be empty.");
+        }
+        for (Instance each : instances) {
+            if (!each.isEphemeral()) {
+                throw new NacosException(NacosException.INVALID_PARAM,
+                        "batch register and deregister only support ephemeral instances.");
+            }
+            NamingUtils.checkInstanceIsLegal(each);
+        }
+    }
+
 
     /**
      * 获取serviceName对应的实例
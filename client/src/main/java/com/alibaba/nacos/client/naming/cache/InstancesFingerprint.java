@@ -0,0 +1,154 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.client.naming.cache;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.client.naming.event.InstancesDiff;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fingerprint index of the instances of one service, keyed by {@link Instance#toInetAddr()}.
+ *
+ * <p>The fingerprint is a 64-bit FNV-1a hash over all fields which take part in {@link Instance#toString()}, so
+ * instances are compared without rendering them to strings.
+ *
+ * @author nacos
+ */
+final class InstancesFingerprint {
+    
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    
+    private static final long FNV_PRIME = 0x100000001b3L;
+    
+    private static final long NULL_MARK = 0xffL;
+    
+    private final List<Instance> hosts;
+    
+    private final Map<String, Entry> index;
+    
+    private InstancesFingerprint(List<Instance> hosts, Map<String, Entry> index) {
+        this.hosts = hosts;
+        this.index = index;
+    }
+    
+    /**
+     * Build fingerprint index of instances.
+     *
+     * @param hosts instances
+     * @return fingerprint index
+     */
+    static InstancesFingerprint of(List<Instance> hosts) {
+        Map<String, Entry> index = new HashMap<String, Entry>(hosts.size());
+        for (Instance each : hosts) {
+            index.put(each.toInetAddr(), new Entry(each, fingerprint(each)));
+        }
+        return new InstancesFingerprint(hosts, index);
+    }
+    
+    /**
+     * Whether this index is built from the instances.
+     *
+     * @param hosts instances
+     * @return {@code true} if this index is built from the same instance list
+     */
+    boolean isBuiltFrom(List<Instance> hosts) {
+        return this.hosts == hosts;
+    }
+    
+    /**
+     * Compute the delta from this index to the newer one.
+     *
+     * @param newer fingerprint index of new instances
+     * @return delta of instances
+     */
+    InstancesDiff diff(InstancesFingerprint newer) {
+        InstancesDiff result = new InstancesDiff();
+        for (Map.Entry<String, Entry> each : newer.index.entrySet()) {
+            Entry old = index.get(each.getKey());
+            if (null == old) {
+                result.addAddedInstance(each.getValue().instance);
+            } else if (old.fingerprint != each.getValue().fingerprint) {
+                result.addModifiedInstance(each.getValue().instance);
+            }
+        }
+        for (Map.Entry<String, Entry> each : index.entrySet()) {
+            if (!newer.index.containsKey(each.getKey())) {
+                result.addRemovedInstance(each.getValue().instance);
+            }
+        }
+        return result;
+    }
+    
+    static long fingerprint(Instance instance) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = mix(hash, instance.getInstanceId());
+        hash = mix(hash, instance.getIp());
+        hash = mix(hash, instance.getPort());
+        hash = mix(hash, Double.doubleToLongBits(instance.getWeight()));
+        hash = mix(hash, instance.isHealthy() ? 1L : 0L);
+        hash = mix(hash, instance.isEnabled() ? 1L : 0L);
+        hash = mix(hash, instance.isEphemeral() ? 1L : 0L);
+        hash = mix(hash, instance.getClusterName());
+        hash = mix(hash, instance.getServiceName());
+        if (null == instance.getMetadata()) {
+            return mix(hash, NULL_MARK);
+        }
+        // Sum of entry hashes, so the fingerprint does not depend on the iteration order of metadata.
+        long metadataHash = 0;
+        for (Map.Entry<String, String> each : instance.getMetadata().entrySet()) {
+            metadataHash += mix(mix(FNV_OFFSET_BASIS, each.getKey()), each.getValue());
+        }
+        hash = mix(hash, instance.getMetadata().size());
+        return mix(hash, metadataHash);
+    }
+    
+    private static long mix(long hash, String value) {
+        if (null == value) {
+            return mix(hash, NULL_MARK);
+        }
+        long result = mix(hash, value.length());
+        for (int i = 0; i < value.length(); i++) {
+            result ^= value.charAt(i);
+            result *= FNV_PRIME;
+        }
+        return result;
+    }
+    
+    private static long mix(long hash, long value) {
+        long result = hash;
+        for (int i = 0; i < Long.SIZE; i += Byte.SIZE) {
+            result ^= (value >>> i) & 0xffL;
+            result *= FNV_PRIME;
+        }
+        return result;
+    }
+    
+    private static final class Entry {
+        
+        private final Instance instance;
+        
+        private final long fingerprint;
+        
+        private Entry(Instance instance, long fingerprint) {
+            this.instance = instance;
+            this.fingerprint = fingerprint;
+        }
+    }
+}
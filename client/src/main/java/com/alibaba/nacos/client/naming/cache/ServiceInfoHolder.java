@@ -24,22 +24,25 @@ import com.alibaba.nacos.api.naming.utils.NamingUtils;
 import com.alibaba.nacos.client.monitor.MetricsMonitor;
 import com.alibaba.nacos.client.naming.backups.FailoverReactor;
 import com.alibaba.nacos.client.naming.event.InstancesChangeEvent;
+import com.alibaba.nacos.client.naming.event.InstancesDiff;
 import com.alibaba.nacos.common.lifecycle.Closeable;
 import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.common.utils.ConvertUtils;
 import com.alibaba.nacos.common.utils.JacksonUtils;
 import com.alibaba.nacos.common.utils.StringUtils;
+import com.alibaba.nacos.common.utils.ThreadUtils;
 
 import java.io.File;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Properties;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import static com.alibaba.nacos.client.utils.LogUtils.NAMING_LOGGER;
 
@@ -50,8 +53,16 @@ import static com.alibaba.nacos.client.utils.LogUtils.NAMING_LOGGER;
  */
 public class ServiceInfoHolder implements Closeable {
     
+    private static final long DISK_CACHE_WRITE_DELAY_MS = 1000L;
+    
     private final ConcurrentMap<String, ServiceInfo> serviceInfoMap;
     
+    private final ConcurrentMap<String, InstancesFingerprint> fingerprintMap = new ConcurrentHashMap<>(16);
+    
+    private final ConcurrentMap<String, ServiceInfo> pendingDiskCacheMap = new ConcurrentHashMap<>(16);
+    
+    private final ScheduledExecutorService diskCacheExecutor;
+    
     private final FailoverReactor failoverReactor;
     
     private final boolean pushEmptyProtection;
@@ -73,6 +84,15 @@ public class ServiceInfoHolder implements Closeable {
          */
         this.failoverReactor = new FailoverReactor(this, cacheDir);
         this.pushEmptyProtection = isPushEmptyProtect(properties);
+        this.diskCacheExecutor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r);
+                thread.setDaemon(true);
+                thread.setName("com.alibaba.nacos.naming.disk.cache");
+                return thread;
+            }
+        });
     }
     
     private void initCacheDir(String namespace, Properties properties) {
@@ -155,97 +175,91 @@ public class ServiceInfoHolder implements Closeable {
             return oldService;
         }
         serviceInfoMap.put(serviceInfo.getKey(), serviceInfo);
-        boolean changed = isChangedServiceInfo(oldService, serviceInfo);
-        if (StringUtils.isBlank(serviceInfo.getJsonFromServer())) {
-            serviceInfo.setJsonFromServer(JacksonUtils.toJson(serviceInfo));
-        }
+        InstancesDiff diff = getServiceInfoDiff(oldService, serviceInfo);
         MetricsMonitor.getServiceInfoMapSizeMonitor().set(serviceInfoMap.size());
-        if (changed) {
-            NAMING_LOGGER.info("current ips:(" + serviceInfo.ipCount() + ") service: " + serviceInfo.getKey() + " -> "
-                    + JacksonUtils.toJson(serviceInfo.getHosts()));
+        if (diff.hasDifferent()) {
+            NAMING_LOGGER.info("current ips:({}) service: {}", serviceInfo.ipCount(), serviceInfo.getKey());
+            NAMING_LOGGER.debug("current ips:({}) service: {} -> {}", serviceInfo.ipCount(), serviceInfo.getKey(),
+                    new LazyJson(serviceInfo.getHosts()));
             NotifyCenter.publishEvent(new InstancesChangeEvent(serviceInfo.getName(), serviceInfo.getGroupName(),
-                    serviceInfo.getClusters(), serviceInfo.getHosts()));
-            DiskCache.write(serviceInfo, cacheDir);
+                    serviceInfo.getClusters(), serviceInfo.getHosts(), diff));
+            writeDiskCache(serviceInfo);
         }
         return serviceInfo;
     }
     
+    /**
+     * Remove the fingerprint index of an unsubscribed service. The cached service info is kept as before, the index is
+     * rebuilt from it if the service is subscribed again.
+     *
+     * @param serviceKey key of service info
+     */
+    public void removeFingerprint(String serviceKey) {
+        fingerprintMap.remove(serviceKey);
+    }
+    
     private boolean isEmptyOrErrorPush(ServiceInfo serviceInfo) {
         return null == serviceInfo.getHosts() || (pushEmptyProtection && !serviceInfo.validate());
     }
     
-    private boolean isChangedServiceInfo(ServiceInfo oldService, ServiceInfo newService) {
+    private InstancesDiff getServiceInfoDiff(ServiceInfo oldService, ServiceInfo newService) {
+        InstancesFingerprint newFingerprint = InstancesFingerprint.of(newService.getHosts());
+        InstancesFingerprint oldFingerprint = fingerprintMap.put(newService.getKey(), newFingerprint);
         if (null == oldService) {
-            NAMING_LOGGER.info("init new ips(" + newService.ipCount() + ") service: " + newService.getKey() + " -> "
-                    + JacksonUtils.toJson(newService.getHosts()));
-            return true;
+            NAMING_LOGGER.info("init new ips({}) service: {} -> {}", newService.ipCount(), newService.getKey(),
+                    new LazyJson(newService.getHosts()));
+            InstancesDiff diff = new InstancesDiff(new ArrayList<Instance>(newService.getHosts()),
+                    new ArrayList<Instance>(), new ArrayList<Instance>());
+            diff.setInitial(true);
+            return diff;
         }
         if (oldService.getLastRefTime() > newService.getLastRefTime()) {
             NAMING_LOGGER
                     .warn("out of date data received, old-t: " + oldService.getLastRefTime() + ", new-t: " + newService
                             .getLastRefTime());
         }
-        boolean changed = false;
-        Map<String, Instance> oldHostMap = new HashMap<String, Instance>(oldService.getHosts().size());
-        for (Instance host : oldService.getHosts()) {
-            oldHostMap.put(host.toInetAddr(), host);
+        if (null == oldFingerprint || !oldFingerprint.isBuiltFrom(oldService.getHosts())) {
+            oldFingerprint = InstancesFingerprint.of(oldService.getHosts());
         }
-        Map<String, Instance> newHostMap = new HashMap<String, Instance>(newService.getHosts().size());
-        for (Instance host : newService.getHosts()) {
-            newHostMap.put(host.toInetAddr(), host);
+        InstancesDiff diff = oldFingerprint.diff(newFingerprint);
+        if (diff.isAdded()) {
+            NAMING_LOGGER.info("new ips({}) service: {} -> {}", diff.getAddedInstances().size(), newService.getKey(),
+                    new LazyJson(diff.getAddedInstances()));
         }
-        
-        Set<Instance> modHosts = new HashSet<Instance>();
-        Set<Instance> newHosts = new HashSet<Instance>();
-        Set<Instance> remvHosts = new HashSet<Instance>();
-        
-        List<Map.Entry<String, Instance>> newServiceHosts = new ArrayList<Map.Entry<String, Instance>>(
-                newHostMap.entrySet());
-        for (Map.Entry<String, Instance> entry : newServiceHosts) {
-            Instance host = entry.getValue();
-            String key = entry.getKey();
-            if (oldHostMap.containsKey(key) && !StringUtils.equals(host.toString(), oldHostMap.get(key).toString())) {
-                modHosts.add(host);
-                continue;
-            }
-            
-            if (!oldHostMap.containsKey(key)) {
-                newHosts.add(host);
-            }
+        if (diff.isRemoved()) {
+            NAMING_LOGGER.info("removed ips({}) service: {} -> {}", diff.getRemovedInstances().size(),
+                    newService.getKey(), new LazyJson(diff.getRemovedInstances()));
         }
-        
-        for (Map.Entry<String, Instance> entry : oldHostMap.entrySet()) {
-            Instance host = entry.getValue();
-            String key = entry.getKey();
-            if (newHostMap.containsKey(key)) {
-                continue;
-            }
-            
-            if (!newHostMap.containsKey(key)) {
-                remvHosts.add(host);
-            }
-            
-        }
-        
-        if (newHosts.size() > 0) {
-            changed = true;
-            NAMING_LOGGER
-                    .info("new ips(" + newHosts.size() + ") service: " + newService.getKey() + " -> " + JacksonUtils
-                            .toJson(newHosts));
+        if (diff.isModified()) {
+            NAMING_LOGGER.info("modified ips({}) service: {} -> {}", diff.getModifiedInstances().size(),
+                    newService.getKey(), new LazyJson(diff.getModifiedInstances()));
         }
-        
-        if (remvHosts.size() > 0) {
-            changed = true;
-            NAMING_LOGGER.info("removed ips(" + remvHosts.size() + ") service: " + newService.getKey() + " -> "
-                    + JacksonUtils.toJson(remvHosts));
+        return diff;
+    }
+    
+    /**
+     * Write the service info to disk cache in the disk cache thread, the writes of the same service within
+     * {@link #DISK_CACHE_WRITE_DELAY_MS} are merged into the last one.
+     *
+     * @param serviceInfo service info
+     */
+    private void writeDiskCache(ServiceInfo serviceInfo) {
+        final String key = serviceInfo.getKey();
+        if (null == pendingDiskCacheMap.put(key, serviceInfo)) {
+            try {
+                diskCacheExecutor.schedule(() -> flushDiskCache(key), DISK_CACHE_WRITE_DELAY_MS,
+                        TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                flushDiskCache(key);
+            }
         }
-        
-        if (modHosts.size() > 0) {
-            changed = true;
-            NAMING_LOGGER.info("modified ips(" + modHosts.size() + ") service: " + newService.getKey() + " -> "
-                    + JacksonUtils.toJson(modHosts));
+    }
+    
+    private void flushDiskCache(String key) {
+        ServiceInfo serviceInfo = pendingDiskCacheMap.remove(key);
+        if (null != serviceInfo) {
+            DiskCache.write(serviceInfo, cacheDir);
         }
-        return changed;
     }
     
     @Override
@@ -253,6 +267,27 @@ public class ServiceInfoHolder implements Closeable {
         String className = this.getClass().getName();
         NAMING_LOGGER.info("{} do shutdown begin", className);
         failoverReactor.shutdown();
+        ThreadUtils.shutdownThreadPool(diskCacheExecutor, NAMING_LOGGER);
+        for (String each : pendingDiskCacheMap.keySet()) {
+            flushDiskCache(each);
+        }
         NAMING_LOGGER.info("{} do shutdown stop", className);
     }
+    
+    /**
+     * Render the object to json only when the log is really printed.
+     */
+    private static class LazyJson {
+        
+        private final Object target;
+        
+        private LazyJson(Object target) {
+            this.target = target;
+        }
+        
+        @Override
+        public String toString() {
+            return JacksonUtils.toJson(target);
+        }
+    }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.client.naming.event;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The delta of instances between two pushes of one service.
+ *
+ * @author nacos
+ */
+public class InstancesDiff {
+    
+    private final List<Instance> addedInstances;
+    
+    private final List<Instance> removedInstances;
+    
+    private final List<Instance> modifiedInstances;
+    
+    private boolean initial;
+    
+    public InstancesDiff() {
+        this(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+    }
+    
+    public InstancesDiff(List<Instance> addedInstances, List<Instance> removedInstances,
+            List<Instance> modifiedInstances) {
+        this.addedInstances = addedInstances;
+        this.removedInstances = removedInstances;
+        this.modifiedInstances = modifiedInstances;
+    }
+    
+    public List<Instance> getAddedInstances() {
+        return Collections.unmodifiableList(addedInstances);
+    }
+    
+    public List<Instance> getRemovedInstances() {
+        return Collections.unmodifiableList(removedInstances);
+    }
+    
+    public List<Instance> getModifiedInstances() {
+        return Collections.unmodifiableList(modifiedInstances);
+    }
+    
+    public void addAddedInstance(Instance instance) {
+        addedInstances.add(instance);
+    }
+    
+    public void addRemovedInstance(Instance instance) {
+        removedInstances.add(instance);
+    }
+    
+    public void addModifiedInstance(Instance instance) {
+        modifiedInstances.add(instance);
+    }
+    
+    /**
+     * Whether this is the first push of the service, which is a change even if it has no instance.
+     *
+     * @return {@code true} if there is no previous push of the service
+     */
+    public boolean isInitial() {
+        return initial;
+    }
+    
+    public void setInitial(boolean initial) {
+        this.initial = initial;
+    }
+    
+    public boolean hasDifferent() {
+        return isInitial() || isAdded() || isRemoved() || isModified();
+    }
+    
+    public boolean isAdded() {
+        return !addedInstances.isEmpty();
+    }
+    
+    public boolean isRemoved() {
+        return !removedInstances.isEmpty();
+    }
+    
+    public boolean isModified() {
+        return !modifiedInstances.isEmpty();
+    }
+}
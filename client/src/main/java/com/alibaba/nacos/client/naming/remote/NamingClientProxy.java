@@ -24,6 +24,7 @@ import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
 import com.alibaba.nacos.api.selector.AbstractSelector;
 import com.alibaba.nacos.common.lifecycle.Closeable;
 
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -53,6 +54,26 @@ public interface NamingClientProxy extends Closeable {
      */
     void deregisterService(String serviceName, String groupName, Instance instance) throws NacosException;
     
+    /**
+     * Batch register instances to service, replacing the instances registered by this client before.
+     *
+     * @param serviceName name of service
+     * @param groupName   group of service
+     * @param instances   instances to register
+     * @throws NacosException nacos exception
+     */
+    void batchRegisterService(String serviceName, String groupName, List<Instance> instances) throws NacosException;
+    
+    /**
+     * Batch deregister instances from service.
+     *
+     * @param serviceName name of service
+     * @param groupName   group of service
+     * @param instances   instances to deregister
+     * @throws NacosException nacos exception
+     */
+    void batchDeregisterService(String serviceName, String groupName, List<Instance> instances) throws NacosException;
+    
     /**
      * Update instance to service.
      *
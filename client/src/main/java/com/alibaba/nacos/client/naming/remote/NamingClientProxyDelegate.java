@@ -33,6 +33,7 @@ import com.alibaba.nacos.client.naming.remote.http.NamingHttpClientProxy;
 import com.alibaba.nacos.client.security.SecurityProxy;
 import com.alibaba.nacos.common.utils.ThreadUtils;
 
+import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
@@ -115,6 +116,18 @@ public class NamingClientProxyDelegate implements NamingClientProxy {
         getExecuteClientProxy(instance).deregisterService(serviceName, groupName, instance);
     }
     
+    @Override
+    public void batchRegisterService(String serviceName, String groupName, List<Instance> instances)
+            throws NacosException {
+        grpcClientProxy.batchRegisterService(serviceName, groupName, instances);
+    }
+    
+    @Override
+    public void batchDeregisterService(String serviceName, String groupName, List<Instance> instances)
+            throws NacosException {
+        grpcClientProxy.batchDeregisterService(serviceName, groupName, instances);
+    }
+    
     @Override
     public void updateInstance(String serviceName, String groupName, Instance instance) throws NacosException {
     
@@ -169,6 +182,8 @@ public class NamingClientProxyDelegate implements NamingClientProxy {
     public void unsubscribe(String serviceName, String groupName, String clusters) throws NacosException {
         serviceInfoUpdateService.stopUpdateIfContain(serviceName, groupName, clusters);
         grpcClientProxy.unsubscribe(serviceName, groupName, clusters);
+        serviceInfoHolder
+                .removeFingerprint(ServiceInfo.getKey(NamingUtils.getGroupedName(serviceName, groupName), clusters));
     }
     
     @Override
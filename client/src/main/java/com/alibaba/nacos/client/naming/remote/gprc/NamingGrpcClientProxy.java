@@ -24,10 +24,12 @@ import com.alibaba.nacos.api.naming.pojo.Service;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
 import com.alibaba.nacos.api.naming.remote.NamingRemoteConstants;
 import com.alibaba.nacos.api.naming.remote.request.AbstractNamingRequest;
+import com.alibaba.nacos.api.naming.remote.request.BatchInstanceRequest;
 import com.alibaba.nacos.api.naming.remote.request.InstanceRequest;
 import com.alibaba.nacos.api.naming.remote.request.ServiceListRequest;
 import com.alibaba.nacos.api.naming.remote.request.ServiceQueryRequest;
 import com.alibaba.nacos.api.naming.remote.request.SubscribeServiceRequest;
+import com.alibaba.nacos.api.naming.remote.response.BatchInstanceResponse;
 import com.alibaba.nacos.api.naming.remote.response.QueryServiceResponse;
 import com.alibaba.nacos.api.naming.remote.response.ServiceListResponse;
 import com.alibaba.nacos.api.naming.remote.response.SubscribeServiceResponse;
@@ -47,6 +49,7 @@ import com.alibaba.nacos.common.remote.client.ServerListFactory;
 import com.alibaba.nacos.common.utils.JacksonUtils;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -137,6 +140,28 @@ public class NamingGrpcClientProxy extends AbstractNamingClientProxy {
         namingGrpcConnectionEventListener.removeInstanceForRedo(serviceName, groupName, instance);
     }
     
+    @Override
+    public void batchRegisterService(String serviceName, String groupName, List<Instance> instances)
+            throws NacosException {
+        NAMING_LOGGER.info("[BATCH-REGISTER-SERVICE] {} batch registering service {} with {} instances", namespaceId,
+                serviceName, instances.size());
+        BatchInstanceRequest request = new BatchInstanceRequest(namespaceId, serviceName, groupName,
+                NamingRemoteConstants.BATCH_REGISTER_INSTANCE, instances);
+        requestToServer(request, BatchInstanceResponse.class);
+        namingGrpcConnectionEventListener.cacheBatchInstancesForRedo(serviceName, groupName, instances);
+    }
+    
+    @Override
+    public void batchDeregisterService(String serviceName, String groupName, List<Instance> instances)
+            throws NacosException {
+        NAMING_LOGGER.info("[BATCH-DEREGISTER-SERVICE] {} batch deregistering service {} with {} instances",
+                namespaceId, serviceName, instances.size());
+        BatchInstanceRequest request = new BatchInstanceRequest(namespaceId, serviceName, groupName,
+                NamingRemoteConstants.BATCH_DE_REGISTER_INSTANCE, instances);
+        requestToServer(request, BatchInstanceResponse.class);
+        namingGrpcConnectionEventListener.removeBatchInstancesForRedo(serviceName, groupName, instances);
+    }
+    
     @Override
     public void updateInstance(String serviceName, String groupName, Instance instance) throws NacosException {
     
@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.client.naming.remote.gprc;
 
+import com.alibaba.nacos.api.common.Constants;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
@@ -23,7 +24,12 @@ import com.alibaba.nacos.api.naming.utils.NamingUtils;
 import com.alibaba.nacos.client.utils.LogUtils;
 import com.alibaba.nacos.common.remote.client.ConnectionEventListener;
 import com.alibaba.nacos.common.utils.ConcurrentHashSet;
+import com.alibaba.nacos.common.utils.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -44,6 +50,8 @@ public class NamingGrpcConnectionEventListener implements ConnectionEventListene
     
     private final ConcurrentMap<String, Instance> registeredInstanceCached = new ConcurrentHashMap<>();
     
+    private final ConcurrentMap<String, List<Instance>> registeredBatchInstancesCached = new ConcurrentHashMap<>();
+    
     private final Set<String> subscribes = new ConcurrentHashSet<String>();
     
     public NamingGrpcConnectionEventListener(NamingGrpcClientProxy clientProxy) {
@@ -75,6 +83,11 @@ public class NamingGrpcConnectionEventListener implements ConnectionEventListene
             String groupName = NamingUtils.getGroupName(each.getKey());
             redoRegisterEachInstance(serviceName, groupName, each.getValue());
         }
+        for (Map.Entry<String, List<Instance>> each : registeredBatchInstancesCached.entrySet()) {
+            String serviceName = NamingUtils.getServiceName(each.getKey());
+            String groupName = NamingUtils.getGroupName(each.getKey());
+            redoRegisterBatchInstances(serviceName, groupName, each.getValue());
+        }
     }
     
     private void redoRegisterEachInstance(String serviceName, String groupName, Instance instance) {
@@ -86,6 +99,16 @@ public class NamingGrpcConnectionEventListener implements ConnectionEventListene
         }
     }
     
+    private void redoRegisterBatchInstances(String serviceName, String groupName, List<Instance> instances) {
+        try {
+            clientProxy.batchRegisterService(serviceName, groupName, instances);
+        } catch (NacosException e) {
+            LogUtils.NAMING_LOGGER.warn(String
+                    .format("redo batch register for service %s@@%s, %d instances failed", groupName, serviceName,
+                            instances.size()), e);
+        }
+    }
+    
     @Override
     public void onDisConnect() {
         LogUtils.NAMING_LOGGER.warn("Grpc connection disconnect");
@@ -101,6 +124,20 @@ public class NamingGrpcConnectionEventListener implements ConnectionEventListene
     public void cacheInstanceForRedo(String serviceName, String groupName, Instance instance) {
         String key = NamingUtils.getGroupedName(serviceName, groupName);
         registeredInstanceCached.put(key, instance);
+        registeredBatchInstancesCached.remove(key);
+    }
+    
+    /**
+     * Cache batch registered instances for redo, which replace the instances registered before.
+     *
+     * @param serviceName service name
+     * @param groupName   group name
+     * @param instances   batch registered instances
+     */
+    public void cacheBatchInstancesForRedo(String serviceName, String groupName, List<Instance> instances) {
+        String key = NamingUtils.getGroupedName(serviceName, groupName);
+        registeredBatchInstancesCached.put(key, new ArrayList<>(instances));
+        registeredInstanceCached.remove(key);
     }
     
     /**
@@ -113,6 +150,50 @@ public class NamingGrpcConnectionEventListener implements ConnectionEventListene
     public void removeInstanceForRedo(String serviceName, String groupName, Instance instance) {
         String key = NamingUtils.getGroupedName(serviceName, groupName);
         registeredInstanceCached.remove(key);
+        removeFromBatchInstances(key, Collections.singleton(getInstanceKey(instance)));
+    }
+    
+    /**
+     * Remove batch deregistered instances for redo.
+     *
+     * @param serviceName service name
+     * @param groupName   group name
+     * @param instances   batch deregistered instances
+     */
+    public void removeBatchInstancesForRedo(String serviceName, String groupName, List<Instance> instances) {
+        String key = NamingUtils.getGroupedName(serviceName, groupName);
+        Set<String> instanceKeys = getInstanceKeys(instances);
+        Instance registered = registeredInstanceCached.get(key);
+        if (null != registered && instanceKeys.contains(getInstanceKey(registered))) {
+            registeredInstanceCached.remove(key);
+        }
+        removeFromBatchInstances(key, instanceKeys);
+    }
+    
+    private void removeFromBatchInstances(String key, Set<String> instanceKeys) {
+        registeredBatchInstancesCached.computeIfPresent(key, (k, registered) -> {
+            List<Instance> result = new ArrayList<>(registered.size());
+            for (Instance each : registered) {
+                if (!instanceKeys.contains(getInstanceKey(each))) {
+                    result.add(each);
+                }
+            }
+            return result.isEmpty() ? null : result;
+        });
+    }
+    
+    private Set<String> getInstanceKeys(List<Instance> instances) {
+        Set<String> result = new HashSet<>(instances.size());
+        for (Instance each : instances) {
+            result.add(getInstanceKey(each));
+        }
+        return result;
+    }
+    
+    private String getInstanceKey(Instance instance) {
+        String cluster = StringUtils.isBlank(instance.getClusterName()) ? Constants.DEFAULT_CLUSTER_NAME
+                : instance.getClusterName();
+        return instance.getIp() + ":" + instance.getPort() + ":" + cluster;
     }
     
     public void cacheSubscriberForRedo(String fullServiceName, String cluster) {
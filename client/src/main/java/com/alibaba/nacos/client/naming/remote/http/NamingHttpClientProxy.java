@@ -146,6 +146,20 @@ public class NamingHttpClientProxy extends AbstractNamingClientProxy {
         reqApi(UtilAndComs.nacosUrlInstance, params, HttpMethod.DELETE);
     }
     
+    @Override
+    public void batchRegisterService(String serviceName, String groupName, List<Instance> instances)
+            throws NacosException {
+        throw new NacosException(NacosException.CLIENT_INVALID_PARAM,
+                "Batch register is only supported by grpc client proxy.");
+    }
+    
+    @Override
+    public void batchDeregisterService(String serviceName, String groupName, List<Instance> instances)
+            throws NacosException {
+        throw new NacosException(NacosException.CLIENT_INVALID_PARAM,
+                "Batch deregister is only supported by grpc client proxy.");
+    }
+    
     @Override
     public void updateInstance(String serviceName, String groupName, Instance instance) throws NacosException {
         NAMING_LOGGER
@@ -133,4 +133,40 @@ public class CacheDataTest {
         
     }
     
+    @Test
+    public void testCheckListenerMd5Coalesced() {
+        ConfigFilterChainManager filter = new ConfigFilterChainManager(new Properties());
+        final CacheData data = new CacheData(filter, "name1", "key", "group", "tenant");
+        final List<String> list = new ArrayList<>();
+        final List<Runnable> jobs = new ArrayList<>();
+        Listener listener = new Listener() {
+            @Override
+            public Executor getExecutor() {
+                return jobs::add;
+            }
+            
+            @Override
+            public void receiveConfigInfo(String configInfo) {
+                list.add(configInfo);
+            }
+        };
+        data.addListener(listener);
+        data.setContent("v1");
+        data.checkListenerMd5();
+        data.setContent("v2");
+        data.checkListenerMd5();
+        data.checkListenerMd5();
+        Assert.assertEquals(1, jobs.size());
+        
+        jobs.remove(0).run();
+        Assert.assertEquals(1, list.size());
+        Assert.assertEquals("v2", list.get(0));
+        Assert.assertTrue(data.checkListenersMd5Consistent());
+        Assert.assertTrue(jobs.isEmpty());
+        
+        data.setContent("v3");
+        data.checkListenerMd5();
+        Assert.assertEquals(1, jobs.size());
+    }
+    
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.client.naming.cache;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.client.naming.event.InstancesDiff;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class InstancesFingerprintTest {
+    
+    @Test
+    public void testFingerprint() {
+        Instance instance1 = createInstance("1.1.1.1", 1);
+        Instance instance2 = createInstance("1.1.1.1", 1);
+        Assert.assertEquals(InstancesFingerprint.fingerprint(instance1), InstancesFingerprint.fingerprint(instance2));
+        instance2.setHealthy(false);
+        Assert.assertNotEquals(InstancesFingerprint.fingerprint(instance1),
+                InstancesFingerprint.fingerprint(instance2));
+    }
+    
+    @Test
+    public void testFingerprintIgnoreMetadataOrder() {
+        Map<String, String> metadata1 = new LinkedHashMap<>();
+        metadata1.put("a", "1");
+        metadata1.put("b", "2");
+        Map<String, String> metadata2 = new LinkedHashMap<>();
+        metadata2.put("b", "2");
+        metadata2.put("a", "1");
+        Instance instance1 = createInstance("1.1.1.1", 1);
+        instance1.setMetadata(metadata1);
+        Instance instance2 = createInstance("1.1.1.1", 1);
+        instance2.setMetadata(metadata2);
+        Assert.assertEquals(InstancesFingerprint.fingerprint(instance1), InstancesFingerprint.fingerprint(instance2));
+        Map<String, String> metadata3 = new HashMap<>(metadata1);
+        metadata3.put("a", "2");
+        instance2.setMetadata(metadata3);
+        Assert.assertNotEquals(InstancesFingerprint.fingerprint(instance1),
+                InstancesFingerprint.fingerprint(instance2));
+    }
+    
+    @Test
+    public void testDiff() {
+        Instance instance1 = createInstance("1.1.1.1", 1);
+        Instance instance2 = createInstance("1.1.1.2", 2);
+        Instance newInstance1 = createInstance("1.1.1.1", 1);
+        newInstance1.setWeight(2.0);
+        Instance instance3 = createInstance("1.1.1.3", 3);
+        InstancesFingerprint older = InstancesFingerprint.of(Arrays.asList(instance1, instance2));
+        InstancesDiff diff = older.diff(InstancesFingerprint.of(Arrays.asList(newInstance1, instance3)));
+        Assert.assertTrue(diff.hasDifferent());
+        Assert.assertEquals(Arrays.asList(instance3), diff.getAddedInstances());
+        Assert.assertEquals(Arrays.asList(instance2), diff.getRemovedInstances());
+        Assert.assertEquals(Arrays.asList(newInstance1), diff.getModifiedInstances());
+        diff = older.diff(InstancesFingerprint.of(Arrays.asList(createInstance("1.1.1.1", 1), instance2)));
+        Assert.assertFalse(diff.hasDifferent());
+    }
+    
+    private Instance createInstance(String ip, int port) {
+        Instance instance = new Instance();
+        instance.setIp(ip);
+        instance.setPort(port);
+        return instance;
+    }
+}
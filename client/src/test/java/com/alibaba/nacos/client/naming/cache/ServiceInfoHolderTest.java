@@ -26,9 +26,11 @@ import com.alibaba.nacos.client.naming.backups.FailoverReactor;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.File;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -134,6 +136,64 @@ public class ServiceInfoHolderTest {
         Assert.assertEquals(expect.getHosts().get(0), actual.getHosts().get(0));
     }
     
+    @Test
+    public void testWriteDiskCacheAtShutdown() throws Exception {
+        Properties prop = new Properties();
+        ServiceInfoHolder holder = new ServiceInfoHolder("aa", prop);
+        Field field = ServiceInfoHolder.class.getDeclaredField("cacheDir");
+        field.setAccessible(true);
+        String cacheDir = (String) field.get(holder);
+        ServiceInfo info = new ServiceInfo("a@@disk@@c");
+        List<Instance> hosts = new ArrayList<>();
+        hosts.add(createInstance("1.1.1.1", 1));
+        info.setHosts(hosts);
+        File file = new File(cacheDir, info.getKeyEncoded());
+        file.delete();
+        holder.processServiceInfo(info);
+        holder.shutdown();
+        Assert.assertTrue(file.exists());
+        file.delete();
+    }
+    
+    @Test
+    public void testProcessEmptyServiceInfoAtFirstPush() throws Exception {
+        Properties prop = new Properties();
+        ServiceInfoHolder holder = new ServiceInfoHolder("aa", prop);
+        Field field = ServiceInfoHolder.class.getDeclaredField("cacheDir");
+        field.setAccessible(true);
+        String cacheDir = (String) field.get(holder);
+        ServiceInfo info = new ServiceInfo("a@@empty@@c");
+        info.setHosts(new ArrayList<Instance>());
+        File file = new File(cacheDir, info.getKeyEncoded());
+        file.delete();
+        
+        ServiceInfo actual = holder.processServiceInfo(info);
+        Assert.assertEquals(info, actual);
+        Assert.assertEquals(info, holder.getServiceInfoMap().get(info.getKey()));
+        holder.shutdown();
+        Assert.assertTrue(file.exists());
+        file.delete();
+    }
+    
+    @Test
+    public void testRemoveFingerprint() throws Exception {
+        Properties prop = new Properties();
+        ServiceInfoHolder holder = new ServiceInfoHolder("aa", prop);
+        ServiceInfo info = new ServiceInfo("a@@b@@c");
+        List<Instance> hosts = new ArrayList<>();
+        hosts.add(createInstance("1.1.1.1", 1));
+        info.setHosts(hosts);
+        holder.processServiceInfo(info);
+        Field field = ServiceInfoHolder.class.getDeclaredField("fingerprintMap");
+        field.setAccessible(true);
+        Map<?, ?> fingerprintMap = (Map<?, ?>) field.get(holder);
+        Assert.assertEquals(1, fingerprintMap.size());
+        
+        holder.removeFingerprint(info.getKey());
+        Assert.assertEquals(0, fingerprintMap.size());
+        Assert.assertEquals(info, holder.getServiceInfoMap().get(info.getKey()));
+    }
+    
     @Test
     public void testShutdown() throws NacosException, NoSuchFieldException, IllegalAccessException {
         Properties prop = new Properties();
@@ -33,6 +33,7 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -55,6 +56,18 @@ public class AbstractNamingClientProxyTest {
                 
             }
             
+            @Override
+            public void batchRegisterService(String serviceName, String groupName, List<Instance> instances)
+                    throws NacosException {
+                
+            }
+            
+            @Override
+            public void batchDeregisterService(String serviceName, String groupName, List<Instance> instances)
+                    throws NacosException {
+                
+            }
+            
             @Override
             public void updateInstance(String serviceName, String groupName, Instance instance) throws NacosException {
             
@@ -145,6 +158,18 @@ public class AbstractNamingClientProxyTest {
                 
             }
             
+            @Override
+            public void batchRegisterService(String serviceName, String groupName, List<Instance> instances)
+                    throws NacosException {
+                
+            }
+            
+            @Override
+            public void batchDeregisterService(String serviceName, String groupName, List<Instance> instances)
+                    throws NacosException {
+                
+            }
+            
             @Override
             public void updateInstance(String serviceName, String groupName, Instance instance) throws NacosException {
             
@@ -180,6 +180,23 @@ public class NamingClientProxyDelegateTest {
         verify(mockGrpcClient, times(1)).queryInstancesOfService(serviceName, groupName, clusters, 0, false);
     }
     
+    @Test
+    public void testUnsubscribe() throws NacosException, IllegalAccessException, NoSuchFieldException {
+        String ns = "ns1";
+        ServiceInfoHolder holder = Mockito.mock(ServiceInfoHolder.class);
+        Properties props = new Properties();
+        InstancesChangeNotifier notifier = new InstancesChangeNotifier();
+        NamingClientProxyDelegate delegate = new NamingClientProxyDelegate(ns, holder, props, notifier);
+        NamingGrpcClientProxy mockGrpcClient = Mockito.mock(NamingGrpcClientProxy.class);
+        Field grpcClientProxyField = NamingClientProxyDelegate.class.getDeclaredField("grpcClientProxy");
+        grpcClientProxyField.setAccessible(true);
+        grpcClientProxyField.set(delegate, mockGrpcClient);
+        
+        delegate.unsubscribe("service1", "group1", "cluster1");
+        verify(mockGrpcClient, times(1)).unsubscribe("service1", "group1", "cluster1");
+        verify(holder, times(1)).removeFingerprint("group1@@service1@@cluster1");
+    }
+    
     @Test
     public void testQueryService() throws NacosException {
         String ns = "ns1";
@@ -23,6 +23,12 @@ import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -60,6 +66,52 @@ public class NamingGrpcConnectionEventListenerTest {
         verify(proxy, times(0)).registerService(serviceName, groupName, instance);
     }
     
+    @Test
+    public void testCacheBatchInstancesForRedo() throws NacosException {
+        //given
+        NamingGrpcClientProxy proxy = mock(NamingGrpcClientProxy.class);
+        NamingGrpcConnectionEventListener listener = new NamingGrpcConnectionEventListener(proxy);
+        String serviceName = "service1";
+        String groupName = "group1";
+        Instance instance = new Instance();
+        List<Instance> instances = Arrays.asList(newInstance(80), newInstance(81));
+        listener.cacheInstanceForRedo(serviceName, groupName, instance);
+        listener.cacheBatchInstancesForRedo(serviceName, groupName, instances);
+        //when
+        listener.onConnected();
+        //then
+        verify(proxy, times(1)).batchRegisterService(serviceName, groupName, instances);
+        verify(proxy, times(0)).registerService(serviceName, groupName, instance);
+    }
+    
+    @Test
+    public void testRemoveBatchInstancesForRedo() throws NacosException {
+        //given
+        NamingGrpcClientProxy proxy = mock(NamingGrpcClientProxy.class);
+        NamingGrpcConnectionEventListener listener = new NamingGrpcConnectionEventListener(proxy);
+        String serviceName = "service1";
+        String groupName = "group1";
+        listener.cacheBatchInstancesForRedo(serviceName, groupName,
+                Arrays.asList(newInstance(80), newInstance(81), newInstance(82)));
+        listener.removeBatchInstancesForRedo(serviceName, groupName, Collections.singletonList(newInstance(80)));
+        listener.removeInstanceForRedo(serviceName, groupName, newInstance(81));
+        //when
+        listener.onConnected();
+        //then
+        verify(proxy, times(1))
+                .batchRegisterService(serviceName, groupName, Collections.singletonList(newInstance(82)));
+        listener.removeBatchInstancesForRedo(serviceName, groupName, Collections.singletonList(newInstance(82)));
+        listener.onConnected();
+        verify(proxy, times(1)).batchRegisterService(anyString(), anyString(), anyList());
+    }
+    
+    private Instance newInstance(int port) {
+        Instance result = new Instance();
+        result.setIp("1.1.1.1");
+        result.setPort(port);
+        return result;
+    }
+    
     @Test
     public void testCacheSubscriberForRedo() throws NacosException {
         //given
@@ -695,6 +695,29 @@ public class NamingHttpClientProxyTest {
         clientProxy.setServerPort(1234);
     }
     
+    @Test
+    public void testBatchRegisterService() throws Exception {
+        SecurityProxy proxy = mock(SecurityProxy.class);
+        ServerListManager mgr = mock(ServerListManager.class);
+        when(mgr.getServerList()).thenReturn(Arrays.asList("localhost"));
+        Properties props = new Properties();
+        ServiceInfoHolder holder = mock(ServiceInfoHolder.class);
+        NamingHttpClientProxy clientProxy = new NamingHttpClientProxy("aaa", proxy, mgr, props, holder);
+        
+        try {
+            clientProxy.batchRegisterService("service1", "group1", Arrays.asList(new Instance()));
+            Assert.fail();
+        } catch (NacosException e) {
+            Assert.assertEquals(NacosException.CLIENT_INVALID_PARAM, e.getErrCode());
+        }
+        try {
+            clientProxy.batchDeregisterService("service1", "group1", Arrays.asList(new Instance()));
+            Assert.fail();
+        } catch (NacosException e) {
+            Assert.assertEquals(NacosException.CLIENT_INVALID_PARAM, e.getErrCode());
+        }
+    }
+    
     @Test
     public void testGetBeatReactor() throws Exception {
         SecurityProxy proxy = mock(SecurityProxy.class);
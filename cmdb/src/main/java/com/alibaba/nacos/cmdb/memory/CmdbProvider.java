@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.cmdb.memory;
 
+import com.alibaba.nacos.api.cmdb.pojo.ChangeFeed;
 import com.alibaba.nacos.api.cmdb.pojo.Entity;
 import com.alibaba.nacos.api.cmdb.pojo.EntityEvent;
 import com.alibaba.nacos.api.cmdb.pojo.Label;
@@ -28,12 +29,17 @@ import com.alibaba.nacos.cmdb.utils.CmdbExecutor;
 import com.alibaba.nacos.cmdb.utils.Loggers;
 import com.alibaba.nacos.common.spi.NacosServiceLoader;
 import com.alibaba.nacos.common.utils.JacksonUtils;
+import io.micrometer.core.instrument.ImmutableTag;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -41,10 +47,16 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToDoubleFunction;
 
 /**
  * CMDB provider.
  *
+ * <p>If the {@link CmdbService} supports change feed, labels and entities are synchronized incrementally by the
+ * event task and the changes are applied in place, otherwise they are dumped periodically. Entities are also indexed
+ * by their label values.
+ *
  * @author nkorange
  * @since 0.7.0
  */
@@ -58,14 +70,27 @@ public class CmdbProvider implements CmdbReader, CmdbWriter {
     
     private final Collection<CmdbService> services = NacosServiceLoader.load(CmdbService.class);
     
-    private Map<String, Map<String, Entity>> entityMap = new ConcurrentHashMap<>();
+    private volatile Map<String, Map<String, Entity>> entityMap = new ConcurrentHashMap<>();
     
-    private Map<String, Label> labelMap = new ConcurrentHashMap<>();
+    private volatile Map<String, Label> labelMap = new ConcurrentHashMap<>();
+    
+    /**
+     * Entities indexed by label name and label value.
+     */
+    private volatile Map<String, Map<String, Set<Entity>>> labelIndex = new ConcurrentHashMap<>();
     
     private Set<String> entityTypeSet = new HashSet<>();
     
     private long eventTimestamp = System.currentTimeMillis();
     
+    private final AtomicLong revision = new AtomicLong();
+    
+    private long changeVersion;
+    
+    private volatile long lastSyncTime = System.currentTimeMillis();
+    
+    private final AtomicLong changeDelay = new AtomicLong();
+    
     public CmdbProvider() throws NacosException {
     }
     
@@ -80,6 +105,21 @@ public class CmdbProvider implements CmdbReader, CmdbWriter {
         }
     }
     
+    private void initMetrics() {
+        // Time since the last successful sync, and delay from a change in CMDB to the change applied.
+        Metrics.gauge("nacos_monitor", metricsTags("cmdbSyncLag"), this, new ToDoubleFunction<CmdbProvider>() {
+            @Override
+            public double applyAsDouble(CmdbProvider provider) {
+                return System.currentTimeMillis() - provider.lastSyncTime;
+            }
+        });
+        Metrics.gauge("nacos_monitor", metricsTags("cmdbChangeDelay"), changeDelay);
+    }
+    
+    private List<Tag> metricsTags(String name) {
+        return Arrays.<Tag>asList(new ImmutableTag("module", "cmdb"), new ImmutableTag("name", name));
+    }
+    
     /**
      * load data.
      */
@@ -104,7 +144,7 @@ public class CmdbProvider implements CmdbReader, CmdbWriter {
         entityTypeSet = cmdbService.getEntityTypes();
         
         // init entity map:
-        entityMap = cmdbService.getAllEntities();
+        dumpEntities();
     }
     
     /**
@@ -116,6 +156,7 @@ public class CmdbProvider implements CmdbReader, CmdbWriter {
     public void init() throws NacosException {
         
         initCmdbService();
+        initMetrics();
         load();
         
         CmdbExecutor.scheduleCmdbTask(new CmdbDumpTask(), switches.getDumpTaskInterval(), TimeUnit.SECONDS);
@@ -125,16 +166,17 @@ public class CmdbProvider implements CmdbReader, CmdbWriter {
     
     @Override
     public Entity queryEntity(String entityName, String entityType) {
-        if (!entityMap.containsKey(entityType)) {
+        Map<String, Entity> entities = entityMap.get(entityType);
+        if (entities == null) {
             return null;
         }
-        return entityMap.get(entityType).get(entityName);
+        return entities.get(entityName);
     }
     
     @Override
     public String queryLabel(String entityName, String entityType, String labelName) {
         Entity entity = queryEntity(entityName, entityType);
-        if (entity == null) {
+        if (entity == null || entity.getLabels() == null) {
             return null;
         }
         return entity.getLabels().get(labelName);
@@ -142,7 +184,14 @@ public class CmdbProvider implements CmdbReader, CmdbWriter {
     
     @Override
     public List<Entity> queryEntitiesByLabel(String labelName, String labelValue) {
-        throw new UnsupportedOperationException("Not available now!");
+        Map<String, Set<Entity>> values = labelIndex.get(labelName);
+        Set<Entity> entities = values == null ? null : values.get(labelValue);
+        return entities == null ? Collections.<Entity>emptyList() : new ArrayList<>(entities);
+    }
+    
+    @Override
+    public long getRevision() {
+        return revision.get();
     }
     
     /**
@@ -151,11 +200,10 @@ public class CmdbProvider implements CmdbReader, CmdbWriter {
      * @param entityName entity name
      * @param entityType entity type
      */
-    public void removeEntity(String entityName, String entityType) {
-        if (!entityMap.containsKey(entityType)) {
-            return;
+    public synchronized void removeEntity(String entityName, String entityType) {
+        if (removeEntity0(entityName, entityType)) {
+            revision.incrementAndGet();
         }
-        entityMap.get(entityType).remove(entityName);
     }
     
     /**
@@ -163,11 +211,156 @@ public class CmdbProvider implements CmdbReader, CmdbWriter {
      *
      * @param entity entity
      */
-    public void updateEntity(Entity entity) {
-        if (!entityTypeSet.contains(entity.getType())) {
+    public synchronized void updateEntity(Entity entity) {
+        if (updateEntity0(entity)) {
+            revision.incrementAndGet();
+        }
+    }
+    
+    private boolean removeEntity0(String entityName, String entityType) {
+        Map<String, Entity> entities = entityMap.get(entityType);
+        if (entities == null) {
+            return false;
+        }
+        Entity removed = entities.remove(entityName);
+        if (removed == null) {
+            return false;
+        }
+        unindexEntity(removed);
+        return true;
+    }
+    
+    private boolean updateEntity0(Entity entity) {
+        if (entity == null || !entityTypeSet.contains(entity.getType())) {
+            return false;
+        }
+        Map<String, Entity> entities = entityMap.get(entity.getType());
+        if (entities == null) {
+            entities = new ConcurrentHashMap<>(16);
+            entityMap.put(entity.getType(), entities);
+        }
+        Entity old = entities.put(entity.getName(), entity);
+        if (old != null) {
+            unindexEntity(old);
+        }
+        indexEntity(labelIndex, entity);
+        return true;
+    }
+    
+    /**
+     * Dump all entities and replace the entity map and label index.
+     */
+    private synchronized void dumpEntities() {
+        final long version = cmdbService.getLatestVersion();
+        Map<String, Map<String, Entity>> allEntities = cmdbService.getAllEntities();
+        Map<String, Map<String, Entity>> newEntityMap = new ConcurrentHashMap<>(16);
+        Map<String, Map<String, Set<Entity>>> newLabelIndex = new ConcurrentHashMap<>(16);
+        if (allEntities != null) {
+            for (Map.Entry<String, Map<String, Entity>> entry : allEntities.entrySet()) {
+                newEntityMap.put(entry.getKey(), new ConcurrentHashMap<>(entry.getValue()));
+                for (Entity entity : entry.getValue().values()) {
+                    indexEntity(newLabelIndex, entity);
+                }
+            }
+        }
+        entityMap = newEntityMap;
+        labelIndex = newLabelIndex;
+        changeVersion = version;
+        lastSyncTime = System.currentTimeMillis();
+        revision.incrementAndGet();
+    }
+    
+    /**
+     * Sync the changes after current version from CMDB, dump all if the changes are no longer retained.
+     */
+    private synchronized void syncChanges() {
+        if (entityTypeSet == null || entityTypeSet.isEmpty()) {
+            entityTypeSet = cmdbService.getEntityTypes();
+        }
+        ChangeFeed changeFeed = cmdbService.getChanges(changeVersion);
+        if (changeFeed == null) {
+            Loggers.MAIN.warn("CMDB-SYNC {}", "changes after version " + changeVersion + " are missing, dump all.");
+            labelMap = loadLabels();
+            dumpEntities();
             return;
         }
-        entityMap.get(entity.getType()).put(entity.getName(), entity);
+        long current = System.currentTimeMillis();
+        if (!changeFeed.isEmpty()) {
+            for (Label label : changeFeed.getUpdatedLabels()) {
+                labelMap.put(label.getName(), label);
+            }
+            for (String labelName : changeFeed.getRemovedLabels()) {
+                labelMap.remove(labelName);
+            }
+            for (Entity entity : changeFeed.getRemovedEntities()) {
+                removeEntity0(entity.getName(), entity.getType());
+            }
+            for (Entity entity : changeFeed.getUpdatedEntities()) {
+                updateEntity0(entity);
+            }
+            revision.incrementAndGet();
+            changeDelay.set(Math.max(0L, current - changeFeed.getTimestamp()));
+            if (Loggers.MAIN.isDebugEnabled()) {
+                Loggers.MAIN.debug("CMDB-SYNC {}", "applied changes:" + JacksonUtils.toJson(changeFeed));
+            }
+        }
+        changeVersion = Math.max(changeVersion, changeFeed.getVersion());
+        lastSyncTime = current;
+    }
+    
+    private Map<String, Label> loadLabels() {
+        Map<String, Label> tmpLabelMap = new ConcurrentHashMap<>(16);
+        Set<String> labelNames = cmdbService.getLabelNames();
+        if (labelNames == null || labelNames.isEmpty()) {
+            Loggers.MAIN.warn("CMDB-LABEL-TASK {}", "load label names failed!");
+            return labelMap;
+        }
+        for (String labelName : labelNames) {
+            Label label = cmdbService.getLabel(labelName);
+            // If get null label, it's still ok. We will try it later when we meet this label:
+            if (label != null) {
+                tmpLabelMap.put(labelName, label);
+            }
+        }
+        return tmpLabelMap;
+    }
+    
+    private void indexEntity(Map<String, Map<String, Set<Entity>>> index, Entity entity) {
+        if (entity.getLabels() == null) {
+            return;
+        }
+        for (Map.Entry<String, String> label : entity.getLabels().entrySet()) {
+            if (label.getValue() == null) {
+                continue;
+            }
+            Map<String, Set<Entity>> values = index.get(label.getKey());
+            if (values == null) {
+                values = new ConcurrentHashMap<>(16);
+                index.put(label.getKey(), values);
+            }
+            Set<Entity> entities = values.get(label.getValue());
+            if (entities == null) {
+                entities = Collections.newSetFromMap(new ConcurrentHashMap<Entity, Boolean>(16));
+                values.put(label.getValue(), entities);
+            }
+            entities.add(entity);
+        }
+    }
+    
+    private void unindexEntity(Entity entity) {
+        if (entity.getLabels() == null) {
+            return;
+        }
+        for (Map.Entry<String, String> label : entity.getLabels().entrySet()) {
+            Map<String, Set<Entity>> values = labelIndex.get(label.getKey());
+            Set<Entity> entities = values == null || label.getValue() == null ? null : values.get(label.getValue());
+            if (entities != null) {
+                entities.remove(entity);
+                if (entities.isEmpty()) {
+                    values.remove(label.getValue());
+                }
+            }
+        }
     }
     
     public class CmdbLabelTask implements Runnable {
@@ -177,28 +370,21 @@ public class CmdbProvider implements CmdbReader, CmdbWriter {
             
             Loggers.MAIN.debug("LABEL-TASK {}", "start dump.");
             
-            if (cmdbService == null) {
+            if (cmdbService == null || cmdbService.isChangeFeedSupported()) {
                 return;
             }
             
             try {
                 
-                Map<String, Label> tmpLabelMap = new HashMap<>(16);
+                Map<String, Label> tmpLabelMap = loadLabels();
                 
-                Set<String> labelNames = cmdbService.getLabelNames();
-                if (labelNames == null || labelNames.isEmpty()) {
-                    Loggers.MAIN.warn("CMDB-LABEL-TASK {}", "load label names failed!");
-                } else {
-                    for (String labelName : labelNames) {
-                        // If get null label, it's still ok. We will try it later when we meet this label:
-                        tmpLabelMap.put(labelName, cmdbService.getLabel(labelName));
-                    }
-                    
-                    if (Loggers.MAIN.isDebugEnabled()) {
-                        Loggers.MAIN.debug("LABEL-TASK {}", "got label map:" + JacksonUtils.toJson(tmpLabelMap));
-                    }
-                    
+                if (Loggers.MAIN.isDebugEnabled()) {
+                    Loggers.MAIN.debug("LABEL-TASK {}", "got label map:" + JacksonUtils.toJson(tmpLabelMap));
+                }
+                
+                synchronized (CmdbProvider.this) {
                     labelMap = tmpLabelMap;
+                    revision.incrementAndGet();
                 }
                 
             } catch (Exception e) {
@@ -218,11 +404,12 @@ public class CmdbProvider implements CmdbReader, CmdbWriter {
                 
                 Loggers.MAIN.debug("DUMP-TASK {}", "start dump.");
                 
-                if (cmdbService == null) {
+                // Entities with change feed are kept up to date by event task:
+                if (cmdbService == null || cmdbService.isChangeFeedSupported()) {
                     return;
                 }
                 // refresh entity map:
-                entityMap = cmdbService.getAllEntities();
+                dumpEntities();
             } catch (Exception e) {
                 Loggers.MAIN.error("DUMP-TASK {}", "dump failed!", e);
             } finally {
@@ -243,6 +430,11 @@ public class CmdbProvider implements CmdbReader, CmdbWriter {
                     return;
                 }
                 
+                if (cmdbService.isChangeFeedSupported()) {
+                    syncChanges();
+                    return;
+                }
+                
                 long current = System.currentTimeMillis();
                 List<EntityEvent> events = cmdbService.getEntityEvents(eventTimestamp);
                 eventTimestamp = current;
@@ -266,6 +458,7 @@ public class CmdbProvider implements CmdbReader, CmdbWriter {
                         }
                     }
                 }
+                lastSyncTime = current;
                 
             } catch (Exception e) {
                 Loggers.MAIN.error("CMDB-EVENT {}", "event task failed!", e);
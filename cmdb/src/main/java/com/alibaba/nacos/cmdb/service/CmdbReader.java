@@ -28,6 +28,11 @@ import java.util.List;
  */
 public interface CmdbReader {
     
+    /**
+     * Revision of reader which does not track changes of cmdb data.
+     */
+    long UNKNOWN_REVISION = -1L;
+    
     /**
      * Get entity.
      *
@@ -55,4 +60,14 @@ public interface CmdbReader {
      * @return list of entity
      */
     List<Entity> queryEntitiesByLabel(String labelName, String labelValue);
+    
+    /**
+     * Get revision of cmdb data, which changes whenever any label or entity changes.
+     *
+     * @return revision, or {@link #UNKNOWN_REVISION} if changes are not tracked and data read from cmdb must not be
+     *     cached
+     */
+    default long getRevision() {
+        return UNKNOWN_REVISION;
+    }
 }
@@ -0,0 +1,186 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.cmdb.memory;
+
+import com.alibaba.nacos.api.cmdb.pojo.Entity;
+import com.alibaba.nacos.api.cmdb.pojo.Label;
+import com.alibaba.nacos.cmdb.core.SwitchAndOptions;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CmdbProviderTest {
+    
+    private static final String TYPE = "ip";
+    
+    @Mock
+    private SwitchAndOptions switches;
+    
+    private InMemoryCmdbService cmdbService;
+    
+    private CmdbProvider cmdbProvider;
+    
+    @BeforeClass
+    public static void setUpEnvironment() {
+        // The event task is rescheduled by CmdbExecutor, which needs environment.
+        EnvUtil.setEnvironment(new MockEnvironment());
+    }
+    
+    @Before
+    public void setUp() throws Exception {
+        Mockito.when(switches.isLoadDataAtStart()).thenReturn(true);
+        Mockito.when(switches.getEventTaskInterval()).thenReturn(3600);
+        cmdbService = Mockito.spy(new InMemoryCmdbService(Collections.singleton(TYPE), 3));
+        cmdbProvider = new CmdbProvider();
+        setField("switches", switches);
+        setField("cmdbService", cmdbService);
+    }
+    
+    @Test
+    public void testSyncChangeFeed() {
+        cmdbService.updateEntity(entity("1.1.1.1", "site", "a"));
+        cmdbService.updateLabel(label("site"));
+        cmdbProvider.load();
+        Assert.assertEquals("a", cmdbProvider.queryLabel("1.1.1.1", TYPE, "site"));
+        final long revision = cmdbProvider.getRevision();
+        
+        cmdbService.updateEntity(entity("1.1.1.1", "site", "b"));
+        cmdbService.updateEntity(entity("1.1.1.2", "site", "a"));
+        cmdbProvider.new CmdbEventTask().run();
+        Assert.assertEquals("b", cmdbProvider.queryLabel("1.1.1.1", TYPE, "site"));
+        assertEntities(cmdbProvider.queryEntitiesByLabel("site", "a"), "1.1.1.2");
+        assertEntities(cmdbProvider.queryEntitiesByLabel("site", "b"), "1.1.1.1");
+        Assert.assertTrue(cmdbProvider.getRevision() > revision);
+        
+        cmdbService.removeEntity("1.1.1.2", TYPE);
+        cmdbProvider.new CmdbEventTask().run();
+        Assert.assertNull(cmdbProvider.queryEntity("1.1.1.2", TYPE));
+        Assert.assertTrue(cmdbProvider.queryEntitiesByLabel("site", "a").isEmpty());
+        // Only the initial load dumps all entities.
+        Mockito.verify(cmdbService).getAllEntities();
+    }
+    
+    @Test
+    public void testSyncNoChange() {
+        cmdbService.updateEntity(entity("1.1.1.1", "site", "a"));
+        cmdbProvider.load();
+        final long revision = cmdbProvider.getRevision();
+        cmdbProvider.new CmdbEventTask().run();
+        Assert.assertEquals(revision, cmdbProvider.getRevision());
+    }
+    
+    @Test
+    public void testFullReloadOnRevisionGap() {
+        cmdbService.updateEntity(entity("1.1.1.1", "site", "a"));
+        cmdbProvider.load();
+        
+        // More changes than retained by CMDB, the changes after the current version are lost.
+        for (int i = 2; i <= 5; i++) {
+            cmdbService.updateEntity(entity("1.1.1." + i, "site", "b"));
+        }
+        cmdbService.removeEntity("1.1.1.1", TYPE);
+        cmdbProvider.new CmdbEventTask().run();
+        Mockito.verify(cmdbService, Mockito.times(2)).getAllEntities();
+        Assert.assertNull(cmdbProvider.queryEntity("1.1.1.1", TYPE));
+        Assert.assertTrue(cmdbProvider.queryEntitiesByLabel("site", "a").isEmpty());
+        assertEntities(cmdbProvider.queryEntitiesByLabel("site", "b"), "1.1.1.2", "1.1.1.3", "1.1.1.4", "1.1.1.5");
+        
+        // Changes are synchronized incrementally again after reload.
+        cmdbService.updateEntity(entity("1.1.1.6", "site", "a"));
+        cmdbProvider.new CmdbEventTask().run();
+        Mockito.verify(cmdbService, Mockito.times(2)).getAllEntities();
+        assertEntities(cmdbProvider.queryEntitiesByLabel("site", "a"), "1.1.1.6");
+    }
+    
+    @Test
+    public void testLabelIndex() {
+        Entity entity = entity("1.1.1.1", "site", "a");
+        entity.getLabels().put("env", "prod");
+        entity.getLabels().put("owner", null);
+        cmdbService.updateEntity(entity);
+        cmdbService.updateEntity(entity("1.1.1.2", "env", "prod"));
+        cmdbProvider.load();
+        assertEntities(cmdbProvider.queryEntitiesByLabel("site", "a"), "1.1.1.1");
+        assertEntities(cmdbProvider.queryEntitiesByLabel("env", "prod"), "1.1.1.1", "1.1.1.2");
+        Assert.assertTrue(cmdbProvider.queryEntitiesByLabel("owner", null).isEmpty());
+        Assert.assertTrue(cmdbProvider.queryEntitiesByLabel("site", "b").isEmpty());
+        Assert.assertTrue(cmdbProvider.queryEntitiesByLabel("unknown", "a").isEmpty());
+        
+        // The entries of the old labels are removed from index when entity is updated.
+        cmdbProvider.updateEntity(entity("1.1.1.1", "site", "b"));
+        Assert.assertTrue(cmdbProvider.queryEntitiesByLabel("site", "a").isEmpty());
+        assertEntities(cmdbProvider.queryEntitiesByLabel("site", "b"), "1.1.1.1");
+        assertEntities(cmdbProvider.queryEntitiesByLabel("env", "prod"), "1.1.1.2");
+        
+        cmdbProvider.removeEntity("1.1.1.2", TYPE);
+        Assert.assertTrue(cmdbProvider.queryEntitiesByLabel("env", "prod").isEmpty());
+        
+        // Entities of unknown type are not indexed.
+        Entity other = entity("host", "site", "b");
+        other.setType("host");
+        cmdbProvider.updateEntity(other);
+        assertEntities(cmdbProvider.queryEntitiesByLabel("site", "b"), "1.1.1.1");
+    }
+    
+    private void assertEntities(List<Entity> entities, String... names) {
+        Assert.assertEquals(names.length, entities.size());
+        for (String each : names) {
+            boolean found = false;
+            for (Entity entity : entities) {
+                found |= each.equals(entity.getName());
+            }
+            Assert.assertTrue(each + " not found", found);
+        }
+    }
+    
+    private Entity entity(String name, String labelName, String labelValue) {
+        Entity entity = new Entity();
+        entity.setName(name);
+        entity.setType(TYPE);
+        Map<String, String> labels = new HashMap<>(4);
+        labels.put(labelName, labelValue);
+        entity.setLabels(labels);
+        return entity;
+    }
+    
+    private Label label(String name) {
+        Label label = new Label();
+        label.setName(name);
+        label.setValues(Collections.singleton("a"));
+        return label;
+    }
+    
+    private void setField(String name, Object value) throws Exception {
+        Field field = CmdbProvider.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(cmdbProvider, value);
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.cmdb.memory;
+
+import com.alibaba.nacos.api.cmdb.pojo.ChangeFeed;
+import com.alibaba.nacos.api.cmdb.pojo.Entity;
+import com.alibaba.nacos.api.cmdb.pojo.EntityEvent;
+import com.alibaba.nacos.api.cmdb.pojo.EntityEventType;
+import com.alibaba.nacos.api.cmdb.pojo.Label;
+import com.alibaba.nacos.api.cmdb.spi.CmdbService;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory {@link CmdbService} with change feed, a stand-in of real CMDB for the tests of {@link CmdbProvider}.
+ *
+ * <p>Changes are made by {@link #updateEntity(Entity)}, {@link
+ * #removeEntity(String, String)}, {@link #updateLabel(Label)} and {@link #removeLabel(String)}. At most
+ * {@code maxRetainedChanges} changes are retained for {@link #getChanges(long)}.
+ *
+ * @author nacos
+ */
+public class InMemoryCmdbService implements CmdbService {
+    
+    private final Map<String, Map<String, Entity>> entities = new HashMap<>(16);
+    
+    private final Map<String, Label> labels = new HashMap<>(16);
+    
+    private final Set<String> entityTypes;
+    
+    private final LinkedList<Change> changes = new LinkedList<>();
+    
+    private final int maxRetainedChanges;
+    
+    private long version;
+    
+    public InMemoryCmdbService(Set<String> entityTypes, int maxRetainedChanges) {
+        this.entityTypes = entityTypes;
+        this.maxRetainedChanges = maxRetainedChanges;
+        for (String each : entityTypes) {
+            entities.put(each, new HashMap<String, Entity>(16));
+        }
+    }
+    
+    /**
+     * Add or update entity.
+     *
+     * @param entity entity
+     */
+    public synchronized void updateEntity(Entity entity) {
+        Map<String, Entity> typedEntities = entities.get(entity.getType());
+        if (typedEntities == null) {
+            typedEntities = new HashMap<>(16);
+            entities.put(entity.getType(), typedEntities);
+        }
+        typedEntities.put(entity.getName(), entity);
+        addChange(new Change(entity, false));
+    }
+    
+    /**
+     * Remove entity.
+     *
+     * @param entityName name of entity
+     * @param entityType type of entity
+     */
+    public synchronized void removeEntity(String entityName, String entityType) {
+        Map<String, Entity> typedEntities = entities.get(entityType);
+        Entity removed = typedEntities == null ? null : typedEntities.remove(entityName);
+        if (removed != null) {
+            addChange(new Change(removed, true));
+        }
+    }
+    
+    /**
+     * Add or update label.
+     *
+     * @param label label
+     */
+    public synchronized void updateLabel(Label label) {
+        labels.put(label.getName(), label);
+        addChange(new Change(label, false));
+    }
+    
+    /**
+     * Remove label.
+     *
+     * @param labelName name of label
+     */
+    public synchronized void removeLabel(String labelName) {
+        Label removed = labels.remove(labelName);
+        if (removed != null) {
+            addChange(new Change(removed, true));
+        }
+    }
+    
+    private void addChange(Change change) {
+        change.version = ++version;
+        changes.addLast(change);
+        if (changes.size() > maxRetainedChanges) {
+            changes.removeFirst();
+        }
+    }
+    
+    @Override
+    public synchronized Set<String> getLabelNames() {
+        return new HashSet<>(labels.keySet());
+    }
+    
+    @Override
+    public Set<String> getEntityTypes() {
+        return entityTypes;
+    }
+    
+    @Override
+    public synchronized Label getLabel(String labelName) {
+        return labels.get(labelName);
+    }
+    
+    @Override
+    public synchronized String getLabelValue(String entityName, String entityType, String labelName) {
+        Entity entity = getEntity(entityName, entityType);
+        return entity == null || entity.getLabels() == null ? null : entity.getLabels().get(labelName);
+    }
+    
+    @Override
+    public synchronized Map<String, String> getLabelValues(String entityName, String entityType) {
+        Entity entity = getEntity(entityName, entityType);
+        return entity == null ? null : entity.getLabels();
+    }
+    
+    @Override
+    public synchronized Map<String, Map<String, Entity>> getAllEntities() {
+        Map<String, Map<String, Entity>> result = new HashMap<>(entities.size());
+        for (Map.Entry<String, Map<String, Entity>> entry : entities.entrySet()) {
+            result.put(entry.getKey(), new HashMap<>(entry.getValue()));
+        }
+        return result;
+    }
+    
+    @Override
+    public List<EntityEvent> getEntityEvents(long timestamp) {
+        List<EntityEvent> events = new ArrayList<>();
+        for (Change change : changesAfter(0L)) {
+            if (change.entity != null && change.timestamp >= timestamp) {
+                EntityEvent event = new EntityEvent();
+                event.setEntityName(change.entity.getName());
+                event.setEntityType(change.entity.getType());
+                event.setType(change.removed ? EntityEventType.ENTITY_REMOVE : EntityEventType.ENTITY_ADD_OR_UPDATE);
+                events.add(event);
+            }
+        }
+        return events;
+    }
+    
+    @Override
+    public synchronized Entity getEntity(String entityName, String entityType) {
+        Map<String, Entity> typedEntities = entities.get(entityType);
+        return typedEntities == null ? null : typedEntities.get(entityName);
+    }
+    
+    @Override
+    public boolean isChangeFeedSupported() {
+        return true;
+    }
+    
+    @Override
+    public synchronized long getLatestVersion() {
+        return version;
+    }
+    
+    @Override
+    public synchronized ChangeFeed getChanges(long version) {
+        if (version < this.version && (changes.isEmpty() || changes.getFirst().version > version + 1)) {
+            return null;
+        }
+        // Only the latest change of each entity or label is needed:
+        Map<String, Change> latest = new LinkedHashMap<>();
+        ChangeFeed changeFeed = new ChangeFeed();
+        changeFeed.setVersion(version);
+        for (Change change : changesAfter(version)) {
+            latest.put(change.key(), change);
+            changeFeed.setVersion(change.version);
+            changeFeed.setTimestamp(change.timestamp);
+        }
+        for (Change change : latest.values()) {
+            if (change.entity != null) {
+                (change.removed ? changeFeed.getRemovedEntities() : changeFeed.getUpdatedEntities()).add(change.entity);
+            } else if (change.removed) {
+                changeFeed.getRemovedLabels().add(change.label.getName());
+            } else {
+                changeFeed.getUpdatedLabels().add(change.label);
+            }
+        }
+        return changeFeed;
+    }
+    
+    private synchronized List<Change> changesAfter(long version) {
+        List<Change> result = new ArrayList<>();
+        for (Change change : changes) {
+            if (change.version > version) {
+                result.add(change);
+            }
+        }
+        return result;
+    }
+    
+    private static class Change {
+        
+        private final Entity entity;
+        
+        private final Label label;
+        
+        private final boolean removed;
+        
+        private final long timestamp = System.currentTimeMillis();
+        
+        private long version;
+        
+        private Change(Entity entity, boolean removed) {
+            this.entity = entity;
+            this.label = null;
+            this.removed = removed;
+        }
+        
+        private Change(Label label, boolean removed) {
+            this.entity = null;
+            this.label = label;
+            this.removed = removed;
+        }
+        
+        private String key() {
+            return entity != null ? "entity:" + entity.getType() + ":" + entity.getName() : "label:" + label.getName();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hashed timing wheel of deadlines.
+ *
+ * <p>An item is scheduled to the slot of its deadline, and is only visited again when the wheel passes that slot, so
+ * an expiration check costs the count of expired items instead of the count of all scheduled items. Deadlines later
+ * than one round of the wheel stay in their slot until the right round.
+ *
+ * <p>{@link #schedule(Object, long)} is thread safe, {@link #advance(long)} must be called by one thread. Scheduled
+ * items are queued and moved into the slots by the next advance, so an item never lands in a slot which the wheel has
+ * just passed.
+ *
+ * @author nacos
+ */
+public class TimingWheel<T> {
+    
+    private final long tickMs;
+    
+    private final Queue<Timeout<T>>[] slots;
+    
+    private final Queue<Timeout<T>> scheduled = new ConcurrentLinkedQueue<>();
+    
+    private long currentTick;
+    
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMs, int slotCount, long startTime) {
+        this.tickMs = tickMs;
+        this.slots = new Queue[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new ArrayDeque<>();
+        }
+        this.currentTick = startTime / tickMs;
+    }
+    
+    /**
+     * Schedule the item to expire at deadline.
+     *
+     * @param item     item
+     * @param deadline deadline in milliseconds
+     */
+    public void schedule(T item, long deadline) {
+        scheduled.offer(new Timeout<>(item, deadline));
+    }
+    
+    /**
+     * Move the wheel to now and return the items whose deadlines are passed. The same item may be returned more than
+     * once if it is scheduled more than once.
+     *
+     * @param now current time in milliseconds
+     * @return expired items
+     */
+    public List<T> advance(long now) {
+        List<T> expired = new ArrayList<>();
+        Timeout<T> timeout;
+        while (null != (timeout = scheduled.poll())) {
+            if (timeout.deadline <= now) {
+                expired.add(timeout.item);
+            } else {
+                slots[(int) ((timeout.deadline / tickMs) % slots.length)].offer(timeout);
+            }
+        }
+        long targetTick = now / tickMs;
+        // Visit each slot at most once per advance.
+        long fromTick = Math.max(currentTick, targetTick - slots.length + 1);
+        for (long tick = fromTick; tick <= targetTick; tick++) {
+            Queue<Timeout<T>> slot = slots[(int) (tick % slots.length)];
+            int size = slot.size();
+            for (int i = 0; i < size; i++) {
+                timeout = slot.poll();
+                if (timeout.deadline <= now) {
+                    expired.add(timeout.item);
+                } else {
+                    slot.offer(timeout);
+                }
+            }
+        }
+        currentTick = targetTick;
+        return expired;
+    }
+    
+    private static class Timeout<T> {
+        
+        private final T item;
+        
+        private final long deadline;
+        
+        private Timeout(T item, long deadline) {
+            this.item = item;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TimingWheelTest {
+    
+    private final TimingWheel<String> wheel = new TimingWheel<>(1000L, 8, 0L);
+    
+    @Test
+    public void testAdvanceReturnsOnlyExpired() {
+        wheel.schedule("c1", 1500L);
+        wheel.schedule("c2", 3500L);
+        Assert.assertTrue(wheel.advance(1000L).isEmpty());
+        Assert.assertEquals(Collections.singletonList("c1"), wheel.advance(2000L));
+        Assert.assertTrue(wheel.advance(3000L).isEmpty());
+        Assert.assertEquals(Collections.singletonList("c2"), wheel.advance(3600L));
+        Assert.assertTrue(wheel.advance(10000L).isEmpty());
+    }
+    
+    @Test
+    public void testDeadlineLaterThanOneRound() {
+        wheel.schedule("c1", 9500L);
+        Assert.assertTrue(wheel.advance(2000L).isEmpty());
+        Assert.assertTrue(wheel.advance(9000L).isEmpty());
+        Assert.assertEquals(Collections.singletonList("c1"), wheel.advance(9500L));
+    }
+    
+    @Test
+    public void testAdvanceOverManyRounds() {
+        wheel.schedule("c1", 1000L);
+        wheel.schedule("c2", 5000L);
+        List<String> expired = wheel.advance(100000L);
+        Collections.sort(expired);
+        Assert.assertEquals(Arrays.asList("c1", "c2"), expired);
+    }
+    
+    @Test
+    public void testSchedulePassedDeadline() {
+        wheel.advance(5000L);
+        wheel.schedule("c1", 1000L);
+        Assert.assertEquals(Collections.singletonList("c1"), wheel.advance(5100L));
+    }
+    
+    @Test
+    public void testScheduleConcurrentlyWithAdvance() throws Exception {
+        final TimingWheel<Integer> wheel = new TimingWheel<>(10L, 8, 0L);
+        final AtomicLong clock = new AtomicLong();
+        final AtomicInteger scheduledCount = new AtomicInteger();
+        final AtomicBoolean stopped = new AtomicBoolean(false);
+        Thread scheduler = new Thread(() -> {
+            while (!stopped.get()) {
+                // deadlines around the current tick, which advance may be visiting right now.
+                wheel.schedule(scheduledCount.get(), clock.get() + scheduledCount.get() % 3 * 5L);
+                scheduledCount.incrementAndGet();
+            }
+        });
+        scheduler.start();
+        List<Integer> expired = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            expired.addAll(wheel.advance(clock.addAndGet(5L)));
+        }
+        stopped.set(true);
+        scheduler.join();
+        // Every deadline is at most one tick later than the clock, no item may wait for another round of the wheel.
+        expired.addAll(wheel.advance(clock.get() + 20L));
+        Assert.assertEquals(scheduledCount.get(), expired.size());
+    }
+}
@@ -22,6 +22,7 @@ import com.alibaba.nacos.config.server.model.ConfigInfo;
 import com.alibaba.nacos.config.server.model.capacity.Capacity;
 import com.alibaba.nacos.config.server.service.repository.PersistService;
 import com.alibaba.nacos.config.server.service.capacity.CapacityService;
+import com.alibaba.nacos.config.server.service.capacity.CapacityUsageCache;
 import com.alibaba.nacos.config.server.utils.PropertyUtil;
 import org.apache.commons.lang3.StringUtils;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -57,6 +58,9 @@ public class CapacityManagementAspect {
     @Autowired
     private CapacityService capacityService;
     
+    @Autowired
+    private CapacityUsageCache capacityUsageCache;
+    
     @Autowired
     private PersistService persistService;
     
@@ -98,7 +102,7 @@ public class CapacityManagementAspect {
         }
         try {
             boolean hasTenant = hasTenant(tenant);
-            Capacity capacity = getCapacity(group, tenant, hasTenant);
+            Capacity capacity = capacityUsageCache.getCapacity(group, tenant);
             if (isSizeLimited(group, tenant, getCurrentSize(content), hasTenant, false, capacity)) {
                 return response4Limit(request, response, LimitType.OVER_MAX_SIZE);
             }
@@ -221,16 +225,13 @@ public class CapacityManagementAspect {
     }
     
     /**
-     * Usage counting service: it will count whether the limitation check function will be open.
+     * Usage counting service: it will count whether the limitation check function will be open. The usage is counted
+     * in memory and written back to database in batches by {@link CapacityUsageCache}.
      */
     private void insertOrUpdateUsage(String group, String tenant, CounterMode counterMode, boolean hasTenant) {
         try {
-            capacityService.insertAndUpdateClusterUsage(counterMode, true);
-            if (hasTenant) {
-                capacityService.insertAndUpdateTenantUsage(counterMode, tenant, true);
-            } else {
-                capacityService.insertAndUpdateGroupUsage(counterMode, group, true);
-            }
+            capacityUsageCache.updateClusterUsage(counterMode, true);
+            capacityUsageCache.updateUsage(counterMode, group, tenant, true);
         } catch (Exception e) {
             LOGGER.error("[capacityManagement] insertOrUpdateUsage ", e);
         }
@@ -239,7 +240,7 @@ public class CapacityManagementAspect {
     private LimitType getLimitType(CounterMode counterMode, String group, String tenant, String content,
             boolean hasTenant) {
         try {
-            boolean clusterLimited = !capacityService.insertAndUpdateClusterUsage(counterMode, false);
+            boolean clusterLimited = !capacityUsageCache.updateClusterUsage(counterMode, false);
             if (clusterLimited) {
                 LOGGER.warn("[capacityManagement] cluster capacity reaches quota.");
                 return LimitType.OVER_CLUSTER_QUOTA;
@@ -276,57 +277,21 @@ public class CapacityManagementAspect {
         if (group == null) {
             return null;
         }
-        Capacity capacity = getCapacity(group, tenant, hasTenant);
+        Capacity capacity = capacityUsageCache.getCapacity(group, tenant);
         if (isSizeLimited(group, tenant, currentSize, hasTenant, false, capacity)) {
             return LimitType.OVER_MAX_SIZE;
         }
-        if (capacity == null) {
-            insertCapacity(group, tenant, hasTenant);
-        }
-        boolean updateSuccess = isUpdateSuccess(counterMode, group, tenant, hasTenant);
-        if (updateSuccess) {
+        if (capacityUsageCache.updateUsage(counterMode, group, tenant, false)) {
             return null;
         }
         if (hasTenant) {
+            LOGGER.warn("[capacityManagement] tenant capacity reaches quota, tenant: {}", tenant);
             return LimitType.OVER_TENANT_QUOTA;
         }
+        LOGGER.warn("[capacityManagement] group capacity reaches quota, group: {}", group);
         return LimitType.OVER_GROUP_QUOTA;
     }
     
-    private boolean isUpdateSuccess(CounterMode counterMode, String group, String tenant, boolean hasTenant) {
-        boolean updateSuccess;
-        if (hasTenant) {
-            updateSuccess = capacityService.updateTenantUsage(counterMode, tenant);
-            if (!updateSuccess) {
-                LOGGER.warn("[capacityManagement] tenant capacity reaches quota, tenant: {}", tenant);
-            }
-        } else {
-            updateSuccess = capacityService.updateGroupUsage(counterMode, group);
-            if (!updateSuccess) {
-                LOGGER.warn("[capacityManagement] group capacity reaches quota, group: {}", group);
-            }
-        }
-        return updateSuccess;
-    }
-    
-    private void insertCapacity(String group, String tenant, boolean hasTenant) {
-        if (hasTenant) {
-            capacityService.initTenantCapacity(tenant);
-        } else {
-            capacityService.initGroupCapacity(group);
-        }
-    }
-    
-    private Capacity getCapacity(String group, String tenant, boolean hasTenant) {
-        Capacity capacity;
-        if (hasTenant) {
-            capacity = capacityService.getTenantCapacity(tenant);
-        } else {
-            capacity = capacityService.getGroupCapacity(group);
-        }
-        return capacity;
-    }
-    
     private boolean isSizeLimited(String group, String tenant, int currentSize, boolean hasTenant, boolean isAggr,
             Capacity capacity) {
         int defaultMaxSize = getDefaultMaxSize(isAggr);
@@ -399,11 +364,7 @@ public class CapacityManagementAspect {
     private void rollback(CounterMode counterMode, String group, String tenant, boolean hasTenant) {
         try {
             rollbackClusterUsage(counterMode);
-            if (hasTenant) {
-                capacityService.updateTenantUsage(counterMode.reverse(), tenant);
-            } else {
-                capacityService.updateGroupUsage(counterMode.reverse(), group);
-            }
+            capacityUsageCache.updateUsage(counterMode.reverse(), group, tenant, true);
         } catch (Exception e) {
             LOGGER.error("[capacityManagement] rollback ", e);
         }
@@ -411,9 +372,7 @@ public class CapacityManagementAspect {
     
     private void rollbackClusterUsage(CounterMode counterMode) {
         try {
-            if (!capacityService.updateClusterUsage(counterMode.reverse())) {
-                LOGGER.error("[capacityManagement] cluster usage rollback fail counterMode: {}", counterMode);
-            }
+            capacityUsageCache.updateClusterUsage(counterMode.reverse(), true);
         } catch (Exception e) {
             LOGGER.error("[capacityManagement] rollback ", e);
         }
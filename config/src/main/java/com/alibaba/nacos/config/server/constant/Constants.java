@@ -269,6 +269,11 @@ public class Constants {
      * Specifies that reads wait without timeout.
      */
     public static final String EXTEND_NEED_READ_UNTIL_HAVE_DATA = "00--0-read-join-0--00";
+    
+    /**
+     * Specifies that reads may return data which is not yet up to date, such as console listing.
+     */
+    public static final String EXTEND_ALLOW_STALE_READ = "00--0-read-stale-0--00";
 
     public static final String CONFIG_EXPORT_ITEM_FILE_SEPARATOR = "/";
     
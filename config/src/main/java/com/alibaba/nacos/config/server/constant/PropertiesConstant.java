@@ -53,10 +53,14 @@ public class PropertiesConstant {
     
     public static final String INITIAL_EXPANSION_PERCENT = "initialExpansionPercent";
     
+    public static final String HISTORY_ASYNC_WRITE = "historyAsyncWrite";
+    
     public static final String SPRING_DATASOURCE_PLATFORM = "spring.datasource.platform";
     
     public static final String MYSQL = "mysql";
     
     public static final String EMBEDDED_STORAGE = "embeddedStorage";
     
+    public static final String EMBEDDED_STORAGE_LOCAL_READ = "embeddedStorageLocalRead";
+    
 }
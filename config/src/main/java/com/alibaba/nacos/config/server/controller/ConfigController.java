@@ -39,9 +39,11 @@ import com.alibaba.nacos.config.server.model.SampleResult;
 import com.alibaba.nacos.config.server.model.event.ConfigDataChangeEvent;
 import com.alibaba.nacos.config.server.result.code.ResultCodeEnum;
 import com.alibaba.nacos.config.server.service.AggrWhitelist;
+import com.alibaba.nacos.config.server.service.ConfigBatchImporter;
 import com.alibaba.nacos.config.server.service.ConfigChangePublisher;
 import com.alibaba.nacos.config.server.service.ConfigSubService;
 import com.alibaba.nacos.config.server.service.repository.PersistService;
+import com.alibaba.nacos.config.server.service.search.ConfigSearchService;
 import com.alibaba.nacos.config.server.service.trace.ConfigTraceService;
 import com.alibaba.nacos.config.server.utils.GroupKey;
 import com.alibaba.nacos.config.server.utils.MD5Util;
@@ -56,9 +58,7 @@ import org.apache.commons.lang3.time.DateFormatUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -73,17 +73,22 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URLDecoder;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
 /**
  * Special controller for soft load client to publish data.
@@ -102,6 +107,8 @@ public class ConfigController {
 
     private static final String EXPORT_CONFIG_FILE_NAME_DATE_FORMAT = "yyyyMMddHHmmss";
 
+    private static final int EXPORT_PAGE_SIZE = 100;
+
     @Autowired
     private ConfigServletInner inner;
 
@@ -409,7 +416,9 @@ public class ConfigController {
             configAdvanceInfo.put("config_tags", configTags);
         }
         try {
-            return persistService.findConfigInfoLike4Page(pageNo, pageSize, dataId, group, tenant, configAdvanceInfo);
+            return ConfigSearchService
+                    .findConfigInfoLike4Page(persistService, pageNo, pageSize, dataId, group, tenant,
+                            configAdvanceInfo);
         } catch (Exception e) {
             String errorMsg = "serialize page error, dataId=" + dataId + ", group=" + group;
             LOGGER.error(errorMsg, e);
@@ -464,105 +473,134 @@ public class ConfigController {
     }
 
     /**
-     * Execute export config operation.
+     * Execute export config operation, configs are streamed into the zip of response page by page.
      *
-     * @param dataId  dataId string value.
-     * @param group   group string value.
-     * @param appName appName string value.
-     * @param tenant  tenant string value.
-     * @param ids     id list value.
-     * @return ResponseEntity.
+     * @param response http servlet response.
+     * @param dataId   dataId string value.
+     * @param group    group string value.
+     * @param appName  appName string value.
+     * @param tenant   tenant string value.
+     * @param ids      id list value.
+     * @throws IOException IOException.
      */
     @GetMapping(params = "export=true")
     @Secured(action = ActionTypes.READ, parser = ConfigResourceParser.class)
-    public ResponseEntity<byte[]> exportConfig(@RequestParam(value = "dataId", required = false) String dataId,
+    public void exportConfig(HttpServletResponse response,
+            @RequestParam(value = "dataId", required = false) String dataId,
             @RequestParam(value = "group", required = false) String group,
             @RequestParam(value = "appName", required = false) String appName,
             @RequestParam(value = "tenant", required = false, defaultValue = StringUtils.EMPTY) String tenant,
-            @RequestParam(value = "ids", required = false) List<Long> ids) {
+            @RequestParam(value = "ids", required = false) List<Long> ids) throws IOException {
         ids.removeAll(Collections.singleton(null));
         tenant = NamespaceUtil.processNamespaceParameter(tenant);
-        List<ConfigAllInfo> dataList = persistService.findAllConfigInfo4Export(dataId, group, tenant, appName, ids);
-        List<ZipUtils.ZipItem> zipItemList = new ArrayList<>();
+        setExportHeaders(response);
         StringBuilder metaData = null;
-        for (ConfigInfo ci : dataList) {
-            if (StringUtils.isNotBlank(ci.getAppName())) {
-                // Handle appName
-                if (metaData == null) {
-                    metaData = new StringBuilder();
+        int exportedCount = 0;
+        try (ZipOutputStream zipOut = new ZipOutputStream(response.getOutputStream())) {
+            long lastMaxId = 0;
+            List<ConfigAllInfo> dataList;
+            while (!(dataList = findExportPage(dataId, group, tenant, appName, ids, lastMaxId)).isEmpty()) {
+                for (ConfigInfo ci : dataList) {
+                    lastMaxId = Math.max(lastMaxId, ci.getId());
+                    if (StringUtils.isNotBlank(ci.getAppName())) {
+                        // Handle appName
+                        if (metaData == null) {
+                            metaData = new StringBuilder();
+                        }
+                        String metaDataId = ci.getDataId();
+                        if (metaDataId.contains(".")) {
+                            metaDataId = metaDataId.substring(0, metaDataId.lastIndexOf(".")) + "~" + metaDataId
+                                    .substring(metaDataId.lastIndexOf(".") + 1);
+                        }
+                        metaData.append(ci.getGroup()).append(".").append(metaDataId).append(".app=")
+                                // Fixed use of "\r\n" here
+                                .append(ci.getAppName()).append("\r\n");
+                    }
+                    String itemName = ci.getGroup() + Constants.CONFIG_EXPORT_ITEM_FILE_SEPARATOR + ci.getDataId();
+                    ZipUtils.putItem(zipOut, itemName, ci.getContent());
                 }
-                String metaDataId = ci.getDataId();
-                if (metaDataId.contains(".")) {
-                    metaDataId = metaDataId.substring(0, metaDataId.lastIndexOf(".")) + "~" + metaDataId
-                            .substring(metaDataId.lastIndexOf(".") + 1);
-                }
-                metaData.append(ci.getGroup()).append(".").append(metaDataId).append(".app=")
-                        // Fixed use of "\r\n" here
-                        .append(ci.getAppName()).append("\r\n");
+                exportedCount += dataList.size();
+                LOGGER.info("[export] {} configs exported, tenant={}", exportedCount, tenant);
+            }
+            if (metaData != null) {
+                ZipUtils.putItem(zipOut, Constants.CONFIG_EXPORT_METADATA, metaData.toString());
             }
-            String itemName = ci.getGroup() + Constants.CONFIG_EXPORT_ITEM_FILE_SEPARATOR + ci.getDataId();
-            zipItemList.add(new ZipUtils.ZipItem(itemName, ci.getContent()));
-        }
-        if (metaData != null) {
-            zipItemList.add(new ZipUtils.ZipItem(Constants.CONFIG_EXPORT_METADATA, metaData.toString()));
         }
-
-        HttpHeaders headers = new HttpHeaders();
-        String fileName =
-                EXPORT_CONFIG_FILE_NAME + DateFormatUtils.format(new Date(), EXPORT_CONFIG_FILE_NAME_DATE_FORMAT)
-                        + EXPORT_CONFIG_FILE_NAME_EXT;
-        headers.add("Content-Disposition", "attachment;filename=" + fileName);
-        return new ResponseEntity<byte[]>(ZipUtils.zip(zipItemList), headers, HttpStatus.OK);
     }
 
     /**
-     * new version export config add metadata.yml file record config metadata.
+     * new version export config add metadata.yml file record config metadata, configs are streamed into the zip of
+     * response page by page.
      *
-     * @param dataId  dataId string value.
-     * @param group   group string value.
-     * @param appName appName string value.
-     * @param tenant  tenant string value.
-     * @param ids     id list value.
-     * @return ResponseEntity.
+     * @param response http servlet response.
+     * @param dataId   dataId string value.
+     * @param group    group string value.
+     * @param appName  appName string value.
+     * @param tenant   tenant string value.
+     * @param ids      id list value.
+     * @throws IOException IOException.
      */
     @GetMapping(params = "exportV2=true")
     @Secured(action = ActionTypes.READ, parser = ConfigResourceParser.class)
-    public ResponseEntity<byte[]> exportConfigV2(@RequestParam(value = "dataId", required = false) String dataId,
+    public void exportConfigV2(HttpServletResponse response,
+            @RequestParam(value = "dataId", required = false) String dataId,
             @RequestParam(value = "group", required = false) String group,
             @RequestParam(value = "appName", required = false) String appName,
             @RequestParam(value = "tenant", required = false, defaultValue = StringUtils.EMPTY) String tenant,
-            @RequestParam(value = "ids", required = false) List<Long> ids) {
+            @RequestParam(value = "ids", required = false) List<Long> ids) throws IOException {
         ids.removeAll(Collections.singleton(null));
         tenant = NamespaceUtil.processNamespaceParameter(tenant);
-        List<ConfigAllInfo> dataList = persistService.findAllConfigInfo4Export(dataId, group, tenant, appName, ids);
-        List<ZipUtils.ZipItem> zipItemList = new ArrayList<>();
+        setExportHeaders(response);
         List<ConfigMetadata.ConfigExportItem> configMetadataItems = new ArrayList<>();
-        for (ConfigAllInfo ci : dataList) {
-            ConfigMetadata.ConfigExportItem configMetadataItem = new ConfigMetadata.ConfigExportItem();
-            configMetadataItem.setAppName(ci.getAppName());
-            configMetadataItem.setDataId(ci.getDataId());
-            configMetadataItem.setDesc(ci.getDesc());
-            configMetadataItem.setGroup(ci.getGroup());
-            configMetadataItem.setType(ci.getType());
-            configMetadataItems.add(configMetadataItem);
-            String itemName = ci.getGroup() + Constants.CONFIG_EXPORT_ITEM_FILE_SEPARATOR + ci.getDataId();
-            zipItemList.add(new ZipUtils.ZipItem(itemName, ci.getContent()));
-        }
-        ConfigMetadata configMetadata = new ConfigMetadata();
-        configMetadata.setMetadata(configMetadataItems);
-
-        zipItemList.add(new ZipUtils.ZipItem(Constants.CONFIG_EXPORT_METADATA_NEW,
-                YamlParserUtil.dumpObject(configMetadata)));
-        HttpHeaders headers = new HttpHeaders();
+        try (ZipOutputStream zipOut = new ZipOutputStream(response.getOutputStream())) {
+            long lastMaxId = 0;
+            List<ConfigAllInfo> dataList;
+            while (!(dataList = findExportPage(dataId, group, tenant, appName, ids, lastMaxId)).isEmpty()) {
+                for (ConfigAllInfo ci : dataList) {
+                    lastMaxId = Math.max(lastMaxId, ci.getId());
+                    ConfigMetadata.ConfigExportItem configMetadataItem = new ConfigMetadata.ConfigExportItem();
+                    configMetadataItem.setAppName(ci.getAppName());
+                    configMetadataItem.setDataId(ci.getDataId());
+                    configMetadataItem.setDesc(ci.getDesc());
+                    configMetadataItem.setGroup(ci.getGroup());
+                    configMetadataItem.setType(ci.getType());
+                    configMetadataItems.add(configMetadataItem);
+                    String itemName = ci.getGroup() + Constants.CONFIG_EXPORT_ITEM_FILE_SEPARATOR + ci.getDataId();
+                    ZipUtils.putItem(zipOut, itemName, ci.getContent());
+                }
+                LOGGER.info("[export] {} configs exported, tenant={}", configMetadataItems.size(), tenant);
+            }
+            ConfigMetadata configMetadata = new ConfigMetadata();
+            configMetadata.setMetadata(configMetadataItems);
+            ZipUtils.putItem(zipOut, Constants.CONFIG_EXPORT_METADATA_NEW, YamlParserUtil.dumpObject(configMetadata));
+        }
+    }
+
+    private void setExportHeaders(HttpServletResponse response) {
         String fileName =
                 EXPORT_CONFIG_FILE_NAME + DateFormatUtils.format(new Date(), EXPORT_CONFIG_FILE_NAME_DATE_FORMAT)
                         + EXPORT_CONFIG_FILE_NAME_EXT;
-        headers.add("Content-Disposition", "attachment;filename=" + fileName);
-        return new ResponseEntity<>(ZipUtils.zip(zipItemList), headers, HttpStatus.OK);
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader("Content-Disposition", "attachment;filename=" + fileName);
+    }
+
+    /**
+     * Find the next page of configs to export. Configs selected by ids are bounded by the request, so they are returned
+     * as one page.
+     */
+    private List<ConfigAllInfo> findExportPage(String dataId, String group, String tenant, String appName,
+            List<Long> ids, long lastMaxId) {
+        if (!CollectionUtils.isEmpty(ids)) {
+            return lastMaxId > 0 ? Collections.emptyList()
+                    : persistService.findAllConfigInfo4Export(dataId, group, tenant, appName, ids);
+        }
+        return persistService
+                .findAllConfigInfo4ExportFragment(dataId, group, tenant, appName, lastMaxId, EXPORT_PAGE_SIZE)
+                .getPageItems();
     }
 
     /**
-     * Execute import and publish config operation.
+     * Execute import and publish config operation. Zip entries are read one by one and saved in bounded-size batches.
      *
      * @param request   http servlet request .
      * @param srcUser   src user string value.
@@ -590,47 +628,39 @@ public class ConfigController {
             failedData.put("succCount", 0);
             return RestResultUtils.buildResult(ResultCodeEnum.NAMESPACE_NOT_EXIST, failedData);
         }
-        List<ConfigAllInfo> configInfoList = new ArrayList<>();
+        final String srcIp = RequestUtil.getRemoteIp(request);
+        String requestIpApp = RequestUtil.getAppName(request);
+        final Timestamp time = TimeUtils.getCurrentTime();
+        ConfigBatchImporter importer = new ConfigBatchImporter(persistService, srcUser, srcIp, requestIpApp, time,
+                policy);
         List<Map<String, String>> unrecognizedList = new ArrayList<>();
         try {
-            ZipUtils.UnZipResult unziped = ZipUtils.unzip(file.getBytes());
-            ZipUtils.ZipItem metaDataZipItem = unziped.getMetaDataItem();
+            ZipUtils.ZipItem metaDataZipItem;
+            try (InputStream in = file.getInputStream()) {
+                metaDataZipItem = ZipUtils.findMetaDataItem(in);
+            }
             RestResult<Map<String, Object>> errorResult;
             if (metaDataZipItem != null && Constants.CONFIG_EXPORT_METADATA_NEW.equals(metaDataZipItem.getItemName())) {
                 // new export
-                errorResult = parseImportDataV2(unziped, configInfoList,
-                        unrecognizedList, namespace);
+                errorResult = parseImportDataV2(file, metaDataZipItem, importer, unrecognizedList, namespace);
             } else {
-                errorResult = parseImportData(unziped, configInfoList, unrecognizedList,
-                        namespace);
+                errorResult = parseImportData(file, metaDataZipItem, importer, unrecognizedList, namespace);
             }
             if (errorResult != null) {
                 return errorResult;
             }
         } catch (IOException e) {
-            failedData.put("succCount", 0);
+            // Batches saved before the failure can not be rolled back, report them as the result.
+            failedData.putAll(importer.getResult());
             LOGGER.error("parsing data failed", e);
             return RestResultUtils.buildResult(ResultCodeEnum.PARSING_DATA_FAILED, failedData);
         }
 
-        if (CollectionUtils.isEmpty(configInfoList)) {
+        Map<String, Object> saveResult = importer.finish();
+        if (importer.getConfigCount() == 0) {
             failedData.put("succCount", 0);
             return RestResultUtils.buildResult(ResultCodeEnum.DATA_EMPTY, failedData);
         }
-        final String srcIp = RequestUtil.getRemoteIp(request);
-        String requestIpApp = RequestUtil.getAppName(request);
-        final Timestamp time = TimeUtils.getCurrentTime();
-        Map<String, Object> saveResult = persistService
-                .batchInsertOrUpdate(configInfoList, srcUser, srcIp, null, time, false, policy);
-        for (ConfigInfo configInfo : configInfoList) {
-            ConfigChangePublisher.notifyConfigChange(
-                    new ConfigDataChangeEvent(false, configInfo.getDataId(), configInfo.getGroup(),
-                            configInfo.getTenant(), time.getTime()));
-            ConfigTraceService
-                    .logPersistenceEvent(configInfo.getDataId(), configInfo.getGroup(), configInfo.getTenant(),
-                            requestIpApp, time.getTime(), InetUtils.getSelfIP(),
-                            ConfigTraceService.PERSISTENCE_EVENT_PUB, configInfo.getContent());
-        }
         // unrecognizedCount
         if (!unrecognizedList.isEmpty()) {
             saveResult.put("unrecognizedCount", unrecognizedList.size());
@@ -642,16 +672,16 @@ public class ConfigController {
     /**
      * old import config.
      *
-     * @param unziped          export file.
-     * @param configInfoList   parse file result.
+     * @param file             export file.
+     * @param metaDataZipItem  metadata item of export file.
+     * @param importer         importer of parsed configs.
      * @param unrecognizedList unrecognized file.
      * @param namespace        import namespace.
      * @return error result.
      */
-    private RestResult<Map<String, Object>> parseImportData(ZipUtils.UnZipResult unziped,
-            List<ConfigAllInfo> configInfoList, List<Map<String, String>> unrecognizedList, String namespace) {
-        ZipUtils.ZipItem metaDataZipItem = unziped.getMetaDataItem();
-
+    private RestResult<Map<String, Object>> parseImportData(MultipartFile file, ZipUtils.ZipItem metaDataZipItem,
+            ConfigBatchImporter importer, List<Map<String, String>> unrecognizedList, String namespace)
+            throws IOException, NacosException {
         Map<String, String> metaDataMap = new HashMap<>(16);
         if (metaDataZipItem != null) {
             // compatible all file separator
@@ -668,9 +698,14 @@ public class ConfigController {
             }
         }
 
-        List<ZipUtils.ZipItem> itemList = unziped.getZipItemList();
-        if (itemList != null && !itemList.isEmpty()) {
-            for (ZipUtils.ZipItem item : itemList) {
+        try (ZipInputStream zipIn = new ZipInputStream(file.getInputStream())) {
+            boolean metaDataSkipped = metaDataZipItem == null;
+            ZipUtils.ZipItem item;
+            while ((item = ZipUtils.nextItem(zipIn)) != null) {
+                if (!metaDataSkipped && metaDataZipItem.getItemName().equals(item.getItemName())) {
+                    metaDataSkipped = true;
+                    continue;
+                }
                 String[] groupAdnDataId = item.getItemName().split(Constants.CONFIG_EXPORT_ITEM_FILE_SEPARATOR);
                 if (groupAdnDataId.length != 2) {
                     Map<String, String> unrecognizedItem = new HashMap<>(2);
@@ -694,7 +729,7 @@ public class ConfigController {
                     ci.setAppName(metaDataMap.get(metaDataId));
                 }
                 ci.setTenant(namespace);
-                configInfoList.add(ci);
+                importer.add(ci);
             }
         }
         return null;
@@ -703,15 +738,16 @@ public class ConfigController {
     /**
      * new version import config add .metadata.yml file.
      *
-     * @param unziped          export file.
-     * @param configInfoList   parse file result.
+     * @param file             export file.
+     * @param metaDataItem     metadata item of export file.
+     * @param importer         importer of parsed configs.
      * @param unrecognizedList unrecognized file.
      * @param namespace        import namespace.
      * @return error result.
      */
-    private RestResult<Map<String, Object>> parseImportDataV2(ZipUtils.UnZipResult unziped,
-            List<ConfigAllInfo> configInfoList, List<Map<String, String>> unrecognizedList, String namespace) {
-        ZipUtils.ZipItem metaDataItem = unziped.getMetaDataItem();
+    private RestResult<Map<String, Object>> parseImportDataV2(MultipartFile file, ZipUtils.ZipItem metaDataItem,
+            ConfigBatchImporter importer, List<Map<String, String>> unrecognizedList, String namespace)
+            throws IOException, NacosException {
         String metaData = metaDataItem.getItemData();
         Map<String, Object> failedData = new HashMap<>(4);
 
@@ -730,57 +766,64 @@ public class ConfigController {
             }
         }
 
-        List<ZipUtils.ZipItem> zipItemList = unziped.getZipItemList();
-        Set<String> metaDataKeys = configExportItems.stream()
-                .map(metaItem -> GroupKey.getKey(metaItem.getDataId(), metaItem.getGroup()))
-                .collect(Collectors.toSet());
-
-        Map<String, String> configContentMap = new HashMap<>(zipItemList.size());
+        Map<String, ConfigMetadata.ConfigExportItem> metaDataItems = configExportItems.stream()
+                .collect(Collectors.toMap(metaItem -> GroupKey.getKey(metaItem.getDataId(), metaItem.getGroup()),
+                        metaItem -> metaItem, (k1, k2) -> k1, LinkedHashMap::new));
+        Set<String> importedKeys = new HashSet<>(metaDataItems.size());
         int itemNameLength = 2;
-        zipItemList.forEach(item -> {
-            String itemName = item.getItemName();
-            String[] groupAdnDataId = itemName.split(Constants.CONFIG_EXPORT_ITEM_FILE_SEPARATOR);
-            if (groupAdnDataId.length != itemNameLength) {
-                Map<String, String> unrecognizedItem = new HashMap<>(2);
-                unrecognizedItem.put("itemName", item.getItemName());
-                unrecognizedList.add(unrecognizedItem);
-                return;
-            }
+        try (ZipInputStream zipIn = new ZipInputStream(file.getInputStream())) {
+            boolean metaDataSkipped = false;
+            ZipUtils.ZipItem item;
+            while ((item = ZipUtils.nextItem(zipIn)) != null) {
+                if (!metaDataSkipped && metaDataItem.getItemName().equals(item.getItemName())) {
+                    metaDataSkipped = true;
+                    continue;
+                }
+                String itemName = item.getItemName();
+                String[] groupAdnDataId = itemName.split(Constants.CONFIG_EXPORT_ITEM_FILE_SEPARATOR);
+                if (groupAdnDataId.length != itemNameLength) {
+                    Map<String, String> unrecognizedItem = new HashMap<>(2);
+                    unrecognizedItem.put("itemName", item.getItemName());
+                    unrecognizedList.add(unrecognizedItem);
+                    continue;
+                }
 
-            String group = groupAdnDataId[0];
-            String dataId = groupAdnDataId[1];
-            String key = GroupKey.getKey(dataId, group);
-            // metadata does not contain config file
-            if (!metaDataKeys.contains(key)) {
-                Map<String, String> unrecognizedItem = new HashMap<>(2);
-                unrecognizedItem.put("itemName", "未在元数据中找到: " + item.getItemName());
-                unrecognizedList.add(unrecognizedItem);
-                return;
+                String group = groupAdnDataId[0];
+                String dataId = groupAdnDataId[1];
+                String key = GroupKey.getKey(dataId, group);
+                ConfigMetadata.ConfigExportItem configExportItem = metaDataItems.get(key);
+                // metadata does not contain config file
+                if (configExportItem == null) {
+                    Map<String, String> unrecognizedItem = new HashMap<>(2);
+                    unrecognizedItem.put("itemName", "未在元数据中找到: " + item.getItemName());
+                    unrecognizedList.add(unrecognizedItem);
+                    continue;
+                }
+                if (!importedKeys.add(key)) {
+                    continue;
+                }
+                ConfigAllInfo ci = new ConfigAllInfo();
+                ci.setGroup(group);
+                ci.setDataId(dataId);
+                ci.setContent(item.getItemData());
+                ci.setType(configExportItem.getType());
+                ci.setDesc(configExportItem.getDesc());
+                ci.setAppName(configExportItem.getAppName());
+                ci.setTenant(namespace);
+                importer.add(ci);
             }
-            String itemData = item.getItemData();
-            configContentMap.put(key, itemData);
-        });
+        }
 
-        for (ConfigMetadata.ConfigExportItem configExportItem : configExportItems) {
-            String dataId = configExportItem.getDataId();
-            String group = configExportItem.getGroup();
-            String content = configContentMap.get(GroupKey.getKey(dataId, group));
-            // config file not in metadata
-            if (content == null) {
-                Map<String, String> unrecognizedItem = new HashMap<>(2);
-                unrecognizedItem.put("itemName", "未在文件中找到: " + group + "/" + dataId);
-                unrecognizedList.add(unrecognizedItem);
+        // config file not in metadata
+        for (Map.Entry<String, ConfigMetadata.ConfigExportItem> entry : metaDataItems.entrySet()) {
+            if (importedKeys.contains(entry.getKey())) {
                 continue;
             }
-            ConfigAllInfo ci = new ConfigAllInfo();
-            ci.setGroup(group);
-            ci.setDataId(dataId);
-            ci.setContent(content);
-            ci.setType(configExportItem.getType());
-            ci.setDesc(configExportItem.getDesc());
-            ci.setAppName(configExportItem.getAppName());
-            ci.setTenant(namespace);
-            configInfoList.add(ci);
+            ConfigMetadata.ConfigExportItem configExportItem = entry.getValue();
+            Map<String, String> unrecognizedItem = new HashMap<>(2);
+            unrecognizedItem.put("itemName",
+                    "未在文件中找到: " + configExportItem.getGroup() + "/" + configExportItem.getDataId());
+            unrecognizedList.add(unrecognizedItem);
         }
         return null;
     }
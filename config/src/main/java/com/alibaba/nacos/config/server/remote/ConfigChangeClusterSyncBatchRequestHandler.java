@@ -0,0 +1,60 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.remote;
+
+import com.alibaba.nacos.api.config.remote.request.cluster.ConfigChangeClusterSyncBatchRequest;
+import com.alibaba.nacos.api.config.remote.request.cluster.ConfigChangeClusterSyncRequest;
+import com.alibaba.nacos.api.config.remote.response.cluster.ConfigChangeClusterSyncBatchResponse;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.remote.request.RequestMeta;
+import com.alibaba.nacos.config.server.service.dump.DumpService;
+import com.alibaba.nacos.core.remote.RequestHandler;
+import com.alibaba.nacos.core.remote.control.TpsControl;
+import org.springframework.stereotype.Component;
+
+/**
+ * handler to handle batch of config changes from other servers.
+ *
+ * @author nacos
+ */
+@Component
+public class ConfigChangeClusterSyncBatchRequestHandler
+        extends RequestHandler<ConfigChangeClusterSyncBatchRequest, ConfigChangeClusterSyncBatchResponse> {
+    
+    private final DumpService dumpService;
+    
+    public ConfigChangeClusterSyncBatchRequestHandler(DumpService dumpService) {
+        this.dumpService = dumpService;
+    }
+    
+    @TpsControl(pointName = "ClusterConfigChangeNotify")
+    @Override
+    public ConfigChangeClusterSyncBatchResponse handle(ConfigChangeClusterSyncBatchRequest request, RequestMeta meta)
+            throws NacosException {
+        for (ConfigChangeClusterSyncRequest each : request.getChanges()) {
+            if (each.isBeta()) {
+                dumpService.dump(each.getDataId(), each.getGroup(), each.getTenant(), each.getLastModified(),
+                        meta.getClientIp(), true);
+            } else {
+                dumpService.dump(each.getDataId(), each.getGroup(), each.getTenant(), each.getLastModified(),
+                        meta.getClientIp());
+            }
+        }
+        return new ConfigChangeClusterSyncBatchResponse();
+    }
+    
+}
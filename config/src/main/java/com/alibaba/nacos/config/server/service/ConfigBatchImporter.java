@@ -0,0 +1,181 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.config.server.model.ConfigAllInfo;
+import com.alibaba.nacos.config.server.model.SameConfigPolicy;
+import com.alibaba.nacos.config.server.model.event.ConfigDataChangeEvent;
+import com.alibaba.nacos.config.server.service.repository.PersistService;
+import com.alibaba.nacos.config.server.service.trace.ConfigTraceService;
+import com.alibaba.nacos.sys.utils.InetUtils;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.alibaba.nacos.config.server.utils.LogUtil.DEFAULT_LOG;
+
+/**
+ * Import configs in bounded-size batches, so that importing a large file only holds one batch of configs in memory.
+ *
+ * <p>The result is the same as one {@link PersistService#batchInsertOrUpdate} call for all configs: once a batch is
+ * aborted by {@link SameConfigPolicy#ABORT}, the following configs are skipped without being saved.
+ *
+ * @author nacos
+ */
+public class ConfigBatchImporter {
+    
+    public static final int DEFAULT_BATCH_SIZE = 100;
+    
+    private final PersistService persistService;
+    
+    private final String srcUser;
+    
+    private final String srcIp;
+    
+    private final String requestIpApp;
+    
+    private final Timestamp time;
+    
+    private final SameConfigPolicy policy;
+    
+    private final int batchSize;
+    
+    private final List<ConfigAllInfo> batch;
+    
+    private final List<Map<String, String>> failData = new ArrayList<>();
+    
+    private final List<Map<String, String>> skipData = new ArrayList<>();
+    
+    private int configCount;
+    
+    private int succCount;
+    
+    private int skipCount;
+    
+    private boolean aborted;
+    
+    public ConfigBatchImporter(PersistService persistService, String srcUser, String srcIp, String requestIpApp,
+            Timestamp time, SameConfigPolicy policy) {
+        this(persistService, srcUser, srcIp, requestIpApp, time, policy, DEFAULT_BATCH_SIZE);
+    }
+    
+    public ConfigBatchImporter(PersistService persistService, String srcUser, String srcIp, String requestIpApp,
+            Timestamp time, SameConfigPolicy policy, int batchSize) {
+        this.persistService = persistService;
+        this.srcUser = srcUser;
+        this.srcIp = srcIp;
+        this.requestIpApp = requestIpApp;
+        this.time = time;
+        this.policy = policy;
+        this.batchSize = batchSize;
+        this.batch = new ArrayList<>(batchSize);
+    }
+    
+    /**
+     * Add config to import, the current batch is saved when it is full.
+     *
+     * @param configInfo config to import
+     * @throws NacosException if config is illegal
+     */
+    public void add(ConfigAllInfo configInfo) throws NacosException {
+        configCount++;
+        if (aborted) {
+            skipData.add(toItem(configInfo));
+            return;
+        }
+        batch.add(configInfo);
+        if (batch.size() >= batchSize) {
+            flush();
+        }
+    }
+    
+    /**
+     * Save the remaining configs and get the import result.
+     *
+     * @return import result, same as {@link PersistService#batchInsertOrUpdate}
+     * @throws NacosException if config is illegal
+     */
+    public Map<String, Object> finish() throws NacosException {
+        flush();
+        return getResult();
+    }
+    
+    /**
+     * Get the result of the configs saved so far, the configs of the current unfinished batch are not included.
+     *
+     * @return import result, same as {@link PersistService#batchInsertOrUpdate}
+     */
+    public Map<String, Object> getResult() {
+        Map<String, Object> result = new HashMap<>(4);
+        result.put("succCount", succCount);
+        result.put("skipCount", skipCount);
+        if (!failData.isEmpty()) {
+            result.put("failData", failData);
+        }
+        if (!skipData.isEmpty()) {
+            result.put("skipData", skipData);
+        }
+        return result;
+    }
+    
+    public int getConfigCount() {
+        return configCount;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void flush() throws NacosException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<String, Object> result = persistService.batchInsertOrUpdate(batch, srcUser, srcIp, null, time, false,
+                policy);
+        succCount += (Integer) result.get("succCount");
+        skipCount += (Integer) result.get("skipCount");
+        List<Map<String, String>> batchFailData = (List<Map<String, String>>) result.get("failData");
+        if (null != batchFailData) {
+            failData.addAll(batchFailData);
+            aborted = true;
+        }
+        List<Map<String, String>> batchSkipData = (List<Map<String, String>>) result.get("skipData");
+        if (null != batchSkipData) {
+            skipData.addAll(batchSkipData);
+        }
+        for (ConfigAllInfo configInfo : batch) {
+            ConfigChangePublisher.notifyConfigChange(
+                    new ConfigDataChangeEvent(false, configInfo.getDataId(), configInfo.getGroup(),
+                            configInfo.getTenant(), time.getTime()));
+            ConfigTraceService
+                    .logPersistenceEvent(configInfo.getDataId(), configInfo.getGroup(), configInfo.getTenant(),
+                            requestIpApp, time.getTime(), InetUtils.getSelfIP(),
+                            ConfigTraceService.PERSISTENCE_EVENT_PUB, configInfo.getContent());
+        }
+        batch.clear();
+        DEFAULT_LOG.info("[import] {} configs processed, succCount={}, skipCount={}", configCount, succCount,
+                skipCount);
+    }
+    
+    private Map<String, String> toItem(ConfigAllInfo configInfo) {
+        Map<String, String> item = new HashMap<>(2);
+        item.put("dataId", configInfo.getDataId());
+        item.put("group", configInfo.getGroup());
+        return item;
+    }
+}
@@ -20,7 +20,9 @@ import com.alibaba.nacos.common.notify.Event;
 import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.common.notify.listener.Subscriber;
 import com.alibaba.nacos.common.utils.CollectionUtils;
+import com.alibaba.nacos.common.utils.ConcurrentHashSet;
 import com.alibaba.nacos.common.utils.ExceptionUtil;
+import com.alibaba.nacos.common.utils.TimingWheel;
 import com.alibaba.nacos.config.server.model.SampleResult;
 import com.alibaba.nacos.config.server.model.event.LocalDataChangeEvent;
 import com.alibaba.nacos.config.server.monitor.MetricsMonitor;
@@ -37,17 +39,14 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import static com.alibaba.nacos.config.server.utils.LogUtil.MEMORY_LOG;
@@ -69,6 +68,10 @@ public class LongPollingService {
 
     private static final String TRUE_STR = "true";
 
+    private static final long TIMEOUT_TICK_MS = 100L;
+
+    private static final int TIMEOUT_WHEEL_SLOTS = 512;
+
     private Map<String, Long> retainIps = new ConcurrentHashMap<String, Long>();
 
     private static boolean isFixedPolling() {
@@ -98,9 +101,10 @@ public class LongPollingService {
         SampleResult sampleResult = new SampleResult();
         Map<String, String> lisentersGroupkeyStatus = new HashMap<String, String>(50);
 
-        for (ClientLongPolling clientLongPolling : allSubs) {
-            if (clientLongPolling.clientMd5Map.containsKey(groupKey)) {
-                lisentersGroupkeyStatus.put(clientLongPolling.ip, clientLongPolling.clientMd5Map.get(groupKey));
+        for (ClientLongPolling clientLongPolling : getSubscribers(groupKey)) {
+            String md5 = clientLongPolling.clientMd5Map.get(groupKey);
+            if (null != md5) {
+                lisentersGroupkeyStatus.put(clientLongPolling.ip, md5);
             }
         }
         sampleResult.setLisentersGroupkeyStatus(lisentersGroupkeyStatus);
@@ -300,10 +304,15 @@ public class LongPollingService {
 
     @SuppressWarnings("PMD.ThreadPoolCreationRule")
     public LongPollingService() {
-        allSubs = new ConcurrentLinkedQueue<ClientLongPolling>();
+        allSubs = new ConcurrentHashSet<ClientLongPolling>();
+        subsByGroupKey = new ConcurrentHashMap<String, Set<ClientLongPolling>>();
+        timeoutWheel = new TimingWheel<ClientLongPolling>(TIMEOUT_TICK_MS, TIMEOUT_WHEEL_SLOTS,
+                System.currentTimeMillis());
 
         ConfigExecutor.scheduleLongPolling(new StatTask(), 0L, 10L, TimeUnit.SECONDS);
 
+        ConfigExecutor.scheduleLongPolling(new TimeoutTask(), TIMEOUT_TICK_MS, TIMEOUT_TICK_MS, TimeUnit.MILLISECONDS);
+
         // Register LocalDataChangeEvent to NotifyCenter.
         NotifyCenter.registerToPublisher(LocalDataChangeEvent.class, NotifyCenter.ringBufferSize);
 
@@ -337,7 +346,59 @@ public class LongPollingService {
     /**
      * ClientLongPolling subscibers.
      */
-    final Queue<ClientLongPolling> allSubs;
+    final Set<ClientLongPolling> allSubs;
+
+    /**
+     * ClientLongPolling subscibers indexed by the groupKeys they listen to.
+     */
+    final Map<String, Set<ClientLongPolling>> subsByGroupKey;
+
+    /**
+     * Deadlines of ClientLongPolling subscibers.
+     */
+    final TimingWheel<ClientLongPolling> timeoutWheel;
+
+    /**
+     * Add subscriber into registry and schedule its timeout.
+     *
+     * @param clientSub subscriber
+     */
+    void addSubscriber(ClientLongPolling clientSub) {
+        allSubs.add(clientSub);
+        for (String groupKey : clientSub.clientMd5Map.keySet()) {
+            // add inside compute, so a concurrent remove can't drop the set this subscriber is added to.
+            subsByGroupKey.compute(groupKey, (key, subs) -> {
+                Set<ClientLongPolling> result = null == subs ? new ConcurrentHashSet<ClientLongPolling>() : subs;
+                result.add(clientSub);
+                return result;
+            });
+        }
+        timeoutWheel.schedule(clientSub, clientSub.createTime + clientSub.timeoutTime);
+    }
+
+    /**
+     * Remove subscriber from registry. Only the caller which removes the subscriber successfully should respond it.
+     *
+     * @param clientSub subscriber
+     * @return true if the subscriber is removed by this call
+     */
+    boolean removeSubscriber(ClientLongPolling clientSub) {
+        if (!allSubs.remove(clientSub)) {
+            return false;
+        }
+        for (String groupKey : clientSub.clientMd5Map.keySet()) {
+            subsByGroupKey.computeIfPresent(groupKey, (key, subs) -> {
+                subs.remove(clientSub);
+                return subs.isEmpty() ? null : subs;
+            });
+        }
+        return true;
+    }
+
+    private Collection<ClientLongPolling> getSubscribers(String groupKey) {
+        Set<ClientLongPolling> subs = subsByGroupKey.get(groupKey);
+        return null == subs ? Collections.<ClientLongPolling>emptyList() : new ArrayList<ClientLongPolling>(subs);
+    }
 
     class DataChangeTask implements Runnable {
 
@@ -346,35 +407,31 @@ public class LongPollingService {
             try {
                 ConfigCacheService.getContentBetaMd5(groupKey);
                 /**
-                 * 遍历订阅
+                 * 遍历订阅了groupKey的ClientLongPolling
                  */
-                for (Iterator<ClientLongPolling> iter = allSubs.iterator(); iter.hasNext(); ) {
-                    ClientLongPolling clientSub = iter.next();
+                for (ClientLongPolling clientSub : getSubscribers(groupKey)) {
+                    // If published tag is not in the beta list, then it skipped.
+                    if (isBeta && !CollectionUtils.contains(betaIps, clientSub.ip)) {
+                        continue;
+                    }
+
+                    // If published tag is not in the tag list, then it skipped.
+                    if (StringUtils.isNotBlank(tag) && !tag.equals(clientSub.tag)) {
+                        continue;
+                    }
+                    // Delete subscribers' relationships, skip it if it is already responded.
+                    if (!removeSubscriber(clientSub)) {
+                        continue;
+                    }
                     /**
-                     * 过滤   筛选出订阅了groupKey的ClientLongPolling
+                     * 记录应答时间
                      */
-                    if (clientSub.clientMd5Map.containsKey(groupKey)) {
-                        // If published tag is not in the beta list, then it skipped.
-                        if (isBeta && !CollectionUtils.contains(betaIps, clientSub.ip)) {
-                            continue;
-                        }
-
-                        // If published tag is not in the tag list, then it skipped.
-                        if (StringUtils.isNotBlank(tag) && !tag.equals(clientSub.tag)) {
-                            continue;
-                        }
-                        /**
-                         * 记录应答时间
-                         */
-                        getRetainIps().put(clientSub.ip, System.currentTimeMillis());
-                        iter.remove(); // Delete subscribers' relationships.
-                        LogUtil.CLIENT_LOG
-                                .info("{}|{}|{}|{}|{}|{}|{}", (System.currentTimeMillis() - changeTime), "in-advance",
-                                        RequestUtil
-                                                .getRemoteIp((HttpServletRequest) clientSub.asyncContext.getRequest()),
-                                        "polling", clientSub.clientMd5Map.size(), clientSub.probeRequestSize, groupKey);
-                        clientSub.sendResponse(Arrays.asList(groupKey));
-                    }
+                    getRetainIps().put(clientSub.ip, System.currentTimeMillis());
+                    LogUtil.CLIENT_LOG
+                            .info("{}|{}|{}|{}|{}|{}|{}", (System.currentTimeMillis() - changeTime), "in-advance",
+                                    RequestUtil.getRemoteIp((HttpServletRequest) clientSub.asyncContext.getRequest()),
+                                    "polling", clientSub.clientMd5Map.size(), clientSub.probeRequestSize, groupKey);
+                    clientSub.sendResponse(Arrays.asList(groupKey));
                 }
 
             } catch (Throwable t) {
@@ -404,6 +461,20 @@ public class LongPollingService {
         final String tag;
     }
 
+    class TimeoutTask implements Runnable {
+
+        @Override
+        public void run() {
+            try {
+                for (ClientLongPolling clientSub : timeoutWheel.advance(System.currentTimeMillis())) {
+                    clientSub.timeout();
+                }
+            } catch (Throwable t) {
+                LogUtil.DEFAULT_LOG.error("long polling timeout error: {}", ExceptionUtil.getStackTrace(t));
+            }
+        }
+    }
+
     class StatTask implements Runnable {
 
         @Override
@@ -420,81 +491,63 @@ public class LongPollingService {
         @Override
         public void run() {
             /**
-             * 创建线程  在失效时间进行应答客户端请求
+             * 建立长轮询订阅, 在失效时间由timeoutWheel应答客户端请求
              */
-            asyncTimeoutFuture = ConfigExecutor.scheduleLongPolling(new Runnable() {
-                @Override
-                public void run() {
-                    try {
-                        /**
-                         * 记录应答时间
-                         */
-                        getRetainIps().put(ClientLongPolling.this.ip, System.currentTimeMillis());
-                        /**
-                         * 删除订阅关系
-                         */
-                        // Delete subscriber's relations.
-                        boolean removeFlag = allSubs.remove(ClientLongPolling.this);
-
-                        if (removeFlag) {
-                            /**
-                             * 固定
-                             */
-                            if (isFixedPolling()) {
-                                LogUtil.CLIENT_LOG
-                                        .info("{}|{}|{}|{}|{}|{}", (System.currentTimeMillis() - createTime), "fix",
-                                                RequestUtil.getRemoteIp((HttpServletRequest) asyncContext.getRequest()),
-                                                "polling", clientMd5Map.size(), probeRequestSize);
-                                List<String> changedGroups = MD5Util
-                                        .compareMd5((HttpServletRequest) asyncContext.getRequest(),
-                                                (HttpServletResponse) asyncContext.getResponse(), clientMd5Map);
-                                if (changedGroups.size() > 0) {
-                                    sendResponse(changedGroups);
-                                } else {
-                                    sendResponse(null);
-                                }
-                            } else {
-                                /**
-                                 * 非固定
-                                 */
-                                LogUtil.CLIENT_LOG
-                                        .info("{}|{}|{}|{}|{}|{}", (System.currentTimeMillis() - createTime), "timeout",
-                                                RequestUtil.getRemoteIp((HttpServletRequest) asyncContext.getRequest()),
-                                                "polling", clientMd5Map.size(), probeRequestSize);
-                                /**
-                                 * 到达失效时间   对客户端进行应答
-                                 */
-                                sendResponse(null);
-                            }
-                        } else {
-                            LogUtil.DEFAULT_LOG.warn("client subsciber's relations delete fail.");
-                        }
-                    } catch (Throwable t) {
-                        LogUtil.DEFAULT_LOG.error("long polling error:" + t.getMessage(), t.getCause());
-                    }
+            addSubscriber(this);
+        }
 
+        /**
+         * Respond the client when its deadline is passed, called by {@link TimeoutTask}.
+         */
+        void timeout() {
+            try {
+                /**
+                 * 删除订阅关系
+                 */
+                // Delete subscriber's relations, skip it if it is already responded by data change.
+                if (!removeSubscriber(this)) {
+                    return;
                 }
-
-            }, timeoutTime, TimeUnit.MILLISECONDS);
-
-
-            /**
-             * 建立长轮询订阅
-             */
-            allSubs.add(this);
+                /**
+                 * 记录应答时间
+                 */
+                getRetainIps().put(ip, System.currentTimeMillis());
+                /**
+                 * 固定
+                 */
+                if (isFixedPolling()) {
+                    LogUtil.CLIENT_LOG.info("{}|{}|{}|{}|{}|{}", (System.currentTimeMillis() - createTime), "fix",
+                            RequestUtil.getRemoteIp((HttpServletRequest) asyncContext.getRequest()), "polling",
+                            clientMd5Map.size(), probeRequestSize);
+                    List<String> changedGroups = MD5Util.compareMd5((HttpServletRequest) asyncContext.getRequest(),
+                            (HttpServletResponse) asyncContext.getResponse(), clientMd5Map);
+                    if (changedGroups.size() > 0) {
+                        sendResponse(changedGroups);
+                    } else {
+                        sendResponse(null);
+                    }
+                } else {
+                    /**
+                     * 非固定
+                     */
+                    LogUtil.CLIENT_LOG.info("{}|{}|{}|{}|{}|{}", (System.currentTimeMillis() - createTime), "timeout",
+                            RequestUtil.getRemoteIp((HttpServletRequest) asyncContext.getRequest()), "polling",
+                            clientMd5Map.size(), probeRequestSize);
+                    /**
+                     * 到达失效时间   对客户端进行应答
+                     */
+                    sendResponse(null);
+                }
+            } catch (Throwable t) {
+                LogUtil.DEFAULT_LOG.error("long polling error:" + t.getMessage(), t.getCause());
+            }
         }
 
-
         /**
          * 应答
          * @param changedGroups
          */
         void sendResponse(List<String> changedGroups) {
-
-            // Cancel time out task.
-            if (null != asyncTimeoutFuture) {
-                asyncTimeoutFuture.cancel(false);
-            }
             generateResponse(changedGroups);
         }
 
@@ -562,8 +615,6 @@ public class LongPollingService {
 
         final long timeoutTime;
 
-        Future<?> asyncTimeoutFuture;
-
         @Override
         public String toString() {
             return "ClientLongPolling{" + "clientMd5Map=" + clientMd5Map + ", createTime=" + createTime + ", ip='" + ip
@@ -0,0 +1,239 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.capacity;
+
+import com.alibaba.nacos.config.server.constant.CounterMode;
+import com.alibaba.nacos.config.server.model.capacity.Capacity;
+import com.alibaba.nacos.config.server.utils.ConfigExecutor;
+import com.alibaba.nacos.config.server.utils.TimeUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Capacity usage cache. Usage is counted and checked against the cached quota in memory, and the accumulated usage
+ * deltas are written back to group_capacity and tenant_capacity in batches.
+ *
+ * <p>The cached capacity and usage are reloaded from database periodically, so the changes made by other servers and
+ * by the correct usage task will be seen after at most {@link #REFRESH_INTERVAL}.
+ *
+ * @author nacos
+ */
+@Service
+public class CapacityUsageCache {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(CapacityUsageCache.class);
+    
+    private static final long FLUSH_INTERVAL = 1000L;
+    
+    private static final long REFRESH_INTERVAL = TimeUnit.SECONDS.toMillis(30);
+    
+    private final Map<String, UsageCounter> groupCounters = new ConcurrentHashMap<>();
+    
+    private final Map<String, UsageCounter> tenantCounters = new ConcurrentHashMap<>();
+    
+    @Autowired
+    private CapacityService capacityService;
+    
+    @Autowired
+    private GroupCapacityPersistService groupCapacityPersistService;
+    
+    @Autowired
+    private TenantCapacityPersistService tenantCapacityPersistService;
+    
+    /**
+     * Init.
+     */
+    @PostConstruct
+    public void init() {
+        // Run in the same single thread as the correct usage task.
+        ConfigExecutor.scheduleCorrectUsageTask(this::flush, FLUSH_INTERVAL, FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Get the cached capacity of group or tenant, the default values have been applied.
+     *
+     * @param group  group string value.
+     * @param tenant tenant string value.
+     * @return cached capacity.
+     */
+    public Capacity getCapacity(String group, String tenant) {
+        return getCounter(group, tenant).capacity;
+    }
+    
+    /**
+     * Update the usage of cluster.
+     *
+     * @param counterMode      increase or decrease mode.
+     * @param ignoreQuotaLimit ignoreQuotaLimit flag.
+     * @return false if the quota of cluster is reached.
+     */
+    public boolean updateClusterUsage(CounterMode counterMode, boolean ignoreQuotaLimit) {
+        return updateUsage(counterMode, GroupCapacityPersistService.CLUSTER, null, ignoreQuotaLimit);
+    }
+    
+    /**
+     * Update the usage of tenant if tenant is not blank, otherwise the usage of group.
+     *
+     * @param counterMode      increase or decrease mode.
+     * @param group            group string value.
+     * @param tenant           tenant string value.
+     * @param ignoreQuotaLimit ignoreQuotaLimit flag.
+     * @return false if the quota of group or tenant is reached.
+     */
+    public boolean updateUsage(CounterMode counterMode, String group, String tenant, boolean ignoreQuotaLimit) {
+        UsageCounter counter = getCounter(group, tenant);
+        if (CounterMode.INCREMENT == counterMode) {
+            return counter.increment(ignoreQuotaLimit);
+        }
+        counter.decrement();
+        return true;
+    }
+    
+    private UsageCounter getCounter(String group, String tenant) {
+        boolean isTenant = StringUtils.isNotBlank(tenant);
+        Map<String, UsageCounter> counters = isTenant ? tenantCounters : groupCounters;
+        String id = isTenant ? tenant : group;
+        UsageCounter counter = counters.get(id);
+        if (counter != null) {
+            return counter;
+        }
+        counter = new UsageCounter(loadCapacity(group, tenant));
+        UsageCounter old = counters.putIfAbsent(id, counter);
+        return old == null ? counter : old;
+    }
+    
+    private Capacity loadCapacity(String group, String tenant) {
+        Capacity capacity = capacityService.getCapacityWithDefault(group, tenant);
+        if (capacity == null) {
+            capacityService.initCapacity(group, tenant);
+            capacity = capacityService.getCapacityWithDefault(group, tenant);
+        }
+        if (capacity == null) {
+            throw new IllegalStateException("init capacity failed, group: " + group + ", tenant: " + tenant);
+        }
+        return capacity;
+    }
+    
+    /**
+     * Write the accumulated usage deltas back to database and reload the stale counters.
+     */
+    void flush() {
+        try {
+            flush(groupCounters, false);
+            flush(tenantCounters, true);
+        } catch (Throwable e) {
+            LOGGER.error("[capacityManagement] flush usage failed", e);
+        }
+    }
+    
+    private void flush(Map<String, UsageCounter> counters, boolean isTenant) {
+        Map<String, Integer> deltas = new HashMap<>(16);
+        for (Map.Entry<String, UsageCounter> entry : counters.entrySet()) {
+            int delta = entry.getValue().takeDelta();
+            if (delta != 0) {
+                deltas.put(entry.getKey(), delta);
+            }
+        }
+        if (!deltas.isEmpty()) {
+            try {
+                if (isTenant) {
+                    tenantCapacityPersistService.batchAddUsage(deltas, TimeUtils.getCurrentTime());
+                } else {
+                    groupCapacityPersistService.batchAddUsage(deltas, TimeUtils.getCurrentTime());
+                }
+            } catch (Exception e) {
+                LOGGER.error("[capacityManagement] write back usage failed, size: {}", deltas.size(), e);
+                for (Map.Entry<String, Integer> entry : deltas.entrySet()) {
+                    counters.get(entry.getKey()).restoreDelta(entry.getValue());
+                }
+                return;
+            }
+        }
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, UsageCounter> entry : counters.entrySet()) {
+            UsageCounter counter = entry.getValue();
+            if (now - counter.refreshTime < REFRESH_INTERVAL) {
+                continue;
+            }
+            try {
+                Capacity capacity = isTenant ? capacityService.getCapacityWithDefault(null, entry.getKey())
+                        : capacityService.getCapacityWithDefault(entry.getKey(), null);
+                if (capacity != null) {
+                    counter.refresh(capacity);
+                }
+            } catch (Exception e) {
+                LOGGER.warn("[capacityManagement] refresh capacity failed, id: {}", entry.getKey(), e);
+            }
+        }
+    }
+    
+    static class UsageCounter {
+        
+        private volatile Capacity capacity;
+        
+        private int persistedUsage;
+        
+        private int pendingDelta;
+        
+        private volatile long refreshTime;
+        
+        UsageCounter(Capacity capacity) {
+            refresh(capacity);
+        }
+        
+        synchronized boolean increment(boolean ignoreQuotaLimit) {
+            if (!ignoreQuotaLimit && persistedUsage + pendingDelta >= capacity.getQuota()) {
+                return false;
+            }
+            pendingDelta++;
+            return true;
+        }
+        
+        synchronized void decrement() {
+            if (persistedUsage + pendingDelta > 0) {
+                pendingDelta--;
+            }
+        }
+        
+        synchronized int takeDelta() {
+            int delta = pendingDelta;
+            pendingDelta = 0;
+            persistedUsage += delta;
+            return delta;
+        }
+        
+        synchronized void restoreDelta(int delta) {
+            persistedUsage -= delta;
+            pendingDelta += delta;
+        }
+        
+        synchronized void refresh(Capacity capacity) {
+            this.capacity = capacity;
+            this.persistedUsage = capacity.getUsage() == null ? 0 : capacity.getUsage();
+            this.refreshTime = System.currentTimeMillis();
+        }
+    }
+}
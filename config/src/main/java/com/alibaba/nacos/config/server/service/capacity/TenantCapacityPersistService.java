@@ -36,7 +36,9 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static com.alibaba.nacos.config.server.utils.LogUtil.FATAL_LOG;
 
@@ -197,6 +199,27 @@ public class TenantCapacityPersistService {
         }
     }
     
+    /**
+     * Add the accumulated usage deltas in one batch, usage will not be less than zero.
+     *
+     * @param deltas      usage delta of each tenant.
+     * @param gmtModified modified time.
+     */
+    public void batchAddUsage(Map<String, Integer> deltas, Timestamp gmtModified) {
+        String sql = "UPDATE tenant_capacity SET `usage` = CASE WHEN `usage` + ? > 0 THEN `usage` + ? ELSE 0 END, "
+                + "gmt_modified = ? WHERE tenant_id = ?";
+        List<Object[]> batchArgs = new ArrayList<>(deltas.size());
+        for (Map.Entry<String, Integer> entry : deltas.entrySet()) {
+            batchArgs.add(new Object[] {entry.getValue(), entry.getValue(), gmtModified, entry.getKey()});
+        }
+        try {
+            jdbcTemplate.batchUpdate(sql, batchArgs);
+        } catch (CannotGetJdbcConnectionException e) {
+            FATAL_LOG.error("[db-error]", e);
+            throw e;
+        }
+    }
+    
     /**
      * Update TenantCapacity.
      *
@@ -110,6 +110,8 @@ public abstract class DumpService {
 
     static final int INIT_THREAD_COUNT = 10;
 
+    static final int HISTORY_REMOVE_RANGE = 10000;
+
     int total = 0;
 
     private static final String TRUE_STR = "true";
@@ -182,17 +184,15 @@ public abstract class DumpService {
                 if (canExecute()) {
                     try {
                         Timestamp startTime = getBeforeStamp(TimeUtils.getCurrentTime(), 24 * getRetentionDays());
-                        int totalCount = persistService.findConfigHistoryCountByTime(startTime);
-                        if (totalCount > 0) {
-                            int pageSize = 1000;
-                            int removeTime = (totalCount + pageSize - 1) / pageSize;
-                            LOGGER.warn(
-                                    "clearConfigHistory, getBeforeStamp:{}, totalCount:{}, pageSize:{}, removeTime:{}",
-                                    startTime, totalCount, pageSize, removeTime);
-                            while (removeTime > 0) {
-                                // delete paging to avoid reporting errors in batches
-                                persistService.removeConfigHistory(startTime, pageSize);
-                                removeTime--;
+                        Long maxNid = persistService.findConfigHistoryMaxNidByTime(startTime);
+                        Long minNid = persistService.findConfigHistoryMinNid();
+                        if (maxNid != null && minNid != null && minNid <= maxNid) {
+                            LOGGER.warn("clearConfigHistory, getBeforeStamp:{}, minNid:{}, maxNid:{}, rangeSize:{}",
+                                    startTime, minNid, maxNid, HISTORY_REMOVE_RANGE);
+                            // delete by primary key ranges instead of scanning gmt_modified again and again
+                            for (long start = minNid; start <= maxNid; start += HISTORY_REMOVE_RANGE) {
+                                long end = Math.min(start + HISTORY_REMOVE_RANGE, maxNid + 1);
+                                persistService.removeConfigHistoryByNid(start, end, startTime);
                             }
                         }
                     } catch (Throwable e) {
@@ -28,9 +28,13 @@ import com.alibaba.nacos.config.server.service.ConfigCacheService;
 import com.alibaba.nacos.config.server.service.SwitchService;
 import com.alibaba.nacos.config.server.service.dump.DumpService;
 import com.alibaba.nacos.config.server.service.repository.PersistService;
+import com.alibaba.nacos.config.server.service.search.ConfigSearchService;
 import com.alibaba.nacos.config.server.utils.GroupKey2;
 import com.alibaba.nacos.config.server.utils.LogUtil;
 
+import java.util.List;
+import java.util.Map;
+
 import static com.alibaba.nacos.config.server.utils.LogUtil.DEFAULT_LOG;
 
 /**
@@ -50,9 +54,11 @@ public class DumpAllProcessor implements NacosTaskProcessor {
     public boolean process(NacosTask task) {
         long currentMaxId = persistService.findConfigMaxId();
         long lastMaxId = 0;
+        ConfigSearchService.startRebuild();
         while (lastMaxId < currentMaxId) {
             Page<ConfigInfoWrapper> page = persistService.findAllConfigInfoFragment(lastMaxId, PAGE_SIZE);
             if (page != null && page.getPageItems() != null && !page.getPageItems().isEmpty()) {
+                long pageStartId = lastMaxId;
                 for (ConfigInfoWrapper cf : page.getPageItems()) {
                     long id = cf.getId();
                     lastMaxId = Math.max(id, lastMaxId);
@@ -78,11 +84,16 @@ public class DumpAllProcessor implements NacosTaskProcessor {
                             GroupKey2.getKey(cf.getDataId(), cf.getGroup()), cf.getLastModified(), content.length(),
                             md5);
                 }
+                Map<Long, List<String>> tags = persistService.findConfigTagsByIdRange(pageStartId, lastMaxId);
+                for (ConfigInfoWrapper cf : page.getPageItems()) {
+                    ConfigSearchService.rebuild(cf, tags.get(cf.getId()));
+                }
                 DEFAULT_LOG.info("[all-dump] {} / {}", lastMaxId, currentMaxId);
             } else {
                 lastMaxId += PAGE_SIZE;
             }
         }
+        ConfigSearchService.finishRebuild();
         return true;
     }
     
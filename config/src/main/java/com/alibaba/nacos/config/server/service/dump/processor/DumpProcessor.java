@@ -26,6 +26,7 @@ import com.alibaba.nacos.config.server.service.dump.DumpConfigHandler;
 import com.alibaba.nacos.config.server.service.dump.DumpService;
 import com.alibaba.nacos.config.server.service.dump.task.DumpTask;
 import com.alibaba.nacos.config.server.service.repository.PersistService;
+import com.alibaba.nacos.config.server.service.search.ConfigSearchService;
 import com.alibaba.nacos.config.server.utils.GroupKey2;
 import org.apache.commons.lang3.StringUtils;
 
@@ -77,6 +78,12 @@ public class DumpProcessor implements NacosTaskProcessor {
             build.remove(Objects.isNull(cf));
             build.content(Objects.isNull(cf) ? null : cf.getContent());
             build.type(Objects.isNull(cf) ? null : cf.getType());
+            
+            if (Objects.isNull(cf)) {
+                ConfigSearchService.remove(dataId, group, tenant);
+            } else {
+                ConfigSearchService.update(cf, persistService.selectTagByConfig(dataId, group, tenant));
+            }
         } else {
             ConfigInfo4Tag cf = persistService.findConfigInfo4Tag(dataId, group, tenant, tag);
 
@@ -46,7 +46,7 @@ class MergeDataTask extends AbstractDelayTask {
     }
     
     public String getId() {
-        return toString();
+        return "MergeTask[" + dataId + ", " + groupId + ", " + tenant + ", " + tag + "]";
     }
     
     @Override
@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.config.server.service.merge;
 
+import com.alibaba.nacos.common.utils.ThreadUtils;
 import com.alibaba.nacos.config.server.constant.Constants;
 import com.alibaba.nacos.config.server.manager.TaskManager;
 import com.alibaba.nacos.config.server.model.ConfigInfo;
@@ -24,6 +25,7 @@ import com.alibaba.nacos.config.server.model.ConfigInfoChanged;
 import com.alibaba.nacos.config.server.model.Page;
 import com.alibaba.nacos.config.server.service.repository.PersistService;
 import com.alibaba.nacos.config.server.utils.ContentUtils;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
 import com.alibaba.nacos.config.server.utils.PropertyUtil;
 import com.alibaba.nacos.config.server.utils.TimeUtils;
 import com.alibaba.nacos.core.distributed.ProtocolManager;
@@ -52,7 +54,7 @@ public class MergeDatumService {
     
     private static final Logger LOGGER = LoggerFactory.getLogger(MergeDatumService.class);
     
-    final TaskManager mergeTasks;
+    final TaskManager[] mergeTasks;
     
     private PersistService persistService;
     
@@ -65,8 +67,12 @@ public class MergeDatumService {
     @Autowired
     public MergeDatumService(PersistService persistService) {
         this.persistService = persistService;
-        mergeTasks = new TaskManager("com.alibaba.nacos.MergeDatum");
-        mergeTasks.setDefaultTaskProcessor(new MergeTaskProcessor(persistService, this));
+        MergeTaskProcessor processor = new MergeTaskProcessor(persistService, this);
+        mergeTasks = new TaskManager[ThreadUtils.getSuitableThreadCount(1)];
+        for (int i = 0; i < mergeTasks.length; i++) {
+            mergeTasks[i] = new TaskManager("com.alibaba.nacos.MergeDatum-" + i);
+            mergeTasks[i].setDefaultTaskProcessor(processor);
+        }
     }
     
     static List<List<ConfigInfoChanged>> splitList(List<ConfigInfoChanged> list, int count) {
@@ -89,7 +95,7 @@ public class MergeDatumService {
             return;
         }
         MergeDataTask task = new MergeDataTask(dataId, groupId, tenant, tag, clientIp);
-        mergeTasks.addTask(task.getId(), task);
+        addTask(task);
     }
     
     /**
@@ -100,7 +106,16 @@ public class MergeDatumService {
             return;
         }
         MergeDataTask task = new MergeDataTask(dataId, groupId, tenant, clientIp);
-        mergeTasks.addTask(task.getId(), task);
+        addTask(task);
+    }
+    
+    /**
+     * Tasks of the same config always go to the same task manager, so that they are coalesced and processed in order,
+     * while different configs are merged in parallel.
+     */
+    private void addTask(MergeDataTask task) {
+        String groupKey = GroupKey2.getKey(task.dataId, task.groupId, task.tenant);
+        mergeTasks[(groupKey.hashCode() & Integer.MAX_VALUE) % mergeTasks.length].addTask(task.getId(), task);
     }
     
     /**
@@ -16,9 +16,12 @@
 
 package com.alibaba.nacos.config.server.service.notify;
 
+import com.alibaba.nacos.api.config.remote.request.cluster.ConfigChangeClusterSyncBatchRequest;
 import com.alibaba.nacos.api.config.remote.request.cluster.ConfigChangeClusterSyncRequest;
 import com.alibaba.nacos.api.config.remote.response.cluster.ConfigChangeClusterSyncResponse;
+import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.remote.RequestCallBack;
+import com.alibaba.nacos.api.remote.response.Response;
 import com.alibaba.nacos.api.utils.NetUtils;
 import com.alibaba.nacos.auth.util.AuthHeaderUtil;
 import com.alibaba.nacos.common.http.Callback;
@@ -36,6 +39,7 @@ import com.alibaba.nacos.config.server.remote.ConfigClusterRpcClientProxy;
 import com.alibaba.nacos.config.server.service.dump.DumpService;
 import com.alibaba.nacos.config.server.service.trace.ConfigTraceService;
 import com.alibaba.nacos.config.server.utils.ConfigExecutor;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
 import com.alibaba.nacos.config.server.utils.LogUtil;
 import com.alibaba.nacos.core.cluster.Member;
 import com.alibaba.nacos.core.cluster.MemberUtil;
@@ -51,9 +55,15 @@ import org.springframework.stereotype.Service;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
@@ -75,6 +85,14 @@ public class AsyncNotifyService {
 
     private static final int MAX_COUNT = 6;
 
+    private static final int MAX_BATCH_SIZE = 100;
+
+    private static final int MAX_IN_FLIGHT_BATCHES = 4;
+
+    private static final long BATCH_UNSUPPORTED_CHECK_INTERVAL = TimeUnit.MINUTES.toMillis(5);
+
+    private final Map<String, RpcNotifyChannel> rpcNotifyChannels = new ConcurrentHashMap<>();
+
     @Autowired
     private DumpService dumpService;
 
@@ -211,13 +229,7 @@ public class AsyncNotifyService {
             while (!queue.isEmpty()) {
                 NotifySingleRpcTask task = queue.poll();
 
-                ConfigChangeClusterSyncRequest syncRequest = new ConfigChangeClusterSyncRequest();
-                syncRequest.setDataId(task.getDataId());
-                syncRequest.setGroup(task.getGroup());
-                syncRequest.setBeta(task.isBeta);
-                syncRequest.setLastModified(task.getLastModified());
-                syncRequest.setTag(task.tag);
-                syncRequest.setTenant(task.getTenant());
+                ConfigChangeClusterSyncRequest syncRequest = buildSyncRequest(task);
                 Member member = task.member;
                 if (memberManager.getSelf().equals(member)) {
                     if (syncRequest.isBeta()) {
@@ -247,13 +259,7 @@ public class AsyncNotifyService {
                                     new NotifySingleTask(task.getDataId(), task.getGroup(), task.getTenant(), task.tag,
                                             task.getLastModified(), member.getAddress(), task.isBeta));
                         } else {
-                            try {
-                                configClusterRpcClientProxy
-                                        .syncConfigChange(member, syncRequest, new AsyncRpcNotifyCallBack(task));
-                            } catch (Exception e) {
-                                MetricsMonitor.getConfigNotifyException().increment();
-                                asyncTaskExecute(task);
-                            }
+                            getRpcNotifyChannel(member.getAddress()).offer(task);
                         }
 
                     }
@@ -265,6 +271,209 @@ public class AsyncNotifyService {
         }
     }
 
+    private ConfigChangeClusterSyncRequest buildSyncRequest(NotifySingleRpcTask task) {
+        ConfigChangeClusterSyncRequest syncRequest = new ConfigChangeClusterSyncRequest();
+        syncRequest.setDataId(task.getDataId());
+        syncRequest.setGroup(task.getGroup());
+        syncRequest.setBeta(task.isBeta);
+        syncRequest.setLastModified(task.getLastModified());
+        syncRequest.setTag(task.tag);
+        syncRequest.setTenant(task.getTenant());
+        return syncRequest;
+    }
+
+    private RpcNotifyChannel getRpcNotifyChannel(String address) {
+        RpcNotifyChannel channel = rpcNotifyChannels.get(address);
+        if (channel == null) {
+            channel = new RpcNotifyChannel(address);
+            RpcNotifyChannel old = rpcNotifyChannels.putIfAbsent(address, channel);
+            channel = old == null ? channel : old;
+        }
+        return channel;
+    }
+
+    /**
+     * Notify channel to a member. Repeated changes of the same config are merged before send, and pending changes
+     * are sent in batches of at most {@link #MAX_BATCH_SIZE}, with at most {@link #MAX_IN_FLIGHT_BATCHES} batches in
+     * flight. Members which do not support batch are notified one by one.
+     */
+    class RpcNotifyChannel {
+
+        private final String address;
+
+        private final Map<String, NotifySingleRpcTask> pending = new LinkedHashMap<>();
+
+        private int inFlight;
+
+        private int failCount;
+
+        private boolean retryScheduled;
+
+        private volatile long batchUnsupportedUntil;
+
+        RpcNotifyChannel(String address) {
+            this.address = address;
+        }
+
+        void offer(NotifySingleRpcTask task) {
+            synchronized (this) {
+                merge(task);
+            }
+            send();
+        }
+
+        private void merge(NotifySingleRpcTask task) {
+            String key = GroupKey2.getKey(task.getDataId(), task.getGroup(), task.getTenant()) + "+" + task.tag + "+"
+                    + task.isBeta;
+            NotifySingleRpcTask old = pending.get(key);
+            if (old == null || old.getLastModified() <= task.getLastModified()) {
+                pending.put(key, task);
+            }
+        }
+
+        private void send() {
+            Member member = memberManager.find(address);
+            if (member == null) {
+                synchronized (this) {
+                    pending.clear();
+                }
+                rpcNotifyChannels.remove(address);
+                return;
+            }
+            if (System.currentTimeMillis() < batchUnsupportedUntil) {
+                for (NotifySingleRpcTask task : pollAll()) {
+                    try {
+                        configClusterRpcClientProxy
+                                .syncConfigChange(member, buildSyncRequest(task), new AsyncRpcNotifyCallBack(task));
+                    } catch (Exception e) {
+                        MetricsMonitor.getConfigNotifyException().increment();
+                        asyncTaskExecute(task);
+                    }
+                }
+                return;
+            }
+            List<NotifySingleRpcTask> batch;
+            while ((batch = pollBatch()) != null) {
+                ConfigChangeClusterSyncBatchRequest batchRequest = new ConfigChangeClusterSyncBatchRequest();
+                for (NotifySingleRpcTask task : batch) {
+                    batchRequest.getChanges().add(buildSyncRequest(task));
+                }
+                try {
+                    configClusterRpcClientProxy
+                            .syncConfigChangeBatch(member, batchRequest, new AsyncRpcBatchNotifyCallBack(this, batch));
+                } catch (Exception e) {
+                    onBatchFailed(batch, e);
+                }
+            }
+        }
+
+        private synchronized List<NotifySingleRpcTask> pollAll() {
+            List<NotifySingleRpcTask> result = new ArrayList<>(pending.values());
+            pending.clear();
+            return result;
+        }
+
+        private synchronized List<NotifySingleRpcTask> pollBatch() {
+            if (pending.isEmpty() || retryScheduled || inFlight >= MAX_IN_FLIGHT_BATCHES) {
+                return null;
+            }
+            List<NotifySingleRpcTask> batch = new ArrayList<>(Math.min(pending.size(), MAX_BATCH_SIZE));
+            Iterator<NotifySingleRpcTask> iterator = pending.values().iterator();
+            while (iterator.hasNext() && batch.size() < MAX_BATCH_SIZE) {
+                batch.add(iterator.next());
+                iterator.remove();
+            }
+            inFlight++;
+            return batch;
+        }
+
+        private void onBatchSuccess(List<NotifySingleRpcTask> batch) {
+            synchronized (this) {
+                inFlight--;
+                failCount = 0;
+            }
+            long now = System.currentTimeMillis();
+            for (NotifySingleRpcTask task : batch) {
+                ConfigTraceService.logNotifyEvent(task.getDataId(), task.getGroup(), task.getTenant(), null,
+                        task.getLastModified(), InetUtils.getSelfIP(), ConfigTraceService.NOTIFY_EVENT_OK,
+                        now - task.getLastModified(), address);
+            }
+            send();
+        }
+
+        private void onBatchFailed(List<NotifySingleRpcTask> batch, Throwable ex) {
+            LOGGER.error("[notify-exception] target:{} batch size:{} ex:{}", address, batch.size(), String.valueOf(ex));
+            MetricsMonitor.getConfigNotifyException().increment();
+            if (ex instanceof NacosException && ((NacosException) ex).getErrCode() == NacosException.NO_HANDLER) {
+                // The member does not support batch yet, notify one by one for a while.
+                batchUnsupportedUntil = System.currentTimeMillis() + BATCH_UNSUPPORTED_CHECK_INTERVAL;
+            }
+            boolean scheduleRetry = false;
+            int delay;
+            synchronized (this) {
+                inFlight--;
+                for (NotifySingleRpcTask task : batch) {
+                    merge(task);
+                }
+                delay = MIN_RETRY_INTERVAL + failCount * failCount * INCREASE_STEPS;
+                if (failCount <= MAX_COUNT) {
+                    failCount++;
+                }
+                if (!retryScheduled && System.currentTimeMillis() >= batchUnsupportedUntil) {
+                    retryScheduled = true;
+                    scheduleRetry = true;
+                }
+            }
+            if (!scheduleRetry) {
+                send();
+                return;
+            }
+            LogUtil.NOTIFY_LOG.error("[notify-retry] target:{} batch size:{} delay:{}", address, batch.size(), delay);
+            ConfigExecutor.scheduleAsyncNotify(() -> {
+                synchronized (this) {
+                    retryScheduled = false;
+                }
+                send();
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    class AsyncRpcBatchNotifyCallBack implements RequestCallBack<Response> {
+
+        private final RpcNotifyChannel channel;
+
+        private final List<NotifySingleRpcTask> batch;
+
+        AsyncRpcBatchNotifyCallBack(RpcNotifyChannel channel, List<NotifySingleRpcTask> batch) {
+            this.channel = channel;
+            this.batch = batch;
+        }
+
+        @Override
+        public Executor getExecutor() {
+            return ConfigExecutor.getConfigSubServiceExecutor();
+        }
+
+        @Override
+        public long getTimeout() {
+            return 3000L;
+        }
+
+        @Override
+        public void onResponse(Response response) {
+            if (response.isSuccess()) {
+                channel.onBatchSuccess(batch);
+            } else {
+                channel.onBatchFailed(batch, new NacosException(response.getErrorCode(), response.getMessage()));
+            }
+        }
+
+        @Override
+        public void onException(Throwable ex) {
+            channel.onBatchFailed(batch, ex);
+        }
+    }
+
     static class NotifySingleRpcTask extends NotifyTask {
 
         private Member member;
@@ -396,20 +396,28 @@ public interface PersistService {
     boolean batchRemoveAggr(final String dataId, final String group, final String tenant, final List<String> datumList);
     
     /**
-     * Delete data before startTime.
+     * Get the min nid of config history.
+     *
+     * @return min nid, null if there is no history
+     */
+    Long findConfigHistoryMinNid();
+    
+    /**
+     * Get the nid of the latest config history before the specified time.
      *
      * @param startTime start time
-     * @param limitSize limit size
+     * @return nid, null if there is no history before startTime
      */
-    void removeConfigHistory(final Timestamp startTime, final int limitSize);
+    Long findConfigHistoryMaxNidByTime(final Timestamp startTime);
     
     /**
-     * Get the number of configurations before the specified time.
+     * Delete the config history before startTime whose nid is in [startNid, endNid).
      *
+     * @param startNid  start nid, inclusive
+     * @param endNid    end nid, exclusive
      * @param startTime start time
-     * @return count of history config that meet the conditions
      */
-    int findConfigHistoryCountByTime(final Timestamp startTime);
+    void removeConfigHistoryByNid(final long startNid, final long endNid, final Timestamp startTime);
     
     /**
      * Get the maxId.
@@ -1046,6 +1054,15 @@ public interface PersistService {
      */
     List<String> selectTagByConfig(String dataId, String group, String tenant);
     
+    /**
+     * Query the tags of configs whose id is in the range (startId, endId].
+     *
+     * @param startId exclusive lower bound of config id
+     * @param endId   inclusive upper bound of config id
+     * @return config id -> tag list
+     */
+    Map<Long, List<String>> findConfigTagsByIdRange(long startId, long endId);
+    
     /**
      * Remove configuration; database atomic operation, minimum SQL action, no business encapsulation.
      *
@@ -1309,6 +1326,21 @@ public interface PersistService {
     List<ConfigAllInfo> findAllConfigInfo4Export(final String dataId, final String group, final String tenant,
             final String appName, final List<Long> ids);
     
+    /**
+     * query a page of configuration information according to group, appName, tenant ordered by id (for streaming
+     * export).
+     *
+     * @param dataId    data id
+     * @param group     group
+     * @param tenant    tenant
+     * @param appName   appName
+     * @param lastMaxId the max id of last page, exclusive
+     * @param pageSize  page size
+     * @return page of ConfigAllInfo objects
+     */
+    Page<ConfigAllInfo> findAllConfigInfo4ExportFragment(final String dataId, final String group, final String tenant,
+            final String appName, final long lastMaxId, final int pageSize);
+    
     /**
      * batch operation,insert or update the format of the returned: succCount: number of successful imports skipCount:
      * number of import skips (only with skip for the same configs) failData: import failed data (only with abort for
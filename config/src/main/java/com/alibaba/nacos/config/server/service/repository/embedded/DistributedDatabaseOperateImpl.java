@@ -45,6 +45,7 @@ import com.alibaba.nacos.config.server.service.sql.QueryType;
 import com.alibaba.nacos.config.server.service.sql.SelectRequest;
 import com.alibaba.nacos.config.server.utils.ConfigExecutor;
 import com.alibaba.nacos.config.server.utils.LogUtil;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
 import com.alibaba.nacos.consistency.SerializeFactory;
 import com.alibaba.nacos.consistency.Serializer;
 import com.alibaba.nacos.consistency.cp.CPProtocol;
@@ -78,10 +79,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -149,6 +154,8 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
      */
     private static final String DATA_IMPORT_KEY = "00--0-data_import-0--00";
     
+    private static final long LOCAL_READ_TIMEOUT_MS = 5_000L;
+    
     private ServerMemberManager memberManager;
     
     private CPProtocol protocol;
@@ -219,13 +226,17 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         try {
             LoggerUtils.printIfDebugEnabled(LogUtil.DEFAULT_LOG, "queryOne info : sql : {}", sql);
             
+            final boolean blockRead = EmbeddedStorageContextUtils
+                    .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
+            
+            if (isLocalReadable(blockRead)) {
+                return localRead(() -> queryOne(jdbcTemplate, sql, cls));
+            }
+            
             byte[] data = serializer.serialize(
                     SelectRequest.builder().queryType(QueryType.QUERY_ONE_NO_MAPPER_NO_ARGS).sql(sql)
                             .className(cls.getCanonicalName()).build());
             
-            final boolean blockRead = EmbeddedStorageContextUtils
-                    .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
-            
             Response response = innerRead(
                     ReadRequest.newBuilder().setGroup(group()).setData(ByteString.copyFrom(data)).build(), blockRead);
             if (response.getSuccess()) {
@@ -243,13 +254,17 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         try {
             LoggerUtils.printIfDebugEnabled(LogUtil.DEFAULT_LOG, "queryOne info : sql : {}, args : {}", sql, args);
             
+            final boolean blockRead = EmbeddedStorageContextUtils
+                    .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
+            
+            if (isLocalReadable(blockRead)) {
+                return localRead(() -> queryOne(jdbcTemplate, sql, args, cls));
+            }
+            
             byte[] data = serializer.serialize(
                     SelectRequest.builder().queryType(QueryType.QUERY_ONE_NO_MAPPER_WITH_ARGS).sql(sql).args(args)
                             .className(cls.getCanonicalName()).build());
             
-            final boolean blockRead = EmbeddedStorageContextUtils
-                    .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
-            
             Response response = innerRead(
                     ReadRequest.newBuilder().setGroup(group()).setData(ByteString.copyFrom(data)).build(), blockRead);
             if (response.getSuccess()) {
@@ -267,13 +282,17 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         try {
             LoggerUtils.printIfDebugEnabled(LogUtil.DEFAULT_LOG, "queryOne info : sql : {}, args : {}", sql, args);
             
+            final boolean blockRead = EmbeddedStorageContextUtils
+                    .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
+            
+            if (isLocalReadable(blockRead)) {
+                return localRead(() -> queryOne(jdbcTemplate, sql, args, mapper));
+            }
+            
             byte[] data = serializer.serialize(
                     SelectRequest.builder().queryType(QueryType.QUERY_ONE_WITH_MAPPER_WITH_ARGS).sql(sql).args(args)
                             .className(mapper.getClass().getCanonicalName()).build());
             
-            final boolean blockRead = EmbeddedStorageContextUtils
-                    .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
-            
             Response response = innerRead(
                     ReadRequest.newBuilder().setGroup(group()).setData(ByteString.copyFrom(data)).build(), blockRead);
             if (response.getSuccess()) {
@@ -292,13 +311,17 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         try {
             LoggerUtils.printIfDebugEnabled(LogUtil.DEFAULT_LOG, "queryMany info : sql : {}, args : {}", sql, args);
             
+            final boolean blockRead = EmbeddedStorageContextUtils
+                    .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
+            
+            if (isLocalReadable(blockRead)) {
+                return localRead(() -> queryMany(jdbcTemplate, sql, args, mapper));
+            }
+            
             byte[] data = serializer.serialize(
                     SelectRequest.builder().queryType(QueryType.QUERY_MANY_WITH_MAPPER_WITH_ARGS).sql(sql).args(args)
                             .className(mapper.getClass().getCanonicalName()).build());
             
-            final boolean blockRead = EmbeddedStorageContextUtils
-                    .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
-            
             Response response = innerRead(
                     ReadRequest.newBuilder().setGroup(group()).setData(ByteString.copyFrom(data)).build(), blockRead);
             if (response.getSuccess()) {
@@ -316,13 +339,17 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         try {
             LoggerUtils.printIfDebugEnabled(LogUtil.DEFAULT_LOG, "queryMany info : sql : {}, args : {}", sql, args);
             
+            final boolean blockRead = EmbeddedStorageContextUtils
+                    .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
+            
+            if (isLocalReadable(blockRead)) {
+                return localRead(() -> queryMany(jdbcTemplate, sql, args, rClass));
+            }
+            
             byte[] data = serializer.serialize(
                     SelectRequest.builder().queryType(QueryType.QUERY_MANY_NO_MAPPER_WITH_ARGS).sql(sql).args(args)
                             .className(rClass.getCanonicalName()).build());
             
-            final boolean blockRead = EmbeddedStorageContextUtils
-                    .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
-            
             Response response = innerRead(
                     ReadRequest.newBuilder().setGroup(group()).setData(ByteString.copyFrom(data)).build(), blockRead);
             if (response.getSuccess()) {
@@ -340,13 +367,17 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         try {
             LoggerUtils.printIfDebugEnabled(LogUtil.DEFAULT_LOG, "queryMany info : sql : {}, args : {}", sql, args);
             
+            final boolean blockRead = EmbeddedStorageContextUtils
+                    .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
+            
+            if (isLocalReadable(blockRead)) {
+                return localRead(() -> queryMany(jdbcTemplate, sql, args));
+            }
+            
             byte[] data = serializer.serialize(
                     SelectRequest.builder().queryType(QueryType.QUERY_MANY_WITH_LIST_WITH_ARGS).sql(sql).args(args)
                             .build());
             
-            final boolean blockRead = EmbeddedStorageContextUtils
-                    .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
-            
             Response response = innerRead(
                     ReadRequest.newBuilder().setGroup(group()).setData(ByteString.copyFrom(data)).build(), blockRead);
             if (response.getSuccess()) {
@@ -359,6 +390,53 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         }
     }
     
+    /**
+     * Whether the query can be executed directly on the local derby, which avoids serializing the query and its result.
+     * Nothing is read locally when {@link PropertyUtil#isEmbeddedStorageLocalRead()} is off. Otherwise reads marked with
+     * {@link Constants#EXTEND_ALLOW_STALE_READ} are served locally at once, other reads are served locally after the
+     * local state machine has applied the read index of the raft group.
+     *
+     * <p>If the read index fails, the query falls back to the raft read. If the read index times out, the query fails
+     * at once, because the raft read would wait for the same read index again.
+     *
+     * @param blockRead whether to wait for the read index without timeout
+     * @return {@code true} if the local derby can serve the query
+     * @throws TimeoutException     if the read index is not applied within {@link #LOCAL_READ_TIMEOUT_MS}
+     * @throws InterruptedException if interrupted while waiting for the read index
+     */
+    private boolean isLocalReadable(boolean blockRead) throws TimeoutException, InterruptedException {
+        if (!PropertyUtil.isEmbeddedStorageLocalRead()) {
+            return false;
+        }
+        if (EmbeddedStorageContextUtils.containsExtendInfo(Constants.EXTEND_ALLOW_STALE_READ)) {
+            return true;
+        }
+        try {
+            CompletableFuture<Void> future = protocol.awaitLocalReadable(group());
+            if (blockRead) {
+                future.join();
+            } else {
+                future.get(LOCAL_READ_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            }
+            return true;
+        } catch (TimeoutException e) {
+            throw new TimeoutException("wait for read index of group " + group() + " timeout");
+        } catch (CompletionException | ExecutionException e) {
+            LoggerUtils.printIfDebugEnabled(LogUtil.DEFAULT_LOG, "local read is unavailable, read by raft : {}",
+                    e.toString());
+            return false;
+        }
+    }
+    
+    private <R> R localRead(Supplier<R> reader) {
+        readLock.lock();
+        try {
+            return reader.get();
+        } finally {
+            readLock.unlock();
+        }
+    }
+    
     /**
      * In some business situations, you need to avoid the timeout issue, so blockRead is used to determine this.
      *
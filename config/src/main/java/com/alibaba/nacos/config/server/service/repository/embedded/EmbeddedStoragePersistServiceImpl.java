@@ -731,20 +731,26 @@ public class EmbeddedStoragePersistServiceImpl implements PersistService {
     }
     
     @Override
-    public void removeConfigHistory(final Timestamp startTime, final int limitSize) {
-        String sql = "delete from his_config_info where gmt_modified < ? limit ?";
-        PaginationHelper<ConfigInfo> helper = createPaginationHelper();
-        helper.updateLimit(sql, new Object[] {startTime, limitSize});
+    public Long findConfigHistoryMinNid() {
+        String sql = "SELECT min(nid) FROM his_config_info";
+        return databaseOperate.queryOne(sql, Long.class);
     }
     
     @Override
-    public int findConfigHistoryCountByTime(final Timestamp startTime) {
-        String sql = "SELECT COUNT(*) FROM his_config_info WHERE gmt_modified < ?";
-        Integer result = databaseOperate.queryOne(sql, new Object[] {startTime}, Integer.class);
-        if (result == null) {
-            throw new IllegalArgumentException("configInfoBetaCount error");
+    public Long findConfigHistoryMaxNidByTime(final Timestamp startTime) {
+        String sql = "SELECT max(nid) FROM his_config_info WHERE gmt_modified < ?";
+        return databaseOperate.queryOne(sql, new Object[] {startTime}, Long.class);
+    }
+    
+    @Override
+    public void removeConfigHistoryByNid(final long startNid, final long endNid, final Timestamp startTime) {
+        String sql = "DELETE FROM his_config_info WHERE nid >= ? AND nid < ? AND gmt_modified < ?";
+        EmbeddedStorageContextUtils.addSqlContext(sql, startNid, endNid, startTime);
+        try {
+            databaseOperate.update(EmbeddedStorageContextUtils.getCurrentSqlContext());
+        } finally {
+            EmbeddedStorageContextUtils.cleanAllContext();
         }
-        return result;
     }
     
     @Override
@@ -1036,9 +1042,14 @@ public class EmbeddedStoragePersistServiceImpl implements PersistService {
             }
         }
         PaginationHelper<ConfigInfo> helper = createPaginationHelper();
-        return helper
-                .fetchPage(sqlCount + where.toString(), sql + where.toString(), paramList.toArray(), pageNo, pageSize,
-                        CONFIG_INFO_ROW_MAPPER);
+        // console listing, allow to read the local derby without waiting for the raft read index
+        EmbeddedStorageContextUtils.putExtendInfo(Constants.EXTEND_ALLOW_STALE_READ, "true");
+        try {
+            return helper.fetchPage(sqlCount + where.toString(), sql + where.toString(), paramList.toArray(), pageNo,
+                    pageSize, CONFIG_INFO_ROW_MAPPER);
+        } finally {
+            EmbeddedStorageContextUtils.removeExtendInfo(Constants.EXTEND_ALLOW_STALE_READ);
+        }
     }
     
     @Override
@@ -1683,9 +1694,14 @@ public class EmbeddedStoragePersistServiceImpl implements PersistService {
             }
         }
         PaginationHelper<ConfigInfo> helper = createPaginationHelper();
-        return helper.fetchPage(sqlCountRows + where, sqlFetchRows + where, params.toArray(), pageNo, pageSize,
-                CONFIG_INFO_ROW_MAPPER);
-        
+        // console listing, allow to read the local derby without waiting for the raft read index
+        EmbeddedStorageContextUtils.putExtendInfo(Constants.EXTEND_ALLOW_STALE_READ, "true");
+        try {
+            return helper.fetchPage(sqlCountRows + where, sqlFetchRows + where, params.toArray(), pageNo, pageSize,
+                    CONFIG_INFO_ROW_MAPPER);
+        } finally {
+            EmbeddedStorageContextUtils.removeExtendInfo(Constants.EXTEND_ALLOW_STALE_READ);
+        }
     }
     
     @Override
@@ -1987,6 +2003,19 @@ public class EmbeddedStoragePersistServiceImpl implements PersistService {
         return databaseOperate.queryMany(sql, new Object[] {dataId, group, tenant}, String.class);
     }
     
+    @Override
+    public Map<Long, List<String>> findConfigTagsByIdRange(long startId, long endId) {
+        String sql = "SELECT id,tag_name FROM config_tags_relation WHERE id > ? AND id <= ? ";
+        List<Map<String, Object>> rows = databaseOperate
+                .queryMany(sql, new Object[] {startId, endId}, MAP_ROW_MAPPER);
+        Map<Long, List<String>> result = new HashMap<Long, List<String>>(rows.size());
+        for (Map<String, Object> row : rows) {
+            Long id = ((Number) row.get("ID")).longValue();
+            result.computeIfAbsent(id, key -> new ArrayList<String>()).add((String) row.get("TAG_NAME"));
+        }
+        return result;
+    }
+    
     @Override
     public void removeConfigInfoAtomic(final String dataId, final String group, final String tenant, final String srcIp,
             final String srcUser) {
@@ -2457,6 +2486,34 @@ public class EmbeddedStoragePersistServiceImpl implements PersistService {
                 .queryMany(SQL_FIND_ALL_CONFIG_INFO + where, paramList.toArray(), CONFIG_ALL_INFO_ROW_MAPPER);
     }
     
+    @Override
+    public Page<ConfigAllInfo> findAllConfigInfo4ExportFragment(final String dataId, final String group,
+            final String tenant, final String appName, final long lastMaxId, final int pageSize) {
+        String tenantTmp = StringUtils.isBlank(tenant) ? StringUtils.EMPTY : tenant;
+        StringBuilder where = new StringBuilder(" where tenant_id=? ");
+        List<Object> paramList = new ArrayList<>();
+        paramList.add(tenantTmp);
+        if (!StringUtils.isBlank(dataId)) {
+            where.append(" and data_id like ? ");
+            paramList.add(generateLikeArgument(dataId));
+        }
+        if (StringUtils.isNotBlank(group)) {
+            where.append(" and group_id=? ");
+            paramList.add(group);
+        }
+        if (StringUtils.isNotBlank(appName)) {
+            where.append(" and app_name=? ");
+            paramList.add(appName);
+        }
+        where.append(" and id > ? order by id asc limit ?,?");
+        paramList.add(lastMaxId);
+        paramList.add(0);
+        paramList.add(pageSize);
+        PaginationHelper<ConfigAllInfo> helper = createPaginationHelper();
+        return helper.fetchPageLimit(SQL_FIND_ALL_CONFIG_INFO + where, paramList.toArray(), 1, pageSize,
+                CONFIG_ALL_INFO_ROW_MAPPER);
+    }
+    
     @Override
     public Map<String, Object> batchInsertOrUpdate(List<ConfigAllInfo> configInfoList, String srcUser, String srcIp,
             Map<String, Object> configAdvanceInfo, Timestamp time, boolean notify, SameConfigPolicy policy)
@@ -0,0 +1,473 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.repository.extrnal;
+
+import com.alibaba.nacos.common.utils.JacksonUtils;
+import com.alibaba.nacos.config.server.utils.ConfigExecutor;
+import com.alibaba.nacos.config.server.utils.LogUtil;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous writer of his_config_info.
+ *
+ * <p>History records are appended to a local journal after the config transaction commits, and flushed to database
+ * with multi-row inserts by a background task. The journal is rolled on every flush and removed once all of its records
+ * are written, the remaining journals are replayed on startup, so records may be written more than once after a crash.
+ *
+ * <p>The journal is only forced to disk when it is rolled, so a process crash does not lose records, but a power
+ * failure or OS crash may lose the records appended within the last flush interval.
+ *
+ * <p>If a multi-row insert fails, the rows are inserted one by one, and a row which still fails for a reason other than
+ * an unavailable database is moved to the quarantine file instead of being retried forever.
+ *
+ * @author nacos
+ */
+public class ConfigHistoryAsyncWriter {
+    
+    private static final String JOURNAL_SUFFIX = ".log";
+    
+    private static final long FLUSH_INTERVAL = 200L;
+    
+    private static final int BATCH_SIZE = 100;
+    
+    private static final int BATCH_MAX_BYTES = 1024 * 1024;
+    
+    private static final int ROW_OVERHEAD_BYTES = 64;
+    
+    private static final String QUARANTINE_FILE = "quarantine";
+    
+    private static final String INSERT_PREFIX = "INSERT INTO his_config_info (id,data_id,group_id,tenant_id,app_name,"
+            + "content,md5,src_ip,src_user,gmt_modified,op_type) VALUES ";
+    
+    private static final String ROW_PLACEHOLDER = "(?,?,?,?,?,?,?,?,?,?,?)";
+    
+    private final JdbcTemplate jt;
+    
+    private final File journalDir;
+    
+    /**
+     * Records appended since last roll, guarded by this.
+     */
+    private List<HistoryRecord> appended = new ArrayList<>();
+    
+    private FileChannel journal;
+    
+    private long journalSequence;
+    
+    /**
+     * Journals and records which are rolled but not written yet, only accessed by flush task.
+     */
+    private final LinkedList<RolledJournal> rolled = new LinkedList<>();
+    
+    public ConfigHistoryAsyncWriter(JdbcTemplate jt, File journalDir) {
+        this.jt = jt;
+        this.journalDir = journalDir;
+    }
+    
+    /**
+     * Replay the journals left by last run and start the flush task.
+     *
+     * @throws IOException if journal can not be opened.
+     */
+    public void start() throws IOException {
+        open();
+        ConfigExecutor.scheduleConfigTask(this::flush, FLUSH_INTERVAL, FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+    
+    void open() throws IOException {
+        if (!journalDir.exists() && !journalDir.mkdirs()) {
+            throw new IOException("create history journal dir failed: " + journalDir);
+        }
+        File[] journals = journalDir.listFiles((dir, name) -> name.endsWith(JOURNAL_SUFFIX));
+        if (journals != null) {
+            Arrays.sort(journals);
+            for (File each : journals) {
+                rolled.add(new RolledJournal(each, readJournal(each)));
+                journalSequence = Math.max(journalSequence, parseSequence(each));
+            }
+        }
+        synchronized (this) {
+            journal = openJournal();
+        }
+    }
+    
+    /**
+     * Append a history record. If there is an active transaction, the record will be appended after commit.
+     *
+     * @param record history record.
+     */
+    public void append(HistoryRecord record) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doAppend(record);
+                }
+            });
+            return;
+        }
+        doAppend(record);
+    }
+    
+    private synchronized void doAppend(HistoryRecord record) {
+        byte[] line = (JacksonUtils.toJson(record) + "\n").getBytes(StandardCharsets.UTF_8);
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                journal.write(buffer);
+            }
+        } catch (IOException e) {
+            LogUtil.FATAL_LOG.error("[history-journal] append failed, dataId: {}, group: {}", record.getDataId(),
+                    record.getGroup(), e);
+        }
+        appended.add(record);
+    }
+    
+    /**
+     * Roll the current journal and write the rolled records to database.
+     */
+    void flush() {
+        try {
+            roll();
+            while (!rolled.isEmpty()) {
+                RolledJournal first = rolled.getFirst();
+                write(first.records);
+                rolled.removeFirst();
+                if (!first.file.delete()) {
+                    LogUtil.DEFAULT_LOG.warn("[history-journal] delete journal failed: {}", first.file);
+                }
+            }
+        } catch (Throwable e) {
+            LogUtil.FATAL_LOG.error("[history-journal] flush failed, pending journals: {}", rolled.size(), e);
+        }
+    }
+    
+    private void roll() throws IOException {
+        File file;
+        List<HistoryRecord> records;
+        synchronized (this) {
+            if (appended.isEmpty()) {
+                return;
+            }
+            journal.force(false);
+            journal.close();
+            file = journalFile(journalSequence);
+            records = appended;
+            appended = new ArrayList<>();
+            journal = openJournal();
+        }
+        rolled.add(new RolledJournal(file, records));
+    }
+    
+    /**
+     * Write records with multi-row inserts, the written records are removed from the list, so that a failed write can
+     * be continued in the next round.
+     */
+    private void write(List<HistoryRecord> records) {
+        while (!records.isEmpty()) {
+            List<HistoryRecord> batch = records.subList(0, batchEnd(records));
+            try {
+                insert(batch);
+                batch.clear();
+            } catch (DataAccessException e) {
+                if (isUnavailable(e)) {
+                    throw e;
+                }
+                LogUtil.DEFAULT_LOG.warn("[history-journal] insert {} rows failed, insert them one by one",
+                        batch.size(), e);
+                writeOneByOne(batch);
+            }
+        }
+    }
+    
+    private void writeOneByOne(List<HistoryRecord> batch) {
+        while (!batch.isEmpty()) {
+            HistoryRecord record = batch.get(0);
+            try {
+                insert(Collections.singletonList(record));
+            } catch (DataAccessException e) {
+                if (isUnavailable(e)) {
+                    throw e;
+                }
+                quarantine(record, e);
+            }
+            batch.remove(0);
+        }
+    }
+    
+    /**
+     * Get the end of the first batch, which is bounded by both row count and estimated statement size.
+     */
+    private int batchEnd(List<HistoryRecord> records) {
+        int end = 0;
+        long bytes = 0;
+        while (end < records.size() && end < BATCH_SIZE) {
+            bytes += estimateSize(records.get(end));
+            if (end > 0 && bytes > BATCH_MAX_BYTES) {
+                break;
+            }
+            end++;
+        }
+        return end;
+    }
+    
+    private void insert(List<HistoryRecord> batch) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        List<Object> args = new ArrayList<>(batch.size() * 11);
+        for (HistoryRecord record : batch) {
+            if (!args.isEmpty()) {
+                sql.append(',');
+            }
+            sql.append(ROW_PLACEHOLDER);
+            args.add(record.getId());
+            args.add(record.getDataId());
+            args.add(record.getGroup());
+            args.add(record.getTenant());
+            args.add(record.getAppName());
+            args.add(record.getContent());
+            args.add(record.getMd5());
+            args.add(record.getSrcIp());
+            args.add(record.getSrcUser());
+            args.add(new Timestamp(record.getGmtModified()));
+            args.add(record.getOpType());
+        }
+        jt.update(sql.toString(), args.toArray());
+    }
+    
+    /**
+     * Whether the database can not be accessed now, the records should be retried later.
+     */
+    private boolean isUnavailable(DataAccessException e) {
+        return e instanceof DataAccessResourceFailureException || e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException;
+    }
+    
+    private void quarantine(HistoryRecord record, DataAccessException cause) {
+        String json = JacksonUtils.toJson(record);
+        LogUtil.FATAL_LOG.error("[history-journal] insert failed, move to quarantine, id: {}, dataId: {}, group: {}",
+                record.getId(), record.getDataId(), record.getGroup(), cause);
+        File file = new File(journalDir, QUARANTINE_FILE);
+        try {
+            Files.write(file.toPath(), (json + "\n").getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            LogUtil.FATAL_LOG.error("[history-journal] write quarantine failed, record: {}", json, e);
+        }
+    }
+    
+    private static long estimateSize(HistoryRecord record) {
+        long size = ROW_OVERHEAD_BYTES;
+        for (String each : new String[] {record.getDataId(), record.getGroup(), record.getTenant(), record.getAppName(),
+                record.getMd5(), record.getSrcIp(), record.getSrcUser(), record.getOpType()}) {
+            size += null == each ? 0 : each.length();
+        }
+        String content = record.getContent();
+        return null == content ? size : size + content.getBytes(StandardCharsets.UTF_8).length;
+    }
+    
+    private FileChannel openJournal() throws IOException {
+        journalSequence = Math.max(journalSequence + 1, System.currentTimeMillis());
+        return new FileOutputStream(journalFile(journalSequence), true).getChannel();
+    }
+    
+    private File journalFile(long sequence) {
+        return new File(journalDir, String.format("%019d", sequence) + JOURNAL_SUFFIX);
+    }
+    
+    private long parseSequence(File file) {
+        String name = file.getName();
+        try {
+            return Long.parseLong(name.substring(0, name.length() - JOURNAL_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+    
+    private List<HistoryRecord> readJournal(File file) throws IOException {
+        List<HistoryRecord> records = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                try {
+                    records.add(JacksonUtils.toObj(line, HistoryRecord.class));
+                } catch (Exception e) {
+                    // The last line may be incomplete if the server crashed while appending.
+                    LogUtil.DEFAULT_LOG.warn("[history-journal] skip broken record in {}", file, e);
+                }
+            }
+        }
+        LogUtil.DEFAULT_LOG.info("[history-journal] replay {} records from {}", records.size(), file);
+        return records;
+    }
+    
+    private static class RolledJournal {
+        
+        private final File file;
+        
+        private final List<HistoryRecord> records;
+        
+        RolledJournal(File file, List<HistoryRecord> records) {
+            this.file = file;
+            this.records = records;
+        }
+    }
+    
+    /**
+     * Record of his_config_info.
+     */
+    public static class HistoryRecord {
+        
+        private long id;
+        
+        private String dataId;
+        
+        private String group;
+        
+        private String tenant;
+        
+        private String appName;
+        
+        private String content;
+        
+        private String md5;
+        
+        private String srcIp;
+        
+        private String srcUser;
+        
+        private long gmtModified;
+        
+        private String opType;
+        
+        public long getId() {
+            return id;
+        }
+        
+        public void setId(long id) {
+            this.id = id;
+        }
+        
+        public String getDataId() {
+            return dataId;
+        }
+        
+        public void setDataId(String dataId) {
+            this.dataId = dataId;
+        }
+        
+        public String getGroup() {
+            return group;
+        }
+        
+        public void setGroup(String group) {
+            this.group = group;
+        }
+        
+        public String getTenant() {
+            return tenant;
+        }
+        
+        public void setTenant(String tenant) {
+            this.tenant = tenant;
+        }
+        
+        public String getAppName() {
+            return appName;
+        }
+        
+        public void setAppName(String appName) {
+            this.appName = appName;
+        }
+        
+        public String getContent() {
+            return content;
+        }
+        
+        public void setContent(String content) {
+            this.content = content;
+        }
+        
+        public String getMd5() {
+            return md5;
+        }
+        
+        public void setMd5(String md5) {
+            this.md5 = md5;
+        }
+        
+        public String getSrcIp() {
+            return srcIp;
+        }
+        
+        public void setSrcIp(String srcIp) {
+            this.srcIp = srcIp;
+        }
+        
+        public String getSrcUser() {
+            return srcUser;
+        }
+        
+        public void setSrcUser(String srcUser) {
+            this.srcUser = srcUser;
+        }
+        
+        public long getGmtModified() {
+            return gmtModified;
+        }
+        
+        public void setGmtModified(long gmtModified) {
+            this.gmtModified = gmtModified;
+        }
+        
+        public String getOpType() {
+            return opType;
+        }
+        
+        public void setOpType(String opType) {
+            this.opType = opType;
+        }
+    }
+}
@@ -42,6 +42,8 @@ import com.alibaba.nacos.config.server.service.repository.PaginationHelper;
 import com.alibaba.nacos.config.server.service.repository.PersistService;
 import com.alibaba.nacos.config.server.utils.LogUtil;
 import com.alibaba.nacos.config.server.utils.ParamUtils;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import com.alibaba.nacos.sys.env.EnvUtil;
 import com.google.common.base.Joiner;
 import com.google.common.collect.Lists;
 import org.apache.commons.collections.CollectionUtils;
@@ -66,6 +68,7 @@ import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.Assert;
 
 import javax.annotation.PostConstruct;
+import java.io.File;
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -117,10 +120,14 @@ public class ExternalStoragePersistServiceImpl implements PersistService {
     
     private static final int QUERY_LIMIT_SIZE = 50;
     
+    private static final String HISTORY_JOURNAL_DIR = File.separator + "data" + File.separator + "history-journal";
+    
     protected JdbcTemplate jt;
     
     protected TransactionTemplate tjt;
     
+    private ConfigHistoryAsyncWriter historyAsyncWriter;
+    
     /**
      * constant variables.
      */
@@ -130,11 +137,16 @@ public class ExternalStoragePersistServiceImpl implements PersistService {
      * init datasource.
      */
     @PostConstruct
-    public void init() {
+    public void init() throws IOException {
         dataSourceService = DynamicDataSource.getInstance().getDataSource();
         
         jt = getJdbcTemplate();
         tjt = getTransactionTemplate();
+        if (PropertyUtil.isHistoryAsyncWrite()) {
+            historyAsyncWriter = new ConfigHistoryAsyncWriter(jt,
+                    new File(EnvUtil.getNacosHome(), HISTORY_JOURNAL_DIR));
+            historyAsyncWriter.start();
+        }
     }
     
     public boolean checkMasterWritable() {
@@ -631,11 +643,10 @@ public class ExternalStoragePersistServiceImpl implements PersistService {
     }
     
     @Override
-    public void removeConfigHistory(final Timestamp startTime, final int limitSize) {
-        String sql = "delete from his_config_info where gmt_modified < ? limit ?";
-        PaginationHelper<ConfigInfo> helper = createPaginationHelper();
+    public Long findConfigHistoryMinNid() {
+        String sql = "SELECT min(nid) FROM his_config_info";
         try {
-            helper.updateLimit(sql, new Object[] {startTime, limitSize});
+            return jt.queryForObject(sql, Long.class);
         } catch (CannotGetJdbcConnectionException e) {
             LogUtil.FATAL_LOG.error("[db-error] " + e.toString(), e);
             throw e;
@@ -643,13 +654,27 @@ public class ExternalStoragePersistServiceImpl implements PersistService {
     }
     
     @Override
-    public int findConfigHistoryCountByTime(final Timestamp startTime) {
-        String sql = "SELECT COUNT(*) FROM his_config_info WHERE gmt_modified < ?";
-        Integer result = jt.queryForObject(sql, Integer.class, new Object[] {startTime});
-        if (result == null) {
-            throw new IllegalArgumentException("configInfoBetaCount error");
+    public Long findConfigHistoryMaxNidByTime(final Timestamp startTime) {
+        // Walk idx_gmt_modified backward, nid grows with gmt_modified.
+        String sql = "SELECT nid FROM his_config_info WHERE gmt_modified < ? ORDER BY gmt_modified DESC LIMIT 1";
+        try {
+            List<Long> result = jt.queryForList(sql, Long.class, startTime);
+            return result.isEmpty() ? null : result.get(0);
+        } catch (CannotGetJdbcConnectionException e) {
+            LogUtil.FATAL_LOG.error("[db-error] " + e.toString(), e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public void removeConfigHistoryByNid(final long startNid, final long endNid, final Timestamp startTime) {
+        String sql = "DELETE FROM his_config_info WHERE nid >= ? AND nid < ? AND gmt_modified < ?";
+        try {
+            jt.update(sql, startNid, endNid, startTime);
+        } catch (CannotGetJdbcConnectionException e) {
+            LogUtil.FATAL_LOG.error("[db-error] " + e.toString(), e);
+            throw e;
         }
-        return result.intValue();
     }
     
     @Override
@@ -2161,6 +2186,23 @@ public class ExternalStoragePersistServiceImpl implements PersistService {
         }
     }
     
+    @Override
+    public Map<Long, List<String>> findConfigTagsByIdRange(long startId, long endId) {
+        String sql = "SELECT id,tag_name FROM config_tags_relation WHERE id > ? AND id <= ? ";
+        try {
+            List<Map<String, Object>> rows = jt.queryForList(sql, startId, endId);
+            Map<Long, List<String>> result = new HashMap<Long, List<String>>(rows.size());
+            for (Map<String, Object> row : rows) {
+                Long id = ((Number) row.get("id")).longValue();
+                result.computeIfAbsent(id, key -> new ArrayList<String>()).add((String) row.get("tag_name"));
+            }
+            return result;
+        } catch (CannotGetJdbcConnectionException e) {
+            LogUtil.FATAL_LOG.error("[db-error] " + e.toString(), e);
+            throw e;
+        }
+    }
+    
     @Override
     public void removeConfigInfoAtomic(final String dataId, final String group, final String tenant, final String srcIp,
             final String srcUser) {
@@ -2351,6 +2393,22 @@ public class ExternalStoragePersistServiceImpl implements PersistService {
         String appNameTmp = StringUtils.isBlank(configInfo.getAppName()) ? StringUtils.EMPTY : configInfo.getAppName();
         String tenantTmp = StringUtils.isBlank(configInfo.getTenant()) ? StringUtils.EMPTY : configInfo.getTenant();
         final String md5Tmp = MD5Utils.md5Hex(configInfo.getContent(), Constants.ENCODE);
+        if (historyAsyncWriter != null) {
+            ConfigHistoryAsyncWriter.HistoryRecord record = new ConfigHistoryAsyncWriter.HistoryRecord();
+            record.setId(id);
+            record.setDataId(configInfo.getDataId());
+            record.setGroup(configInfo.getGroup());
+            record.setTenant(tenantTmp);
+            record.setAppName(appNameTmp);
+            record.setContent(configInfo.getContent());
+            record.setMd5(md5Tmp);
+            record.setSrcIp(srcIp);
+            record.setSrcUser(srcUser);
+            record.setGmtModified(time.getTime());
+            record.setOpType(ops);
+            historyAsyncWriter.append(record);
+            return;
+        }
         try {
             jt.update(
                     "INSERT INTO his_config_info (id,data_id,group_id,tenant_id,app_name,content,md5,src_ip,src_user,gmt_modified,op_type) "
@@ -2694,6 +2752,39 @@ public class ExternalStoragePersistServiceImpl implements PersistService {
         }
     }
     
+    @Override
+    public Page<ConfigAllInfo> findAllConfigInfo4ExportFragment(final String dataId, final String group,
+            final String tenant, final String appName, final long lastMaxId, final int pageSize) {
+        String tenantTmp = StringUtils.isBlank(tenant) ? StringUtils.EMPTY : tenant;
+        StringBuilder where = new StringBuilder(" where tenant_id=? ");
+        List<Object> paramList = new ArrayList<>();
+        paramList.add(tenantTmp);
+        if (!StringUtils.isBlank(dataId)) {
+            where.append(" and data_id like ? ");
+            paramList.add(generateLikeArgument(dataId));
+        }
+        if (StringUtils.isNotBlank(group)) {
+            where.append(" and group_id=? ");
+            paramList.add(group);
+        }
+        if (StringUtils.isNotBlank(appName)) {
+            where.append(" and app_name=? ");
+            paramList.add(appName);
+        }
+        where.append(" and id > ? order by id asc limit ?,?");
+        paramList.add(lastMaxId);
+        paramList.add(0);
+        paramList.add(pageSize);
+        PaginationHelper<ConfigAllInfo> helper = createPaginationHelper();
+        try {
+            return helper.fetchPageLimit(SQL_FIND_ALL_CONFIG_INFO + where, paramList.toArray(), 1, pageSize,
+                    CONFIG_ALL_INFO_ROW_MAPPER);
+        } catch (CannotGetJdbcConnectionException e) {
+            LogUtil.FATAL_LOG.error("[db-error] " + e.toString(), e);
+            throw e;
+        }
+    }
+    
     @Override
     public Map<String, Object> batchInsertOrUpdate(List<ConfigAllInfo> configInfoList, String srcUser, String srcIp,
             Map<String, Object> configAdvanceInfo, Timestamp time, boolean notify, SameConfigPolicy policy)
@@ -0,0 +1,328 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.search;
+
+import com.alibaba.nacos.common.utils.ConcurrentHashSet;
+import com.alibaba.nacos.config.server.model.ConfigInfo;
+import com.alibaba.nacos.config.server.model.Page;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of config keys for console fuzzy search. Configs are partitioned by tenant and indexed by the
+ * trigrams of dataId and group, so that a search only checks the configs containing all trigrams of the literal parts
+ * of the patterns instead of scanning the whole {@code config_info} table.
+ *
+ * <p>Patterns follow {@code findConfigInfoLike4Page}: {@code *} matches any characters, and a pattern without
+ * {@code *} must match exactly. Modifications of one tenant are serialized, queries can be done concurrently.
+ *
+ * @author nacos
+ */
+public class ConfigSearchIndex {
+    
+    private static final int GRAM_LENGTH = 3;
+    
+    private static final String WILDCARD = "*";
+    
+    private static final String TAG_SEPARATOR = ",";
+    
+    private final Map<String, TenantIndex> tenantIndexes = new ConcurrentHashMap<>();
+    
+    /**
+     * Add or replace config in index.
+     *
+     * @param id      config id
+     * @param dataId  data id
+     * @param group   group
+     * @param tenant  tenant
+     * @param appName app name
+     * @param tags    config tags, nullable
+     */
+    public void update(long id, String dataId, String group, String tenant, String appName,
+            Collection<String> tags) {
+        String tenantTmp = StringUtils.isBlank(tenant) ? StringUtils.EMPTY : tenant;
+        IndexedConfig config = new IndexedConfig(id, dataId, group, tenantTmp, appName,
+                null == tags ? Collections.emptySet() : new HashSet<>(tags));
+        TenantIndex index = tenantIndexes.computeIfAbsent(tenantTmp, key -> new TenantIndex());
+        String key = GroupKey2.getKey(dataId, group);
+        synchronized (index) {
+            if (null != index.configs.put(key, config)) {
+                return;
+            }
+            addGrams(index.dataIdGrams, dataId, key);
+            addGrams(index.groupGrams, group, key);
+        }
+    }
+    
+    /**
+     * Remove config from index.
+     *
+     * @param dataId data id
+     * @param group  group
+     * @param tenant tenant
+     */
+    public void remove(String dataId, String group, String tenant) {
+        String tenantTmp = StringUtils.isBlank(tenant) ? StringUtils.EMPTY : tenant;
+        TenantIndex index = tenantIndexes.get(tenantTmp);
+        if (null == index) {
+            return;
+        }
+        String key = GroupKey2.getKey(dataId, group);
+        synchronized (index) {
+            if (null == index.configs.remove(key)) {
+                return;
+            }
+            removeGrams(index.dataIdGrams, dataId, key);
+            removeGrams(index.groupGrams, group, key);
+        }
+    }
+    
+    /**
+     * Get the count of indexed configs.
+     *
+     * @return count of indexed configs
+     */
+    public int size() {
+        int result = 0;
+        for (TenantIndex each : tenantIndexes.values()) {
+            result += each.configs.size();
+        }
+        return result;
+    }
+    
+    /**
+     * Search configs ordered by id, the content of returned configs is not filled.
+     *
+     * @param pageNo     page number, start from 1
+     * @param pageSize   page size
+     * @param dataId     data id pattern, blank means any
+     * @param group      group pattern, blank means any
+     * @param tenant     tenant pattern
+     * @param appName    app name, blank means any
+     * @param configTags comma separated tags, config having any of them matches, blank means any
+     * @return page of matched configs
+     */
+    public Page<ConfigInfo> search(int pageNo, int pageSize, String dataId, String group, String tenant,
+            String appName, String configTags) {
+        if (pageNo <= 0 || pageSize <= 0) {
+            throw new IllegalArgumentException("pageNo and pageSize must be greater than zero");
+        }
+        String tenantTmp = StringUtils.isBlank(tenant) ? StringUtils.EMPTY : tenant;
+        Set<String> tags = StringUtils.isBlank(configTags) ? Collections.emptySet()
+                : new HashSet<>(Arrays.asList(configTags.split(TAG_SEPARATOR)));
+        List<IndexedConfig> matched = new ArrayList<>();
+        for (TenantIndex each : findTenantIndexes(tenantTmp)) {
+            for (String key : findCandidates(each, dataId, group)) {
+                IndexedConfig config = each.configs.get(key);
+                if (null != config && config.matches(dataId, group, appName, tags)) {
+                    matched.add(config);
+                }
+            }
+        }
+        matched.sort(Comparator.comparingLong(config -> config.id));
+        
+        int pageCount = matched.size() / pageSize;
+        if (matched.size() > pageSize * pageCount) {
+            pageCount++;
+        }
+        Page<ConfigInfo> page = new Page<>();
+        page.setPageNumber(pageNo);
+        page.setPagesAvailable(pageCount);
+        page.setTotalCount(matched.size());
+        if (pageNo > pageCount) {
+            return page;
+        }
+        int startRow = (pageNo - 1) * pageSize;
+        for (IndexedConfig each : matched.subList(startRow, Math.min(startRow + pageSize, matched.size()))) {
+            page.getPageItems().add(each.toConfigInfo());
+        }
+        return page;
+    }
+    
+    private Collection<TenantIndex> findTenantIndexes(String tenant) {
+        if (!tenant.contains(WILDCARD)) {
+            TenantIndex index = tenantIndexes.get(tenant);
+            return null == index ? Collections.emptyList() : Collections.singletonList(index);
+        }
+        List<TenantIndex> result = new ArrayList<>();
+        for (Map.Entry<String, TenantIndex> entry : tenantIndexes.entrySet()) {
+            if (matches(tenant, entry.getKey())) {
+                result.add(entry.getValue());
+            }
+        }
+        return result;
+    }
+    
+    private Collection<String> findCandidates(TenantIndex index, String dataId, String group) {
+        Collection<String> candidates = index.configs.keySet();
+        for (String each : patternGrams(dataId)) {
+            Set<String> keys = index.dataIdGrams.get(each);
+            if (null == keys) {
+                return Collections.emptyList();
+            }
+            if (keys.size() < candidates.size()) {
+                candidates = keys;
+            }
+        }
+        for (String each : patternGrams(group)) {
+            Set<String> keys = index.groupGrams.get(each);
+            if (null == keys) {
+                return Collections.emptyList();
+            }
+            if (keys.size() < candidates.size()) {
+                candidates = keys;
+            }
+        }
+        return candidates;
+    }
+    
+    private void addGrams(Map<String, Set<String>> grams, String value, String key) {
+        for (String each : grams(value)) {
+            grams.computeIfAbsent(each, gram -> new ConcurrentHashSet<>()).add(key);
+        }
+    }
+    
+    private void removeGrams(Map<String, Set<String>> grams, String value, String key) {
+        for (String each : grams(value)) {
+            Set<String> keys = grams.get(each);
+            if (null != keys) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    grams.remove(each);
+                }
+            }
+        }
+    }
+    
+    private Set<String> patternGrams(String pattern) {
+        if (StringUtils.isBlank(pattern)) {
+            return Collections.emptySet();
+        }
+        Set<String> result = new HashSet<>();
+        for (String each : StringUtils.split(pattern, WILDCARD)) {
+            result.addAll(grams(each));
+        }
+        return result;
+    }
+    
+    private Set<String> grams(String value) {
+        if (null == value || value.length() < GRAM_LENGTH) {
+            return Collections.emptySet();
+        }
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+            result.add(value.substring(i, i + GRAM_LENGTH));
+        }
+        return result;
+    }
+    
+    /**
+     * Whether value matches the pattern, {@code *} in pattern matches any characters.
+     *
+     * @param pattern pattern
+     * @param value   value
+     * @return true if matched
+     */
+    static boolean matches(String pattern, String value) {
+        if (!pattern.contains(WILDCARD)) {
+            return pattern.equals(value);
+        }
+        String[] parts = pattern.split("\\*", -1);
+        String head = parts[0];
+        String tail = parts[parts.length - 1];
+        if (value.length() < head.length() + tail.length() || !value.startsWith(head) || !value.endsWith(tail)) {
+            return false;
+        }
+        int from = head.length();
+        int to = value.length() - tail.length();
+        for (int i = 1; i < parts.length - 1; i++) {
+            int index = value.indexOf(parts[i], from);
+            if (index < 0 || index + parts[i].length() > to) {
+                return false;
+            }
+            from = index + parts[i].length();
+        }
+        return true;
+    }
+    
+    private static class TenantIndex {
+        
+        private final Map<String, IndexedConfig> configs = new ConcurrentHashMap<>();
+        
+        private final Map<String, Set<String>> dataIdGrams = new ConcurrentHashMap<>();
+        
+        private final Map<String, Set<String>> groupGrams = new ConcurrentHashMap<>();
+    }
+    
+    private static class IndexedConfig {
+        
+        private final long id;
+        
+        private final String dataId;
+        
+        private final String group;
+        
+        private final String tenant;
+        
+        private final String appName;
+        
+        private final Set<String> tags;
+        
+        private IndexedConfig(long id, String dataId, String group, String tenant, String appName, Set<String> tags) {
+            this.id = id;
+            this.dataId = dataId;
+            this.group = group;
+            this.tenant = tenant;
+            this.appName = appName;
+            this.tags = tags;
+        }
+        
+        private boolean matches(String dataIdPattern, String groupPattern, String appName, Set<String> tags) {
+            if (StringUtils.isNotBlank(dataIdPattern) && !ConfigSearchIndex.matches(dataIdPattern, dataId)) {
+                return false;
+            }
+            if (StringUtils.isNotBlank(groupPattern) && !ConfigSearchIndex.matches(groupPattern, group)) {
+                return false;
+            }
+            if (StringUtils.isNotBlank(appName) && !appName.equals(this.appName)) {
+                return false;
+            }
+            return tags.isEmpty() || !Collections.disjoint(tags, this.tags);
+        }
+        
+        private ConfigInfo toConfigInfo() {
+            ConfigInfo result = new ConfigInfo();
+            result.setId(id);
+            result.setDataId(dataId);
+            result.setGroup(group);
+            result.setTenant(tenant);
+            result.setAppName(appName);
+            return result;
+        }
+    }
+}
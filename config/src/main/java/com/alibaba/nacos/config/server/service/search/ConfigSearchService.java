@@ -0,0 +1,182 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.search;
+
+import com.alibaba.nacos.config.server.model.ConfigInfo;
+import com.alibaba.nacos.config.server.model.Page;
+import com.alibaba.nacos.config.server.service.repository.PersistService;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import com.alibaba.nacos.config.server.utils.DiskUtil;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.alibaba.nacos.config.server.utils.LogUtil.DEFAULT_LOG;
+import static com.alibaba.nacos.config.server.utils.LogUtil.FATAL_LOG;
+
+/**
+ * Config search service, serves console fuzzy search from {@link ConfigSearchIndex} which is kept up to date by the
+ * dump processors.
+ *
+ * <p>The index is rebuilt by every dump all task and is only used after the first rebuild finished. Before that, and
+ * for searches by content which are not indexed, the search falls back to the database.
+ *
+ * <p>Configs updated or removed by the dump processors during a rebuild are applied to the rebuilding index at once
+ * and recorded, so that the older state of these configs read by the dump all task is skipped.
+ *
+ * @author nacos
+ */
+public class ConfigSearchService {
+    
+    private static final Object REBUILD_LOCK = new Object();
+    
+    private static volatile ConfigSearchIndex index = new ConfigSearchIndex();
+    
+    private static ConfigSearchIndex rebuildingIndex;
+    
+    private static Set<String> changedDuringRebuild;
+    
+    private static volatile boolean ready = false;
+    
+    /**
+     * Start to rebuild index, configs should be added by {@link #rebuild} and then {@link #finishRebuild()}.
+     */
+    public static void startRebuild() {
+        synchronized (REBUILD_LOCK) {
+            rebuildingIndex = new ConfigSearchIndex();
+            changedDuringRebuild = new HashSet<>();
+        }
+    }
+    
+    /**
+     * Add config into rebuilding index, unless the config has been updated or removed since the rebuild started.
+     *
+     * @param config config
+     * @param tags   config tags
+     */
+    public static void rebuild(ConfigInfo config, Collection<String> tags) {
+        synchronized (REBUILD_LOCK) {
+            if (null != rebuildingIndex && !changedDuringRebuild
+                    .contains(GroupKey2.getKey(config.getDataId(), config.getGroup(), config.getTenant()))) {
+                rebuildingIndex.update(config.getId(), config.getDataId(), config.getGroup(), config.getTenant(),
+                        config.getAppName(), tags);
+            }
+        }
+    }
+    
+    /**
+     * Replace current index by the rebuilt one.
+     */
+    public static void finishRebuild() {
+        ConfigSearchIndex rebuilding;
+        synchronized (REBUILD_LOCK) {
+            rebuilding = rebuildingIndex;
+            if (null == rebuilding) {
+                return;
+            }
+            index = rebuilding;
+            rebuildingIndex = null;
+            changedDuringRebuild = null;
+        }
+        ready = true;
+        DEFAULT_LOG.info("[config-search] index rebuilt, size={}", rebuilding.size());
+    }
+    
+    /**
+     * Add or replace config in index.
+     *
+     * @param config config
+     * @param tags   config tags
+     */
+    public static void update(ConfigInfo config, Collection<String> tags) {
+        synchronized (REBUILD_LOCK) {
+            index.update(config.getId(), config.getDataId(), config.getGroup(), config.getTenant(),
+                    config.getAppName(), tags);
+            if (null != rebuildingIndex) {
+                changedDuringRebuild.add(GroupKey2.getKey(config.getDataId(), config.getGroup(), config.getTenant()));
+                rebuildingIndex.update(config.getId(), config.getDataId(), config.getGroup(), config.getTenant(),
+                        config.getAppName(), tags);
+            }
+        }
+    }
+    
+    /**
+     * Remove config from index.
+     *
+     * @param dataId data id
+     * @param group  group
+     * @param tenant tenant
+     */
+    public static void remove(String dataId, String group, String tenant) {
+        synchronized (REBUILD_LOCK) {
+            index.remove(dataId, group, tenant);
+            if (null != rebuildingIndex) {
+                changedDuringRebuild.add(GroupKey2.getKey(dataId, group, tenant));
+                rebuildingIndex.remove(dataId, group, tenant);
+            }
+        }
+    }
+    
+    public static boolean isReady() {
+        return ready;
+    }
+    
+    /**
+     * Fuzzy search configs, same as {@link PersistService#findConfigInfoLike4Page}.
+     *
+     * @param persistService    persist service, used for fallback and content
+     * @param pageNo            page number
+     * @param pageSize          page size
+     * @param dataId            data id pattern
+     * @param group             group pattern
+     * @param tenant            tenant pattern
+     * @param configAdvanceInfo advance info, supports appName, config_tags and content
+     * @return page of configs
+     */
+    public static Page<ConfigInfo> findConfigInfoLike4Page(PersistService persistService, int pageNo, int pageSize,
+            String dataId, String group, String tenant, Map<String, Object> configAdvanceInfo) {
+        final String appName = null == configAdvanceInfo ? null : (String) configAdvanceInfo.get("appName");
+        final String content = null == configAdvanceInfo ? null : (String) configAdvanceInfo.get("content");
+        final String configTags = null == configAdvanceInfo ? null : (String) configAdvanceInfo.get("config_tags");
+        if (!ready || StringUtils.isNotBlank(content)) {
+            return persistService.findConfigInfoLike4Page(pageNo, pageSize, dataId, group, tenant, configAdvanceInfo);
+        }
+        Page<ConfigInfo> page = index.search(pageNo, pageSize, dataId, group, tenant, appName, configTags);
+        for (ConfigInfo each : page.getPageItems()) {
+            each.setContent(loadContent(persistService, each));
+        }
+        return page;
+    }
+    
+    private static String loadContent(PersistService persistService, ConfigInfo config) {
+        if (!PropertyUtil.isDirectRead()) {
+            try {
+                return DiskUtil.getConfig(config.getDataId(), config.getGroup(), config.getTenant());
+            } catch (IOException e) {
+                FATAL_LOG.error("[config-search] read config from disk failed, dataId={}, group={}, tenant={}",
+                        config.getDataId(), config.getGroup(), config.getTenant(), e);
+            }
+        }
+        ConfigInfo stored = persistService.findConfigInfo(config.getDataId(), config.getGroup(), config.getTenant());
+        return null == stored ? null : stored.getContent();
+    }
+}
@@ -232,6 +232,15 @@ public class EmbeddedStorageContextUtils {
         }
     }
     
+    /**
+     * Remove extend info.
+     *
+     * @param key key
+     */
+    public static void removeExtendInfo(String key) {
+        EXTEND_INFO_CONTEXT.get().remove(key);
+    }
+    
     /**
      * Determine if key is included.
      *
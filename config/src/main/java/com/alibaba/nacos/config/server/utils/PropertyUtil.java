@@ -92,6 +92,11 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
      */
     private static int correctUsageDelay = 10 * 60;
     
+    /**
+     * Write config history asynchronously through a local journal, only for external storage.
+     */
+    private static boolean historyAsyncWrite = false;
+    
     /**
      * Standalone mode uses DB.
      */
@@ -102,6 +107,11 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
      */
     private static boolean embeddedStorage = EnvUtil.getStandaloneMode();
     
+    /**
+     * Whether the embedded storage cluster serves queries from local derby after the read index is applied.
+     */
+    private static boolean embeddedStorageLocalRead = true;
+    
     public static int getNotifyConnectTimeout() {
         return notifyConnectTimeout;
     }
@@ -222,6 +232,14 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
         PropertyUtil.correctUsageDelay = correctUsageDelay;
     }
     
+    public static boolean isHistoryAsyncWrite() {
+        return historyAsyncWrite;
+    }
+    
+    public static void setHistoryAsyncWrite(boolean historyAsyncWrite) {
+        PropertyUtil.historyAsyncWrite = historyAsyncWrite;
+    }
+    
     public static boolean isStandaloneMode() {
         return EnvUtil.getStandaloneMode();
     }
@@ -250,6 +268,14 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
         PropertyUtil.embeddedStorage = embeddedStorage;
     }
     
+    public static boolean isEmbeddedStorageLocalRead() {
+        return embeddedStorageLocalRead;
+    }
+    
+    public static void setEmbeddedStorageLocalRead(boolean embeddedStorageLocalRead) {
+        PropertyUtil.embeddedStorageLocalRead = embeddedStorageLocalRead;
+    }
+    
     private void loadSetting() {
         try {
             setNotifyConnectTimeout(Integer.parseInt(EnvUtil.getProperty(PropertiesConstant.NOTIFY_CONNECT_TIMEOUT,
@@ -279,6 +305,9 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
             setDefaultMaxAggrSize(getInt(PropertiesConstant.DEFAULT_MAX_AGGR_SIZE, defaultMaxAggrSize));
             setCorrectUsageDelay(getInt(PropertiesConstant.CORRECT_USAGE_DELAY, correctUsageDelay));
             setInitialExpansionPercent(getInt(PropertiesConstant.INITIAL_EXPANSION_PERCENT, initialExpansionPercent));
+            setHistoryAsyncWrite(getBoolean(PropertiesConstant.HISTORY_ASYNC_WRITE, historyAsyncWrite));
+            setEmbeddedStorageLocalRead(
+                    getBoolean(PropertiesConstant.EMBEDDED_STORAGE_LOCAL_READ, embeddedStorageLocalRead));
             // External data sources are used by default in cluster mode
             setUseExternalDB(PropertiesConstant.MYSQL
                     .equalsIgnoreCase(getString(PropertiesConstant.SPRING_DATASOURCE_PLATFORM, "")));
@@ -23,6 +23,7 @@ import org.slf4j.LoggerFactory;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
@@ -104,8 +105,7 @@ public class ZipUtils {
         try (ByteArrayOutputStream byteOut = new ByteArrayOutputStream(); ZipOutputStream zipOut = new ZipOutputStream(
                 byteOut)) {
             for (ZipItem item : source) {
-                zipOut.putNextEntry(new ZipEntry(item.getItemName()));
-                zipOut.write(item.getItemData().getBytes(StandardCharsets.UTF_8));
+                putItem(zipOut, item.getItemName(), item.getItemData());
             }
             zipOut.flush();
             zipOut.finish();
@@ -116,6 +116,70 @@ public class ZipUtils {
         return result;
     }
     
+    /**
+     * Write one item into zip output stream, so that large zip can be streamed without holding all items in memory.
+     *
+     * @param zipOut   zip output stream
+     * @param itemName item name
+     * @param itemData item data
+     * @throws IOException io exception
+     */
+    public static void putItem(ZipOutputStream zipOut, String itemName, String itemData) throws IOException {
+        zipOut.putNextEntry(new ZipEntry(itemName));
+        zipOut.write(itemData.getBytes(StandardCharsets.UTF_8));
+        zipOut.closeEntry();
+    }
+    
+    /**
+     * Read next non-directory item of zip input stream.
+     *
+     * @param zipIn zip input stream
+     * @return next item, or null if no more item
+     * @throws IOException io exception
+     */
+    public static ZipItem nextItem(ZipInputStream zipIn) throws IOException {
+        ZipEntry entry;
+        while ((entry = zipIn.getNextEntry()) != null) {
+            if (!entry.isDirectory()) {
+                return new ZipItem(entry.getName(), readItemData(zipIn));
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Find the first metadata item of zip source. All entries are read through and checked against their CRC, but only
+     * the metadata item is kept in memory.
+     *
+     * @param source zip source
+     * @return metadata item, or null if not found
+     * @throws IOException io exception
+     */
+    public static ZipItem findMetaDataItem(InputStream source) throws IOException {
+        ZipInputStream zipIn = new ZipInputStream(source);
+        ZipItem metaDataItem = null;
+        ZipEntry entry;
+        while ((entry = zipIn.getNextEntry()) != null) {
+            String entryName = entry.getName();
+            if (metaDataItem == null && !entry.isDirectory() && (Constants.CONFIG_EXPORT_METADATA.equals(entryName)
+                    || Constants.CONFIG_EXPORT_METADATA_NEW.equals(entryName))) {
+                metaDataItem = new ZipItem(entryName, readItemData(zipIn));
+            }
+        }
+        return metaDataItem;
+    }
+    
+    private static String readItemData(ZipInputStream zipIn) throws IOException {
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            byte[] buffer = new byte[1024];
+            int offset;
+            while ((offset = zipIn.read(buffer)) != -1) {
+                out.write(buffer, 0, offset);
+            }
+            return out.toString("UTF-8");
+        }
+    }
+    
     /**
      * unzip method.
      */
@@ -0,0 +1,136 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.config.server.model.ConfigAllInfo;
+import com.alibaba.nacos.config.server.model.SameConfigPolicy;
+import com.alibaba.nacos.config.server.service.repository.PersistService;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConfigBatchImporterTest {
+    
+    @Mock
+    private PersistService persistService;
+    
+    private final List<Integer> batchSizes = new ArrayList<>();
+    
+    @BeforeClass
+    public static void setUpEnvironment() {
+        EnvUtil.setEnvironment(new MockEnvironment());
+    }
+    
+    @Before
+    public void setUp() throws NacosException {
+        when(persistService.batchInsertOrUpdate(anyList(), any(), any(), any(), any(), anyBoolean(), any()))
+                .thenAnswer(invocation -> {
+                    List<ConfigAllInfo> batch = invocation.getArgument(0);
+                    batchSizes.add(batch.size());
+                    Map<String, Object> result = new HashMap<>(4);
+                    result.put("succCount", batch.size());
+                    result.put("skipCount", 0);
+                    return result;
+                });
+    }
+    
+    @Test
+    public void testImportInBatches() throws NacosException {
+        ConfigBatchImporter importer = createImporter(SameConfigPolicy.OVERWRITE);
+        for (int i = 0; i < 5; i++) {
+            importer.add(createConfig(i));
+        }
+        assertEquals(2, batchSizes.size());
+        Map<String, Object> result = importer.finish();
+        assertEquals(5, importer.getConfigCount());
+        assertEquals(5, result.get("succCount"));
+        assertEquals(0, result.get("skipCount"));
+        assertFalse(result.containsKey("failData"));
+        assertEquals(3, batchSizes.size());
+        assertEquals(Integer.valueOf(1), batchSizes.get(2));
+    }
+    
+    @Test
+    public void testAbortSkipsFollowingConfigs() throws NacosException {
+        when(persistService.batchInsertOrUpdate(anyList(), any(), any(), any(), any(), anyBoolean(),
+                eq(SameConfigPolicy.ABORT))).thenAnswer(invocation -> {
+                    Map<String, Object> result = new HashMap<>(4);
+                    result.put("succCount", 1);
+                    result.put("skipCount", 0);
+                    result.put("failData", new ArrayList<>(Collections.singletonList(new HashMap<>(2))));
+                    return result;
+                });
+        ConfigBatchImporter importer = createImporter(SameConfigPolicy.ABORT);
+        for (int i = 0; i < 5; i++) {
+            importer.add(createConfig(i));
+        }
+        Map<String, Object> result = importer.finish();
+        verify(persistService, times(1))
+                .batchInsertOrUpdate(anyList(), any(), any(), any(), any(), anyBoolean(), any());
+        assertEquals(1, result.get("succCount"));
+        assertEquals(1, ((List<?>) result.get("failData")).size());
+        assertEquals(3, ((List<?>) result.get("skipData")).size());
+    }
+    
+    @Test
+    public void testResultOfSavedBatches() throws NacosException {
+        ConfigBatchImporter importer = createImporter(SameConfigPolicy.OVERWRITE);
+        for (int i = 0; i < 3; i++) {
+            importer.add(createConfig(i));
+        }
+        Map<String, Object> result = importer.getResult();
+        assertEquals(1, batchSizes.size());
+        assertEquals(2, result.get("succCount"));
+        assertEquals(0, result.get("skipCount"));
+    }
+    
+    private ConfigBatchImporter createImporter(SameConfigPolicy policy) {
+        return new ConfigBatchImporter(persistService, "user", "127.0.0.1", "app", new Timestamp(0L), policy, 2);
+    }
+    
+    private ConfigAllInfo createConfig(int index) {
+        ConfigAllInfo result = new ConfigAllInfo();
+        result.setDataId("dataId" + index);
+        result.setGroup("group");
+        result.setContent("content" + index);
+        return result;
+    }
+}
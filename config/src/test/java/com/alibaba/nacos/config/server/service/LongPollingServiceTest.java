@@ -0,0 +1,95 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LongPollingServiceTest {
+    
+    private static final String GROUP_KEY = "dataId+group+tenant";
+    
+    private LongPollingService longPollingService;
+    
+    @Before
+    public void setUp() {
+        longPollingService = new LongPollingService();
+    }
+    
+    @Test
+    public void testAddAndRemoveSubscriber() {
+        LongPollingService.ClientLongPolling clientSub = newSubscriber();
+        longPollingService.addSubscriber(clientSub);
+        Assert.assertTrue(longPollingService.subsByGroupKey.get(GROUP_KEY).contains(clientSub));
+        Assert.assertTrue(longPollingService.removeSubscriber(clientSub));
+        Assert.assertFalse(longPollingService.removeSubscriber(clientSub));
+        Assert.assertNull(longPollingService.subsByGroupKey.get(GROUP_KEY));
+    }
+    
+    @Test
+    public void testConcurrentAddAndRemoveSubscriber() throws Exception {
+        final int rounds = 20000;
+        final AtomicBoolean stopped = new AtomicBoolean(false);
+        final AtomicInteger lost = new AtomicInteger();
+        final CountDownLatch finished = new CountDownLatch(1);
+        Thread churn = new Thread(() -> {
+            while (!stopped.get()) {
+                LongPollingService.ClientLongPolling clientSub = newSubscriber();
+                longPollingService.addSubscriber(clientSub);
+                longPollingService.removeSubscriber(clientSub);
+            }
+        });
+        Thread listen = new Thread(() -> {
+            for (int i = 0; i < rounds; i++) {
+                LongPollingService.ClientLongPolling clientSub = newSubscriber();
+                longPollingService.addSubscriber(clientSub);
+                Set<LongPollingService.ClientLongPolling> subs = longPollingService.subsByGroupKey.get(GROUP_KEY);
+                if (null == subs || !subs.contains(clientSub)) {
+                    lost.incrementAndGet();
+                }
+                longPollingService.removeSubscriber(clientSub);
+            }
+            finished.countDown();
+        });
+        churn.start();
+        listen.start();
+        try {
+            Assert.assertTrue(finished.await(60L, TimeUnit.SECONDS));
+        } finally {
+            stopped.set(true);
+            churn.join();
+            listen.join();
+        }
+        Assert.assertEquals(0, lost.get());
+        Assert.assertTrue(longPollingService.allSubs.isEmpty());
+        Assert.assertNull(longPollingService.subsByGroupKey.get(GROUP_KEY));
+    }
+    
+    private LongPollingService.ClientLongPolling newSubscriber() {
+        Map<String, String> clientMd5Map = Collections.singletonMap(GROUP_KEY, "md5");
+        return longPollingService.new ClientLongPolling(null, clientMd5Map, "127.0.0.1", 0, 30000L, "test", null);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.capacity;
+
+import com.alibaba.nacos.config.server.constant.CounterMode;
+import com.alibaba.nacos.config.server.model.capacity.Capacity;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.sql.Timestamp;
+import java.util.Map;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CapacityUsageCacheTest {
+    
+    @Mock
+    private CapacityService capacityService;
+    
+    @Mock
+    private GroupCapacityPersistService groupCapacityPersistService;
+    
+    @Mock
+    private TenantCapacityPersistService tenantCapacityPersistService;
+    
+    @InjectMocks
+    private CapacityUsageCache capacityUsageCache;
+    
+    @Test
+    public void testUpdateUsageWithQuotaLimit() {
+        Mockito.when(capacityService.getCapacityWithDefault("group", null)).thenReturn(capacity(2, 1));
+        Assert.assertTrue(capacityUsageCache.updateUsage(CounterMode.INCREMENT, "group", null, false));
+        Assert.assertFalse(capacityUsageCache.updateUsage(CounterMode.INCREMENT, "group", null, false));
+        Assert.assertTrue(capacityUsageCache.updateUsage(CounterMode.INCREMENT, "group", null, true));
+        Assert.assertTrue(capacityUsageCache.updateUsage(CounterMode.DECREMENT, "group", null, false));
+        Assert.assertTrue(capacityUsageCache.updateUsage(CounterMode.DECREMENT, "group", null, false));
+        Assert.assertTrue(capacityUsageCache.updateUsage(CounterMode.INCREMENT, "group", null, false));
+        Mockito.verify(capacityService, Mockito.times(1)).getCapacityWithDefault("group", null);
+    }
+    
+    @Test
+    public void testInitCapacityIfAbsent() {
+        Mockito.when(capacityService.getCapacityWithDefault("group", "tenant")).thenReturn(null)
+                .thenReturn(capacity(10, 0));
+        Assert.assertTrue(capacityUsageCache.updateUsage(CounterMode.INCREMENT, "group", "tenant", false));
+        Mockito.verify(capacityService).initCapacity("group", "tenant");
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFlush() {
+        Mockito.when(capacityService.getCapacityWithDefault("group", null)).thenReturn(capacity(2, 1));
+        capacityUsageCache.updateUsage(CounterMode.INCREMENT, "group", null, false);
+        capacityUsageCache.flush();
+        ArgumentCaptor<Map<String, Integer>> captor = ArgumentCaptor.forClass(Map.class);
+        Mockito.verify(groupCapacityPersistService).batchAddUsage(captor.capture(), Mockito.any(Timestamp.class));
+        Assert.assertEquals(Integer.valueOf(1), captor.getValue().get("group"));
+        
+        // Nothing changed since last flush.
+        capacityUsageCache.flush();
+        Mockito.verify(groupCapacityPersistService, Mockito.times(1))
+                .batchAddUsage(Mockito.anyMap(), Mockito.any(Timestamp.class));
+        Assert.assertFalse(capacityUsageCache.updateUsage(CounterMode.INCREMENT, "group", null, false));
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFlushFailed() {
+        Mockito.when(capacityService.getCapacityWithDefault("group", null)).thenReturn(capacity(2, 1));
+        capacityUsageCache.updateUsage(CounterMode.INCREMENT, "group", null, false);
+        Mockito.doThrow(new RuntimeException("mock")).doNothing().when(groupCapacityPersistService)
+                .batchAddUsage(Mockito.anyMap(), Mockito.any(Timestamp.class));
+        capacityUsageCache.flush();
+        capacityUsageCache.flush();
+        ArgumentCaptor<Map<String, Integer>> captor = ArgumentCaptor.forClass(Map.class);
+        Mockito.verify(groupCapacityPersistService, Mockito.times(2))
+                .batchAddUsage(captor.capture(), Mockito.any(Timestamp.class));
+        Assert.assertEquals(Integer.valueOf(1), captor.getValue().get("group"));
+    }
+    
+    private Capacity capacity(int quota, int usage) {
+        Capacity capacity = new Capacity();
+        capacity.setQuota(quota);
+        capacity.setUsage(usage);
+        capacity.setMaxSize(100);
+        return capacity;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.merge;
+
+import com.alibaba.nacos.config.server.constant.Constants;
+import com.alibaba.nacos.config.server.model.ConfigInfo;
+import com.alibaba.nacos.config.server.model.ConfigInfoAggr;
+import com.alibaba.nacos.config.server.model.Page;
+import com.alibaba.nacos.config.server.service.repository.PersistService;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MergeTaskProcessorTest {
+    
+    private static final String DATA_ID = "dataId";
+    
+    private static final String GROUP = "group";
+    
+    private static final String TENANT = "tenant";
+    
+    private static final String SEPARATOR = Constants.NACOS_LINE_SEPARATOR;
+    
+    @Mock
+    private PersistService persistService;
+    
+    @Mock
+    private MergeDatumService mergeService;
+    
+    private MergeTaskProcessor processor;
+    
+    @Before
+    public void setUp() {
+        EnvUtil.setEnvironment(new MockEnvironment());
+        processor = new MergeTaskProcessor(persistService, mergeService);
+    }
+    
+    @Test
+    public void testMergeAllDatums() {
+        Page<ConfigInfoAggr> page = new Page<>();
+        page.setPageItems(new ArrayList<>(Arrays.asList(datum("a", "content-a"), datum("b", "content-b"))));
+        when(persistService.aggrConfigInfoCount(DATA_ID, GROUP, TENANT)).thenReturn(2);
+        when(persistService.findConfigInfoAggrByPage(eq(DATA_ID), eq(GROUP), eq(TENANT), anyInt(), anyInt()))
+                .thenReturn(page);
+        
+        processor.process(new MergeDataTask(DATA_ID, GROUP, TENANT, "127.0.0.1"));
+        ArgumentCaptor<ConfigInfo> captor = ArgumentCaptor.forClass(ConfigInfo.class);
+        verify(persistService).insertOrUpdate(isNull(), isNull(), captor.capture(), any(), isNull());
+        assertEquals("content-a" + SEPARATOR + "content-b", captor.getValue().getContent());
+    }
+    
+    @Test
+    public void testRemoveConfigWithoutDatum() {
+        when(persistService.aggrConfigInfoCount(DATA_ID, GROUP, TENANT)).thenReturn(0);
+        
+        processor.process(new MergeDataTask(DATA_ID, GROUP, TENANT, "127.0.0.1"));
+        verify(persistService).removeConfigInfo(DATA_ID, GROUP, TENANT, "127.0.0.1", null);
+    }
+    
+    @Test
+    public void testTasksOfSameConfigShareId() {
+        MergeDataTask first = new MergeDataTask(DATA_ID, GROUP, TENANT, "127.0.0.1");
+        MergeDataTask second = new MergeDataTask(DATA_ID, GROUP, TENANT, "127.0.0.2");
+        MergeDataTask tagged = new MergeDataTask(DATA_ID, GROUP, TENANT, "tag", "127.0.0.1");
+        assertEquals(first.getId(), second.getId());
+        assertNotEquals(first.getId(), tagged.getId());
+    }
+    
+    private ConfigInfoAggr datum(String datumId, String content) {
+        ConfigInfoAggr result = new ConfigInfoAggr(DATA_ID, GROUP, datumId, content);
+        result.setTenant(TENANT);
+        return result;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.notify;
+
+import com.alibaba.nacos.api.config.remote.request.cluster.ConfigChangeClusterSyncBatchRequest;
+import com.alibaba.nacos.api.config.remote.request.cluster.ConfigChangeClusterSyncRequest;
+import com.alibaba.nacos.api.config.remote.response.cluster.ConfigChangeClusterSyncResponse;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.remote.RequestCallBack;
+import com.alibaba.nacos.api.remote.response.ErrorResponse;
+import com.alibaba.nacos.config.server.remote.ConfigClusterRpcClientProxy;
+import com.alibaba.nacos.core.cluster.Member;
+import com.alibaba.nacos.core.cluster.ServerMemberManager;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AsyncNotifyServiceTest {
+    
+    private static final String ADDRESS = "127.0.0.1:8848";
+    
+    private ServerMemberManager memberManager;
+    
+    private ConfigClusterRpcClientProxy rpcClientProxy;
+    
+    private Member member;
+    
+    private AsyncNotifyService.RpcNotifyChannel channel;
+    
+    @BeforeClass
+    public static void init() {
+        EnvUtil.setEnvironment(new MockEnvironment());
+    }
+    
+    @Before
+    public void setUp() throws Exception {
+        member = Member.builder().ip("127.0.0.1").port(8848).build();
+        memberManager = Mockito.mock(ServerMemberManager.class);
+        Mockito.when(memberManager.find(ADDRESS)).thenReturn(member);
+        rpcClientProxy = Mockito.mock(ConfigClusterRpcClientProxy.class);
+        AsyncNotifyService asyncNotifyService = new AsyncNotifyService(memberManager);
+        Field field = AsyncNotifyService.class.getDeclaredField("configClusterRpcClientProxy");
+        field.setAccessible(true);
+        field.set(asyncNotifyService, rpcClientProxy);
+        channel = asyncNotifyService.new RpcNotifyChannel(ADDRESS);
+    }
+    
+    @Test
+    public void testMergeAndBatchInFlightWindow() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            channel.offer(task("inflight" + i, 1L));
+        }
+        for (int i = 0; i < 150; i++) {
+            channel.offer(task("data" + i, 1L));
+            channel.offer(task("data" + i, 2L));
+        }
+        List<ConfigChangeClusterSyncBatchRequest> requests = new ArrayList<>();
+        List<RequestCallBack> callBacks = new ArrayList<>();
+        captureBatches(4, requests, callBacks);
+        for (ConfigChangeClusterSyncBatchRequest each : requests) {
+            Assert.assertEquals(1, each.getChanges().size());
+        }
+        
+        callBacks.get(0).onResponse(new ConfigChangeClusterSyncResponse());
+        requests.clear();
+        callBacks.clear();
+        captureBatches(5, requests, callBacks);
+        ConfigChangeClusterSyncBatchRequest merged = requests.get(4);
+        Assert.assertEquals(100, merged.getChanges().size());
+        for (ConfigChangeClusterSyncRequest each : merged.getChanges()) {
+            Assert.assertEquals(2L, each.getLastModified());
+        }
+        
+        callBacks.get(1).onResponse(new ConfigChangeClusterSyncResponse());
+        requests.clear();
+        callBacks.clear();
+        captureBatches(6, requests, callBacks);
+        Assert.assertEquals(50, requests.get(5).getChanges().size());
+        Mockito.verify(rpcClientProxy, Mockito.never())
+                .syncConfigChange(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+    
+    @Test
+    public void testRetryFailedBatch() throws Exception {
+        channel.offer(task("data", 1L));
+        List<ConfigChangeClusterSyncBatchRequest> requests = new ArrayList<>();
+        List<RequestCallBack> callBacks = new ArrayList<>();
+        captureBatches(1, requests, callBacks);
+        
+        callBacks.get(0).onException(new NacosException(NacosException.SERVER_ERROR, "server error"));
+        ArgumentCaptor<ConfigChangeClusterSyncBatchRequest> captor = ArgumentCaptor
+                .forClass(ConfigChangeClusterSyncBatchRequest.class);
+        Mockito.verify(rpcClientProxy, Mockito.timeout(5000L).times(2))
+                .syncConfigChangeBatch(Mockito.eq(member), captor.capture(), Mockito.any());
+        ConfigChangeClusterSyncBatchRequest retry = captor.getAllValues().get(1);
+        Assert.assertEquals(1, retry.getChanges().size());
+        Assert.assertEquals("data", retry.getChanges().get(0).getDataId());
+    }
+    
+    @Test
+    public void testNoHandlerFallbackToSingleRequest() throws Exception {
+        channel.offer(task("data1", 1L));
+        List<ConfigChangeClusterSyncBatchRequest> requests = new ArrayList<>();
+        List<RequestCallBack> callBacks = new ArrayList<>();
+        captureBatches(1, requests, callBacks);
+        
+        ErrorResponse response = new ErrorResponse();
+        response.setErrorInfo(NacosException.NO_HANDLER, "no handler for batch request");
+        callBacks.get(0).onResponse(response);
+        ArgumentCaptor<ConfigChangeClusterSyncRequest> captor = ArgumentCaptor
+                .forClass(ConfigChangeClusterSyncRequest.class);
+        Mockito.verify(rpcClientProxy).syncConfigChange(Mockito.eq(member), captor.capture(), Mockito.any());
+        Assert.assertEquals("data1", captor.getValue().getDataId());
+        
+        channel.offer(task("data2", 1L));
+        Mockito.verify(rpcClientProxy, Mockito.times(2))
+                .syncConfigChange(Mockito.eq(member), captor.capture(), Mockito.any());
+        Assert.assertEquals("data2", captor.getValue().getDataId());
+        Mockito.verify(rpcClientProxy, Mockito.times(1))
+                .syncConfigChangeBatch(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+    
+    private void captureBatches(int times, List<ConfigChangeClusterSyncBatchRequest> requests,
+            List<RequestCallBack> callBacks) throws NacosException {
+        ArgumentCaptor<ConfigChangeClusterSyncBatchRequest> requestCaptor = ArgumentCaptor
+                .forClass(ConfigChangeClusterSyncBatchRequest.class);
+        ArgumentCaptor<RequestCallBack> callBackCaptor = ArgumentCaptor.forClass(RequestCallBack.class);
+        Mockito.verify(rpcClientProxy, Mockito.times(times))
+                .syncConfigChangeBatch(Mockito.eq(member), requestCaptor.capture(), callBackCaptor.capture());
+        requests.addAll(requestCaptor.getAllValues());
+        callBacks.addAll(callBackCaptor.getAllValues());
+    }
+    
+    private AsyncNotifyService.NotifySingleRpcTask task(String dataId, long lastModified) {
+        return new AsyncNotifyService.NotifySingleRpcTask(dataId, "DEFAULT_GROUP", "", null, lastModified, false,
+                member);
+    }
+}
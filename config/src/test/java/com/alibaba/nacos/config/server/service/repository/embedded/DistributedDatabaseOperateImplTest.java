@@ -0,0 +1,134 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.repository.embedded;
+
+import com.alibaba.nacos.api.exception.runtime.NacosRuntimeException;
+import com.alibaba.nacos.config.server.constant.Constants;
+import com.alibaba.nacos.config.server.service.sql.EmbeddedStorageContextUtils;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import com.alibaba.nacos.consistency.SerializeFactory;
+import com.alibaba.nacos.consistency.cp.CPProtocol;
+import com.alibaba.nacos.consistency.entity.ReadRequest;
+import com.alibaba.nacos.consistency.entity.Response;
+import com.alibaba.nacos.consistency.exception.ConsistencyException;
+import com.alibaba.nacos.core.distributed.ProtocolManager;
+import com.google.protobuf.ByteString;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.CompletableFuture;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DistributedDatabaseOperateImplTest {
+    
+    private static final String SQL = "SELECT count(*) FROM config_info";
+    
+    @Mock
+    private CPProtocol protocol;
+    
+    @Mock
+    private ProtocolManager protocolManager;
+    
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    
+    private DistributedDatabaseOperateImpl operate;
+    
+    @Before
+    public void setUp() throws Exception {
+        Mockito.when(protocolManager.getCpProtocol()).thenReturn(protocol);
+        operate = new DistributedDatabaseOperateImpl(null, protocolManager) {
+            @Override
+            protected void init() {
+            }
+        };
+        Field field = DistributedDatabaseOperateImpl.class.getDeclaredField("jdbcTemplate");
+        field.setAccessible(true);
+        field.set(operate, jdbcTemplate);
+        Mockito.when(jdbcTemplate.queryForObject(SQL, Integer.class)).thenReturn(1);
+    }
+    
+    @After
+    public void tearDown() {
+        PropertyUtil.setEmbeddedStorageLocalRead(true);
+        EmbeddedStorageContextUtils.cleanAllContext();
+    }
+    
+    @Test
+    public void testLocalRead() throws Exception {
+        Mockito.when(protocol.awaitLocalReadable(Constants.CONFIG_MODEL_RAFT_GROUP))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        Assert.assertEquals(Integer.valueOf(1), operate.queryOne(SQL, Integer.class));
+        Mockito.verify(protocol, Mockito.never()).getData(Mockito.any(ReadRequest.class));
+    }
+    
+    @Test
+    public void testStaleRead() throws Exception {
+        EmbeddedStorageContextUtils.putExtendInfo(Constants.EXTEND_ALLOW_STALE_READ, "true");
+        Assert.assertEquals(Integer.valueOf(1), operate.queryOne(SQL, Integer.class));
+        Mockito.verify(protocol, Mockito.never()).awaitLocalReadable(Mockito.anyString());
+        Mockito.verify(protocol, Mockito.never()).getData(Mockito.any(ReadRequest.class));
+    }
+    
+    @Test
+    public void testStaleReadDisabledByLocalReadSwitch() throws Exception {
+        PropertyUtil.setEmbeddedStorageLocalRead(false);
+        EmbeddedStorageContextUtils.putExtendInfo(Constants.EXTEND_ALLOW_STALE_READ, "true");
+        mockRaftRead(2);
+        Assert.assertEquals(Integer.valueOf(2), operate.queryOne(SQL, Integer.class));
+        Mockito.verify(protocol, Mockito.never()).awaitLocalReadable(Mockito.anyString());
+        Mockito.verify(jdbcTemplate, Mockito.never()).queryForObject(SQL, Integer.class);
+    }
+    
+    @Test
+    public void testReadIndexFailedFallbackToRaftRead() throws Exception {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        future.completeExceptionally(new ConsistencyException("read index failed"));
+        Mockito.when(protocol.awaitLocalReadable(Constants.CONFIG_MODEL_RAFT_GROUP)).thenReturn(future);
+        mockRaftRead(2);
+        Assert.assertEquals(Integer.valueOf(2), operate.queryOne(SQL, Integer.class));
+        Mockito.verify(jdbcTemplate, Mockito.never()).queryForObject(SQL, Integer.class);
+    }
+    
+    @Test
+    public void testReadIndexTimeoutFailFast() throws Exception {
+        Mockito.when(protocol.awaitLocalReadable(Constants.CONFIG_MODEL_RAFT_GROUP))
+                .thenReturn(new CompletableFuture<>());
+        try {
+            operate.queryOne(SQL, Integer.class);
+            Assert.fail("read index timeout should fail the query");
+        } catch (NacosRuntimeException e) {
+            Assert.assertTrue(e.getMessage().contains("timeout"));
+        }
+        Mockito.verify(protocol, Mockito.never()).getData(Mockito.any(ReadRequest.class));
+        Mockito.verify(jdbcTemplate, Mockito.never()).queryForObject(SQL, Integer.class);
+    }
+    
+    private void mockRaftRead(Integer result) throws Exception {
+        Response response = Response.newBuilder().setSuccess(true)
+                .setData(ByteString.copyFrom(SerializeFactory.getDefault().serialize(result))).build();
+        Mockito.when(protocol.getData(Mockito.any(ReadRequest.class))).thenReturn(response);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.repository.extrnal;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConfigHistoryAsyncWriterTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    @Mock
+    private JdbcTemplate jt;
+    
+    @Test
+    public void testFlushInMultiRowBatch() throws Exception {
+        File dir = folder.newFolder("journal");
+        ConfigHistoryAsyncWriter writer = new ConfigHistoryAsyncWriter(jt, dir);
+        writer.open();
+        for (int i = 0; i < 3; i++) {
+            writer.append(record("data" + i));
+        }
+        writer.flush();
+        
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object> args = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(jt).update(sql.capture(), (Object[]) args.capture());
+        String row = "(?,?,?,?,?,?,?,?,?,?,?)";
+        Assert.assertTrue(sql.getValue().endsWith(" VALUES " + row + "," + row + "," + row));
+        Assert.assertEquals(33, args.getAllValues().size());
+        Assert.assertEquals("data0", args.getAllValues().get(1));
+        // Only the current journal is left.
+        Assert.assertEquals(1, dir.listFiles().length);
+        
+        writer.flush();
+        Mockito.verifyNoMoreInteractions(jt);
+    }
+    
+    @Test
+    public void testReplayAfterFailure() throws Exception {
+        File dir = folder.newFolder("journal");
+        Mockito.when(jt.update(Mockito.anyString(), (Object[]) Mockito.any()))
+                .thenThrow(new DataAccessResourceFailureException("mock"));
+        ConfigHistoryAsyncWriter writer = new ConfigHistoryAsyncWriter(jt, dir);
+        writer.open();
+        writer.append(record("data"));
+        writer.flush();
+        Assert.assertEquals(2, dir.listFiles().length);
+        
+        JdbcTemplate newJt = Mockito.mock(JdbcTemplate.class);
+        ConfigHistoryAsyncWriter restarted = new ConfigHistoryAsyncWriter(newJt, dir);
+        restarted.open();
+        restarted.flush();
+        ArgumentCaptor<Object> args = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(newJt).update(Mockito.anyString(), (Object[]) args.capture());
+        Assert.assertEquals(11, args.getAllValues().size());
+        Assert.assertEquals("data", args.getAllValues().get(1));
+    }
+    
+    @Test
+    public void testBatchBoundedByBytes() throws Exception {
+        ConfigHistoryAsyncWriter writer = new ConfigHistoryAsyncWriter(jt, folder.newFolder("journal"));
+        writer.open();
+        char[] content = new char[600 * 1024];
+        Arrays.fill(content, 'a');
+        for (int i = 0; i < 3; i++) {
+            ConfigHistoryAsyncWriter.HistoryRecord record = record("data" + i);
+            record.setContent(new String(content));
+            writer.append(record);
+        }
+        writer.flush();
+        
+        ArgumentCaptor<Object> args = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(jt, Mockito.times(3)).update(Mockito.anyString(), (Object[]) args.capture());
+        Assert.assertEquals(33, args.getAllValues().size());
+    }
+    
+    @Test
+    public void testQuarantineFailedRow() throws Exception {
+        File dir = folder.newFolder("journal");
+        Mockito.when(jt.update(Mockito.anyString(), (Object[]) Mockito.any())).thenAnswer(invocation -> {
+            List<Object> args = Arrays.asList(invocation.getArguments());
+            if (args.size() > 12 || args.contains("bad")) {
+                throw new DataIntegrityViolationException("mock");
+            }
+            return 1;
+        });
+        ConfigHistoryAsyncWriter writer = new ConfigHistoryAsyncWriter(jt, dir);
+        writer.open();
+        writer.append(record("good0"));
+        writer.append(record("bad"));
+        writer.append(record("good1"));
+        writer.flush();
+        
+        // One multi-row insert and three single-row inserts.
+        Mockito.verify(jt, Mockito.times(4)).update(Mockito.anyString(), (Object[]) Mockito.any());
+        File quarantine = new File(dir, "quarantine");
+        String quarantined = new String(Files.readAllBytes(quarantine.toPath()), StandardCharsets.UTF_8);
+        Assert.assertTrue(quarantined.contains("\"dataId\":\"bad\""));
+        Assert.assertFalse(quarantined.contains("good"));
+        // The current journal and the quarantine file are left.
+        Assert.assertEquals(2, dir.listFiles().length);
+        
+        writer.flush();
+        Mockito.verifyNoMoreInteractions(jt);
+    }
+    
+    private ConfigHistoryAsyncWriter.HistoryRecord record(String dataId) {
+        ConfigHistoryAsyncWriter.HistoryRecord record = new ConfigHistoryAsyncWriter.HistoryRecord();
+        record.setId(1L);
+        record.setDataId(dataId);
+        record.setGroup("group");
+        record.setTenant("");
+        record.setAppName("");
+        record.setContent("line1\nline2");
+        record.setMd5("md5");
+        record.setSrcIp("127.0.0.1");
+        record.setSrcUser("user");
+        record.setGmtModified(System.currentTimeMillis());
+        record.setOpType("I");
+        return record;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.search;
+
+import com.alibaba.nacos.config.server.model.ConfigInfo;
+import com.alibaba.nacos.config.server.model.Page;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ConfigSearchIndexTest {
+    
+    private ConfigSearchIndex index;
+    
+    @Before
+    public void setUp() {
+        index = new ConfigSearchIndex();
+        index.update(3, "order-service.yaml", "DEFAULT_GROUP", "", "order", Arrays.asList("prod", "db"));
+        index.update(1, "user-service.yaml", "DEFAULT_GROUP", "", "user", Collections.singletonList("prod"));
+        index.update(2, "user-service.properties", "USER_GROUP", "", "user", null);
+        index.update(4, "user-service.yaml", "DEFAULT_GROUP", "dev", "user", null);
+    }
+    
+    @Test
+    public void testMatches() {
+        assertTrue(ConfigSearchIndex.matches("abc", "abc"));
+        assertFalse(ConfigSearchIndex.matches("ab", "abc"));
+        assertTrue(ConfigSearchIndex.matches("*", "abc"));
+        assertTrue(ConfigSearchIndex.matches("a*c", "abc"));
+        assertTrue(ConfigSearchIndex.matches("*b*", "abc"));
+        assertTrue(ConfigSearchIndex.matches("a*b*c", "abc"));
+        assertFalse(ConfigSearchIndex.matches("ab*bc", "abc"));
+        assertFalse(ConfigSearchIndex.matches("*d*", "abc"));
+    }
+    
+    @Test
+    public void testSearchFuzzyOrderedById() {
+        Page<ConfigInfo> page = index.search(1, 10, "*service*", "", "", null, null);
+        assertEquals(3, page.getTotalCount());
+        assertEquals(1L, page.getPageItems().get(0).getId());
+        assertEquals(2L, page.getPageItems().get(1).getId());
+        assertEquals(3L, page.getPageItems().get(2).getId());
+        assertEquals("", page.getPageItems().get(0).getTenant());
+    }
+    
+    @Test
+    public void testSearchExact() {
+        Page<ConfigInfo> page = index.search(1, 10, "user-service", "", "", null, null);
+        assertEquals(0, page.getTotalCount());
+        page = index.search(1, 10, "user-service.yaml", "DEFAULT_GROUP", "", null, null);
+        assertEquals(1, page.getTotalCount());
+        assertEquals(1L, page.getPageItems().get(0).getId());
+    }
+    
+    @Test
+    public void testSearchByGroupAppNameAndTags() {
+        assertEquals(1, index.search(1, 10, "", "USER*", "", null, null).getTotalCount());
+        assertEquals(2, index.search(1, 10, "", "", "", "user", null).getTotalCount());
+        assertEquals(2, index.search(1, 10, "", "", "", null, "prod").getTotalCount());
+        assertEquals(2, index.search(1, 10, "", "", "", null, "db,prod").getTotalCount());
+        assertEquals(0, index.search(1, 10, "", "", "", "user", "db").getTotalCount());
+    }
+    
+    @Test
+    public void testSearchTenant() {
+        assertEquals(1, index.search(1, 10, "*user*", "", "dev", null, null).getTotalCount());
+        assertEquals(3, index.search(1, 10, "*user*", "", "*", null, null).getTotalCount());
+        assertEquals(0, index.search(1, 10, "*user*", "", "test", null, null).getTotalCount());
+    }
+    
+    @Test
+    public void testSearchPaging() {
+        Page<ConfigInfo> page = index.search(2, 2, "*", "", "", null, null);
+        assertEquals(3, page.getTotalCount());
+        assertEquals(2, page.getPagesAvailable());
+        assertEquals(1, page.getPageItems().size());
+        assertEquals(3L, page.getPageItems().get(0).getId());
+        page = index.search(3, 2, "*", "", "", null, null);
+        assertTrue(page.getPageItems().isEmpty());
+    }
+    
+    @Test
+    public void testUpdateAndRemove() {
+        index.update(1, "user-service.yaml", "DEFAULT_GROUP", "", "account", null);
+        assertEquals(1, index.search(1, 10, "*user*", "", "", "account", null).getTotalCount());
+        assertEquals(1, index.search(1, 10, "", "", "", null, "prod").getTotalCount());
+        index.remove("user-service.yaml", "DEFAULT_GROUP", "");
+        assertEquals(1, index.search(1, 10, "*user*", "", "", null, null).getTotalCount());
+        assertEquals(3, index.size());
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.search;
+
+import com.alibaba.nacos.config.server.model.ConfigInfo;
+import com.alibaba.nacos.config.server.model.Page;
+import com.alibaba.nacos.config.server.service.repository.PersistService;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+public class ConfigSearchServiceTest {
+    
+    private PersistService persistService;
+    
+    @BeforeClass
+    public static void init() {
+        EnvUtil.setEnvironment(new MockEnvironment());
+        EnvUtil.setIsStandalone(true);
+        PropertyUtil.setEmbeddedStorage(true);
+    }
+    
+    @AfterClass
+    public static void destroy() {
+        EnvUtil.setIsStandalone(null);
+        PropertyUtil.setEmbeddedStorage(false);
+    }
+    
+    @Before
+    public void setUp() {
+        persistService = Mockito.mock(PersistService.class);
+        ConfigSearchService.startRebuild();
+        ConfigSearchService.rebuild(config(1, "a.yaml", "app"), null);
+        ConfigSearchService.rebuild(config(2, "b.yaml", "app"), null);
+        ConfigSearchService.finishRebuild();
+    }
+    
+    @Test
+    public void testRemovedDuringRebuild() {
+        ConfigSearchService.startRebuild();
+        ConfigSearchService.remove("a.yaml", "DEFAULT_GROUP", "");
+        ConfigSearchService.rebuild(config(1, "a.yaml", "app"), null);
+        ConfigSearchService.rebuild(config(2, "b.yaml", "app"), null);
+        ConfigSearchService.finishRebuild();
+        Page<ConfigInfo> page = search("*.yaml", null);
+        assertEquals(1, page.getTotalCount());
+        assertEquals("b.yaml", page.getPageItems().get(0).getDataId());
+    }
+    
+    @Test
+    public void testUpdatedDuringRebuild() {
+        ConfigSearchService.startRebuild();
+        ConfigSearchService.rebuild(config(1, "a.yaml", "app"), null);
+        ConfigSearchService.update(config(2, "b.yaml", "newApp"), Collections.singletonList("tag"));
+        ConfigSearchService.rebuild(config(2, "b.yaml", "app"), null);
+        ConfigSearchService.finishRebuild();
+        assertEquals(1, search("*.yaml", "app").getTotalCount());
+        Page<ConfigInfo> page = search("*.yaml", "newApp");
+        assertEquals(1, page.getTotalCount());
+        assertEquals("b.yaml", page.getPageItems().get(0).getDataId());
+    }
+    
+    @Test
+    public void testChangesBeforeRebuildNotSkipped() {
+        ConfigSearchService.remove("a.yaml", "DEFAULT_GROUP", "");
+        ConfigSearchService.startRebuild();
+        ConfigSearchService.rebuild(config(1, "a.yaml", "app"), null);
+        ConfigSearchService.finishRebuild();
+        assertEquals(1, search("a.yaml", null).getTotalCount());
+    }
+    
+    private Page<ConfigInfo> search(String dataId, String appName) {
+        return ConfigSearchService.findConfigInfoLike4Page(persistService, 1, 10, dataId, "", "",
+                Collections.singletonMap("appName", appName));
+    }
+    
+    private ConfigInfo config(long id, String dataId, String appName) {
+        ConfigInfo config = new ConfigInfo(dataId, "DEFAULT_GROUP", "", appName, "content");
+        config.setId(id);
+        return config;
+    }
+}
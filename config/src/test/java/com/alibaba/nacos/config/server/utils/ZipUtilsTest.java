@@ -0,0 +1,86 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.utils;
+
+import com.alibaba.nacos.config.server.constant.Constants;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ZipUtilsTest {
+    
+    @Test
+    public void testStreamingZipAndUnzip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOut = new ZipOutputStream(out)) {
+            ZipUtils.putItem(zipOut, "group/dataId1", "content1");
+            ZipUtils.putItem(zipOut, "group/dataId2", "content2");
+            ZipUtils.putItem(zipOut, Constants.CONFIG_EXPORT_METADATA_NEW, "metadata");
+        }
+        byte[] source = out.toByteArray();
+        
+        ZipUtils.ZipItem metaDataItem = ZipUtils.findMetaDataItem(new ByteArrayInputStream(source));
+        assertEquals(Constants.CONFIG_EXPORT_METADATA_NEW, metaDataItem.getItemName());
+        assertEquals("metadata", metaDataItem.getItemData());
+        
+        try (ZipInputStream zipIn = new ZipInputStream(new ByteArrayInputStream(source))) {
+            ZipUtils.ZipItem item = ZipUtils.nextItem(zipIn);
+            assertEquals("group/dataId1", item.getItemName());
+            assertEquals("content1", item.getItemData());
+            item = ZipUtils.nextItem(zipIn);
+            assertEquals("group/dataId2", item.getItemName());
+            assertEquals("content2", item.getItemData());
+            item = ZipUtils.nextItem(zipIn);
+            assertEquals(Constants.CONFIG_EXPORT_METADATA_NEW, item.getItemName());
+            assertNull(ZipUtils.nextItem(zipIn));
+        }
+        
+        ZipUtils.UnZipResult result = ZipUtils.unzip(source);
+        assertEquals(2, result.getZipItemList().size());
+        assertEquals("metadata", result.getMetaDataItem().getItemData());
+    }
+    
+    @Test
+    public void testFindMetaDataItemWithoutMetaData() throws IOException {
+        byte[] source = ZipUtils.zip(Collections.singletonList(new ZipUtils.ZipItem("group/dataId", "c")));
+        assertNull(ZipUtils.findMetaDataItem(new ByteArrayInputStream(source)));
+    }
+    
+    @Test(expected = IOException.class)
+    public void testFindMetaDataItemOfTruncatedSource() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append(i).append(',');
+        }
+        List<ZipUtils.ZipItem> items = new ArrayList<>();
+        items.add(new ZipUtils.ZipItem("group/dataId", content.toString()));
+        items.add(new ZipUtils.ZipItem(Constants.CONFIG_EXPORT_METADATA_NEW, "metadata"));
+        byte[] source = ZipUtils.zip(items);
+        ZipUtils.findMetaDataItem(new ByteArrayInputStream(Arrays.copyOf(source, 100)));
+    }
+}
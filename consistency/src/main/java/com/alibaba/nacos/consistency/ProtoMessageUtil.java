@@ -16,13 +16,19 @@
 
 package com.alibaba.nacos.consistency;
 
+import com.alibaba.nacos.consistency.entity.BatchResponse;
+import com.alibaba.nacos.consistency.entity.BatchWriteRequest;
 import com.alibaba.nacos.consistency.entity.GetRequest;
 import com.alibaba.nacos.consistency.entity.Log;
 import com.alibaba.nacos.consistency.entity.ReadRequest;
+import com.alibaba.nacos.consistency.entity.Response;
 import com.alibaba.nacos.consistency.entity.WriteRequest;
 import com.alibaba.nacos.consistency.exception.ConsistencyException;
+import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Message;
 
+import java.util.List;
+
 /**
  * protobuf message utils.
  *
@@ -30,6 +36,11 @@ import com.google.protobuf.Message;
  */
 public class ProtoMessageUtil {
     
+    /**
+     * The extend info key which marks a {@link WriteRequest} as a carrier of a {@link BatchWriteRequest}.
+     */
+    public static final String BATCH_WRITE_KEY = "nacos.consistency.batch";
+    
     /**
      * Converts the byte array to a specific Protobuf object.
      * Internally, the protobuf new and old objects are compatible.
@@ -94,4 +105,56 @@ public class ProtoMessageUtil {
                 .putAllExtendInfo(request.getExtendInfoMap())
                 .build();
     }
+    
+    /**
+     * Pack several {@link WriteRequest} of the same group into one {@link WriteRequest}, which will be committed as a
+     * single log entry and split again when it is applied.
+     *
+     * @param group    group of all requests
+     * @param requests requests to pack
+     * @return {@link WriteRequest} carrying a {@link BatchWriteRequest}
+     */
+    public static WriteRequest packBatchWriteRequest(String group, List<WriteRequest> requests) {
+        BatchWriteRequest batch = BatchWriteRequest.newBuilder().addAllRequests(requests).build();
+        return WriteRequest.newBuilder().setGroup(group).setData(batch.toByteString())
+                .putExtendInfo(BATCH_WRITE_KEY, Boolean.TRUE.toString()).build();
+    }
+    
+    /**
+     * Whether the request is a carrier of a {@link BatchWriteRequest}.
+     *
+     * @param request {@link WriteRequest}
+     * @return is batch request
+     */
+    public static boolean isBatchWriteRequest(WriteRequest request) {
+        return Boolean.parseBoolean(request.getExtendInfoOrDefault(BATCH_WRITE_KEY, Boolean.FALSE.toString()));
+    }
+    
+    /**
+     * Unpack the {@link WriteRequest} carried by a batch request.
+     *
+     * @param request batch request which built by {@link #packBatchWriteRequest(String, List)}
+     * @return origin requests in submit order
+     */
+    public static List<WriteRequest> unpackBatchWriteRequest(WriteRequest request) {
+        try {
+            return BatchWriteRequest.parseFrom(request.getData()).getRequestsList();
+        } catch (InvalidProtocolBufferException e) {
+            throw new ConsistencyException("The batch write request is broken", e);
+        }
+    }
+    
+    /**
+     * Unpack the responses of every request in a batch from the response of the batch request.
+     *
+     * @param response response of batch request
+     * @return responses in submit order
+     */
+    public static List<Response> unpackBatchResponse(Response response) {
+        try {
+            return BatchResponse.parseFrom(response.getData()).getResponsesList();
+        } catch (InvalidProtocolBufferException e) {
+            throw new ConsistencyException("The batch response is broken", e);
+        }
+    }
 }
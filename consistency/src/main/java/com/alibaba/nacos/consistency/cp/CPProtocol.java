@@ -19,6 +19,8 @@ package com.alibaba.nacos.consistency.cp;
 import com.alibaba.nacos.consistency.Config;
 import com.alibaba.nacos.consistency.ConsistencyProtocol;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * cp protocol.
  *
@@ -35,4 +37,17 @@ public interface CPProtocol<C extends Config, P extends RequestProcessor4CP> ext
      */
     boolean isLeader(String group);
     
+    /**
+     * Wait until the local state machine of the group has applied every log committed before this call, after that
+     * the local data of the group can be read linearizably without going through the protocol.
+     *
+     * @param group business module info
+     * @return future which completes when the local data is readable, or completes exceptionally if not supported
+     */
+    default CompletableFuture<Void> awaitLocalReadable(String group) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        future.completeExceptionally(new UnsupportedOperationException("local read is not supported"));
+        return future;
+    }
+    
 }
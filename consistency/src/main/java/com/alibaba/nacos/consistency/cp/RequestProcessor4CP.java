@@ -17,8 +17,11 @@
 package com.alibaba.nacos.consistency.cp;
 
 import com.alibaba.nacos.consistency.RequestProcessor;
+import com.alibaba.nacos.consistency.entity.Response;
+import com.alibaba.nacos.consistency.entity.WriteRequest;
 import com.alibaba.nacos.consistency.snapshot.SnapshotOperation;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -41,4 +44,42 @@ public abstract class RequestProcessor4CP extends RequestProcessor {
         return Collections.emptyList();
     }
     
+    /**
+     * Returns the partition of the write request. Write requests of different partitions are commutative, so the state
+     * machine may apply them concurrently, requests of the same partition are always applied in log order.
+     *
+     * <p>The default {@code null} means the request must be applied in order with every other request.
+     *
+     * @param request {@link WriteRequest}
+     * @return partition key, or {@code null} if the request is not commutative with any other request
+     */
+    public String partitionKey(WriteRequest request) {
+        return null;
+    }
+    
+    /**
+     * Whether applying the same write requests again in log order leaves the same state. Partitions declared by {@link
+     * #partitionKey(WriteRequest)} are only applied concurrently for idempotent processors, because when one partition
+     * fails, the other partitions may have applied requests after the failed one, which are applied again on retry.
+     *
+     * @return {@code true} if the processor is idempotent
+     */
+    public boolean isIdempotent() {
+        return false;
+    }
+    
+    /**
+     * Process several submitted logs which are applied in order, processor can override it to merge storage writes.
+     *
+     * @param requests {@link WriteRequest} in log order
+     * @return responses in the same order of requests
+     */
+    public List<Response> onApplyBatch(List<WriteRequest> requests) {
+        List<Response> responses = new ArrayList<>(requests.size());
+        for (WriteRequest each : requests) {
+            responses.add(onApply(each));
+        }
+        return responses;
+    }
+    
 }
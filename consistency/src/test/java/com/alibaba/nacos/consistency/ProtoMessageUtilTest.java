@@ -21,6 +21,9 @@ import com.alibaba.nacos.consistency.entity.WriteRequest;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.List;
+
 public class ProtoMessageUtilTest {
     
     @Test
@@ -34,4 +37,16 @@ public class ProtoMessageUtilTest {
         Assert.assertEquals(request.getKey(), log.getKey());
     }
     
-}
\ No newline at end of file
+    @Test
+    public void testBatchWriteRequest() {
+        WriteRequest first = WriteRequest.newBuilder().setGroup("test").setKey("first").build();
+        WriteRequest second = WriteRequest.newBuilder().setGroup("test").setKey("second").build();
+        WriteRequest batch = ProtoMessageUtil.packBatchWriteRequest("test", Arrays.asList(first, second));
+        Assert.assertTrue(ProtoMessageUtil.isBatchWriteRequest(batch));
+        Assert.assertFalse(ProtoMessageUtil.isBatchWriteRequest(first));
+        WriteRequest parsed = (WriteRequest) ProtoMessageUtil.parse(batch.toByteArray());
+        List<WriteRequest> requests = ProtoMessageUtil.unpackBatchWriteRequest(parsed);
+        Assert.assertEquals(Arrays.asList(first, second), requests);
+    }
+    
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.cluster;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gossip based failure detector of cluster members.
+ *
+ * <p>Every node increases its own heartbeat once per report round and keeps the latest heartbeat it knows of every
+ * other member. The whole table is piggybacked on the member report and merged by the receiver, so a heartbeat spreads
+ * through the cluster in a logarithmic number of rounds although each node only reports to a few peers per round.
+ *
+ * <p>The arrival times of new heartbeats feed a phi accrual estimator per member. Phi is the suspicion level that the
+ * member is down given the intervals observed so far, it grows continuously once the heartbeats stop advancing.
+ *
+ * @author nacos
+ */
+public class MemberFailureDetector {
+    
+    private static final int WINDOW_SIZE = 100;
+    
+    private final long firstHeartbeatEstimate;
+    
+    private final long minStdDeviation;
+    
+    private final long acceptablePause;
+    
+    /**
+     * Starts from the wall clock so that a restarted member gossips a larger heartbeat than before.
+     */
+    private final AtomicLong heartbeat;
+    
+    private final Map<String, HeartbeatHistory> histories = new ConcurrentHashMap<>();
+    
+    public MemberFailureDetector(long firstHeartbeatEstimate, long minStdDeviation, long acceptablePause) {
+        this(firstHeartbeatEstimate, minStdDeviation, acceptablePause, System.currentTimeMillis());
+    }
+    
+    MemberFailureDetector(long firstHeartbeatEstimate, long minStdDeviation, long acceptablePause,
+            long initialHeartbeat) {
+        this.firstHeartbeatEstimate = firstHeartbeatEstimate;
+        this.minStdDeviation = minStdDeviation;
+        this.acceptablePause = acceptablePause;
+        this.heartbeat = new AtomicLong(initialHeartbeat);
+    }
+    
+    /**
+     * Increase the heartbeat of this node, called once per report round.
+     *
+     * @return new heartbeat
+     */
+    public long tick() {
+        return heartbeat.incrementAndGet();
+    }
+    
+    /**
+     * Build the heartbeat table to piggyback on a report.
+     *
+     * @param selfAddress address of this node
+     * @return address -> latest known heartbeat
+     */
+    public Map<String, Long> digest(String selfAddress) {
+        Map<String, Long> result = new HashMap<>(histories.size() + 1);
+        for (Map.Entry<String, HeartbeatHistory> entry : histories.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().getHeartbeat());
+        }
+        result.put(selfAddress, heartbeat.get());
+        return result;
+    }
+    
+    /**
+     * Merge a heartbeat table received from another member.
+     *
+     * @param digest      address -> heartbeat
+     * @param selfAddress address of this node
+     * @param now         current time in milliseconds
+     * @return addresses whose heartbeat advanced
+     */
+    public Collection<String> merge(Map<String, Long> digest, String selfAddress, long now) {
+        List<String> advanced = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : digest.entrySet()) {
+            String address = entry.getKey();
+            if (address.equals(selfAddress) || null == entry.getValue()) {
+                continue;
+            }
+            HeartbeatHistory history = histories.computeIfAbsent(address, key -> new HeartbeatHistory());
+            if (history.heartbeat(entry.getValue(), now)) {
+                advanced.add(address);
+            }
+        }
+        return advanced;
+    }
+    
+    /**
+     * Suspicion level of the member, 0 if no heartbeat of it has been seen yet.
+     *
+     * @param address member address
+     * @param now     current time in milliseconds
+     * @return phi
+     */
+    public double phi(String address, long now) {
+        HeartbeatHistory history = histories.get(address);
+        return null == history ? 0.0D : history.phi(now);
+    }
+    
+    /**
+     * Logistic approximation of the cumulative normal distribution, see Hayashibara et al. The phi accrual failure
+     * detector.
+     */
+    static double phi(long timeDiff, double mean, double stdDeviation) {
+        double y = (timeDiff - mean) / stdDeviation;
+        double e = Math.exp(-y * (1.5976D + 0.070566D * y * y));
+        if (timeDiff > mean) {
+            return -Math.log10(e / (1.0D + e));
+        }
+        return -Math.log10(1.0D - 1.0D / (1.0D + e));
+    }
+    
+    public boolean isAvailable(String address, long now, double threshold) {
+        return phi(address, now) < threshold;
+    }
+    
+    /**
+     * Forget the members which are no longer in the cluster.
+     *
+     * @param addresses current member addresses
+     */
+    public void retain(Collection<String> addresses) {
+        histories.keySet().retainAll(addresses);
+    }
+    
+    private class HeartbeatHistory {
+        
+        private final long[] intervals = new long[WINDOW_SIZE];
+        
+        private int count;
+        
+        private int index;
+        
+        private double sum;
+        
+        private double squaredSum;
+        
+        private long heartbeat = -1L;
+        
+        private long lastArrival = -1L;
+        
+        HeartbeatHistory() {
+            // Seed the window so that phi is meaningful before real intervals are observed
+            long deviation = firstHeartbeatEstimate / 4;
+            addInterval(firstHeartbeatEstimate - deviation);
+            addInterval(firstHeartbeatEstimate + deviation);
+        }
+        
+        synchronized long getHeartbeat() {
+            return heartbeat;
+        }
+        
+        synchronized boolean heartbeat(long newHeartbeat, long now) {
+            if (newHeartbeat <= heartbeat) {
+                return false;
+            }
+            if (lastArrival >= 0) {
+                addInterval(now - lastArrival);
+            }
+            heartbeat = newHeartbeat;
+            lastArrival = now;
+            return true;
+        }
+        
+        synchronized double phi(long now) {
+            if (lastArrival < 0) {
+                return 0.0D;
+            }
+            double mean = sum / count;
+            double variance = Math.max(squaredSum / count - mean * mean, 0.0D);
+            double stdDeviation = Math.max(Math.sqrt(variance), minStdDeviation);
+            return MemberFailureDetector.phi(now - lastArrival, mean + acceptablePause, stdDeviation);
+        }
+        
+        private void addInterval(long interval) {
+            if (count == WINDOW_SIZE) {
+                long oldest = intervals[index];
+                sum -= oldest;
+                squaredSum -= (double) oldest * oldest;
+            } else {
+                count++;
+            }
+            intervals[index] = interval;
+            index = (index + 1) % WINDOW_SIZE;
+            sum += interval;
+            squaredSum += (double) interval * interval;
+        }
+    }
+}
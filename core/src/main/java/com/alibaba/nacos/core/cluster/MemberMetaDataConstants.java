@@ -42,6 +42,11 @@ public class MemberMetaDataConstants {
     
     public static final String READY_TO_UPGRADE = "readyToUpgrade";
     
+    /**
+     * Heartbeat table of {@link MemberFailureDetector} piggybacked on the member report, never stored.
+     */
+    public static final String GOSSIP_DIGEST = "gossipDigest";
+    
     public static final String[] BASIC_META_KEYS = new String[] {SITE_KEY, AD_WEIGHT, RAFT_PORT, WEIGHT, VERSION,
             READY_TO_UPGRADE};
 }
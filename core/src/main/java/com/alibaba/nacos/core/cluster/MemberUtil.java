@@ -164,6 +164,20 @@ public class MemberUtil {
         }
     }
     
+    /**
+     * The failure detector considers the node unreachable, the state is directly down.
+     *
+     * @param member {@link Member}
+     */
+    public static void onUnreachable(final ServerMemberManager manager, final Member member) {
+        manager.getMemberAddressInfos().remove(member.getAddress());
+        final NodeState old = member.getState();
+        member.setState(NodeState.DOWN);
+        if (!Objects.equals(old, member.getState())) {
+            manager.notifyMemberChange();
+        }
+    }
+    
     /**
      * Node list information persistence.
      *
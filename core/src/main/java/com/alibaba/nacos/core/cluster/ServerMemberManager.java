@@ -52,6 +52,7 @@ import javax.servlet.ServletContext;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -83,6 +84,8 @@ public class ServerMemberManager implements ApplicationListener<WebServerInitial
     private final NacosAsyncRestTemplate asyncRestTemplate = HttpClientBeanHolder
             .getNacosAsyncRestTemplate(Loggers.CORE);
     
+    private static final long REPORT_INTERVAL = 2_000L;
+    
     private static boolean isUseAddressServer = false;
     
     /**
@@ -125,6 +128,17 @@ public class ServerMemberManager implements ApplicationListener<WebServerInitial
      */
     private final MemberInfoReportTask infoReportTask = new MemberInfoReportTask();
     
+    /**
+     * Gossip based phi accrual failure detector, fed by the heartbeat tables piggybacked on member reports.
+     */
+    private final MemberFailureDetector failureDetector = new MemberFailureDetector(REPORT_INTERVAL,
+            REPORT_INTERVAL / 4, REPORT_INTERVAL);
+    
+    /**
+     * Members which have been marked down by the failure detector.
+     */
+    private final Set<String> unreachableMembers = new ConcurrentHashSet<>();
+    
     public ServerMemberManager(ServletContext servletContext) throws Exception {
         this.serverList = new ConcurrentSkipListMap<>();
         EnvUtil.setContextPath(servletContext.getContextPath());
@@ -365,6 +379,8 @@ public class ServerMemberManager implements ApplicationListener<WebServerInitial
         
         serverList = tmpMap;
         memberAddressInfos = tmpAddressInfo;
+        failureDetector.retain(tmpMap.keySet());
+        unreachableMembers.retainAll(tmpMap.keySet());
         
         Collection<Member> finalMembers = allMembers();
         
@@ -420,6 +436,33 @@ public class ServerMemberManager implements ApplicationListener<WebServerInitial
         return !NodeState.UP.equals(member.getState());
     }
     
+    /**
+     * Merge the heartbeat table piggybacked on a member report. A member marked down by the failure detector is
+     * recovered as soon as its heartbeat advances again.
+     *
+     * @param reporter reporting member, the heartbeat table is removed from its extend info
+     */
+    public void onGossip(Member reporter) {
+        Object digest = reporter.getExtendInfo().remove(MemberMetaDataConstants.GOSSIP_DIGEST);
+        if (!(digest instanceof Map)) {
+            return;
+        }
+        Map<String, Long> heartbeats = new HashMap<>(serverList.size());
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) digest).entrySet()) {
+            String address = String.valueOf(entry.getKey());
+            if (entry.getValue() instanceof Number && serverList.containsKey(address)) {
+                heartbeats.put(address, ((Number) entry.getValue()).longValue());
+            }
+        }
+        for (String address : failureDetector.merge(heartbeats, self.getAddress(), System.currentTimeMillis())) {
+            Member member = serverList.get(address);
+            if (unreachableMembers.remove(address) && null != member) {
+                Loggers.CLUSTER.info("member {} is reachable again according to gossip", address);
+                MemberUtil.onSuccess(this, member);
+            }
+        }
+    }
+    
     public boolean isFirstIp() {
         return Objects.equals(serverList.firstKey(), this.localAddress);
     }
@@ -467,6 +510,11 @@ public class ServerMemberManager implements ApplicationListener<WebServerInitial
         return infoReportTask;
     }
     
+    @JustForTest
+    MemberFailureDetector getFailureDetector() {
+        return failureDetector;
+    }
+    
     public Map<String, Member> getServerList() {
         return Collections.unmodifiableMap(serverList);
     }
@@ -477,6 +525,7 @@ public class ServerMemberManager implements ApplicationListener<WebServerInitial
     
     // Synchronize the metadata information of a node
     // A health check of the target node is also attached
+    // The heartbeat table of the failure detector is gossiped to a few targets per round
     
     class MemberInfoReportTask extends Task {
         
@@ -493,9 +542,39 @@ public class ServerMemberManager implements ApplicationListener<WebServerInitial
                 return;
             }
             
+            detectUnreachable(members);
+            
+            // The round-robin target keeps every member reported periodically, the random ones speed up gossip
             this.cursor = (this.cursor + 1) % members.size();
-            Member target = members.get(cursor);
+            final Member target = members.get(cursor);
+            int fanout = EnvUtil.getProperty("nacos.core.member.gossip.fanout", Integer.class, 3);
+            Set<Member> targets = new HashSet<>(
+                    MemberUtil.kRandom(members, member -> !member.equals(target), fanout - 1));
+            targets.add(target);
             
+            failureDetector.tick();
+            Member info = getSelf().copy();
+            info.setExtendVal(MemberMetaDataConstants.GOSSIP_DIGEST, failureDetector.digest(info.getAddress()));
+            for (Member each : targets) {
+                report(each, info);
+            }
+        }
+        
+        private void detectUnreachable(List<Member> members) {
+            double threshold = EnvUtil.getProperty("nacos.core.member.phi.threshold", Double.class, 8.0D);
+            long now = System.currentTimeMillis();
+            for (Member member : members) {
+                String address = member.getAddress();
+                if (failureDetector.isAvailable(address, now, threshold) || !unreachableMembers.add(address)) {
+                    continue;
+                }
+                Loggers.CLUSTER.warn("member {} is unreachable according to gossip, phi : {}", address,
+                        failureDetector.phi(address, now));
+                MemberUtil.onUnreachable(ServerMemberManager.this, member);
+            }
+        }
+        
+        private void report(Member target, Member info) {
             Loggers.CLUSTER.debug("report the metadata to the node : {}", target.getAddress());
             
             final String url = HttpUtils
@@ -507,7 +586,7 @@ public class ServerMemberManager implements ApplicationListener<WebServerInitial
                 AuthHeaderUtil.addIdentityToHeader(header);
                 asyncRestTemplate
                         .post(url, header,
-                                Query.EMPTY, getSelf(), reference.getType(), new Callback<String>() {
+                                Query.EMPTY, info, reference.getType(), new Callback<String>() {
                                     @Override
                                     public void onReceive(RestResult<String> result) {
                                         if (result.getCode() == HttpStatus.NOT_IMPLEMENTED.value()
@@ -574,7 +653,7 @@ public class ServerMemberManager implements ApplicationListener<WebServerInitial
         
         @Override
         protected void after() {
-            GlobalExecutor.scheduleByCommon(this, 2_000L);
+            GlobalExecutor.scheduleByCommon(this, REPORT_INTERVAL);
         }
     }
     
@@ -119,6 +119,7 @@ public class NacosClusterController {
         LoggerUtils.printIfDebugEnabled(Loggers.CLUSTER, "node state report, receive info : {}", node);
         node.setState(NodeState.UP);
         node.setFailAccessCnt(0);
+        memberManager.onGossip(node);
         
         boolean result = memberManager.update(node);
         
@@ -19,7 +19,6 @@ package com.alibaba.nacos.core.distributed.id;
 import com.alibaba.nacos.consistency.IdGenerator;
 import com.alibaba.nacos.sys.env.EnvUtil;
 import com.alibaba.nacos.sys.utils.InetUtils;
-import com.google.common.base.Preconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,6 +28,7 @@ import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * copy from http://www.cluozy.com/home/hexo/2018/08/11/shariding-JDBC-snowflake/.
@@ -41,6 +41,12 @@ import java.util.Map;
  * will take 150 seconds for the DataCenterId to be repeated. This is still based on the situation that the new master
  * needs to be selected after each election of the Leader
  *
+ * <p>The timestamp and the sequence are packed into one {@link AtomicLong} and advanced by CAS, so concurrent writers
+ * never serialize on a lock. When the sequence of a millisecond is exhausted, or the clock moves backwards, the packed
+ * value keeps increasing and borrows the following milliseconds instead of spinning or failing, so ids stay unique and
+ * monotonic until the clock catches up again. At most {@link #MAX_BORROW_MILLIS} milliseconds are borrowed, if the clock
+ * falls further behind, generating fails as if the clock moved backwards.
+ *
  * @author <a href="mailto:liaochunyhm@live.com">liaochuntao</a>
  */
 @SuppressWarnings("all")
@@ -71,13 +77,15 @@ public class SnowFlowerIdGenerator implements IdGenerator {
     // 工作机器ID最大值1024
     private static final long WORKER_ID_MAX_VALUE = 1024L;
     
-    private long workerId;
-    
-    private long sequence;
+    // 最多借用的毫秒数
+    static final long MAX_BORROW_MILLIS = 5000L;
     
-    private long lastTime;
+    private long workerId;
     
-    private long currentId;
+    /**
+     * (lastTime - EPOCH) << SEQUENCE_BITS | sequence.
+     */
+    private final AtomicLong state = new AtomicLong();
     
     {
         long workerId = EnvUtil.getProperty("nacos.core.snowflake.worker-id", Integer.class, -1);
@@ -104,35 +112,39 @@ public class SnowFlowerIdGenerator implements IdGenerator {
     
     @Override
     public long currentId() {
-        return currentId;
+        long current = state.get();
+        return 0L == current ? 0L : toId(current);
     }
     
     @Override
-    public synchronized long nextId() {
-        long currentMillis = System.currentTimeMillis();
-        Preconditions.checkState(this.lastTime <= currentMillis,
-                "Clock is moving backwards, last time is %d milliseconds, current time is %d milliseconds",
-                new Object[] {this.lastTime, currentMillis});
-        if (this.lastTime == currentMillis) {
-            if (0L == (this.sequence = ++this.sequence & 4095L)) {
-                currentMillis = this.waitUntilNextTime(currentMillis);
+    public long nextId() {
+        for (; ; ) {
+            long last = state.get();
+            long currentTime = currentTimeMillis() - EPOCH;
+            long lastTime = last >>> SEQUENCE_BITS;
+            // Borrow the next sequence from the last time when the clock does not move forward, an exhausted sequence
+            // carries into the time part.
+            long next = currentTime > lastTime ? currentTime << SEQUENCE_BITS : last + 1;
+            long borrowed = (next >>> SEQUENCE_BITS) - currentTime;
+            if (borrowed > MAX_BORROW_MILLIS) {
+                throw new IllegalStateException(String.format(
+                        "Clock is moving backwards, last time is %d milliseconds, current time is %d milliseconds",
+                        lastTime + EPOCH, currentTime + EPOCH));
+            }
+            if (state.compareAndSet(last, next)) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("{}-{}-{}", (new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS"))
+                            .format(new Date((next >>> SEQUENCE_BITS) + EPOCH)), workerId, next & SEQUENCE_MASK);
+                }
+                return toId(next);
             }
-        } else {
-            this.sequence = 0L;
         }
-        
-        this.lastTime = currentMillis;
-        logger.debug("{}-{}-{}", (new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS")).format(new Date(this.lastTime)),
-                workerId, this.sequence);
-        
-        currentId = currentMillis - EPOCH << 22 | workerId << 12 | this.sequence;
-        return currentId;
     }
     
     @Override
     public Map<Object, Object> info() {
         Map<Object, Object> info = new HashMap<>(4);
-        info.put("currentId", currentId);
+        info.put("currentId", currentId());
         info.put("workerId", workerId);
         return info;
     }
@@ -153,21 +165,13 @@ public class SnowFlowerIdGenerator implements IdGenerator {
         this.workerId = workerId;
     }
     
-    /**
-     * Block to the next millisecond until a new timestamp is obtained
-     *
-     * @param lastTimestamp The time intercept of the last ID generated
-     * @return Current timestamp
-     */
-    private long waitUntilNextTime(long lastTimestamp) {
-        long time;
-        time = System.currentTimeMillis();
-        while (time <= lastTimestamp) {
-            ;
-            time = System.currentTimeMillis();
-        }
-        
-        return time;
+    long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+    
+    private long toId(long state) {
+        return (state >>> SEQUENCE_BITS) << TIMESTAMP_LEFT_SHIFT_BITS | workerId << WORKER_ID_LEFT_SHIFT_BITS
+                | state & SEQUENCE_MASK;
     }
     
 }
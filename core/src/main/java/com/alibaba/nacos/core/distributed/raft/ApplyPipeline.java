@@ -0,0 +1,275 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.distributed.raft;
+
+import com.alibaba.nacos.consistency.ProtoMessageUtil;
+import com.alibaba.nacos.consistency.cp.RequestProcessor4CP;
+import com.alibaba.nacos.consistency.entity.BatchResponse;
+import com.alibaba.nacos.consistency.entity.ReadRequest;
+import com.alibaba.nacos.consistency.entity.Response;
+import com.alibaba.nacos.consistency.entity.WriteRequest;
+import com.alibaba.nacos.consistency.exception.ConsistencyException;
+import com.google.protobuf.Message;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Apply pipeline of {@link NacosStateMachine}.
+ *
+ * <p>All log entries of one iterator batch are decoded ahead and split into requests (a batch log entry is split into
+ * its origin requests), then the requests are applied segment by segment in log order:
+ * <ul>
+ *     <li>A read request is applied alone.</li>
+ *     <li>Consecutive write requests without partition are applied in order by one
+ *     {@link RequestProcessor4CP#onApplyBatch(List)}, so the processor can merge the storage writes.</li>
+ *     <li>Consecutive write requests with partition declared by {@link RequestProcessor4CP#partitionKey(WriteRequest)}
+ *     are grouped by partition, every partition is applied in order by one
+ *     {@link RequestProcessor4CP#onApplyBatch(List)} and different partitions are applied concurrently.</li>
+ * </ul>
+ *
+ * <p>Partitions are ignored unless the processor is {@link RequestProcessor4CP#isIdempotent() idempotent}: when one
+ * partition fails, the state machine stops at the failed entry, so the entries after it which other partitions have
+ * applied are applied again.
+ *
+ * @author nacos
+ */
+class ApplyPipeline {
+    
+    private final RequestProcessor4CP processor;
+    
+    private final Executor executor;
+    
+    private final boolean partitioned;
+    
+    ApplyPipeline(RequestProcessor4CP processor, Executor executor) {
+        this.processor = processor;
+        this.executor = executor;
+        this.partitioned = processor.isIdempotent();
+    }
+    
+    /**
+     * Apply the log entries in log order.
+     *
+     * @param entries   decoded log entries
+     * @param onApplied callback for each applied entry, called in log order
+     * @throws Throwable any error of processor, entries after the last applied one are not applied completely
+     */
+    void apply(List<LogEntry> entries, Consumer<LogEntry> onApplied) throws Throwable {
+        List<ApplyUnit> units = split(entries);
+        int completed = 0;
+        int start = 0;
+        while (start < units.size()) {
+            int end = nextSegmentEnd(units, start);
+            applySegment(units.subList(start, end));
+            start = end;
+            completed = notifyApplied(entries, completed, onApplied);
+        }
+        notifyApplied(entries, completed, onApplied);
+    }
+    
+    private int notifyApplied(List<LogEntry> entries, int completed, Consumer<LogEntry> onApplied) {
+        while (completed < entries.size() && entries.get(completed).isApplied()) {
+            LogEntry entry = entries.get(completed++);
+            entry.buildResponse();
+            onApplied.accept(entry);
+        }
+        return completed;
+    }
+    
+    private List<ApplyUnit> split(List<LogEntry> entries) {
+        List<ApplyUnit> result = new ArrayList<>(entries.size());
+        for (LogEntry entry : entries) {
+            if (entry.message instanceof WriteRequest) {
+                WriteRequest request = (WriteRequest) entry.message;
+                entry.batch = ProtoMessageUtil.isBatchWriteRequest(request);
+                List<WriteRequest> requests = entry.batch ? ProtoMessageUtil.unpackBatchWriteRequest(request)
+                        : Collections.singletonList(request);
+                entry.init(requests.size());
+                for (int i = 0; i < requests.size(); i++) {
+                    WriteRequest each = requests.get(i);
+                    result.add(new ApplyUnit(entry, i, each, partitioned ? processor.partitionKey(each) : null));
+                }
+            } else if (entry.message instanceof ReadRequest) {
+                entry.init(1);
+                result.add(new ApplyUnit(entry, 0, null, null));
+            } else {
+                entry.init(0);
+            }
+        }
+        return result;
+    }
+    
+    private int nextSegmentEnd(List<ApplyUnit> units, int start) {
+        ApplyUnit first = units.get(start);
+        if (first.isRead()) {
+            return start + 1;
+        }
+        boolean partitioned = first.isPartitioned();
+        int end = start + 1;
+        while (end < units.size() && !units.get(end).isRead() && units.get(end).isPartitioned() == partitioned) {
+            end++;
+        }
+        return end;
+    }
+    
+    private void applySegment(List<ApplyUnit> segment) throws Throwable {
+        ApplyUnit first = segment.get(0);
+        if (first.isRead()) {
+            first.complete(processor.onRequest((ReadRequest) first.entry.message));
+            return;
+        }
+        if (!first.isPartitioned()) {
+            applyInOrder(segment);
+            return;
+        }
+        Map<String, List<ApplyUnit>> partitions = new LinkedHashMap<>();
+        for (ApplyUnit each : segment) {
+            partitions.computeIfAbsent(each.partition, key -> new ArrayList<>()).add(each);
+        }
+        if (partitions.size() == 1 || Objects.isNull(executor)) {
+            for (List<ApplyUnit> each : partitions.values()) {
+                applyInOrder(each);
+            }
+            return;
+        }
+        List<CompletableFuture<Void>> futures = new ArrayList<>(partitions.size());
+        for (List<ApplyUnit> each : partitions.values()) {
+            futures.add(CompletableFuture.runAsync(() -> applyInOrder(each), executor));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            throw Objects.isNull(e.getCause()) ? e : e.getCause();
+        }
+    }
+    
+    private void applyInOrder(List<ApplyUnit> units) {
+        List<WriteRequest> requests = new ArrayList<>(units.size());
+        for (ApplyUnit each : units) {
+            requests.add(each.request);
+        }
+        List<Response> responses = processor.onApplyBatch(requests);
+        if (responses.size() != units.size()) {
+            throw new ConsistencyException(
+                    "Processor " + processor.group() + " returns " + responses.size() + " responses for "
+                            + units.size() + " requests");
+        }
+        for (int i = 0; i < units.size(); i++) {
+            units.get(i).complete(responses.get(i));
+        }
+    }
+    
+    /**
+     * A decoded log entry.
+     */
+    static class LogEntry {
+        
+        private final Message message;
+        
+        private final NacosClosure closure;
+        
+        private boolean batch;
+        
+        private Response[] responses;
+        
+        private int remaining;
+        
+        private Response response;
+        
+        LogEntry(Message message, NacosClosure closure) {
+            this.message = message;
+            this.closure = closure;
+        }
+        
+        private void init(int size) {
+            this.responses = new Response[size];
+            this.remaining = size;
+        }
+        
+        private synchronized void complete(int index, Response response) {
+            responses[index] = response;
+            remaining--;
+        }
+        
+        private synchronized boolean isApplied() {
+            return remaining == 0;
+        }
+        
+        private void buildResponse() {
+            if (batch) {
+                BatchResponse.Builder builder = BatchResponse.newBuilder();
+                for (Response each : responses) {
+                    builder.addResponses(each);
+                }
+                response = Response.newBuilder().setSuccess(true).setData(builder.build().toByteString()).build();
+            } else if (responses.length > 0) {
+                response = responses[0];
+            }
+        }
+        
+        Message getMessage() {
+            return message;
+        }
+        
+        NacosClosure getClosure() {
+            return closure;
+        }
+        
+        Response getResponse() {
+            return response;
+        }
+    }
+    
+    private static class ApplyUnit {
+        
+        private final LogEntry entry;
+        
+        private final int index;
+        
+        private final WriteRequest request;
+        
+        private final String partition;
+        
+        private ApplyUnit(LogEntry entry, int index, WriteRequest request, String partition) {
+            this.entry = entry;
+            this.index = index;
+            this.request = request;
+            this.partition = partition;
+        }
+        
+        private boolean isRead() {
+            return null == request;
+        }
+        
+        private boolean isPartitioned() {
+            return null != partition;
+        }
+        
+        private void complete(Response response) {
+            entry.complete(index, response);
+        }
+    }
+}
@@ -20,6 +20,7 @@ import com.alibaba.nacos.common.model.RestResult;
 import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.common.notify.listener.Subscriber;
 import com.alibaba.nacos.common.notify.Event;
+import com.alibaba.nacos.common.utils.ConvertUtils;
 import com.alibaba.nacos.common.utils.MapUtil;
 import com.alibaba.nacos.common.utils.ThreadUtils;
 import com.alibaba.nacos.consistency.ProtocolMetaData;
@@ -105,6 +106,8 @@ public class JRaftProtocol extends AbstractConsistencyProtocol<RaftConfig, Reque
     
     private JRaftMaintainService jRaftMaintainService;
     
+    private WriteBatcher writeBatcher;
+    
     private ServerMemberManager memberManager;
     
     public JRaftProtocol(ServerMemberManager memberManager) throws Exception {
@@ -120,6 +123,7 @@ public class JRaftProtocol extends AbstractConsistencyProtocol<RaftConfig, Reque
             NotifyCenter.registerToSharePublisher(RaftEvent.class);
             this.raftServer.init(this.raftConfig);
             this.raftServer.start();
+            initWriteBatcher(config);
             
             // There is only one consumer to ensure that the internal consumption
             // is sequential and there is no concurrent competition
@@ -158,6 +162,20 @@ public class JRaftProtocol extends AbstractConsistencyProtocol<RaftConfig, Reque
         }
     }
     
+    private void initWriteBatcher(RaftConfig config) {
+        boolean enabled = ConvertUtils.toBoolean(config.getVal(RaftSysConstants.WRITE_BATCH_ENABLED),
+                RaftSysConstants.DEFAULT_WRITE_BATCH_ENABLED);
+        if (!enabled) {
+            return;
+        }
+        int maxBatchSize = ConvertUtils.toInt(config.getVal(RaftSysConstants.WRITE_BATCH_MAX_SIZE),
+                RaftSysConstants.DEFAULT_WRITE_BATCH_MAX_SIZE);
+        long windowMs = ConvertUtils.toLong(config.getVal(RaftSysConstants.WRITE_BATCH_WINDOW_MS),
+                RaftSysConstants.DEFAULT_WRITE_BATCH_WINDOW_MS);
+        this.writeBatcher = new WriteBatcher(raftServer, maxBatchSize, windowMs);
+        Loggers.RAFT.info("raft write batch enabled, max batch size : {}, window : {} ms", maxBatchSize, windowMs);
+    }
+    
     @Override
     public void addRequestProcessors(Collection<RequestProcessor4CP> processors) {
         raftServer.createMultiRaftGroup(processors);
@@ -174,6 +192,11 @@ public class JRaftProtocol extends AbstractConsistencyProtocol<RaftConfig, Reque
         return raftServer.get(request);
     }
     
+    @Override
+    public CompletableFuture<Void> awaitLocalReadable(String group) {
+        return raftServer.readIndex(group);
+    }
+    
     @Override
     public Response write(WriteRequest request) throws Exception {
         CompletableFuture<Response> future = writeAsync(request);
@@ -183,6 +206,9 @@ public class JRaftProtocol extends AbstractConsistencyProtocol<RaftConfig, Reque
     
     @Override
     public CompletableFuture<Response> writeAsync(WriteRequest request) {
+        if (null != writeBatcher) {
+            return writeBatcher.submit(request);
+        }
         return raftServer.commit(request.getGroup(), request, new CompletableFuture<>());
     }
     
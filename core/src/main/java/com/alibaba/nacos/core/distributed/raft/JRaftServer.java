@@ -322,6 +322,41 @@ public class JRaftServer {
         }
     }
     
+    /**
+     * Wait for the read index of the group, the future completes after the local state machine applied the read index.
+     * Depends on {@link RaftSysConstants#RAFT_READ_INDEX_TYPE}, the leader confirms its term by heartbeat or lease.
+     *
+     * @param group raft group
+     * @return future completes when local data of the group is readable
+     */
+    CompletableFuture<Void> readIndex(final String group) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        final Node node = findNodeByGroup(group);
+        if (Objects.isNull(node)) {
+            future.completeExceptionally(new NoSuchRaftGroupException(group));
+            return future;
+        }
+        try {
+            node.readIndex(BytesUtil.EMPTY_BYTES, new ReadIndexClosure() {
+                @Override
+                public void run(Status status, long index, byte[] reqCtx) {
+                    if (status.isOk()) {
+                        future.complete(null);
+                        return;
+                    }
+                    MetricsMonitor.raftReadIndexFailed();
+                    future.completeExceptionally(new ConsistencyException(
+                            "The conformance protocol is temporarily unavailable for reading, " + status
+                                    .getErrorMsg()));
+                }
+            });
+        } catch (Throwable e) {
+            MetricsMonitor.raftReadIndexFailed();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+    
     public void readFromLeader(final ReadRequest request, final CompletableFuture<Response> future) {
         commit(request.getGroup(), request, future).whenComplete(new BiConsumer<Response, Throwable>() {
             @Override
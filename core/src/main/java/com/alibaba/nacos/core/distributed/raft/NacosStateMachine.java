@@ -20,18 +20,16 @@ import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.common.utils.ExceptionUtil;
 import com.alibaba.nacos.common.utils.JacksonUtils;
 import com.alibaba.nacos.common.utils.LoggerUtils;
-import com.alibaba.nacos.consistency.RequestProcessor;
 import com.alibaba.nacos.consistency.ProtoMessageUtil;
 import com.alibaba.nacos.consistency.cp.RequestProcessor4CP;
-import com.alibaba.nacos.consistency.entity.ReadRequest;
 import com.alibaba.nacos.consistency.entity.Response;
-import com.alibaba.nacos.consistency.entity.WriteRequest;
 import com.alibaba.nacos.consistency.exception.ConsistencyException;
 import com.alibaba.nacos.consistency.snapshot.LocalFileMeta;
 import com.alibaba.nacos.consistency.snapshot.Reader;
 import com.alibaba.nacos.consistency.snapshot.SnapshotOperation;
 import com.alibaba.nacos.consistency.snapshot.Writer;
 import com.alibaba.nacos.core.distributed.raft.utils.JRaftUtils;
+import com.alibaba.nacos.core.distributed.raft.utils.RaftExecutor;
 import com.alibaba.nacos.core.utils.Loggers;
 import com.alipay.sofa.jraft.Closure;
 import com.alipay.sofa.jraft.Iterator;
@@ -70,7 +68,9 @@ class NacosStateMachine extends StateMachineAdapter {
     
     protected final JRaftServer server;
     
-    protected final RequestProcessor processor;
+    protected final RequestProcessor4CP processor;
+    
+    private final ApplyPipeline pipeline;
     
     private final AtomicBoolean isLeader = new AtomicBoolean(false);
     
@@ -88,56 +88,58 @@ class NacosStateMachine extends StateMachineAdapter {
         this.server = server;
         this.processor = processor;
         this.groupId = processor.group();
+        this.pipeline = new ApplyPipeline(processor, RaftExecutor.getRaftApplyExecutor());
         adapterToJRaftSnapshot(processor.loadSnapshotOperate());
     }
     
     @Override
     public void onApply(Iterator iter) {
-        int index = 0;
-        int applied = 0;
-        Message message;
-        NacosClosure closure = null;
+        final List<ApplyPipeline.LogEntry> entries = new ArrayList<>();
+        final int[] applied = new int[] {0};
+        Throwable error = null;
+        // Decode the entries ahead, an entry which can not be decoded ends the read-ahead and fails the rest.
         try {
             while (iter.hasNext()) {
-                Status status = Status.OK();
-                try {
-                    if (iter.done() != null) {
-                        closure = (NacosClosure) iter.done();
-                        message = closure.getMessage();
-                    } else {
-                        final ByteBuffer data = iter.getData();
-                        message = ProtoMessageUtil.parse(data.array());
-                    }
-                    
-                    LoggerUtils.printIfDebugEnabled(Loggers.RAFT, "receive log : {}", message);
-                    
-                    if (message instanceof WriteRequest) {
-                        Response response = processor.onApply((WriteRequest) message);
-                        postProcessor(response, closure);
-                    }
-                    
-                    if (message instanceof ReadRequest) {
-                        Response response = processor.onRequest((ReadRequest) message);
-                        postProcessor(response, closure);
-                    }
-                } catch (Throwable e) {
-                    index++;
-                    status.setError(RaftError.UNKNOWN, e.toString());
-                    Optional.ofNullable(closure).ifPresent(closure1 -> closure1.setThrowable(e));
-                    throw e;
-                } finally {
-                    Optional.ofNullable(closure).ifPresent(closure1 -> closure1.run(status));
+                final NacosClosure closure = (NacosClosure) iter.done();
+                final Message message;
+                if (closure != null) {
+                    message = closure.getMessage();
+                } else {
+                    final ByteBuffer data = iter.getData();
+                    message = ProtoMessageUtil.parse(data.array());
                 }
-                
-                applied++;
-                index++;
+                LoggerUtils.printIfDebugEnabled(Loggers.RAFT, "receive log : {}", message);
+                entries.add(new ApplyPipeline.LogEntry(message, closure));
                 iter.next();
             }
         } catch (Throwable t) {
-            Loggers.RAFT.error("processor : {}, stateMachine meet critical error: {}.", processor, t);
-            iter.setErrorAndRollback(index - applied,
-                    new Status(RaftError.ESTATEMACHINE, "StateMachine meet critical error: %s.",
-                            ExceptionUtil.getStackTrace(t)));
+            error = t;
+        }
+        try {
+            pipeline.apply(entries, entry -> {
+                applied[0]++;
+                Optional.ofNullable(entry.getClosure()).ifPresent(closure -> {
+                    postProcessor(entry.getResponse(), closure);
+                    closure.run(Status.OK());
+                });
+            });
+        } catch (Throwable t) {
+            error = t;
+        }
+        if (error == null) {
+            return;
+        }
+        Loggers.RAFT.error("processor : {}, stateMachine meet critical error: {}.", processor, error);
+        // The closures of the unapplied entries are run by jraft with the error status after rollback.
+        for (int i = applied[0]; i < entries.size(); i++) {
+            final Throwable cause = error;
+            Optional.ofNullable(entries.get(i).getClosure()).ifPresent(closure -> closure.setThrowable(cause));
+        }
+        // An entry which failed to decode is still the current entry of the iterator and counts in the rollback.
+        final long ntail = entries.size() - applied[0] + (iter.hasNext() ? 1 : 0);
+        if (ntail > 0) {
+            iter.setErrorAndRollback(ntail, new Status(RaftError.ESTATEMACHINE, "StateMachine meet critical error: %s.",
+                    ExceptionUtil.getStackTrace(error)));
         }
     }
     
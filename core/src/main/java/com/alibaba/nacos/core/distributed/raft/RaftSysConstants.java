@@ -126,6 +126,26 @@ public final class RaftSysConstants {
      */
     public static final boolean DEFAULT_ENABLE_LOG_ENTRY_CHECKSUM = false;
     
+    /**
+     * {@link RaftSysConstants#WRITE_BATCH_ENABLED}
+     */
+    public static final boolean DEFAULT_WRITE_BATCH_ENABLED = false;
+    
+    /**
+     * {@link RaftSysConstants#WRITE_BATCH_MAX_SIZE}
+     */
+    public static final int DEFAULT_WRITE_BATCH_MAX_SIZE = 64;
+    
+    /**
+     * {@link RaftSysConstants#WRITE_BATCH_WINDOW_MS}
+     */
+    public static final int DEFAULT_WRITE_BATCH_WINDOW_MS = 2;
+    
+    /**
+     * {@link RaftSysConstants#RAFT_APPLY_THREAD_NUM}
+     */
+    public static final int DEFAULT_RAFT_APPLY_THREAD_NUM = 8;
+    
     // ========= setting key ========= //
     
     /**
@@ -153,6 +173,11 @@ public final class RaftSysConstants {
      */
     public static final String RAFT_CLI_SERVICE_THREAD_NUM = "cli_service_thread_num";
     
+    /**
+     * Number of threads which apply the log entries of different partitions concurrently
+     */
+    public static final String RAFT_APPLY_THREAD_NUM = "apply_thread_num";
+    
     /**
      * raft linear read strategy, defaults to read_index read
      */
@@ -231,4 +256,20 @@ public final class RaftSysConstants {
      * Whether to enable LogEntry checksum
      */
     public static final String ENABLE_LOG_ENTRY_CHECKSUM = "enable_log_entry_checksum";
+    
+    /**
+     * Whether to group commit concurrent write requests of the same raft group into one log entry. Only enable it
+     * after all members are upgraded to a version which can apply batch log entries.
+     */
+    public static final String WRITE_BATCH_ENABLED = "write_batch_enabled";
+    
+    /**
+     * Maximum number of write requests in one batch log entry, default is 64
+     */
+    public static final String WRITE_BATCH_MAX_SIZE = "write_batch_max_size";
+    
+    /**
+     * Maximum time in milliseconds a write request waits for its batch, default is 2
+     */
+    public static final String WRITE_BATCH_WINDOW_MS = "write_batch_window_ms";
 }
@@ -0,0 +1,163 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.distributed.raft;
+
+import com.alibaba.nacos.consistency.ProtoMessageUtil;
+import com.alibaba.nacos.consistency.entity.Response;
+import com.alibaba.nacos.consistency.entity.WriteRequest;
+import com.alibaba.nacos.core.distributed.raft.utils.RaftExecutor;
+import com.alibaba.nacos.core.utils.Loggers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Group commit for raft write requests.
+ *
+ * <p>Concurrent write requests of the same raft group are accumulated for a short window, or until the batch is full,
+ * and then committed as one log entry. {@link NacosStateMachine} splits the entry and applies the origin requests in
+ * submit order, and the response of each request is returned to its own caller.
+ *
+ * @author nacos
+ */
+class WriteBatcher {
+    
+    private final JRaftServer raftServer;
+    
+    private final int maxBatchSize;
+    
+    private final long windowMs;
+    
+    private final Map<String, GroupWriteQueue> queues = new ConcurrentHashMap<>();
+    
+    WriteBatcher(JRaftServer raftServer, int maxBatchSize, long windowMs) {
+        this.raftServer = raftServer;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.windowMs = Math.max(0L, windowMs);
+    }
+    
+    /**
+     * Submit a write request into the batch of its group.
+     *
+     * @param request write request
+     * @return future which will be completed by the response of this request
+     */
+    CompletableFuture<Response> submit(WriteRequest request) {
+        return queues.computeIfAbsent(request.getGroup(), GroupWriteQueue::new).submit(request);
+    }
+    
+    private class GroupWriteQueue {
+        
+        private final String group;
+        
+        private final Queue<PendingWrite> pendingWrites = new ConcurrentLinkedQueue<>();
+        
+        private final AtomicInteger size = new AtomicInteger(0);
+        
+        private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+        
+        private GroupWriteQueue(String group) {
+            this.group = group;
+        }
+        
+        private CompletableFuture<Response> submit(WriteRequest request) {
+            PendingWrite pendingWrite = new PendingWrite(request);
+            pendingWrites.offer(pendingWrite);
+            if (size.incrementAndGet() == maxBatchSize) {
+                RaftExecutor.executeByCommon(this::flush);
+            } else if (flushScheduled.compareAndSet(false, true)) {
+                RaftExecutor.scheduleByCommon(() -> {
+                    flushScheduled.set(false);
+                    flush();
+                }, windowMs);
+            }
+            return pendingWrite.future;
+        }
+        
+        /**
+         * Drain all pending writes. Synchronized to keep the log entries in submit order.
+         */
+        private synchronized void flush() {
+            while (!pendingWrites.isEmpty()) {
+                List<PendingWrite> batch = new ArrayList<>(Math.min(size.get(), maxBatchSize));
+                PendingWrite pendingWrite;
+                while (batch.size() < maxBatchSize && (pendingWrite = pendingWrites.poll()) != null) {
+                    size.decrementAndGet();
+                    batch.add(pendingWrite);
+                }
+                commit(batch);
+            }
+        }
+        
+        private void commit(List<PendingWrite> batch) {
+            if (batch.isEmpty()) {
+                return;
+            }
+            if (batch.size() == 1) {
+                PendingWrite pendingWrite = batch.get(0);
+                raftServer.commit(group, pendingWrite.request, pendingWrite.future);
+                return;
+            }
+            List<WriteRequest> requests = new ArrayList<>(batch.size());
+            for (PendingWrite each : batch) {
+                requests.add(each.request);
+            }
+            WriteRequest batchRequest = ProtoMessageUtil.packBatchWriteRequest(group, requests);
+            raftServer.commit(group, batchRequest, new CompletableFuture<>())
+                    .whenComplete((response, throwable) -> complete(batch, response, throwable));
+        }
+        
+        private void complete(List<PendingWrite> batch, Response response, Throwable throwable) {
+            if (null != throwable) {
+                batch.forEach(each -> each.future.completeExceptionally(throwable));
+                return;
+            }
+            // Failed before applied, such as no leader, every request gets the same failed response.
+            if (!response.getSuccess()) {
+                batch.forEach(each -> each.future.complete(response));
+                return;
+            }
+            try {
+                List<Response> responses = ProtoMessageUtil.unpackBatchResponse(response);
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).future.complete(responses.get(i));
+                }
+            } catch (Throwable e) {
+                Loggers.RAFT.error("Unpack batch response for group {} failed, ", group, e);
+                batch.forEach(each -> each.future.completeExceptionally(e));
+            }
+        }
+    }
+    
+    private static class PendingWrite {
+        
+        private final WriteRequest request;
+        
+        private final CompletableFuture<Response> future = new CompletableFuture<>();
+        
+        private PendingWrite(WriteRequest request) {
+            this.request = request;
+        }
+    }
+}
@@ -18,6 +18,7 @@ package com.alibaba.nacos.core.distributed.raft.utils;
 
 import com.alibaba.nacos.common.executor.ExecutorFactory;
 import com.alibaba.nacos.common.executor.NameThreadFactory;
+import com.alibaba.nacos.common.utils.ConvertUtils;
 import com.alibaba.nacos.core.distributed.raft.JRaftServer;
 import com.alibaba.nacos.core.distributed.raft.RaftConfig;
 import com.alibaba.nacos.core.distributed.raft.RaftSysConstants;
@@ -42,6 +43,8 @@ public final class RaftExecutor {
     
     private static ExecutorService raftSnapshotExecutor;
     
+    private static ExecutorService raftApplyExecutor;
+    
     private static final String OWNER = ClassUtils.getCanonicalName(JRaftServer.class);
     
     private RaftExecutor() {
@@ -73,6 +76,12 @@ public final class RaftExecutor {
         raftSnapshotExecutor = ExecutorFactory.Managed.newFixedExecutorService(OWNER, snapshotNum,
                         new NameThreadFactory("com.alibaba.naocs.core.raft-snapshot"));
         
+        int raftApplyThreadNum = ConvertUtils.toInt(config.getVal(RaftSysConstants.RAFT_APPLY_THREAD_NUM),
+                RaftSysConstants.DEFAULT_RAFT_APPLY_THREAD_NUM);
+        
+        raftApplyExecutor = ExecutorFactory.Managed.newFixedExecutorService(OWNER, raftApplyThreadNum,
+                new NameThreadFactory("com.alibaba.nacos.core.raft-apply"));
+        
     }
     
     public static void scheduleRaftMemberRefreshJob(Runnable runnable, long initialDelay, long period, TimeUnit unit) {
@@ -87,6 +96,10 @@ public final class RaftExecutor {
         return raftCliServiceExecutor;
     }
     
+    public static ExecutorService getRaftApplyExecutor() {
+        return raftApplyExecutor;
+    }
+    
     public static void executeByCommon(Runnable r) {
         raftCommonExecutor.execute(r);
     }
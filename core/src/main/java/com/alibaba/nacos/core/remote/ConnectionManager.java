@@ -18,7 +18,6 @@ package com.alibaba.nacos.core.remote;
 
 import com.alibaba.nacos.api.common.Constants;
 import com.alibaba.nacos.api.exception.NacosException;
-import com.alibaba.nacos.api.remote.RemoteConstants;
 import com.alibaba.nacos.api.remote.RequestCallBack;
 import com.alibaba.nacos.api.remote.RpcScheduledExecutor;
 import com.alibaba.nacos.api.remote.request.ClientDetectionRequest;
@@ -33,6 +32,7 @@ import com.alibaba.nacos.common.remote.exception.ConnectionAlreadyClosedExceptio
 import com.alibaba.nacos.common.utils.CollectionUtils;
 import com.alibaba.nacos.common.utils.JacksonUtils;
 import com.alibaba.nacos.common.utils.StringUtils;
+import com.alibaba.nacos.common.utils.TimingWheel;
 import com.alibaba.nacos.common.utils.VersionUtils;
 import com.alibaba.nacos.core.monitor.MetricsMonitor;
 import com.alibaba.nacos.core.remote.event.ConnectionLimitRuleChangeEvent;
@@ -52,12 +52,14 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -73,11 +75,21 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
     
     public static final String RULE_FILE_NAME = "limitRule";
     
+    /**
+     * Timeout of the ack of a rebalance reset request.
+     */
+    private static final long RESET_REQUEST_TIMEOUT = 3000L;
+    
     /**
      * 4 times of client keep alive.
      */
     private static final long KEEP_ALIVE_TIME = 20000L;
     
+    /**
+     * Max count of client detection requests in one round of connection check.
+     */
+    private static final int MAX_DETECTION_PER_ROUND = 5000;
+    
     @Autowired
     private ClientConnectionEventListenerRegistry clientConnectionEventListenerRegistry;
     
@@ -123,6 +135,17 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
     
     Map<String, Connection> connections = new ConcurrentHashMap<String, Connection>();
     
+    private final AtomicInteger sdkConnectionCount = new AtomicInteger();
+    
+    /**
+     * Deadlines of connections by their last active time, connections are probed after their deadlines.
+     */
+    private final TimingWheel<String> livenessWheel = new TimingWheel<>(1000L, 64, System.currentTimeMillis());
+    
+    private final Queue<String> outdatedConnections = new ConcurrentLinkedQueue<>();
+    
+    private final Set<String> detectingConnections = ConcurrentHashMap.newKeySet();
+    
     /**
      * check connection id is valid.
      *
@@ -153,6 +176,10 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
             }
             connections.put(connectionId, connection);
             connectionForClientIp.get(connection.getMetaInfo().clientIp).getAndIncrement();
+            if (connection.getMetaInfo().isSdkSource()) {
+                sdkConnectionCount.incrementAndGet();
+            }
+            livenessWheel.schedule(connectionId, connection.getMetaInfo().getLastActiveTime() + KEEP_ALIVE_TIME);
             
             clientConnectionEventListenerRegistry.notifyClientConnected(connection);
             Loggers.REMOTE_DIGEST
@@ -227,6 +254,10 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
                     connectionForClientIp.remove(clientIp);
                 }
             }
+            if (remove.getMetaInfo().isSdkSource()) {
+                sdkConnectionCount.decrementAndGet();
+            }
+            detectingConnections.remove(connectionId);
             remove.close();
             Loggers.REMOTE_DIGEST.info("[{}]Connection unregistered successfully. ", connectionId);
             clientConnectionEventListenerRegistry.notifyClientDisConnected(remove);
@@ -297,7 +328,6 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
                     int totalCount = connections.size();
                     Loggers.REMOTE_DIGEST.info("Connection check task start");
                     MetricsMonitor.getLongConnectionMonitor().set(totalCount);
-                    Set<Map.Entry<String, Connection>> entries = connections.entrySet();
                     int currentSdkClientCount = currentSdkClientCount();
                     boolean isLoaderClient = loadClient >= 0;
                     int currentMaxClient = isLoaderClient ? loadClient : connectionLimitRule.countLimit;
@@ -309,70 +339,8 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
                                     currentMaxClient + (isLoaderClient ? "(loaderCount)" : ""), expelCount);
                     
                     List<String> expelClient = new LinkedList<>();
-                    
-                    Map<String, AtomicInteger> expelForIp = new HashMap<>(16);
-                    
-                    //1. calculate expel count  of ip.
-                    for (Map.Entry<String, Connection> entry : entries) {
-                        
-                        Connection client = entry.getValue();
-                        String appName = client.getMetaInfo().getAppName();
-                        String clientIp = client.getMetaInfo().getClientIp();
-                        if (client.getMetaInfo().isSdkSource() && !expelForIp.containsKey(clientIp)) {
-                            //get limit for current ip.
-                            int countLimitOfIp = connectionLimitRule.getCountLimitOfIp(clientIp);
-                            if (countLimitOfIp < 0) {
-                                int countLimitOfApp = connectionLimitRule.getCountLimitOfApp(appName);
-                                countLimitOfIp = countLimitOfApp < 0 ? countLimitOfIp : countLimitOfApp;
-                            }
-                            if (countLimitOfIp < 0) {
-                                countLimitOfIp = connectionLimitRule.getCountLimitPerClientIpDefault();
-                            }
-                            
-                            if (countLimitOfIp >= 0 && connectionForClientIp.containsKey(clientIp)) {
-                                AtomicInteger currentCountIp = connectionForClientIp.get(clientIp);
-                                if (currentCountIp != null && currentCountIp.get() > countLimitOfIp) {
-                                    expelForIp.put(clientIp, new AtomicInteger(currentCountIp.get() - countLimitOfIp));
-                                }
-                            }
-                        }
-                    }
-                    
-                    Loggers.REMOTE_DIGEST
-                            .info("Check over limit for ip limit rule, over limit ip count={}", expelForIp.size());
-                    
-                    if (expelForIp.size() > 0) {
-                        Loggers.REMOTE_DIGEST.info("Over limit ip expel info,", expelForIp);
-                    }
-                    
-                    Set<String> outDatedConnections = new HashSet<>();
-                    long now = System.currentTimeMillis();
-                    //2.get expel connection for ip limit.
-                    for (Map.Entry<String, Connection> entry : entries) {
-                        Connection client = entry.getValue();
-                        String clientIp = client.getMetaInfo().getClientIp();
-                        AtomicInteger integer = expelForIp.get(clientIp);
-                        if (integer != null && integer.intValue() > 0) {
-                            integer.decrementAndGet();
-                            expelClient.add(client.getMetaInfo().getConnectionId());
-                            expelCount--;
-                        } else if (now - client.getMetaInfo().getLastActiveTime() >= KEEP_ALIVE_TIME) {
-                            outDatedConnections.add(client.getMetaInfo().getConnectionId());
-                        }
-                        
-                    }
-                    
-                    //3. if total count is still over limit.
-                    if (expelCount > 0) {
-                        for (Map.Entry<String, Connection> entry : entries) {
-                            Connection client = entry.getValue();
-                            if (!expelForIp.containsKey(client.getMetaInfo().clientIp) && client.getMetaInfo()
-                                    .isSdkSource() && expelCount > 0) {
-                                expelClient.add(client.getMetaInfo().getConnectionId());
-                                expelCount--;
-                                outDatedConnections.remove(client.getMetaInfo().getConnectionId());
-                            }
-                        }
+                    if (expelCount > 0 || hasClientIpLimit()) {
+                        collectExpelClients(expelClient, expelCount);
                     }
                     
                     String serverIp = null;
@@ -405,69 +373,7 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
                     }
                     
                     //4.client active detection.
-                    Loggers.REMOTE_DIGEST.info("Out dated connection ,size={}", outDatedConnections.size());
-                    if (CollectionUtils.isNotEmpty(outDatedConnections)) {
-                        Set<String> successConnections = new HashSet<>();
-                        final CountDownLatch latch = new CountDownLatch(outDatedConnections.size());
-                        for (String outDateConnectionId : outDatedConnections) {
-                            try {
-                                Connection connection = getConnection(outDateConnectionId);
-                                if (connection != null) {
-                                    ClientDetectionRequest clientDetectionRequest = new ClientDetectionRequest();
-                                    connection.asyncRequest(clientDetectionRequest, new RequestCallBack() {
-                                        @Override
-                                        public Executor getExecutor() {
-                                            return null;
-                                        }
-                                        
-                                        @Override
-                                        public long getTimeout() {
-                                            return 1000L;
-                                        }
-                                        
-                                        @Override
-                                        public void onResponse(Response response) {
-                                            latch.countDown();
-                                            if (response != null && response.isSuccess()) {
-                                                connection.freshActiveTime();
-                                                successConnections.add(outDateConnectionId);
-                                            }
-                                        }
-                                        
-                                        @Override
-                                        public void onException(Throwable e) {
-                                            latch.countDown();
-                                        }
-                                    });
-                                    
-                                    Loggers.REMOTE_DIGEST
-                                            .info("[{}]send connection active request ", outDateConnectionId);
-                                } else {
-                                    latch.countDown();
-                                }
-                                
-                            } catch (ConnectionAlreadyClosedException e) {
-                                latch.countDown();
-                            } catch (Exception e) {
-                                Loggers.REMOTE_DIGEST
-                                        .error("[{}]Error occurs when check client active detection ,error={}",
-                                                outDateConnectionId, e);
-                                latch.countDown();
-                            }
-                        }
-                        
-                        latch.await(3000L, TimeUnit.MILLISECONDS);
-                        Loggers.REMOTE_DIGEST
-                                .info("Out dated connection check successCount={}", successConnections.size());
-                        
-                        for (String outDateConnectionId : outDatedConnections) {
-                            if (!successConnections.contains(outDateConnectionId)) {
-                                Loggers.REMOTE_DIGEST
-                                        .info("[{}]Unregister Out dated connection....", outDateConnectionId);
-                                unregister(outDateConnectionId);
-                            }
-                        }
-                    }
+                    detectOutdatedConnections(System.currentTimeMillis());
                     
                     //reset loader client
                     
@@ -486,6 +392,164 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
         
     }
     
+    private boolean hasClientIpLimit() {
+        return connectionLimitRule.getCountLimitPerClientIpDefault() >= 0 || !connectionLimitRule
+                .getCountLimitPerClientIp().isEmpty() || !connectionLimitRule.getCountLimitPerClientApp().isEmpty();
+    }
+    
+    /**
+     * Collect the sdk connections to expel, first the connections over the limit of their client ip, then any sdk
+     * connections if the total count is still over limit.
+     *
+     * @param expelClient collection of expelled connection ids
+     * @param expelCount  count to expel for the total limit
+     */
+    private void collectExpelClients(List<String> expelClient, int expelCount) {
+        Set<Map.Entry<String, Connection>> entries = connections.entrySet();
+        Map<String, AtomicInteger> expelForIp = new HashMap<>(16);
+        
+        //1. calculate expel count  of ip.
+        for (Map.Entry<String, Connection> entry : entries) {
+            
+            Connection client = entry.getValue();
+            String appName = client.getMetaInfo().getAppName();
+            String clientIp = client.getMetaInfo().getClientIp();
+            if (client.getMetaInfo().isSdkSource() && !expelForIp.containsKey(clientIp)) {
+                //get limit for current ip.
+                int countLimitOfIp = connectionLimitRule.getCountLimitOfIp(clientIp);
+                if (countLimitOfIp < 0) {
+                    int countLimitOfApp = connectionLimitRule.getCountLimitOfApp(appName);
+                    countLimitOfIp = countLimitOfApp < 0 ? countLimitOfIp : countLimitOfApp;
+                }
+                if (countLimitOfIp < 0) {
+                    countLimitOfIp = connectionLimitRule.getCountLimitPerClientIpDefault();
+                }
+                
+                if (countLimitOfIp >= 0 && connectionForClientIp.containsKey(clientIp)) {
+                    AtomicInteger currentCountIp = connectionForClientIp.get(clientIp);
+                    if (currentCountIp != null && currentCountIp.get() > countLimitOfIp) {
+                        expelForIp.put(clientIp, new AtomicInteger(currentCountIp.get() - countLimitOfIp));
+                    }
+                }
+            }
+        }
+        
+        Loggers.REMOTE_DIGEST.info("Check over limit for ip limit rule, over limit ip count={}", expelForIp.size());
+        
+        if (expelForIp.size() > 0) {
+            Loggers.REMOTE_DIGEST.info("Over limit ip expel info,", expelForIp);
+        }
+        
+        //2.get expel connection for ip limit.
+        if (!expelForIp.isEmpty()) {
+            for (Map.Entry<String, Connection> entry : entries) {
+                Connection client = entry.getValue();
+                AtomicInteger integer = expelForIp.get(client.getMetaInfo().getClientIp());
+                if (integer != null && integer.intValue() > 0) {
+                    integer.decrementAndGet();
+                    expelClient.add(client.getMetaInfo().getConnectionId());
+                    expelCount--;
+                }
+            }
+        }
+        
+        //3. if total count is still over limit.
+        if (expelCount > 0) {
+            for (Map.Entry<String, Connection> entry : entries) {
+                Connection client = entry.getValue();
+                if (!expelForIp.containsKey(client.getMetaInfo().clientIp) && client.getMetaInfo().isSdkSource()
+                        && expelCount > 0) {
+                    expelClient.add(client.getMetaInfo().getConnectionId());
+                    expelCount--;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Probe the connections whose active time is expired. At most {@link #MAX_DETECTION_PER_ROUND} detection requests
+     * are sent in one round, the rest wait for the next round. A connection is unregistered if the detection fails
+     * and no request is received from it during the detection.
+     *
+     * @param now current time
+     */
+    private void detectOutdatedConnections(long now) {
+        for (String connectionId : livenessWheel.advance(now)) {
+            Connection connection = connections.get(connectionId);
+            if (connection == null || detectingConnections.contains(connectionId)) {
+                continue;
+            }
+            long deadline = connection.getMetaInfo().getLastActiveTime() + KEEP_ALIVE_TIME;
+            if (deadline > now) {
+                livenessWheel.schedule(connectionId, deadline);
+            } else if (detectingConnections.add(connectionId)) {
+                outdatedConnections.offer(connectionId);
+            }
+        }
+        Loggers.REMOTE_DIGEST.info("Out dated connection ,size={}", outdatedConnections.size());
+        String connectionId;
+        for (int i = 0; i < MAX_DETECTION_PER_ROUND && null != (connectionId = outdatedConnections.poll()); i++) {
+            detect(connectionId);
+        }
+    }
+    
+    private void detect(String connectionId) {
+        Connection connection = getConnection(connectionId);
+        if (connection == null) {
+            detectingConnections.remove(connectionId);
+            return;
+        }
+        try {
+            connection.asyncRequest(new ClientDetectionRequest(), new RequestCallBack() {
+                @Override
+                public Executor getExecutor() {
+                    return RpcScheduledExecutor.COMMON_SERVER_EXECUTOR;
+                }
+                
+                @Override
+                public long getTimeout() {
+                    return 1000L;
+                }
+                
+                @Override
+                public void onResponse(Response response) {
+                    boolean success = response != null && response.isSuccess();
+                    if (success) {
+                        connection.freshActiveTime();
+                    }
+                    finishDetection(connectionId, success);
+                }
+                
+                @Override
+                public void onException(Throwable e) {
+                    finishDetection(connectionId, false);
+                }
+            });
+            Loggers.REMOTE_DIGEST.info("[{}]send connection active request ", connectionId);
+        } catch (ConnectionAlreadyClosedException e) {
+            finishDetection(connectionId, false);
+        } catch (Exception e) {
+            Loggers.REMOTE_DIGEST
+                    .error("[{}]Error occurs when check client active detection ,error={}", connectionId, e);
+            finishDetection(connectionId, false);
+        }
+    }
+    
+    private void finishDetection(String connectionId, boolean success) {
+        detectingConnections.remove(connectionId);
+        Connection connection = getConnection(connectionId);
+        if (connection == null) {
+            return;
+        }
+        long deadline = connection.getMetaInfo().getLastActiveTime() + KEEP_ALIVE_TIME;
+        if (success || deadline > System.currentTimeMillis()) {
+            livenessWheel.schedule(connectionId, deadline);
+            return;
+        }
+        Loggers.REMOTE_DIGEST.info("[{}]Unregister Out dated connection....", connectionId);
+        unregister(connectionId);
+    }
+    
     private RequestMeta buildMeta() {
         RequestMeta meta = new RequestMeta();
         meta.setClientVersion(VersionUtils.getFullClientVersion());
@@ -509,12 +573,7 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
         
         if (connection != null) {
             if (connection.getMetaInfo().isSdkSource()) {
-                ConnectResetRequest connectResetRequest = new ConnectResetRequest();
-                if (StringUtils.isNotBlank(redirectAddress) && redirectAddress.contains(Constants.COLON)) {
-                    String[] split = redirectAddress.split(Constants.COLON);
-                    connectResetRequest.setServerIp(split[0]);
-                    connectResetRequest.setServerPort(split[1]);
-                }
+                ConnectResetRequest connectResetRequest = buildResetRequest(redirectAddress);
                 try {
                     connection.request(connectResetRequest, 3000L);
                 } catch (ConnectionAlreadyClosedException e) {
@@ -527,6 +586,73 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
         
     }
     
+    /**
+     * Send reset requests to sdk connections to redirect them to other servers.
+     *
+     * @param redirectQuotas count of connections to redirect for each server address.
+     * @return count of connections reset.
+     */
+    public int rebalance(Map<String, Integer> redirectQuotas) {
+        Iterator<Map.Entry<String, Integer>> quotas = redirectQuotas.entrySet().iterator();
+        String redirectAddress = null;
+        int remain = 0;
+        int resetCount = 0;
+        for (Map.Entry<String, Connection> entry : connections.entrySet()) {
+            if (!entry.getValue().getMetaInfo().isSdkSource()) {
+                continue;
+            }
+            while (remain <= 0) {
+                if (!quotas.hasNext()) {
+                    return resetCount;
+                }
+                Map.Entry<String, Integer> quota = quotas.next();
+                redirectAddress = quota.getKey();
+                remain = quota.getValue();
+            }
+            try {
+                final String connectionId = entry.getKey();
+                entry.getValue().asyncRequest(buildResetRequest(redirectAddress), new RequestCallBack() {
+                    @Override
+                    public Executor getExecutor() {
+                        return RpcScheduledExecutor.COMMON_SERVER_EXECUTOR;
+                    }
+                    
+                    @Override
+                    public long getTimeout() {
+                        return RESET_REQUEST_TIMEOUT;
+                    }
+                    
+                    @Override
+                    public void onResponse(Response response) {
+                    }
+                    
+                    @Override
+                    public void onException(Throwable e) {
+                        Loggers.REMOTE_DIGEST.warn("[{}]Rebalance reset request is not acked, error={}", connectionId,
+                                e.getMessage());
+                    }
+                });
+                remain--;
+                resetCount++;
+            } catch (ConnectionAlreadyClosedException e) {
+                unregister(entry.getKey());
+            } catch (Exception e) {
+                Loggers.REMOTE_DIGEST.error("Error occurs when rebalance connection :{}", entry.getKey(), e);
+            }
+        }
+        return resetCount;
+    }
+    
+    private ConnectResetRequest buildResetRequest(String redirectAddress) {
+        ConnectResetRequest connectResetRequest = new ConnectResetRequest();
+        if (StringUtils.isNotBlank(redirectAddress) && redirectAddress.contains(Constants.COLON)) {
+            String[] split = redirectAddress.split(Constants.COLON);
+            connectResetRequest.setServerIp(split[0]);
+            connectResetRequest.setServerPort(split[1]);
+        }
+        return connectResetRequest;
+    }
+    
     /**
      * get all client count.
      *
@@ -566,9 +692,7 @@ public class ConnectionManager extends Subscriber<ConnectionLimitRuleChangeEvent
      * @return
      */
     public int currentSdkClientCount() {
-        Map<String, String> filter = new HashMap<String, String>(2);
-        filter.put(RemoteConstants.LABEL_SOURCE, RemoteConstants.LABEL_SOURCE_SDK);
-        return currentClientsCount(filter);
+        return sdkConnectionCount.get();
     }
     
     public Map<String, Connection> currentClients() {
@@ -0,0 +1,218 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.remote.core;
+
+import com.alibaba.nacos.api.remote.request.RequestMeta;
+import com.alibaba.nacos.api.remote.request.ServerLoaderInfoRequest;
+import com.alibaba.nacos.api.remote.response.Response;
+import com.alibaba.nacos.api.remote.response.ServerLoaderInfoResponse;
+import com.alibaba.nacos.common.utils.StringUtils;
+import com.alibaba.nacos.core.cluster.Member;
+import com.alibaba.nacos.core.cluster.MemberUtil;
+import com.alibaba.nacos.core.cluster.ServerMemberManager;
+import com.alibaba.nacos.core.cluster.remote.ClusterRpcClientProxy;
+import com.alibaba.nacos.core.remote.ConnectionManager;
+import com.alibaba.nacos.core.utils.GlobalExecutor;
+import com.alibaba.nacos.core.utils.Loggers;
+import com.alibaba.nacos.core.utils.RemoteUtils;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rebalance sdk connections across cluster members automatically.
+ *
+ * <p>Each member periodically gathers the sdk connection count and cpu of all members through the cluster rpc
+ * channel. A member whose count is over the average by {@link RemoteUtils#LOADER_FACTOR} resets part of its excess
+ * connections and recommends the members under the average to the clients, in proportion to their deficits. Members
+ * with a busy cpu are not recommended. At most {@code nacos.remote.server.rebalance.max.count} connections are reset
+ * in one round, so the cluster converges gradually without a reconnection storm.
+ *
+ * @author nacos
+ */
+@Component
+public class ConnectionRebalancer {
+    
+    private static final String REBALANCE_ENABLED = "nacos.remote.server.rebalance.enabled";
+    
+    private static final String REBALANCE_INTERVAL = "nacos.remote.server.rebalance.interval";
+    
+    private static final String REBALANCE_MAX_COUNT = "nacos.remote.server.rebalance.max.count";
+    
+    private static final long DEFAULT_REBALANCE_INTERVAL = 30000L;
+    
+    private static final int DEFAULT_REBALANCE_MAX_COUNT = 100;
+    
+    private static final long LOADER_INFO_TIMEOUT = 1000L;
+    
+    private static final float BUSY_CPU = 0.8f;
+    
+    private static final String SDK_CON_COUNT = "sdkConCount";
+    
+    private static final String CPU = "cpu";
+    
+    @Autowired
+    private ConnectionManager connectionManager;
+    
+    @Autowired
+    private ServerMemberManager serverMemberManager;
+    
+    @Autowired
+    private ClusterRpcClientProxy clusterRpcClientProxy;
+    
+    @Autowired
+    private ServerLoaderInfoRequestHandler serverLoaderInfoRequestHandler;
+    
+    private int maxCount;
+    
+    @PostConstruct
+    protected void init() {
+        if (!EnvUtil.getProperty(REBALANCE_ENABLED, Boolean.class, false)) {
+            return;
+        }
+        long interval = EnvUtil.getProperty(REBALANCE_INTERVAL, Long.class, DEFAULT_REBALANCE_INTERVAL);
+        maxCount = EnvUtil.getProperty(REBALANCE_MAX_COUNT, Integer.class, DEFAULT_REBALANCE_MAX_COUNT);
+        GlobalExecutor.scheduleConnectionRebalance(this::rebalance, interval);
+        Loggers.REMOTE.info("Connection rebalancer started, interval={}ms, maxCount={}", interval, maxCount);
+    }
+    
+    private void rebalance() {
+        try {
+            Map<String, Integer> sdkCounts = new HashMap<>(16);
+            Set<String> busyMembers = new HashSet<>();
+            if (!gatherLoaderInfo(sdkCounts, busyMembers)) {
+                return;
+            }
+            String self = serverMemberManager.getSelf().getAddress();
+            Map<String, Integer> redirectQuotas = plan(sdkCounts, busyMembers, self, RemoteUtils.LOADER_FACTOR,
+                    maxCount);
+            if (redirectQuotas.isEmpty()) {
+                return;
+            }
+            Loggers.REMOTE_DIGEST.info("Rebalance connections, sdkCounts={}, redirect={}", sdkCounts, redirectQuotas);
+            int resetCount = connectionManager.rebalance(redirectQuotas);
+            Loggers.REMOTE_DIGEST.info("Rebalance connections finished, reset count={}", resetCount);
+        } catch (Throwable e) {
+            Loggers.REMOTE.error("Error occurs during connection rebalance", e);
+        }
+    }
+    
+    /**
+     * Gather loader info of all members, fail if the info of any member is missing to avoid rebalance with a partial
+     * view of the cluster.
+     */
+    private boolean gatherLoaderInfo(Map<String, Integer> sdkCounts, Set<String> busyMembers) throws Exception {
+        Collection<Member> members = serverMemberManager.allMembersWithoutSelf();
+        if (members.isEmpty()) {
+            return false;
+        }
+        putLoaderInfo(serverMemberManager.getSelf().getAddress(),
+                serverLoaderInfoRequestHandler.handle(new ServerLoaderInfoRequest(), new RequestMeta()), sdkCounts,
+                busyMembers);
+        for (Member member : members) {
+            if (!MemberUtil.isSupportedLongCon(member)) {
+                return false;
+            }
+            Response response = clusterRpcClientProxy
+                    .sendRequest(member, new ServerLoaderInfoRequest(), LOADER_INFO_TIMEOUT);
+            if (!(response instanceof ServerLoaderInfoResponse)) {
+                Loggers.REMOTE_DIGEST.warn("Skip rebalance, fail to get loader info of member={}, response={}",
+                        member.getAddress(), response);
+                return false;
+            }
+            putLoaderInfo(member.getAddress(), (ServerLoaderInfoResponse) response, sdkCounts, busyMembers);
+        }
+        return true;
+    }
+    
+    private void putLoaderInfo(String address, ServerLoaderInfoResponse response, Map<String, Integer> sdkCounts,
+            Set<String> busyMembers) {
+        Map<String, String> metrics = response.getLoaderMetrics();
+        String sdkCount = metrics.get(SDK_CON_COUNT);
+        sdkCounts.put(address, StringUtils.isBlank(sdkCount) ? 0 : Integer.parseInt(sdkCount));
+        String cpu = metrics.get(CPU);
+        if (StringUtils.isNotBlank(cpu) && Float.parseFloat(cpu) >= BUSY_CPU) {
+            busyMembers.add(address);
+        }
+    }
+    
+    /**
+     * Plan the connections to redirect from self.
+     *
+     * @param sdkCounts   sdk connection count of all members
+     * @param busyMembers members not to redirect to
+     * @param self        address of self
+     * @param factor      tolerance factor over the average count
+     * @param maxCount    max count to redirect
+     * @return count of connections to redirect for each member address, in descending order of count
+     */
+    static Map<String, Integer> plan(Map<String, Integer> sdkCounts, Set<String> busyMembers, String self,
+            float factor, int maxCount) {
+        Integer selfCount = sdkCounts.get(self);
+        if (selfCount == null || sdkCounts.size() < 2) {
+            return Collections.emptyMap();
+        }
+        long total = 0;
+        for (int count : sdkCounts.values()) {
+            total += count;
+        }
+        double avg = (double) total / sdkCounts.size();
+        if (selfCount <= avg * (1 + factor)) {
+            return Collections.emptyMap();
+        }
+        
+        List<Map.Entry<String, Integer>> deficits = new ArrayList<>();
+        long totalDeficit = 0;
+        for (Map.Entry<String, Integer> entry : sdkCounts.entrySet()) {
+            int deficit = (int) (avg - entry.getValue());
+            if (deficit > 0 && !busyMembers.contains(entry.getKey())) {
+                deficits.add(new AbstractMap.SimpleEntry<>(entry.getKey(), deficit));
+                totalDeficit += deficit;
+            }
+        }
+        if (deficits.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        deficits.sort((o1, o2) -> o2.getValue().compareTo(o1.getValue()));
+        
+        // Every member over average sheds its own excess, the members under average receive about their deficits.
+        int remain = (int) Math.min(Math.min(maxCount, (long) (selfCount - avg)), totalDeficit);
+        Map<String, Integer> result = new LinkedHashMap<>();
+        final int shed = remain;
+        for (Map.Entry<String, Integer> entry : deficits) {
+            if (remain <= 0) {
+                break;
+            }
+            int quota = (int) Math.min(remain, (shed * (long) entry.getValue() + totalDeficit - 1) / totalDeficit);
+            result.put(entry.getKey(), quota);
+            remain -= quota;
+        }
+        return result;
+    }
+}
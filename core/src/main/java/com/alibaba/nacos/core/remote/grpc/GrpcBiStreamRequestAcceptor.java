@@ -201,6 +201,15 @@ public class GrpcBiStreamRequestAcceptor extends BiRequestStreamGrpc.BiRequestSt
             }
         };
         
+        if (responseObserver instanceof ServerCallStreamObserver) {
+            final String connectionId = CONTEXT_KEY_CONN_ID.get();
+            ((ServerCallStreamObserver) responseObserver).setOnReadyHandler(() -> {
+                Connection connection = connectionManager.getConnection(connectionId);
+                if (connection instanceof GrpcConnection) {
+                    ((GrpcConnection) connection).onReady();
+                }
+            });
+        }
         return streamObserver;
     }
     
@@ -23,13 +23,11 @@ import com.alibaba.nacos.api.remote.RequestCallBack;
 import com.alibaba.nacos.api.remote.RequestFuture;
 import com.alibaba.nacos.api.remote.request.Request;
 import com.alibaba.nacos.api.remote.response.Response;
-import com.alibaba.nacos.common.remote.client.grpc.GrpcUtils;
 import com.alibaba.nacos.common.remote.exception.ConnectionAlreadyClosedException;
 import com.alibaba.nacos.core.remote.Connection;
 import com.alibaba.nacos.core.remote.ConnectionMeta;
 import com.alibaba.nacos.core.remote.RpcAckCallbackSynchronizer;
 import com.alibaba.nacos.core.utils.Loggers;
-import io.grpc.StatusRuntimeException;
 import io.grpc.netty.shaded.io.netty.channel.Channel;
 import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
@@ -42,31 +40,28 @@ import io.grpc.stub.StreamObserver;
  */
 public class GrpcConnection extends Connection {
     
+    private static final int MAX_PENDING_REQUESTS = Integer
+            .getInteger("nacos.remote.server.grpc.outbound.max.pending", 4096);
+    
     private StreamObserver streamObserver;
     
     private Channel channel;
     
+    private final GrpcOutboundQueue outboundQueue;
+    
     public GrpcConnection(ConnectionMeta metaInfo, StreamObserver streamObserver, Channel channel) {
         super(metaInfo);
         this.streamObserver = streamObserver;
         this.channel = channel;
+        this.outboundQueue = new GrpcOutboundQueue(metaInfo.getConnectionId(), streamObserver, MAX_PENDING_REQUESTS,
+                this::traceIfNecessary);
     }
     
-    private void sendRequestNoAck(Request request) throws NacosException {
-        try {
-            //StreamObserver#onNext() is not thread-safe,synchronized is required to avoid direct memory leak.
-            synchronized (streamObserver) {
-                
-                Payload payload = GrpcUtils.convert(request);
-                traceIfNecessary(payload);
-                streamObserver.onNext(payload);
-            }
-        } catch (Exception e) {
-            if (e instanceof StatusRuntimeException) {
-                throw new ConnectionAlreadyClosedException(e);
-            }
-            throw e;
-        }
+    /**
+     * Called when the transport of the bi stream becomes ready, continue sending the queued requests.
+     */
+    public void onReady() {
+        outboundQueue.drain();
     }
     
     private void traceIfNecessary(Payload payload) {
@@ -91,20 +86,31 @@ public class GrpcConnection extends Connection {
                 callBack, () -> RpcAckCallbackSynchronizer.clearFuture(getMetaInfo().getConnectionId(), requestId));
         
         RpcAckCallbackSynchronizer.syncCallback(getMetaInfo().getConnectionId(), requestId, defaultPushFuture);
-        sendRequestNoAck(request);
+        try {
+            outboundQueue.offer(request, defaultPushFuture);
+        } catch (NacosException e) {
+            RpcAckCallbackSynchronizer.clearFuture(getMetaInfo().getConnectionId(), requestId);
+            throw e;
+        }
         return defaultPushFuture;
     }
     
     @Override
     public Response request(Request request, long timeoutMills) throws NacosException {
         DefaultRequestFuture pushFuture = (DefaultRequestFuture) sendRequestInner(request, null);
+        Response response;
         try {
-            return pushFuture.get(timeoutMills);
+            response = pushFuture.get(timeoutMills);
         } catch (Exception e) {
             throw new NacosException(NacosException.SERVER_ERROR, e);
         } finally {
             RpcAckCallbackSynchronizer.clearFuture(getMetaInfo().getConnectionId(), pushFuture.getRequestId());
         }
+        if (null == response) {
+            throw new NacosException(NacosException.SERVER_ERROR,
+                    "Send request to client fail, requestId=" + pushFuture.getRequestId());
+        }
+        return response;
     }
     
     @Override
@@ -130,6 +136,7 @@ public class GrpcConnection extends Connection {
             
             closeBiStream();
             channel.close();
+            outboundQueue.clear(new ConnectionAlreadyClosedException("Connection " + connectionId + " is closed"));
             
         } catch (Exception e) {
             Loggers.REMOTE_DIGEST.warn("[{}] connection  close exception  : {}", connectionId, e);
@@ -0,0 +1,285 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.remote.grpc;
+
+import com.alibaba.nacos.api.config.remote.request.ConfigChangeNotifyRequest;
+import com.alibaba.nacos.api.config.remote.response.ConfigChangeNotifyResponse;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.grpc.auto.Payload;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
+import com.alibaba.nacos.api.naming.remote.response.NotifySubscriberResponse;
+import com.alibaba.nacos.api.remote.DefaultRequestFuture;
+import com.alibaba.nacos.api.remote.request.Request;
+import com.alibaba.nacos.api.remote.response.Response;
+import com.alibaba.nacos.common.remote.client.grpc.GrpcUtils;
+import com.alibaba.nacos.common.remote.exception.ConnectionAlreadyClosedException;
+import com.alibaba.nacos.common.remote.exception.ConnectionBusyException;
+import com.alibaba.nacos.core.remote.RpcAckCallbackSynchronizer;
+import com.alibaba.nacos.core.utils.Loggers;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Outbound queue of {@link GrpcConnection}.
+ *
+ * <p>Requests are encoded by the submitting thread and queued, the queue is drained to the stream only while the
+ * transport is ready, so the requests of a slow client wait in this bounded queue instead of the netty buffers. A
+ * queued request superseded by a newer request of the same resource is dropped and acknowledged as success, see
+ * {@link #coalesceKey(Request)}.
+ *
+ * @author nacos
+ */
+class GrpcOutboundQueue {
+    
+    /**
+     * The pending count is logged when it reaches this threshold, so a slow client is logged once per backlog.
+     */
+    static final int PENDING_DIGEST_THRESHOLD = 128;
+    
+    private final String connectionId;
+    
+    private final StreamObserver streamObserver;
+    
+    private final int maxPendingSize;
+    
+    private final Consumer<Payload> tracer;
+    
+    private final Queue<Entry> queue = new ConcurrentLinkedQueue<>();
+    
+    private final Map<String, Entry> coalescing = new ConcurrentHashMap<>();
+    
+    private final AtomicInteger pendingSize = new AtomicInteger();
+    
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    
+    GrpcOutboundQueue(String connectionId, StreamObserver streamObserver, int maxPendingSize,
+            Consumer<Payload> tracer) {
+        this.connectionId = connectionId;
+        this.streamObserver = streamObserver;
+        this.maxPendingSize = maxPendingSize;
+        this.tracer = tracer;
+    }
+    
+    /**
+     * Queue the request and send it if the transport is ready.
+     *
+     * @param request request
+     * @param future  future of request, the future is failed if the request can not be sent
+     * @throws NacosException if the connection is closed or too many requests are pending
+     */
+    void offer(Request request, DefaultRequestFuture future) throws NacosException {
+        if (isCancelled()) {
+            throw new ConnectionAlreadyClosedException("Connection " + connectionId + " is closed");
+        }
+        final Payload payload = GrpcUtils.convert(request);
+        final String coalesceKey = coalesceKey(request);
+        if (null != coalesceKey) {
+            Entry queued = coalescing.get(coalesceKey);
+            Request superseded = null == queued ? null : queued.replace(request, payload, future);
+            if (null != superseded) {
+                acknowledgeSuperseded(superseded);
+                drain();
+                return;
+            }
+        }
+        final Entry entry = new Entry(coalesceKey, request, payload, future);
+        final int pending = pendingSize.incrementAndGet();
+        if (pending > maxPendingSize) {
+            pendingSize.decrementAndGet();
+            throw new ConnectionBusyException(
+                    "Connection " + connectionId + " has too many pending requests, limit is " + maxPendingSize);
+        }
+        if (pending == PENDING_DIGEST_THRESHOLD) {
+            Loggers.REMOTE_DIGEST.warn("[{}]Pending request count reaches {}", connectionId, pending);
+        }
+        if (null != coalesceKey) {
+            coalescing.put(coalesceKey, entry);
+        }
+        queue.offer(entry);
+        drain();
+    }
+    
+    /**
+     * Send the queued requests until the queue is empty or the transport is not ready. Only one thread drains the
+     * queue at a time, the others return immediately.
+     */
+    void drain() {
+        do {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                Entry entry;
+                while (isReady() && null != (entry = queue.poll())) {
+                    if (entry.markSent()) {
+                        pendingSize.decrementAndGet();
+                        if (null != entry.coalesceKey) {
+                            coalescing.remove(entry.coalesceKey, entry);
+                        }
+                        send(entry);
+                    }
+                }
+            } finally {
+                draining.set(false);
+            }
+        } while (isReady() && !queue.isEmpty());
+    }
+    
+    /**
+     * Fail all pending requests.
+     *
+     * @param cause cause of failure
+     */
+    void clear(Exception cause) {
+        Entry entry;
+        while (null != (entry = queue.poll())) {
+            if (entry.markSent()) {
+                pendingSize.decrementAndGet();
+                fail(entry, cause);
+            }
+        }
+        coalescing.clear();
+    }
+    
+    int size() {
+        return pendingSize.get();
+    }
+    
+    int queuedSize() {
+        return queue.size();
+    }
+    
+    private void send(Entry entry) {
+        try {
+            tracer.accept(entry.payload);
+            //StreamObserver#onNext() is not thread-safe,synchronized is required to avoid direct memory leak.
+            synchronized (streamObserver) {
+                streamObserver.onNext(entry.payload);
+            }
+        } catch (StatusRuntimeException e) {
+            fail(entry, new ConnectionAlreadyClosedException(e));
+            clear(new ConnectionAlreadyClosedException(e));
+        } catch (Exception e) {
+            Loggers.REMOTE_DIGEST.warn("[{}]Send request to client error, requestId={}", connectionId,
+                    entry.request.getRequestId(), e);
+            fail(entry, e);
+        }
+    }
+    
+    private void fail(Entry entry, Exception cause) {
+        if (null != entry.future) {
+            RpcAckCallbackSynchronizer.clearFuture(connectionId, entry.request.getRequestId());
+            entry.future.setFailResult(cause);
+        }
+    }
+    
+    private void acknowledgeSuperseded(Request request) {
+        Response response = request instanceof NotifySubscriberRequest ? new NotifySubscriberResponse()
+                : new ConfigChangeNotifyResponse();
+        response.setRequestId(request.getRequestId());
+        RpcAckCallbackSynchronizer.ackNotify(connectionId, response);
+    }
+    
+    private boolean isReady() {
+        return !(streamObserver instanceof ServerCallStreamObserver) || ((ServerCallStreamObserver) streamObserver)
+                .isReady();
+    }
+    
+    private boolean isCancelled() {
+        return streamObserver instanceof ServerCallStreamObserver && ((ServerCallStreamObserver) streamObserver)
+                .isCancelled();
+    }
+    
+    /**
+     * Get the resource key of request. Only the latest queued request of one resource is sent, because the client
+     * handles these requests by their full content or by querying the latest data.
+     *
+     * @param request request
+     * @return resource key, or {@code null} if the request can't be coalesced
+     */
+    static String coalesceKey(Request request) {
+        if (request instanceof NotifySubscriberRequest) {
+            ServiceInfo serviceInfo = ((NotifySubscriberRequest) request).getServiceInfo();
+            return null == serviceInfo ? null : NotifySubscriberRequest.class.getSimpleName() + "@" + serviceInfo
+                    .getKey();
+        }
+        if (request instanceof ConfigChangeNotifyRequest) {
+            ConfigChangeNotifyRequest notifyRequest = (ConfigChangeNotifyRequest) request;
+            return ConfigChangeNotifyRequest.class.getSimpleName() + "@" + notifyRequest.getDataId() + "+"
+                    + notifyRequest.getGroup() + "+" + notifyRequest.getTenant();
+        }
+        return null;
+    }
+    
+    /**
+     * Queued request. A pending entry of a coalescible request is replaced in place by the newer request of the same
+     * resource, so one resource holds at most one queued entry and one encoded payload.
+     */
+    private static class Entry {
+        
+        private final String coalesceKey;
+        
+        private Request request;
+        
+        private Payload payload;
+        
+        private DefaultRequestFuture future;
+        
+        private boolean sent;
+        
+        private Entry(String coalesceKey, Request request, Payload payload, DefaultRequestFuture future) {
+            this.coalesceKey = coalesceKey;
+            this.request = request;
+            this.payload = payload;
+            this.future = future;
+        }
+        
+        private synchronized boolean markSent() {
+            if (sent) {
+                return false;
+            }
+            sent = true;
+            return true;
+        }
+        
+        /**
+         * Replace the content of the entry if it is not sent yet.
+         *
+         * @return the superseded request, or {@code null} if the entry is already sent
+         */
+        private synchronized Request replace(Request request, Payload payload, DefaultRequestFuture future) {
+            if (sent) {
+                return null;
+            }
+            Request superseded = this.request;
+            this.request = request;
+            this.payload = payload;
+            this.future = future;
+            return superseded;
+        }
+    }
+}
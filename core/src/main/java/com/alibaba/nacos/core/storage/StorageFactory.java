@@ -18,6 +18,7 @@ package com.alibaba.nacos.core.storage;
 
 import com.alibaba.nacos.core.storage.kv.FileKvStorage;
 import com.alibaba.nacos.core.storage.kv.KvStorage;
+import com.alibaba.nacos.core.storage.kv.LogKvStorage;
 import com.alibaba.nacos.core.storage.kv.MemoryKvStorage;
 
 /**
@@ -41,6 +42,8 @@ public final class StorageFactory {
         switch (type) {
             case File:
                 return new FileKvStorage(baseDir);
+            case Log:
+                return new LogKvStorage(baseDir);
             case Memory:
                 return new MemoryKvStorage();
             case RocksDB:
@@ -34,6 +34,11 @@ public interface KvStorage {
          */
         File,
     
+        /**
+         * Local append-only segment log storage.
+         */
+        Log,
+    
         /**
          * Local memory storage.
          */
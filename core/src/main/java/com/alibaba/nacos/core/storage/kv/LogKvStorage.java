@@ -0,0 +1,750 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.storage.kv;
+
+import com.alibaba.nacos.common.executor.ExecutorFactory;
+import com.alibaba.nacos.common.executor.NameThreadFactory;
+import com.alibaba.nacos.common.utils.ByteUtils;
+import com.alibaba.nacos.common.utils.ClassUtils;
+import com.alibaba.nacos.core.exception.ErrorCode;
+import com.alibaba.nacos.core.exception.KvStorageException;
+import com.alibaba.nacos.core.utils.Loggers;
+import com.alibaba.nacos.sys.utils.DiskUtils;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * Kv storage based on an append-only segment log.
+ *
+ * <p>Every write is appended to the active segment as one checksummed record, so a batch write is atomic, and an
+ * in-memory hash index maps each key to the position of its latest value. Sealed segments are never modified, so a
+ * snapshot only hard links the segment files, and the sealed segments whose garbage is above
+ * {@link #COMPACT_GARBAGE_RATIO} are rewritten by background compaction.
+ *
+ * <p>Record format: {@code crc32(int) | length(int) | body}, the body is a list of operations in the format
+ * {@code type(byte) | keyLength(int) | key | valueLength(int) | value}.
+ *
+ * @author nacos
+ */
+public class LogKvStorage implements KvStorage {
+    
+    static final String SEGMENT_PREFIX = "segment-";
+    
+    static final String SEGMENT_SUFFIX = ".log";
+    
+    private static final long DEFAULT_MAX_SEGMENT_SIZE = 64L * 1024 * 1024;
+    
+    private static final double COMPACT_GARBAGE_RATIO = 0.5D;
+    
+    private static final int COMPACT_BATCH_SIZE = 256;
+    
+    private static final int RECORD_HEADER_SIZE = 8;
+    
+    private static final byte OP_PUT = 1;
+    
+    private static final byte OP_DELETE = 2;
+    
+    private static final ExecutorService COMPACT_EXECUTOR = ExecutorFactory.Managed
+            .newSingleExecutorService(ClassUtils.getCanonicalName(LogKvStorage.class),
+                    new NameThreadFactory("com.alibaba.nacos.core.storage.log-compaction"));
+    
+    private final File baseDir;
+    
+    private final long maxSegmentSize;
+    
+    private final Map<Key, Location> index = new ConcurrentHashMap<>();
+    
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    
+    /**
+     * Reads and writes hold the read lock, snapshot, snapshot load and segment removal hold the write lock.
+     */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private final ReentrantReadWriteLock.ReadLock readLock = lock.readLock();
+    
+    private final ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
+    
+    /**
+     * Serializes the appends to the active segment and the index updates.
+     */
+    private final Object appendLock = new Object();
+    
+    private final Object compactLock = new Object();
+    
+    private final AtomicBoolean compacting = new AtomicBoolean(false);
+    
+    private volatile Segment active;
+    
+    private volatile boolean shutdown = false;
+    
+    public LogKvStorage(String baseDir) throws IOException {
+        this(baseDir, DEFAULT_MAX_SEGMENT_SIZE);
+    }
+    
+    public LogKvStorage(String baseDir, long maxSegmentSize) throws IOException {
+        this.baseDir = new File(baseDir);
+        this.maxSegmentSize = maxSegmentSize;
+        DiskUtils.forceMkdir(baseDir);
+        recover();
+    }
+    
+    @Override
+    public byte[] get(byte[] key) throws KvStorageException {
+        readLock.lock();
+        try {
+            Location location = index.get(new Key(key));
+            return null == location ? null : location.read();
+        } catch (IOException e) {
+            throw new KvStorageException(ErrorCode.KVStorageReadError, e);
+        } finally {
+            readLock.unlock();
+        }
+    }
+    
+    @Override
+    public Map<byte[], byte[]> batchGet(List<byte[]> keys) throws KvStorageException {
+        readLock.lock();
+        try {
+            Map<byte[], byte[]> result = new HashMap<>(keys.size());
+            for (byte[] key : keys) {
+                byte[] val = get(key);
+                if (val != null) {
+                    result.put(key, val);
+                }
+            }
+            return result;
+        } finally {
+            readLock.unlock();
+        }
+    }
+    
+    @Override
+    public void put(byte[] key, byte[] value) throws KvStorageException {
+        batchPut(Collections.singletonList(key), Collections.singletonList(value));
+    }
+    
+    @Override
+    public void batchPut(List<byte[]> keys, List<byte[]> values) throws KvStorageException {
+        if (keys.size() != values.size()) {
+            throw new KvStorageException(ErrorCode.KVStorageBatchWriteError,
+                    "key's size must be equal to value's size");
+        }
+        List<Operation> operations = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            byte[] value = values.get(i);
+            operations.add(new Operation(OP_PUT, keys.get(i), null == value ? ByteUtils.EMPTY : value));
+        }
+        write(operations, ErrorCode.KVStorageWriteError);
+    }
+    
+    @Override
+    public void delete(byte[] key) throws KvStorageException {
+        batchDelete(Collections.singletonList(key));
+    }
+    
+    @Override
+    public void batchDelete(List<byte[]> keys) throws KvStorageException {
+        List<Operation> operations = new ArrayList<>(keys.size());
+        for (byte[] key : keys) {
+            if (index.containsKey(new Key(key))) {
+                operations.add(new Operation(OP_DELETE, key, ByteUtils.EMPTY));
+            }
+        }
+        write(operations, ErrorCode.KVStorageDeleteError);
+    }
+    
+    @Override
+    public void doSnapshot(String backupPath) throws KvStorageException {
+        writeLock.lock();
+        try {
+            File backupDir = new File(backupPath);
+            DiskUtils.forceMkdir(backupDir);
+            active.channel.force(false);
+            for (Segment each : segments.values()) {
+                if (each.size > 0) {
+                    linkOrCopy(each.file, new File(backupDir, each.file.getName()));
+                }
+            }
+            // The linked active segment must not be appended any more.
+            if (active.size > 0) {
+                roll();
+            }
+        } catch (IOException e) {
+            throw new KvStorageException(ErrorCode.KVStorageSnapshotSaveError, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    @Override
+    public void snapshotLoad(String path) throws KvStorageException {
+        writeLock.lock();
+        try {
+            File snapshotDir = new File(path);
+            // If snapshot path is non-exist, means snapshot is empty
+            if (!snapshotDir.exists()) {
+                return;
+            }
+            for (Segment each : segments.values()) {
+                each.close();
+                Files.deleteIfExists(each.file.toPath());
+            }
+            segments.clear();
+            index.clear();
+            for (File each : listSegmentFiles(snapshotDir)) {
+                linkOrCopy(each, new File(baseDir, each.getName()));
+            }
+            recover();
+            // The segments may be linked with the snapshot files, new writes go to a new segment.
+            if (active.size > 0) {
+                roll();
+            }
+        } catch (IOException e) {
+            throw new KvStorageException(ErrorCode.KVStorageSnapshotLoadError, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    @Override
+    public List<byte[]> allKeys() throws KvStorageException {
+        List<byte[]> result = new ArrayList<>(index.size());
+        for (Key each : index.keySet()) {
+            result.add(each.origin);
+        }
+        return result;
+    }
+    
+    @Override
+    public void shutdown() {
+        writeLock.lock();
+        try {
+            shutdown = true;
+            for (Segment each : segments.values()) {
+                each.close();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * Rewrite the live records of the sealed segments whose garbage is above {@link #COMPACT_GARBAGE_RATIO} into the
+     * active segment, then remove these segments.
+     *
+     * <p>The delete records are dropped only if no older segment is kept, otherwise they are rewritten too, so that
+     * the deleted values in the kept segments are not recovered again.
+     *
+     * @throws IOException io exception during compaction
+     */
+    void compact() throws IOException {
+        synchronized (compactLock) {
+            final List<Segment> sealed;
+            synchronized (appendLock) {
+                sealed = new ArrayList<>(segments.headMap(active.id).values());
+            }
+            final List<Segment> compacted = new ArrayList<>(sealed.size());
+            boolean olderKept = false;
+            for (Segment segment : sealed) {
+                if (!segment.isGarbageAboveRatio()) {
+                    olderKept = true;
+                    continue;
+                }
+                final boolean keepDeletes = olderKept;
+                readLock.lock();
+                try {
+                    if (shutdown || segments.get(segment.id) != segment) {
+                        return;
+                    }
+                    final List<Operation> live = new ArrayList<>(COMPACT_BATCH_SIZE);
+                    scan(segment, operations -> {
+                        for (Operation each : operations) {
+                            if (isLive(segment, each, keepDeletes)) {
+                                live.add(each);
+                            }
+                        }
+                        if (live.size() >= COMPACT_BATCH_SIZE) {
+                            rewrite(segment, live, keepDeletes);
+                            live.clear();
+                        }
+                    });
+                    rewrite(segment, live, keepDeletes);
+                } finally {
+                    readLock.unlock();
+                }
+                compacted.add(segment);
+            }
+            writeLock.lock();
+            try {
+                if (shutdown) {
+                    return;
+                }
+                for (Segment each : compacted) {
+                    if (segments.remove(each.id, each)) {
+                        each.close();
+                        Files.deleteIfExists(each.file.toPath());
+                    }
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+    
+    /**
+     * Whether the file is created by log kv storage.
+     *
+     * @param fileName file name
+     * @return {@code true} if the file is a segment file or its temporary copy
+     */
+    public static boolean isStorageFile(String fileName) {
+        return fileName.startsWith(SEGMENT_PREFIX);
+    }
+    
+    int segmentCount() {
+        return segments.size();
+    }
+    
+    private void write(List<Operation> operations, ErrorCode errorCode) throws KvStorageException {
+        if (operations.isEmpty()) {
+            return;
+        }
+        ByteBuffer record = encode(operations);
+        readLock.lock();
+        try {
+            if (shutdown) {
+                throw new KvStorageException(errorCode, "storage " + baseDir + " has been shutdown");
+            }
+            synchronized (appendLock) {
+                append(record, operations);
+            }
+        } catch (IOException e) {
+            throw new KvStorageException(errorCode, e);
+        } finally {
+            readLock.unlock();
+        }
+        maybeCompact();
+    }
+    
+    private void rewrite(Segment segment, List<Operation> live, boolean keepDeletes) throws IOException {
+        synchronized (appendLock) {
+            List<Operation> operations = new ArrayList<>(live.size());
+            for (Operation each : live) {
+                if (isLive(segment, each, keepDeletes)) {
+                    operations.add(new Operation(each.type, each.key, each.value));
+                }
+            }
+            if (!operations.isEmpty()) {
+                append(encode(operations), operations);
+            }
+        }
+    }
+    
+    private boolean isLive(Segment segment, Operation operation, boolean keepDeletes) {
+        Location location = index.get(new Key(operation.key));
+        if (OP_DELETE == operation.type) {
+            return keepDeletes && null == location;
+        }
+        return null != location && location.segment == segment && location.valueOffset == operation.valueOffset;
+    }
+    
+    private void append(ByteBuffer record, List<Operation> operations) throws IOException {
+        if (active.size >= maxSegmentSize) {
+            roll();
+        }
+        final Segment segment = active;
+        long position = segment.append(record) + RECORD_HEADER_SIZE;
+        for (Operation each : operations) {
+            each.valueOffset = position + each.size() - each.value.length;
+            position += each.size();
+        }
+        apply(segment, operations);
+    }
+    
+    private void apply(Segment segment, List<Operation> operations) {
+        for (Operation each : operations) {
+            Location old;
+            if (OP_PUT == each.type) {
+                old = index.put(new Key(each.key),
+                        new Location(segment, each.valueOffset, each.value.length, each.size()));
+            } else {
+                old = index.remove(new Key(each.key));
+                segment.garbage.addAndGet(each.size());
+            }
+            if (null != old) {
+                old.segment.garbage.addAndGet(old.size);
+            }
+        }
+    }
+    
+    private void maybeCompact() {
+        if (compacting.get() || !hasGarbageSegment()) {
+            return;
+        }
+        if (compacting.compareAndSet(false, true)) {
+            COMPACT_EXECUTOR.execute(() -> {
+                try {
+                    compact();
+                } catch (Throwable e) {
+                    Loggers.CORE.error("Compact log kv storage {} failed", baseDir, e);
+                } finally {
+                    compacting.set(false);
+                }
+            });
+        }
+    }
+    
+    private boolean hasGarbageSegment() {
+        for (Segment each : segments.headMap(active.id).values()) {
+            if (each.isGarbageAboveRatio()) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void recover() throws IOException {
+        List<File> files = listSegmentFiles(baseDir);
+        for (int i = 0; i < files.size(); i++) {
+            File file = files.get(i);
+            Segment segment = new Segment(parseSegmentId(file), file);
+            segments.put(segment.id, segment);
+            long validSize = scan(segment, operations -> apply(segment, operations));
+            if (validSize < segment.size) {
+                if (i != files.size() - 1) {
+                    throw new IOException("Segment " + file + " is corrupted at position " + validSize);
+                }
+                Loggers.CORE.warn("Truncate the incomplete tail of segment {} from {} to {}", file, segment.size,
+                        validSize);
+                segment.truncateCopy(validSize);
+            }
+        }
+        if (segments.isEmpty()) {
+            newSegment(1L);
+        }
+        active = segments.lastEntry().getValue();
+    }
+    
+    private void roll() throws IOException {
+        active.channel.force(false);
+        active = newSegment(active.id + 1);
+    }
+    
+    private Segment newSegment(long id) throws IOException {
+        File file = new File(baseDir, String.format("%s%020d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+        Segment segment = new Segment(id, file);
+        segments.put(id, segment);
+        return segment;
+    }
+    
+    /**
+     * Scan the records of segment, stop at the first incomplete or corrupted record.
+     *
+     * @return the end position of the last valid record
+     */
+    private long scan(Segment segment, RecordVisitor visitor) throws IOException {
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        while (position + RECORD_HEADER_SIZE <= segment.size) {
+            header.clear();
+            segment.read(header, position);
+            header.flip();
+            final int checksum = header.getInt();
+            int length = header.getInt();
+            if (length < 0 || position + RECORD_HEADER_SIZE + length > segment.size) {
+                break;
+            }
+            ByteBuffer body = ByteBuffer.allocate(length);
+            segment.read(body, position + RECORD_HEADER_SIZE);
+            CRC32 crc32 = new CRC32();
+            crc32.update(body.array(), 0, length);
+            if ((int) crc32.getValue() != checksum) {
+                break;
+            }
+            List<Operation> operations = decode(body, position + RECORD_HEADER_SIZE);
+            if (null == operations) {
+                break;
+            }
+            visitor.visit(operations);
+            position += RECORD_HEADER_SIZE + length;
+        }
+        return position;
+    }
+    
+    private static ByteBuffer encode(List<Operation> operations) {
+        int length = 0;
+        for (Operation each : operations) {
+            length += each.size();
+        }
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + length);
+        record.position(RECORD_HEADER_SIZE);
+        for (Operation each : operations) {
+            record.put(each.type).putInt(each.key.length).put(each.key).putInt(each.value.length).put(each.value);
+        }
+        CRC32 crc32 = new CRC32();
+        crc32.update(record.array(), RECORD_HEADER_SIZE, length);
+        record.putInt(0, (int) crc32.getValue()).putInt(4, length);
+        record.flip();
+        return record;
+    }
+    
+    private static List<Operation> decode(ByteBuffer body, long offset) {
+        body.flip();
+        List<Operation> operations = new ArrayList<>();
+        while (body.hasRemaining()) {
+            if (body.remaining() < 5) {
+                return null;
+            }
+            byte type = body.get();
+            byte[] key = readBytes(body);
+            if (null == key || body.remaining() < 4) {
+                return null;
+            }
+            long valueOffset = offset + body.position() + 4;
+            byte[] value = readBytes(body);
+            if (null == value || (OP_PUT != type && OP_DELETE != type)) {
+                return null;
+            }
+            Operation operation = new Operation(type, key, value);
+            operation.valueOffset = valueOffset;
+            operations.add(operation);
+        }
+        return operations;
+    }
+    
+    private static byte[] readBytes(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+    
+    private static List<File> listSegmentFiles(File dir) {
+        File[] files = dir.listFiles(
+                (parent, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+        if (null == files) {
+            return Collections.emptyList();
+        }
+        List<File> result = new ArrayList<>(Arrays.asList(files));
+        result.sort((o1, o2) -> Long.compare(parseSegmentId(o1), parseSegmentId(o2)));
+        return result;
+    }
+    
+    private static long parseSegmentId(File file) {
+        String name = file.getName();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+    
+    private static void linkOrCopy(File source, File target) throws IOException {
+        Files.deleteIfExists(target.toPath());
+        try {
+            Files.createLink(target.toPath(), source.toPath());
+        } catch (UnsupportedOperationException | IOException e) {
+            Files.copy(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+    private interface RecordVisitor {
+        
+        /**
+         * Visit the operations of one record.
+         *
+         * @param operations operations of record
+         * @throws IOException io exception
+         */
+        void visit(List<Operation> operations) throws IOException;
+    }
+    
+    private static final class Operation {
+        
+        private final byte type;
+        
+        private final byte[] key;
+        
+        private final byte[] value;
+        
+        private long valueOffset;
+        
+        private Operation(byte type, byte[] key, byte[] value) {
+            this.type = type;
+            this.key = key;
+            this.value = value;
+        }
+        
+        private int size() {
+            return 1 + 4 + key.length + 4 + value.length;
+        }
+    }
+    
+    private static final class Location {
+        
+        private final Segment segment;
+        
+        private final long valueOffset;
+        
+        private final int valueLength;
+        
+        private final int size;
+        
+        private Location(Segment segment, long valueOffset, int valueLength, int size) {
+            this.segment = segment;
+            this.valueOffset = valueOffset;
+            this.valueLength = valueLength;
+            this.size = size;
+        }
+        
+        private byte[] read() throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(valueLength);
+            segment.read(buffer, valueOffset);
+            return buffer.array();
+        }
+    }
+    
+    private static final class Segment {
+        
+        private final long id;
+        
+        private final File file;
+        
+        private FileChannel channel;
+        
+        private final AtomicLong garbage = new AtomicLong();
+        
+        private volatile long size;
+        
+        private Segment(long id, File file) throws IOException {
+            this.id = id;
+            this.file = file;
+            this.channel = open(file.toPath());
+            this.size = channel.size();
+        }
+        
+        private static FileChannel open(Path path) throws IOException {
+            return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        
+        private boolean isGarbageAboveRatio() {
+            return size > 0 && garbage.get() >= size * COMPACT_GARBAGE_RATIO;
+        }
+        
+        private long append(ByteBuffer record) throws IOException {
+            final long start = size;
+            long position = start;
+            try {
+                while (record.hasRemaining()) {
+                    position += channel.write(record, position);
+                }
+            } catch (IOException e) {
+                // Drop the partial record, otherwise the records after it are lost at recovery.
+                channel.truncate(start);
+                throw e;
+            }
+            size = position;
+            return start;
+        }
+        
+        private void read(ByteBuffer buffer, long position) throws IOException {
+            long current = position;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, current);
+                if (read < 0) {
+                    throw new EOFException("Unexpected end of segment " + file + " at position " + current);
+                }
+                current += read;
+            }
+        }
+        
+        /**
+         * Replace the segment file with a copy of its first bytes, the file may be hard linked by a snapshot, so it
+         * must not be truncated in place.
+         */
+        private void truncateCopy(long newSize) throws IOException {
+            Path path = file.toPath();
+            Path copy = path.resolveSibling(file.getName() + ".tmp");
+            try (FileChannel target = open(copy)) {
+                target.truncate(0);
+                long position = 0;
+                while (position < newSize) {
+                    position += channel.transferTo(position, newSize - position, target);
+                }
+                target.force(false);
+            }
+            channel.close();
+            Files.move(copy, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = open(path);
+            size = newSize;
+        }
+        
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException ignore) {
+            }
+        }
+    }
+    
+    private static final class Key {
+        
+        private final byte[] origin;
+        
+        private Key(byte[] origin) {
+            this.origin = origin;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return Arrays.equals(origin, key.origin);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(origin);
+        }
+    }
+}
@@ -84,4 +84,8 @@ public class GlobalExecutor {
         DISTRO_EXECUTOR.scheduleWithFixedDelay(runnable, interval, interval, TimeUnit.MILLISECONDS);
     }
     
+    public static void scheduleConnectionRebalance(Runnable runnable, long interval) {
+        COMMON_EXECUTOR.scheduleWithFixedDelay(runnable, interval, interval, TimeUnit.MILLISECONDS);
+    }
+    
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.cluster;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MemberFailureDetectorTest {
+    
+    private static final long ROUND = 2_000L;
+    
+    private static final double THRESHOLD = 8.0D;
+    
+    @Test
+    public void testPhiGrowsAfterHeartbeatsStop() {
+        MemberFailureDetector detector = new MemberFailureDetector(ROUND, ROUND / 4, ROUND, 0L);
+        assertEquals(0.0D, detector.phi("1.1.1.1:8848", 0L), 0.0D);
+        long now = 0L;
+        for (int i = 1; i <= 10; i++) {
+            now += ROUND;
+            assertEquals(1, detector.merge(Collections.singletonMap("1.1.1.1:8848", (long) i), "self", now).size());
+        }
+        assertTrue(detector.isAvailable("1.1.1.1:8848", now + ROUND, THRESHOLD));
+        double previous = detector.phi("1.1.1.1:8848", now + ROUND);
+        double later = detector.phi("1.1.1.1:8848", now + 3 * ROUND);
+        assertTrue(later > previous);
+        assertFalse(detector.isAvailable("1.1.1.1:8848", now + 10 * ROUND, THRESHOLD));
+    }
+    
+    @Test
+    public void testStaleHeartbeatIgnored() {
+        MemberFailureDetector detector = new MemberFailureDetector(ROUND, ROUND / 4, ROUND, 0L);
+        assertEquals(1, detector.merge(Collections.singletonMap("1.1.1.1:8848", 5L), "self", 0L).size());
+        assertTrue(detector.merge(Collections.singletonMap("1.1.1.1:8848", 5L), "self", ROUND).isEmpty());
+        assertTrue(detector.merge(Collections.singletonMap("1.1.1.1:8848", 3L), "self", ROUND).isEmpty());
+        assertTrue(detector.merge(Collections.singletonMap("self", 9L), "self", ROUND).isEmpty());
+        assertEquals(5L, (long) detector.digest("self").get("1.1.1.1:8848"));
+    }
+    
+    @Test
+    public void testRetain() {
+        MemberFailureDetector detector = new MemberFailureDetector(ROUND, ROUND / 4, ROUND, 0L);
+        Map<String, Long> digest = new HashMap<>();
+        digest.put("1.1.1.1:8848", 1L);
+        digest.put("1.1.1.2:8848", 1L);
+        detector.merge(digest, "self", 0L);
+        detector.retain(Collections.singleton("1.1.1.1:8848"));
+        assertEquals(2, detector.digest("self").size());
+        assertFalse(detector.digest("self").containsKey("1.1.1.2:8848"));
+    }
+    
+    @Test
+    public void testGossipDetectsDeadMemberInCluster() {
+        int size = 30;
+        int fanout = 3;
+        Random random = new Random(1L);
+        List<String> addresses = new ArrayList<>();
+        List<MemberFailureDetector> detectors = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            addresses.add("10.0.0." + i + ":8848");
+            detectors.add(new MemberFailureDetector(ROUND, ROUND / 4, ROUND, 0L));
+        }
+        int dead = 7;
+        int deadRound = 30;
+        long now = 0L;
+        int allDetectedRound = -1;
+        for (int round = 0; round < 100 && allDetectedRound < 0; round++) {
+            now += ROUND;
+            for (int i = 0; i < size; i++) {
+                if (i == dead && round >= deadRound) {
+                    continue;
+                }
+                MemberFailureDetector sender = detectors.get(i);
+                sender.tick();
+                Map<String, Long> digest = sender.digest(addresses.get(i));
+                for (int k = 0; k < fanout; k++) {
+                    int target = random.nextInt(size);
+                    if (target != i && !(target == dead && round >= deadRound)) {
+                        detectors.get(target).merge(digest, addresses.get(target), now + random.nextInt(500));
+                    }
+                }
+            }
+            boolean allDetected = round >= deadRound;
+            for (int i = 0; i < size; i++) {
+                if (i == dead) {
+                    continue;
+                }
+                for (int j = 0; j < size; j++) {
+                    if (j == i) {
+                        continue;
+                    }
+                    boolean available = detectors.get(i).isAvailable(addresses.get(j), now, THRESHOLD);
+                    if (j != dead || round < deadRound) {
+                        assertTrue(addresses.get(j) + " suspected by " + addresses.get(i), available);
+                    } else if (available) {
+                        allDetected = false;
+                    }
+                }
+            }
+            if (allDetected) {
+                allDetectedRound = round;
+            }
+        }
+        assertTrue(allDetectedRound > 0);
+        // A single round-robin report needs size - 1 rounds to reach every member
+        assertTrue(allDetectedRound - deadRound < 10);
+    }
+}
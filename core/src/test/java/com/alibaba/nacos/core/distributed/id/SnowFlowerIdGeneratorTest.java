@@ -0,0 +1,177 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.distributed.id;
+
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SnowFlowerIdGeneratorTest {
+    
+    private static final long WORKER_ID = 7L;
+    
+    @BeforeClass
+    public static void init() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setProperty("nacos.core.snowflake.worker-id", String.valueOf(WORKER_ID));
+        EnvUtil.setEnvironment(environment);
+    }
+    
+    @Test
+    public void testIdLayout() {
+        MockClockIdGenerator generator = new MockClockIdGenerator(SnowFlowerIdGenerator.EPOCH + 100L);
+        generator.init();
+        
+        Assert.assertEquals(0L, generator.currentId());
+        long id = generator.nextId();
+        Assert.assertEquals(100L, id >>> 22);
+        Assert.assertEquals(WORKER_ID, (id >>> 12) & 1023L);
+        Assert.assertEquals(0L, id & 4095L);
+        Assert.assertEquals(id, generator.currentId());
+        Assert.assertEquals(1L, generator.nextId() & 4095L);
+    }
+    
+    @Test
+    public void testSequenceExhaustedBorrowsNextMillisecond() {
+        MockClockIdGenerator generator = new MockClockIdGenerator(SnowFlowerIdGenerator.EPOCH + 100L);
+        generator.init();
+        
+        long last = 0L;
+        for (int i = 0; i < 4096; i++) {
+            last = generator.nextId();
+        }
+        Assert.assertEquals(100L, last >>> 22);
+        Assert.assertEquals(4095L, last & 4095L);
+        long next = generator.nextId();
+        Assert.assertEquals(101L, next >>> 22);
+        Assert.assertEquals(0L, next & 4095L);
+    }
+    
+    @Test
+    public void testClockMovingBackwards() {
+        MockClockIdGenerator generator = new MockClockIdGenerator(SnowFlowerIdGenerator.EPOCH + 1000L);
+        generator.init();
+        
+        long before = generator.nextId();
+        generator.clock.set(SnowFlowerIdGenerator.EPOCH + 500L);
+        long during = generator.nextId();
+        Assert.assertTrue(during > before);
+        Assert.assertEquals(1000L, during >>> 22);
+        
+        generator.clock.set(SnowFlowerIdGenerator.EPOCH + 1001L);
+        long after = generator.nextId();
+        Assert.assertTrue(after > during);
+        Assert.assertEquals(1001L, after >>> 22);
+        Assert.assertEquals(0L, after & 4095L);
+    }
+    
+    @Test
+    public void testClockMovingBackwardsBeyondMaxBorrow() {
+        MockClockIdGenerator generator = new MockClockIdGenerator(SnowFlowerIdGenerator.EPOCH + 10000L);
+        generator.init();
+        
+        long before = generator.nextId();
+        generator.clock.set(SnowFlowerIdGenerator.EPOCH + 10000L - SnowFlowerIdGenerator.MAX_BORROW_MILLIS - 1L);
+        try {
+            generator.nextId();
+            Assert.fail("clock moving backwards beyond the max borrow should fail");
+        } catch (IllegalStateException ignored) {
+        }
+        Assert.assertEquals(before, generator.currentId());
+        
+        generator.clock.set(SnowFlowerIdGenerator.EPOCH + 10000L - SnowFlowerIdGenerator.MAX_BORROW_MILLIS);
+        long during = generator.nextId();
+        Assert.assertTrue(during > before);
+        Assert.assertEquals(10000L, during >>> 22);
+    }
+    
+    @Test
+    public void testConcurrentIdsAreUnique() throws Exception {
+        final SnowFlowerIdGenerator generator = new SnowFlowerIdGenerator();
+        generator.init();
+        final int threads = 8;
+        final int idsPerThread = 20000;
+        final Set<Long> ids = ConcurrentHashMap.newKeySet();
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    long last = 0L;
+                    for (int j = 0; j < idsPerThread; j++) {
+                        long id = generator.nextId();
+                        Assert.assertTrue(id > last);
+                        last = id;
+                        ids.add(id);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(threads * idsPerThread, ids.size());
+    }
+    
+    @Test
+    public void testDifferentWorkersDoNotCollide() {
+        MockClockIdGenerator generator1 = new MockClockIdGenerator(SnowFlowerIdGenerator.EPOCH + 100L);
+        MockClockIdGenerator generator2 = new MockClockIdGenerator(SnowFlowerIdGenerator.EPOCH + 100L);
+        generator1.initialize(1L);
+        generator2.initialize(2L);
+        
+        Set<Long> ids = new HashSet<Long>();
+        for (int i = 0; i < 100; i++) {
+            Assert.assertTrue(ids.add(generator1.nextId()));
+            Assert.assertTrue(ids.add(generator2.nextId()));
+        }
+    }
+    
+    private static class MockClockIdGenerator extends SnowFlowerIdGenerator {
+        
+        private final AtomicLong clock;
+        
+        private MockClockIdGenerator(long time) {
+            this.clock = new AtomicLong(time);
+        }
+        
+        @Override
+        long currentTimeMillis() {
+            return clock.get();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.distributed.raft;
+
+import com.alibaba.nacos.consistency.ProtoMessageUtil;
+import com.alibaba.nacos.consistency.cp.RequestProcessor4CP;
+import com.alibaba.nacos.consistency.entity.ReadRequest;
+import com.alibaba.nacos.consistency.entity.Response;
+import com.alibaba.nacos.consistency.entity.WriteRequest;
+import com.google.protobuf.ByteString;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class ApplyPipelineTest {
+    
+    private static final String GROUP = "test_group";
+    
+    private final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+    
+    private ExecutorService executor;
+    
+    private ApplyPipeline pipeline;
+    
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        pipeline = new ApplyPipeline(new MockProcessor(true), executor);
+    }
+    
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+    
+    @Test
+    public void testApplyInOrderWithoutPartition() throws Throwable {
+        List<ApplyPipeline.LogEntry> entries = Arrays
+                .asList(entry(write("a", null)), entry(write("b", null)), entry(read()), entry(write("c", null)));
+        List<ApplyPipeline.LogEntry> applied = new ArrayList<>();
+        pipeline.apply(entries, applied::add);
+        Assert.assertEquals(entries, applied);
+        Assert.assertEquals(Arrays.asList(Arrays.asList("a", "b"), Collections.singletonList("c")), batches);
+        Assert.assertEquals("a", applied.get(0).getResponse().getData().toStringUtf8());
+        Assert.assertEquals("read", applied.get(2).getResponse().getData().toStringUtf8());
+    }
+    
+    @Test
+    public void testApplyBatchEntry() throws Throwable {
+        WriteRequest batch = ProtoMessageUtil
+                .packBatchWriteRequest(GROUP, Arrays.asList(write("a", "p1"), write("b", "p2"), write("c", "p1")));
+        List<ApplyPipeline.LogEntry> applied = new ArrayList<>();
+        pipeline.apply(Collections.singletonList(entry(batch)), applied::add);
+        Assert.assertEquals(1, applied.size());
+        Response response = applied.get(0).getResponse();
+        Assert.assertTrue(response.getSuccess());
+        List<Response> responses = ProtoMessageUtil.unpackBatchResponse(response);
+        Assert.assertEquals(3, responses.size());
+        Assert.assertEquals("b", responses.get(1).getData().toStringUtf8());
+        Assert.assertEquals(2, batches.size());
+        Assert.assertTrue(batches.contains(Arrays.asList("a", "c")));
+        Assert.assertTrue(batches.contains(Collections.singletonList("b")));
+    }
+    
+    @Test
+    public void testNotPartitionNonIdempotentProcessor() throws Throwable {
+        pipeline = new ApplyPipeline(new MockProcessor(false), executor);
+        WriteRequest batch = ProtoMessageUtil
+                .packBatchWriteRequest(GROUP, Arrays.asList(write("a", "p1"), write("b", "p2"), write("c", "p1")));
+        List<ApplyPipeline.LogEntry> applied = new ArrayList<>();
+        pipeline.apply(Collections.singletonList(entry(batch)), applied::add);
+        Assert.assertEquals(1, applied.size());
+        Assert.assertEquals(Collections.singletonList(Arrays.asList("a", "b", "c")), batches);
+    }
+    
+    @Test
+    public void testApplyFailed() {
+        List<ApplyPipeline.LogEntry> entries = Arrays
+                .asList(entry(write("a", null)), entry(read()), entry(write("error", null)), entry(write("b", null)));
+        List<ApplyPipeline.LogEntry> applied = new ArrayList<>();
+        try {
+            pipeline.apply(entries, applied::add);
+            Assert.fail();
+        } catch (Throwable e) {
+            Assert.assertTrue(e instanceof IllegalStateException);
+        }
+        Assert.assertEquals(entries.subList(0, 2), applied);
+    }
+    
+    private ApplyPipeline.LogEntry entry(com.google.protobuf.Message message) {
+        return new ApplyPipeline.LogEntry(message, null);
+    }
+    
+    private WriteRequest write(String data, String key) {
+        WriteRequest.Builder builder = WriteRequest.newBuilder().setGroup(GROUP).setData(ByteString.copyFromUtf8(data));
+        if (null != key) {
+            builder.setKey(key);
+        }
+        return builder.build();
+    }
+    
+    private ReadRequest read() {
+        return ReadRequest.newBuilder().setGroup(GROUP).build();
+    }
+    
+    private class MockProcessor extends RequestProcessor4CP {
+        
+        private final boolean idempotent;
+        
+        private MockProcessor(boolean idempotent) {
+            this.idempotent = idempotent;
+        }
+        
+        @Override
+        public Response onRequest(ReadRequest request) {
+            return Response.newBuilder().setSuccess(true).setData(ByteString.copyFromUtf8("read")).build();
+        }
+        
+        @Override
+        public Response onApply(WriteRequest log) {
+            String data = log.getData().toStringUtf8();
+            if ("error".equals(data)) {
+                throw new IllegalStateException(data);
+            }
+            return Response.newBuilder().setSuccess(true).setData(log.getData()).build();
+        }
+        
+        @Override
+        public List<Response> onApplyBatch(List<WriteRequest> requests) {
+            List<String> batch = new ArrayList<>();
+            for (WriteRequest each : requests) {
+                batch.add(each.getData().toStringUtf8());
+            }
+            batches.add(batch);
+            return super.onApplyBatch(requests);
+        }
+        
+        @Override
+        public String partitionKey(WriteRequest request) {
+            return request.getKey().isEmpty() ? null : request.getKey();
+        }
+        
+        @Override
+        public boolean isIdempotent() {
+            return idempotent;
+        }
+        
+        @Override
+        public String group() {
+            return GROUP;
+        }
+    }
+}
@@ -212,6 +212,12 @@ public class JRaftServerTest {
         verify(rpcClient).invokeAsync(eq(peerId1.getEndpoint()), eq(readRequest), any(InvokeCallback.class), any(long.class));
     }
     
+    @Test
+    public void testReadIndexWithoutGroup() {
+        CompletableFuture<Void> future = server.readIndex("unknown_group");
+        Assert.assertTrue(future.isCompletedExceptionally());
+    }
+    
     @Test
     public void testRefreshRouteTable() {
         server.refreshRouteTable(groupId);
@@ -0,0 +1,113 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.distributed.raft;
+
+import com.alibaba.nacos.consistency.ProtoMessageUtil;
+import com.alibaba.nacos.consistency.entity.BatchResponse;
+import com.alibaba.nacos.consistency.entity.Response;
+import com.alibaba.nacos.consistency.entity.WriteRequest;
+import com.alibaba.nacos.core.distributed.raft.utils.RaftExecutor;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Message;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class WriteBatcherTest {
+    
+    private static final String GROUP = "test_group";
+    
+    @Mock
+    private JRaftServer raftServer;
+    
+    private CompletableFuture<Response> commitFuture;
+    
+    @BeforeClass
+    public static void init() {
+        RaftExecutor.init(new RaftConfig());
+    }
+    
+    @Before
+    public void setUp() {
+        commitFuture = new CompletableFuture<>();
+        when(raftServer.commit(eq(GROUP), any(Message.class), any(CompletableFuture.class))).thenReturn(commitFuture);
+    }
+    
+    @Test
+    public void testSubmitFullBatch() throws Exception {
+        WriteBatcher batcher = new WriteBatcher(raftServer, 3, 10_000L);
+        List<CompletableFuture<Response>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(batcher.submit(buildRequest(i)));
+        }
+        ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+        verify(raftServer, timeout(3000L)).commit(eq(GROUP), captor.capture(), any(CompletableFuture.class));
+        WriteRequest batchRequest = (WriteRequest) captor.getValue();
+        Assert.assertTrue(ProtoMessageUtil.isBatchWriteRequest(batchRequest));
+        List<WriteRequest> requests = ProtoMessageUtil.unpackBatchWriteRequest(batchRequest);
+        Assert.assertEquals(3, requests.size());
+        BatchResponse.Builder builder = BatchResponse.newBuilder();
+        for (WriteRequest each : requests) {
+            builder.addResponses(Response.newBuilder().setSuccess(true).setData(ByteString.copyFromUtf8(each.getKey())));
+        }
+        commitFuture.complete(Response.newBuilder().setSuccess(true).setData(builder.build().toByteString()).build());
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(String.valueOf(i), futures.get(i).get(1L, TimeUnit.SECONDS).getData().toStringUtf8());
+        }
+    }
+    
+    @Test
+    public void testSubmitSingleRequest() {
+        WriteBatcher batcher = new WriteBatcher(raftServer, 3, 1L);
+        WriteRequest request = buildRequest(0);
+        CompletableFuture<Response> future = batcher.submit(request);
+        verify(raftServer, timeout(3000L)).commit(eq(GROUP), eq(request), eq(future));
+    }
+    
+    @Test
+    public void testBatchFailed() throws Exception {
+        WriteBatcher batcher = new WriteBatcher(raftServer, 2, 10_000L);
+        final CompletableFuture<Response> future1 = batcher.submit(buildRequest(0));
+        final CompletableFuture<Response> future2 = batcher.submit(buildRequest(1));
+        verify(raftServer, timeout(3000L)).commit(eq(GROUP), any(Message.class), any(CompletableFuture.class));
+        Response failed = Response.newBuilder().setSuccess(false).setErrMsg("no leader").build();
+        commitFuture.complete(failed);
+        Assert.assertFalse(future1.get(1L, TimeUnit.SECONDS).getSuccess());
+        Assert.assertFalse(future2.get(1L, TimeUnit.SECONDS).getSuccess());
+    }
+    
+    private WriteRequest buildRequest(int index) {
+        return WriteRequest.newBuilder().setGroup(GROUP).setKey(String.valueOf(index)).build();
+    }
+}
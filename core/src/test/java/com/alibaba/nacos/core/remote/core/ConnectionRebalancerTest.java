@@ -0,0 +1,83 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.remote.core;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class ConnectionRebalancerTest {
+    
+    private static final String SELF = "1.1.1.1:8848";
+    
+    private static final String MEMBER_2 = "1.1.1.2:8848";
+    
+    private static final String MEMBER_3 = "1.1.1.3:8848";
+    
+    @Test
+    public void testPlanAfterRollingRestart() {
+        Map<String, Integer> counts = counts(1500, 1500, 0);
+        Map<String, Integer> plan = ConnectionRebalancer.plan(counts, Collections.emptySet(), SELF, 0.1f, 1000);
+        Assert.assertEquals(Collections.singletonMap(MEMBER_3, 500), plan);
+    }
+    
+    @Test
+    public void testPlanBoundedByMaxCount() {
+        Map<String, Integer> counts = counts(1500, 1500, 0);
+        Map<String, Integer> plan = ConnectionRebalancer.plan(counts, Collections.emptySet(), SELF, 0.1f, 100);
+        Assert.assertEquals(Collections.singletonMap(MEMBER_3, 100), plan);
+    }
+    
+    @Test
+    public void testPlanInProportionToDeficit() {
+        Map<String, Integer> counts = counts(1800, 600, 0);
+        Map<String, Integer> plan = ConnectionRebalancer.plan(counts, Collections.emptySet(), SELF, 0.1f, 1000);
+        Assert.assertEquals(2, plan.size());
+        Assert.assertEquals(Integer.valueOf(800), plan.get(MEMBER_3));
+        Assert.assertEquals(Integer.valueOf(200), plan.get(MEMBER_2));
+    }
+    
+    @Test
+    public void testPlanWithinFactor() {
+        Map<String, Integer> counts = counts(1050, 1000, 950);
+        Assert.assertTrue(ConnectionRebalancer.plan(counts, Collections.emptySet(), SELF, 0.1f, 1000).isEmpty());
+    }
+    
+    @Test
+    public void testPlanSkipBusyMember() {
+        Map<String, Integer> counts = counts(1500, 1500, 0);
+        Assert.assertTrue(ConnectionRebalancer.plan(counts, Collections.singleton(MEMBER_3), SELF, 0.1f, 1000)
+                .isEmpty());
+    }
+    
+    @Test
+    public void testPlanNotOverloaded() {
+        Map<String, Integer> counts = counts(0, 1500, 1500);
+        Assert.assertTrue(ConnectionRebalancer.plan(counts, Collections.emptySet(), SELF, 0.1f, 1000).isEmpty());
+    }
+    
+    private Map<String, Integer> counts(int self, int member2, int member3) {
+        Map<String, Integer> counts = new HashMap<>(4);
+        counts.put(SELF, self);
+        counts.put(MEMBER_2, member2);
+        counts.put(MEMBER_3, member3);
+        return counts;
+    }
+}
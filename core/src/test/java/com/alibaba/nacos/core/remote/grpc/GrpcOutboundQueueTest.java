@@ -0,0 +1,138 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.remote.grpc;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.grpc.auto.Payload;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
+import com.alibaba.nacos.api.remote.DefaultRequestFuture;
+import com.alibaba.nacos.common.remote.exception.ConnectionBusyException;
+import com.alibaba.nacos.core.remote.RpcAckCallbackSynchronizer;
+import io.grpc.stub.ServerCallStreamObserver;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GrpcOutboundQueueTest {
+    
+    private static final String CONNECTION_ID = "test_connection";
+    
+    @Mock
+    private ServerCallStreamObserver<Payload> streamObserver;
+    
+    private final AtomicBoolean ready = new AtomicBoolean(true);
+    
+    private GrpcOutboundQueue queue;
+    
+    private int requestId;
+    
+    @Before
+    public void setUp() {
+        when(streamObserver.isReady()).thenAnswer(invocation -> ready.get());
+        queue = new GrpcOutboundQueue(CONNECTION_ID, streamObserver, 2, payload -> {
+        });
+    }
+    
+    @After
+    public void tearDown() {
+        RpcAckCallbackSynchronizer.clearContext(CONNECTION_ID);
+    }
+    
+    @Test
+    public void testSendWhenReady() throws NacosException {
+        offer("a");
+        verify(streamObserver).onNext(any(Payload.class));
+        Assert.assertEquals(0, queue.size());
+    }
+    
+    @Test
+    public void testQueueUntilReady() throws NacosException {
+        ready.set(false);
+        offer("a");
+        offer("b");
+        verify(streamObserver, never()).onNext(any(Payload.class));
+        Assert.assertEquals(2, queue.size());
+        try {
+            offer("c");
+            Assert.fail();
+        } catch (ConnectionBusyException ignored) {
+        }
+        ready.set(true);
+        queue.drain();
+        verify(streamObserver, times(2)).onNext(any(Payload.class));
+        Assert.assertEquals(0, queue.size());
+    }
+    
+    @Test
+    public void testCoalesceSupersededRequest() throws Exception {
+        ready.set(false);
+        DefaultRequestFuture superseded = offer("a");
+        offer("a");
+        Assert.assertEquals(1, queue.size());
+        Assert.assertTrue(superseded.isDone());
+        Assert.assertTrue(superseded.get().isSuccess());
+        ready.set(true);
+        queue.drain();
+        verify(streamObserver, times(1)).onNext(any(Payload.class));
+    }
+    
+    @Test
+    public void testCoalescedRequestsRetainOneEntryWhileNotReady() throws Exception {
+        ready.set(false);
+        DefaultRequestFuture first = offer("a");
+        DefaultRequestFuture last = null;
+        for (int i = 0; i < 1000; i++) {
+            last = offer("a");
+        }
+        Assert.assertEquals(1, queue.size());
+        Assert.assertEquals(1, queue.queuedSize());
+        Assert.assertTrue(first.get().isSuccess());
+        Assert.assertFalse(last.isDone());
+        ArgumentCaptor<Payload> captor = ArgumentCaptor.forClass(Payload.class);
+        ready.set(true);
+        queue.drain();
+        verify(streamObserver, times(1)).onNext(captor.capture());
+        Assert.assertTrue(captor.getValue().getBody().getValue().toStringUtf8()
+                .contains("\"requestId\":\"" + requestId + "\""));
+        Assert.assertEquals(0, queue.queuedSize());
+    }
+    
+    private DefaultRequestFuture offer(String serviceName) throws NacosException {
+        String id = String.valueOf(++requestId);
+        NotifySubscriberRequest request = NotifySubscriberRequest.buildSuccessResponse(new ServiceInfo(serviceName, ""));
+        request.setRequestId(id);
+        DefaultRequestFuture future = new DefaultRequestFuture(CONNECTION_ID, id);
+        RpcAckCallbackSynchronizer.syncCallback(CONNECTION_ID, id, future);
+        queue.offer(request, future);
+        return future;
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.storage.kv;
+
+import com.alibaba.nacos.common.utils.ByteUtils;
+import com.alibaba.nacos.sys.utils.DiskUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+public class LogKvStorageTest {
+    
+    private File baseDir;
+    
+    private LogKvStorage storage;
+    
+    @Before
+    public void setUp() throws Exception {
+        baseDir = Files.createTempDirectory("log-kv-storage").toFile();
+        storage = new LogKvStorage(new File(baseDir, "data").getPath(), 1024);
+    }
+    
+    @After
+    public void tearDown() throws Exception {
+        storage.shutdown();
+        DiskUtils.deleteDirectory(baseDir.getPath());
+    }
+    
+    @Test
+    public void testPutGetDelete() throws Exception {
+        storage.put(bytes("a"), bytes("1"));
+        storage.batchPut(Arrays.asList(bytes("b"), bytes("c")), Arrays.asList(bytes("2"), bytes("3")));
+        storage.put(bytes("a"), bytes("4"));
+        Assert.assertEquals("4", string(storage.get(bytes("a"))));
+        Assert.assertEquals(3, storage.allKeys().size());
+        storage.batchDelete(Arrays.asList(bytes("a"), bytes("b"), bytes("d")));
+        Assert.assertNull(storage.get(bytes("a")));
+        Assert.assertEquals(1, storage.batchGet(Arrays.asList(bytes("a"), bytes("c"))).size());
+    }
+    
+    @Test
+    public void testRecover() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            storage.put(bytes("key" + i % 10), bytes("value" + i));
+        }
+        storage.delete(bytes("key0"));
+        storage.shutdown();
+        storage = new LogKvStorage(new File(baseDir, "data").getPath(), 1024);
+        Assert.assertEquals(9, storage.allKeys().size());
+        Assert.assertNull(storage.get(bytes("key0")));
+        Assert.assertEquals("value99", string(storage.get(bytes("key9"))));
+    }
+    
+    @Test
+    public void testRecoverIncompleteRecord() throws Exception {
+        storage.put(bytes("a"), bytes("1"));
+        storage.put(bytes("b"), bytes("2"));
+        storage.shutdown();
+        File[] files = new File(baseDir, "data").listFiles();
+        Assert.assertNotNull(files);
+        Assert.assertEquals(1, files.length);
+        try (RandomAccessFile file = new RandomAccessFile(files[0], "rw")) {
+            file.setLength(file.length() - 1);
+        }
+        storage = new LogKvStorage(new File(baseDir, "data").getPath(), 1024);
+        Assert.assertEquals("1", string(storage.get(bytes("a"))));
+        Assert.assertNull(storage.get(bytes("b")));
+        storage.put(bytes("c"), bytes("3"));
+        Assert.assertEquals("3", string(storage.get(bytes("c"))));
+    }
+    
+    @Test
+    public void testSnapshot() throws Exception {
+        storage.batchPut(Arrays.asList(bytes("a"), bytes("b")), Arrays.asList(bytes("1"), bytes("2")));
+        String snapshotPath = new File(baseDir, "snapshot").getPath();
+        storage.doSnapshot(snapshotPath);
+        storage.put(bytes("a"), bytes("3"));
+        storage.put(bytes("c"), bytes("4"));
+        storage.snapshotLoad(snapshotPath);
+        Assert.assertEquals("1", string(storage.get(bytes("a"))));
+        Assert.assertNull(storage.get(bytes("c")));
+        storage.put(bytes("a"), bytes("5"));
+        LogKvStorage other = new LogKvStorage(new File(baseDir, "other").getPath());
+        try {
+            other.snapshotLoad(snapshotPath);
+            Assert.assertEquals("1", string(other.get(bytes("a"))));
+            Assert.assertEquals("2", string(other.get(bytes("b"))));
+        } finally {
+            other.shutdown();
+        }
+    }
+    
+    @Test
+    public void testCompact() throws Exception {
+        for (int i = 0; i < 200; i++) {
+            storage.put(bytes("key" + i % 5), bytes("value" + i));
+        }
+        storage.delete(bytes("key0"));
+        storage.compact();
+        Assert.assertEquals(1, storage.segmentCount());
+        Assert.assertEquals(4, storage.allKeys().size());
+        Assert.assertNull(storage.get(bytes("key0")));
+        Assert.assertEquals("value199", string(storage.get(bytes("key4"))));
+        storage.shutdown();
+        storage = new LogKvStorage(new File(baseDir, "data").getPath(), 1024);
+        Assert.assertEquals("value198", string(storage.get(bytes("key3"))));
+        Assert.assertNull(storage.get(bytes("key0")));
+    }
+    
+    @Test
+    public void testCompactOnlyGarbageSegments() throws Exception {
+        for (int i = 0; i < 40; i++) {
+            storage.put(bytes("static" + i), bytes("v"));
+        }
+        storage.delete(bytes("static0"));
+        for (int i = 0; i < 200; i++) {
+            storage.put(bytes("hot"), bytes("value" + i));
+        }
+        File firstSegment = new File(new File(baseDir, "data"), String.format("%s%020d%s",
+                LogKvStorage.SEGMENT_PREFIX, 1, LogKvStorage.SEGMENT_SUFFIX));
+        long firstSegmentSize = firstSegment.length();
+        storage.compact();
+        Assert.assertEquals(2, storage.segmentCount());
+        Assert.assertEquals(firstSegmentSize, firstSegment.length());
+        storage.shutdown();
+        storage = new LogKvStorage(new File(baseDir, "data").getPath(), 1024);
+        Assert.assertNull(storage.get(bytes("static0")));
+        Assert.assertEquals("v", string(storage.get(bytes("static39"))));
+        Assert.assertEquals("value199", string(storage.get(bytes("hot"))));
+        Assert.assertEquals(40, storage.allKeys().size());
+    }
+    
+    @Test
+    public void testRecoverNotTruncateSnapshot() throws Exception {
+        storage.batchPut(Arrays.asList(bytes("a"), bytes("b")), Arrays.asList(bytes("1"), bytes("2")));
+        String snapshotPath = new File(baseDir, "snapshot").getPath();
+        storage.doSnapshot(snapshotPath);
+        storage.shutdown();
+        File[] files = new File(baseDir, "data").listFiles();
+        Assert.assertNotNull(files);
+        Arrays.sort(files);
+        Assert.assertTrue(files[files.length - 1].delete());
+        // The segment file is shared with the snapshot when it is hard linked, the tail is appended to both.
+        try (RandomAccessFile file = new RandomAccessFile(files[0], "rw")) {
+            file.seek(file.length());
+            file.write(new byte[] {1, 2, 3});
+        }
+        File snapshotSegment = new File(snapshotPath, files[0].getName());
+        long snapshotSize = snapshotSegment.length();
+        storage = new LogKvStorage(new File(baseDir, "data").getPath(), 1024);
+        Assert.assertEquals("2", string(storage.get(bytes("b"))));
+        Assert.assertEquals(snapshotSize, snapshotSegment.length());
+        storage.put(bytes("c"), bytes("3"));
+        Assert.assertEquals(snapshotSize, snapshotSegment.length());
+    }
+    
+    private static byte[] bytes(String value) {
+        return ByteUtils.toBytes(value);
+    }
+    
+    private static String string(byte[] value) {
+        return ByteUtils.toString(value);
+    }
+}
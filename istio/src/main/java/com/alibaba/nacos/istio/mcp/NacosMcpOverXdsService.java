@@ -24,9 +24,8 @@ import io.envoyproxy.envoy.service.discovery.v3.DiscoveryResponse;
 import io.grpc.stub.StreamObserver;
 import istio.mcp.v1alpha1.ResourceOuterClass;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -51,17 +50,32 @@ public class NacosMcpOverXdsService extends AggregatedDiscoveryServiceGrpc.Aggre
     
     private static final String SERVICEENTY_TYPE = "networking.istio.io/v1alpha3/ServiceEntry";
     
-    private Map<String, ResourceOuterClass.Resource> resourceMapCache;
+    /**
+     * Serialized mcp resources, only the changed resources are serialized again.
+     */
+    private final Map<String, Any> resourceCache = new ConcurrentHashMap<>(16);
+    
+    private volatile boolean resourceReady;
     
     /**
      * Send resources to connections.
      *
-     * @param resourceMap all mcp resource
+     * @param resourceMap      all mcp resource
+     * @param updatedResources mcp resource added or updated
+     * @param removedResources name of mcp resource removed
      */
-    public void sendResources(Map<String, ResourceOuterClass.Resource> resourceMap) {
-        resourceMapCache = resourceMap;
+    public void sendResources(Map<String, ResourceOuterClass.Resource> resourceMap,
+            Map<String, ResourceOuterClass.Resource> updatedResources, Set<String> removedResources) {
+        for (Map.Entry<String, ResourceOuterClass.Resource> entry : updatedResources.entrySet()) {
+            resourceCache.put(entry.getKey(),
+                    Any.newBuilder().setValue(entry.getValue().toByteString()).setTypeUrl(MCP_RESOURCES_URL).build());
+        }
+        for (String each : removedResources) {
+            resourceCache.remove(each);
+        }
+        resourceReady = true;
         Loggers.MAIN.info("send resources for mcpOverXds,count : {}", resourceMap.size());
-        DiscoveryResponse discoveryResponse = generateResponse(resourceMap);
+        DiscoveryResponse discoveryResponse = generateResponse();
         if (Loggers.MAIN.isDebugEnabled()) {
             Loggers.MAIN.debug("discoveryResponse:{}", discoveryResponse.toString());
         }
@@ -72,18 +86,12 @@ public class NacosMcpOverXdsService extends AggregatedDiscoveryServiceGrpc.Aggre
     }
     
     /**
-     * generate response by resource.
+     * generate response by cached resource.
      *
-     * @param resourceMap all mcp resource
      * @return
      */
-    private DiscoveryResponse generateResponse(Map<String, ResourceOuterClass.Resource> resourceMap) {
-        List<Any> anies = new ArrayList<>();
-        for (ResourceOuterClass.Resource resource : resourceMap.values()) {
-            Any any = Any.newBuilder().setValue(resource.toByteString()).setTypeUrl(MCP_RESOURCES_URL).build();
-            anies.add(any);
-        }
-        return DiscoveryResponse.newBuilder().addAllResources(anies)
+    private DiscoveryResponse generateResponse() {
+        return DiscoveryResponse.newBuilder().addAllResources(resourceCache.values())
                 .setNonce(String.valueOf(System.currentTimeMillis())).setTypeUrl(SERVICEENTY_TYPE).build();
     }
     
@@ -111,8 +119,8 @@ public class NacosMcpOverXdsService extends AggregatedDiscoveryServiceGrpc.Aggre
                     Boolean inited = connectionInited.get(id);
                     if (inited == null || !inited) {
                         connectionInited.put(id, true);
-                        if (resourceMapCache != null) {
-                            DiscoveryResponse discoveryResponse = generateResponse(resourceMapCache);
+                        if (resourceReady) {
+                            DiscoveryResponse discoveryResponse = generateResponse();
                             Loggers.MAIN.info("ACK for serviceEntry discoveryRequest {}", discoveryRequest.toString());
                             responseObserver.onNext(discoveryResponse);
                         }
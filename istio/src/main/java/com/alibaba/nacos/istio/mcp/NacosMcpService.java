@@ -23,7 +23,9 @@ import istio.mcp.v1alpha1.ResourceOuterClass;
 import istio.mcp.v1alpha1.ResourceSourceGrpc;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -36,29 +38,56 @@ import java.util.concurrent.atomic.AtomicInteger;
 @org.springframework.stereotype.Service
 public class NacosMcpService extends ResourceSourceGrpc.ResourceSourceImplBase {
     
+    private static final String SERVICE_NAME_PREFIX = "nacos/";
+    
     private final AtomicInteger connectIdGenerator = new AtomicInteger(0);
     
     private final Map<Integer, StreamObserver<Mcp.Resources>> connnections = new ConcurrentHashMap<>(16);
     
-    private Map<String, ResourceOuterClass.Resource> resourceMapCache;
+    /**
+     * Connections which requested incremental updates of service entries.
+     */
+    private final Set<Integer> incrementalConnections = ConcurrentHashMap.newKeySet();
+    
+    private Map<String, ResourceOuterClass.Resource> resourceMapCache = Collections.emptyMap();
     
     /**
-     * Send resources to connections.
+     * Send resources to connections, only the changes are sent to the connections requested incremental updates.
      *
-     * @param resourceMap all mcp resource
+     * @param resourceMap      all mcp resource
+     * @param updatedResources mcp resource added or updated
+     * @param removedResources name of mcp resource removed
      */
-    public void sendResources(Map<String, ResourceOuterClass.Resource> resourceMap) {
+    public void sendResources(Map<String, ResourceOuterClass.Resource> resourceMap,
+            Map<String, ResourceOuterClass.Resource> updatedResources, Set<String> removedResources) {
         resourceMapCache = resourceMap;
-        Loggers.MAIN.info("send resources for mcp,count : {}", resourceMap.size());
-        Mcp.Resources resources = generateResponse(resourceMap);
-        if (Loggers.MAIN.isDebugEnabled()) {
-            Loggers.MAIN.debug("mcp resources:{}", resources.toString());
+        Loggers.MAIN.info("send resources for mcp,count : {}, updated : {}, removed : {}", resourceMap.size(),
+                updatedResources.size(), removedResources.size());
+        Mcp.Resources resources = null;
+        Mcp.Resources incrementalResources = null;
+        for (Map.Entry<Integer, StreamObserver<Mcp.Resources>> entry : connnections.entrySet()) {
+            Loggers.MAIN.info("mcp send to:{}", entry.getValue().toString());
+            if (incrementalConnections.contains(entry.getKey())) {
+                if (null == incrementalResources) {
+                    incrementalResources = generateIncrementalResponse(updatedResources, removedResources);
+                }
+                send(entry.getValue(), incrementalResources);
+            } else {
+                if (null == resources) {
+                    resources = generateResponse(resourceMap);
+                }
+                send(entry.getValue(), resources);
+            }
         }
-        for (StreamObserver<Mcp.Resources> observer : connnections.values()) {
-            Loggers.MAIN.info("mcp send to:{}", observer.toString());
+    }
+    
+    /**
+     * Send resources, the observer is shared by push task and request handler, but it is not thread safe.
+     */
+    private void send(StreamObserver<Mcp.Resources> observer, Mcp.Resources resources) {
+        synchronized (observer) {
             observer.onNext(resources);
         }
-        
     }
     
     /**
@@ -68,9 +97,28 @@ public class NacosMcpService extends ResourceSourceGrpc.ResourceSourceImplBase {
      * @return
      */
     private Mcp.Resources generateResponse(Map<String, ResourceOuterClass.Resource> resourceMap) {
-        return Mcp.Resources.newBuilder().addAllResources(resourceMap.values())
+        Mcp.Resources resources = Mcp.Resources.newBuilder().addAllResources(resourceMap.values())
                 .setCollection(CollectionTypes.SERVICE_ENTRY).setNonce(String.valueOf(System.currentTimeMillis()))
                 .build();
+        if (Loggers.MAIN.isDebugEnabled()) {
+            Loggers.MAIN.debug("mcp resources:{}", resources.toString());
+        }
+        return resources;
+    }
+    
+    private Mcp.Resources generateIncrementalResponse(Map<String, ResourceOuterClass.Resource> updatedResources,
+            Set<String> removedResources) {
+        Mcp.Resources.Builder builder = Mcp.Resources.newBuilder().addAllResources(updatedResources.values())
+                .setCollection(CollectionTypes.SERVICE_ENTRY).setNonce(String.valueOf(System.currentTimeMillis()))
+                .setIncremental(true);
+        for (String each : removedResources) {
+            builder.addRemovedResources(SERVICE_NAME_PREFIX + each);
+        }
+        Mcp.Resources resources = builder.build();
+        if (Loggers.MAIN.isDebugEnabled()) {
+            Loggers.MAIN.debug("mcp incremental resources:{}", resources.toString());
+        }
+        return resources;
     }
     
     @Override
@@ -93,6 +141,10 @@ public class NacosMcpService extends ResourceSourceGrpc.ResourceSourceImplBase {
                     
                     Loggers.MAIN.error("NACK error code: {}, message: {}", value.getErrorDetail().getCode(),
                             value.getErrorDetail().getMessage());
+                    // The changes of the NACKed delta are not applied by sink, resend all resources to resync it.
+                    if (incrementalConnections.contains(connectionId)) {
+                        send(responseObserver, generateResponse(resourceMapCache));
+                    }
                     return;
                 }
                 
@@ -107,17 +159,24 @@ public class NacosMcpService extends ResourceSourceGrpc.ResourceSourceImplBase {
                     Mcp.Resources resources = Mcp.Resources.newBuilder().setCollection(value.getCollection())
                             .setNonce(String.valueOf(System.currentTimeMillis())).build();
                     
-                    responseObserver.onNext(resources);
+                    send(responseObserver, resources);
                     return;
                 }
+                // The first response is always the full resources, then only changes for incremental requests:
+                if (value.getIncremental()) {
+                    incrementalConnections.add(connectionId);
+                } else {
+                    incrementalConnections.remove(connectionId);
+                }
                 Mcp.Resources resources = generateResponse(resourceMapCache);
-                responseObserver.onNext(resources);
+                send(responseObserver, resources);
             }
             
             @Override
             public void onError(Throwable t) {
                 Loggers.MAIN.error("stream error.", t);
                 connnections.remove(connectionId);
+                incrementalConnections.remove(connectionId);
             }
             
             @Override
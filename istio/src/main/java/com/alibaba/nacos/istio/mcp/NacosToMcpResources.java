@@ -19,6 +19,13 @@ package com.alibaba.nacos.istio.mcp;
 import com.alibaba.nacos.api.common.Constants;
 import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.common.notify.Event;
+import com.alibaba.nacos.common.notify.NotifyCenter;
+import com.alibaba.nacos.common.notify.listener.SmartSubscriber;
+import com.alibaba.nacos.common.utils.MD5Utils;
+import com.alibaba.nacos.istio.misc.Loggers;
+import com.alibaba.nacos.naming.core.v2.event.metadata.MetadataEvent;
+import com.alibaba.nacos.naming.core.v2.event.service.ServiceEvent;
 import com.alibaba.nacos.naming.core.v2.index.ServiceStorage;
 import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
 import com.alibaba.nacos.naming.core.v2.metadata.ServiceMetadata;
@@ -35,13 +42,23 @@ import istio.networking.v1alpha3.WorkloadEntryOuterClass;
 import org.apache.commons.lang.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.List;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Nacos MCP server.
@@ -52,17 +69,24 @@ import java.util.concurrent.ConcurrentHashMap;
  * @since 1.2.1
  */
 @org.springframework.stereotype.Service
-public class NacosToMcpResources {
+public class NacosToMcpResources extends SmartSubscriber {
     
     private final Map<String, ResourceOuterClass.Resource> resourceMap = new ConcurrentHashMap<>(16);
     
-    private final Map<String, String> checksumMap = new ConcurrentHashMap<>(16);
+    private final Map<String, Service> resourceServices = new HashMap<>(16);
+    
+    private final Set<Service> changedServices = ConcurrentHashMap.newKeySet();
+    
+    private final AtomicBoolean pushScheduled = new AtomicBoolean(false);
     
     private static final String SERVICE_NAME_SPLITTER = "nacos";
     
     private static final String MESSAGE_TYPE_URL = "type.googleapis.com/istio.networking.v1alpha3.ServiceEntry";
     
-    private static final long MCP_PUSH_PERIOD_MILLISECONDS = 10000L;
+    /**
+     * Changes within this delay are generated and pushed together.
+     */
+    private static final long MCP_PUSH_DELAY_MILLISECONDS = 1000L;
     
     @Autowired
     private NacosMcpOverXdsService nacosMcpOverXdsService;
@@ -76,72 +100,100 @@ public class NacosToMcpResources {
     @Autowired
     private NamingMetadataManager namingMetadataManager;
     
+    /**
+     * Start to generate resources by service events. The services existing before start have no event, so they are
+     * generated once from all services.
+     */
     public void start() {
-        GlobalExecutor
-                .scheduleMcpPushTask(new McpPushTask(), MCP_PUSH_PERIOD_MILLISECONDS * 2, MCP_PUSH_PERIOD_MILLISECONDS);
+        NotifyCenter.registerSubscriber(this);
+        ServiceManager serviceManager = ServiceManager.getInstance();
+        for (String namespace : serviceManager.getAllNamespaces()) {
+            changedServices.addAll(serviceManager.getSingletons(namespace));
+        }
+        schedulePush();
     }
     
-    private class McpPushTask implements Runnable {
+    @Override
+    public List<Class<? extends Event>> subscribeTypes() {
+        List<Class<? extends Event>> result = new LinkedList<>();
+        result.add(ServiceEvent.ServiceChangedEvent.class);
+        result.add(ServiceEvent.ServiceMetadataChangedEvent.class);
+        // published when an empty service is removed.
+        result.add(MetadataEvent.ServiceMetadataEvent.class);
+        return result;
+    }
+    
+    @Override
+    public void onEvent(Event event) {
+        Service service = event instanceof ServiceEvent ? ((ServiceEvent) event).getService()
+                : ((MetadataEvent) event).getService();
+        markChanged(service);
+        schedulePush();
+    }
+    
+    void markChanged(Service service) {
+        changedServices.add(service);
+    }
+    
+    private void schedulePush() {
+        if (pushScheduled.compareAndSet(false, true)) {
+            GlobalExecutor.scheduleMcpPushTask(new McpPushTask(), MCP_PUSH_DELAY_MILLISECONDS);
+        }
+    }
+    
+    class McpPushTask implements Runnable {
         
         @Override
         public void run() {
-            
-            ServiceManager serviceManager = ServiceManager.getInstance();
-            
-            boolean changed = false;
-            
-            // Query all services to see if any of them have changes:
-            Set<String> namespaces = serviceManager.getAllNamespaces();
-            Set<String> allServices = new HashSet<>();
-            for (String namespace : namespaces) {
-                
-                Set<Service> services = serviceManager.getSingletons(namespace);
-                
-                if (services.isEmpty()) {
-                    continue;
-                }
-                
-                for (Service service : services) {
-                    ServiceInfo serviceInfo = serviceStorage.getData(service);
-                    
-                    String convertedName = convertName(service);
-                    allServices.add(convertedName);
-                    // Service not changed:
-                    if (checksumMap.containsKey(convertedName) && checksumMap.get(convertedName)
-                            .equals(serviceInfo.getChecksum())) {
-                        continue;
-                    }
-                    // Update the resource:
-                    changed = true;
-                    if (!serviceInfo.validate()) {
-                        resourceMap.remove(convertedName);
-                        checksumMap.remove(convertedName);
-                        continue;
-                    }
-                    
-                    resourceMap.put(convertedName, convertService(service));
-                    checksumMap.put(convertedName, serviceInfo.getChecksum());
-                }
+            // Changes from now on schedule the next push.
+            pushScheduled.set(false);
+            push();
+        }
+    }
+    
+    synchronized void push() {
+        try {
+            if (changedServices.isEmpty()) {
+                return;
             }
             
-            for (String key : resourceMap.keySet()) {
-                if (!allServices.contains(key)) {
-                    changed = true;
-                    resourceMap.remove(key);
-                    checksumMap.remove(key);
+            Map<String, ResourceOuterClass.Resource> updatedResources = new HashMap<>(changedServices.size());
+            Set<String> removedResources = new HashSet<>();
+            Iterator<Service> iterator = changedServices.iterator();
+            while (iterator.hasNext()) {
+                Service service = iterator.next();
+                iterator.remove();
+                String convertedName = convertName(service);
+                Optional<ResourceOuterClass.Resource> resource = convertService(service);
+                if (resource.isPresent()) {
+                    resourceServices.put(convertedName, service);
+                    if (!isSameVersion(resourceMap.get(convertedName), resource.get())) {
+                        updatedResources.put(convertedName, resource.get());
+                    }
+                } else if (null != resourceServices.remove(convertedName)) {
+                    removedResources.add(convertedName);
                 }
             }
-            if (!changed) {
-                // If no service changed, just return:
+            if (updatedResources.isEmpty() && removedResources.isEmpty()) {
                 return;
             }
             
-            nacosMcpOverXdsService.sendResources(resourceMap);
-            nacosMcpService.sendResources(resourceMap);
-            
+            resourceMap.putAll(updatedResources);
+            for (String each : removedResources) {
+                resourceMap.remove(each);
+            }
+            nacosMcpOverXdsService.sendResources(resourceMap, updatedResources, removedResources);
+            nacosMcpService.sendResources(resourceMap, updatedResources, removedResources);
+        } catch (Throwable e) {
+            Loggers.MAIN.error("mcp push task failed.", e);
         }
     }
     
+    private boolean isSameVersion(ResourceOuterClass.Resource oldResource, ResourceOuterClass.Resource newResource) {
+        return null != oldResource && oldResource.getMetadata().getVersion()
+                .equals(newResource.getMetadata().getVersion());
+    }
+    
     private String convertName(Service service) {
         if (!Constants.DEFAULT_GROUP.equals(service.getGroup())) {
             return service.getName() + "." + service.getGroup() + "." + service.getNamespace();
@@ -150,16 +202,24 @@ public class NacosToMcpResources {
         return service.getName() + ".DEFAULT-GROUP" + "." + service.getNamespace();
     }
     
-    private ResourceOuterClass.Resource convertService(Service service) {
+    private Optional<ResourceOuterClass.Resource> convertService(Service service) {
+        if (!ServiceManager.getInstance().containSingleton(service)) {
+            return Optional.empty();
+        }
+        ServiceInfo serviceInfo = serviceStorage.getPushData(service);
+        if (!serviceInfo.validate()) {
+            return Optional.empty();
+        }
+        
         String serviceName = convertName(service);
         ServiceEntryOuterClass.ServiceEntry.Builder serviceEntryBuilder = ServiceEntryOuterClass.ServiceEntry
                 .newBuilder().setResolution(ServiceEntryOuterClass.ServiceEntry.Resolution.STATIC)
                 .setLocation(ServiceEntryOuterClass.ServiceEntry.Location.MESH_INTERNAL)
                 .addHosts(serviceName + "." + SERVICE_NAME_SPLITTER);
         
-        ServiceInfo serviceInfo = serviceStorage.getData(service);
-        
-        List<Instance> hosts = serviceInfo.getHosts();
+        // Sorted, so that the same endpoints are serialized into the same content and version.
+        List<Instance> hosts = new ArrayList<>(serviceInfo.getHosts());
+        hosts.sort(Comparator.comparing(Instance::getIp).thenComparingInt(Instance::getPort));
         
         int port = 0;
         for (Instance instance : hosts) {
@@ -174,7 +234,7 @@ public class NacosToMcpResources {
                 metadata.put("cluster", instance.getClusterName());
             }
             WorkloadEntryOuterClass.WorkloadEntry workloadEntry = WorkloadEntryOuterClass.WorkloadEntry.newBuilder()
-                    .setAddress(instance.getIp()).setWeight((int) instance.getWeight()).putAllLabels(metadata)
+                    .setAddress(instance.getIp()).setWeight((int) instance.getWeight()).putAllLabels(new TreeMap<>(metadata))
                     .putPorts("http", instance.getPort()).build();
             
             serviceEntryBuilder.addEndpoints(workloadEntry);
@@ -193,8 +253,23 @@ public class NacosToMcpResources {
                 .setName(SERVICE_NAME_SPLITTER + "/" + serviceName)
                 .putAllAnnotations(serviceMetadataGetter.getExtendData()).putAnnotations("virtual", "1")
                 .setCreateTime(Timestamp.newBuilder().setSeconds(System.currentTimeMillis() / 1000).build())
-                .setVersion(serviceInfo.getChecksum()).build();
+                .setVersion(generateVersion(serviceEntry, serviceMetadataGetter.getExtendData())).build();
         
-        return ResourceOuterClass.Resource.newBuilder().setBody(any).setMetadata(metadata).build();
+        return Optional.of(ResourceOuterClass.Resource.newBuilder().setBody(any).setMetadata(metadata).build());
+    }
+    
+    /**
+     * Generate version from the content of resource, the revision of service is not changed by the health changes of
+     * instances.
+     */
+    private String generateVersion(ServiceEntryOuterClass.ServiceEntry serviceEntry, Map<String, String> annotations) {
+        ByteArrayOutputStream content = new ByteArrayOutputStream(serviceEntry.getSerializedSize() + 64);
+        try {
+            serviceEntry.writeTo(content);
+            content.write(new TreeMap<>(annotations).toString().getBytes(StandardCharsets.UTF_8));
+            return MD5Utils.md5Hex(content.toByteArray());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("generate version of " + serviceEntry.getHosts(0) + " failed", e);
+        }
     }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.istio.mcp;
+
+import com.google.rpc.Status;
+import io.grpc.stub.StreamObserver;
+import istio.mcp.v1alpha1.Mcp;
+import istio.mcp.v1alpha1.MetadataOuterClass;
+import istio.mcp.v1alpha1.ResourceOuterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+@RunWith(MockitoJUnitRunner.class)
+public class NacosMcpServiceTest {
+    
+    @Mock
+    private StreamObserver<Mcp.Resources> responseObserver;
+    
+    private NacosMcpService nacosMcpService;
+    
+    private Map<String, ResourceOuterClass.Resource> resourceMap;
+    
+    @Before
+    public void setUp() {
+        nacosMcpService = new NacosMcpService();
+        resourceMap = new HashMap<>(4);
+        resourceMap.put("a", resource("a"));
+        resourceMap.put("b", resource("b"));
+    }
+    
+    @Test
+    public void testResendAllResourcesAfterIncrementalNack() {
+        StreamObserver<Mcp.RequestResources> requestObserver = establish(true);
+        Map<String, ResourceOuterClass.Resource> updated = Collections.singletonMap("b", resourceMap.get("b"));
+        nacosMcpService.sendResources(resourceMap, updated, Collections.singleton("c"));
+        
+        requestObserver.onNext(Mcp.RequestResources.newBuilder().setCollection(CollectionTypes.SERVICE_ENTRY)
+                .setResponseNonce("1").setErrorDetail(Status.newBuilder().setCode(3).setMessage("mock")).build());
+        
+        ArgumentCaptor<Mcp.Resources> sent = ArgumentCaptor.forClass(Mcp.Resources.class);
+        Mockito.verify(responseObserver, Mockito.times(2)).onNext(sent.capture());
+        Mcp.Resources delta = sent.getAllValues().get(0);
+        Assert.assertTrue(delta.getIncremental());
+        Assert.assertEquals(1, delta.getResourcesCount());
+        Assert.assertEquals("nacos/c", delta.getRemovedResources(0));
+        Mcp.Resources resend = sent.getAllValues().get(1);
+        Assert.assertFalse(resend.getIncremental());
+        Assert.assertEquals(2, resend.getResourcesCount());
+    }
+    
+    @Test
+    public void testNotResendAfterFullNack() {
+        StreamObserver<Mcp.RequestResources> requestObserver = establish(false);
+        nacosMcpService.sendResources(resourceMap, resourceMap, Collections.emptySet());
+        
+        requestObserver.onNext(Mcp.RequestResources.newBuilder().setCollection(CollectionTypes.SERVICE_ENTRY)
+                .setResponseNonce("1").setErrorDetail(Status.newBuilder().setCode(3).setMessage("mock")).build());
+        
+        ArgumentCaptor<Mcp.Resources> sent = ArgumentCaptor.forClass(Mcp.Resources.class);
+        Mockito.verify(responseObserver).onNext(sent.capture());
+        Assert.assertFalse(sent.getValue().getIncremental());
+        Assert.assertEquals(2, sent.getValue().getResourcesCount());
+    }
+    
+    /**
+     * Establish stream and discard the first full response.
+     */
+    private StreamObserver<Mcp.RequestResources> establish(boolean incremental) {
+        StreamObserver<Mcp.RequestResources> result = nacosMcpService.establishResourceStream(responseObserver);
+        result.onNext(Mcp.RequestResources.newBuilder().setCollection(CollectionTypes.SERVICE_ENTRY)
+                .setIncremental(incremental).build());
+        Mockito.verify(responseObserver).onNext(Mockito.any());
+        Mockito.reset(responseObserver);
+        return result;
+    }
+    
+    private ResourceOuterClass.Resource resource(String name) {
+        return ResourceOuterClass.Resource.newBuilder()
+                .setMetadata(MetadataOuterClass.Metadata.newBuilder().setName("nacos/" + name).setVersion("1"))
+                .build();
+    }
+}
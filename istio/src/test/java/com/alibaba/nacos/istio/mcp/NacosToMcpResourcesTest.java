@@ -0,0 +1,148 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.istio.mcp;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.naming.core.v2.ServiceManager;
+import com.alibaba.nacos.naming.core.v2.index.ServiceStorage;
+import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import istio.mcp.v1alpha1.ResourceOuterClass;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@RunWith(MockitoJUnitRunner.class)
+public class NacosToMcpResourcesTest {
+    
+    private static final String RESOURCE_NAME = "service.group.namespace";
+    
+    @Mock
+    private NacosMcpOverXdsService nacosMcpOverXdsService;
+    
+    @Mock
+    private NacosMcpService nacosMcpService;
+    
+    @Mock
+    private ServiceStorage serviceStorage;
+    
+    @Mock
+    private NamingMetadataManager namingMetadataManager;
+    
+    private NacosToMcpResources nacosToMcpResources;
+    
+    private Service service;
+    
+    private Instance instance;
+    
+    @Before
+    public void setUp() throws Exception {
+        nacosToMcpResources = new NacosToMcpResources();
+        setField("nacosMcpOverXdsService", nacosMcpOverXdsService);
+        setField("nacosMcpService", nacosMcpService);
+        setField("serviceStorage", serviceStorage);
+        setField("namingMetadataManager", namingMetadataManager);
+        service = ServiceManager.getInstance().getSingleton(Service.newService("namespace", "group", "service"));
+        instance = instance("1.1.1.1");
+        ServiceInfo serviceInfo = new ServiceInfo();
+        serviceInfo.setHosts(Arrays.asList(instance("1.1.1.2"), instance));
+        Mockito.when(serviceStorage.getPushData(service)).thenReturn(serviceInfo);
+        Mockito.when(namingMetadataManager.getServiceMetadata(service)).thenReturn(Optional.empty());
+    }
+    
+    @After
+    public void tearDown() {
+        ServiceManager.getInstance().removeSingleton(service);
+    }
+    
+    @Test
+    public void testVersionChangedByHealth() {
+        nacosToMcpResources.markChanged(service);
+        nacosToMcpResources.push();
+        String version = captureUpdatedResource(1).getMetadata().getVersion();
+        
+        // The health change does not increase the revision of service.
+        instance.setHealthy(false);
+        nacosToMcpResources.markChanged(service);
+        nacosToMcpResources.push();
+        Assert.assertNotEquals(version, captureUpdatedResource(2).getMetadata().getVersion());
+    }
+    
+    @Test
+    public void testNotSendUnchangedResource() {
+        nacosToMcpResources.markChanged(service);
+        nacosToMcpResources.push();
+        nacosToMcpResources.markChanged(service);
+        nacosToMcpResources.push();
+        Mockito.verify(nacosMcpService).sendResources(Mockito.any(), Mockito.any(), Mockito.any());
+        Mockito.verify(nacosMcpOverXdsService).sendResources(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRemoveResourceOfRemovedService() {
+        nacosToMcpResources.markChanged(service);
+        nacosToMcpResources.push();
+        captureUpdatedResource(1);
+        
+        ServiceManager.getInstance().removeSingleton(service);
+        nacosToMcpResources.markChanged(service);
+        nacosToMcpResources.push();
+        ArgumentCaptor<Set<String>> removed = ArgumentCaptor.forClass(Set.class);
+        Mockito.verify(nacosMcpService, Mockito.times(2))
+                .sendResources(Mockito.any(), Mockito.<Map<String, ResourceOuterClass.Resource>>any(), removed.capture());
+        Assert.assertEquals(Collections.singleton(RESOURCE_NAME), removed.getValue());
+    }
+    
+    @SuppressWarnings("unchecked")
+    private ResourceOuterClass.Resource captureUpdatedResource(int times) {
+        ArgumentCaptor<Map<String, ResourceOuterClass.Resource>> updated = ArgumentCaptor.forClass(Map.class);
+        Mockito.verify(nacosMcpService, Mockito.times(times))
+                .sendResources(Mockito.any(), updated.capture(), Mockito.<Set<String>>any());
+        ResourceOuterClass.Resource result = updated.getValue().get(RESOURCE_NAME);
+        Assert.assertNotNull(result);
+        return result;
+    }
+    
+    private Instance instance(String ip) {
+        Instance result = new Instance();
+        result.setIp(ip);
+        result.setPort(8080);
+        result.setHealthy(true);
+        return result;
+    }
+    
+    private void setField(String name, Object value) throws Exception {
+        Field field = NacosToMcpResources.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(nacosToMcpResources, value);
+    }
+}
@@ -27,12 +27,14 @@ import com.alibaba.nacos.core.distributed.distro.entity.DistroData;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
 import com.alibaba.nacos.naming.cluster.transport.Serializer;
 import com.alibaba.nacos.naming.core.v2.ServiceManager;
+import com.alibaba.nacos.naming.core.v2.client.BatchInstanceData;
 import com.alibaba.nacos.naming.core.v2.client.Client;
 import com.alibaba.nacos.naming.core.v2.client.ClientSyncData;
 import com.alibaba.nacos.naming.core.v2.client.ClientSyncDatumSnapshot;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManager;
 import com.alibaba.nacos.naming.core.v2.event.client.ClientEvent;
 import com.alibaba.nacos.naming.core.v2.event.client.ClientOperationEvent;
+import com.alibaba.nacos.naming.core.v2.pojo.BatchInstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.core.v2.upgrade.UpgradeJudgement;
@@ -170,11 +172,17 @@ public class DistroClientDataProcessor extends SmartSubscriber implements Distro
             Service service = Service.newService(namespaces.get(i), groupNames.get(i), serviceNames.get(i));
             Service singleton = ServiceManager.getInstance().getSingleton(service);
             syncedService.add(singleton);
-            InstancePublishInfo instancePublishInfo = instances.get(i);
-            if (!instancePublishInfo.equals(client.getInstancePublishInfo(singleton))) {
-                client.addServiceInstance(singleton, instancePublishInfo);
-                NotifyCenter.publishEvent(
-                        new ClientOperationEvent.ClientRegisterServiceEvent(singleton, client.getClientId()));
+            upgradeServiceInstance(client, singleton, instances.get(i));
+        }
+        BatchInstanceData batchInstanceData = clientSyncData.getBatchInstanceData();
+        if (null != batchInstanceData) {
+            List<BatchInstancePublishInfo> batchInstances = batchInstanceData.getBatchInstancePublishInfos();
+            for (int i = 0; i < batchInstances.size(); i++) {
+                Service service = Service.newService(batchInstanceData.getNamespaces().get(i),
+                        batchInstanceData.getGroupNames().get(i), batchInstanceData.getServiceNames().get(i));
+                Service singleton = ServiceManager.getInstance().getSingleton(service);
+                syncedService.add(singleton);
+                upgradeServiceInstance(client, singleton, batchInstances.get(i));
             }
         }
         for (Service each : client.getAllPublishedService()) {
@@ -186,6 +194,14 @@ public class DistroClientDataProcessor extends SmartSubscriber implements Distro
         }
     }
     
+    private void upgradeServiceInstance(Client client, Service singleton, InstancePublishInfo instancePublishInfo) {
+        if (!instancePublishInfo.equals(client.getInstancePublishInfo(singleton))) {
+            client.addServiceInstance(singleton, instancePublishInfo);
+            NotifyCenter.publishEvent(
+                    new ClientOperationEvent.ClientRegisterServiceEvent(singleton, client.getClientId()));
+        }
+    }
+    
     @Override
     public boolean processVerifyData(DistroData distroData, String sourceAddress) {
         DistroClientVerifyInfo verifyData = ApplicationUtils.getBean(Serializer.class)
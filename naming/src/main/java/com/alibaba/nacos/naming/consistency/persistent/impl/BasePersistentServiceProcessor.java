@@ -20,6 +20,7 @@ import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.exception.runtime.NacosRuntimeException;
 import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.common.utils.ByteUtils;
+import com.alibaba.nacos.common.utils.StringUtils;
 import com.alibaba.nacos.consistency.DataOperation;
 import com.alibaba.nacos.consistency.SerializeFactory;
 import com.alibaba.nacos.consistency.Serializer;
@@ -37,6 +38,7 @@ import com.alibaba.nacos.naming.consistency.ValueChangeEvent;
 import com.alibaba.nacos.naming.consistency.persistent.ClusterVersionJudgement;
 import com.alibaba.nacos.naming.consistency.persistent.PersistentConsistencyService;
 import com.alibaba.nacos.naming.consistency.persistent.PersistentNotifier;
+import com.alibaba.nacos.naming.misc.GlobalConfig;
 import com.alibaba.nacos.naming.misc.Loggers;
 import com.alibaba.nacos.naming.misc.UtilsAndCommons;
 import com.alibaba.nacos.naming.pojo.Record;
@@ -46,6 +48,7 @@ import org.apache.commons.lang3.reflect.TypeUtils;
 
 import java.lang.reflect.Type;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -114,9 +117,15 @@ public abstract class BasePersistentServiceProcessor extends RequestProcessor4CP
     
     protected final int priority = 10;
     
+    /**
+     * Number of apply partitions, requests of many keys share one partition so they are merged into one storage batch.
+     */
+    protected final int partitionCount = 8;
+    
     public BasePersistentServiceProcessor(final ClusterVersionJudgement judgement) throws Exception {
         this.versionJudgement = judgement;
-        this.kvStorage = new NamingKvStorage(Paths.get(UtilsAndCommons.DATA_BASE_DIR, "data").toString());
+        this.kvStorage = new NamingKvStorage(Paths.get(UtilsAndCommons.DATA_BASE_DIR, "data").toString(),
+                GlobalConfig.getPersistentStorageType());
         this.serializer = SerializeFactory.getSerializer("JSON");
         this.notifier = new PersistentNotifier(key -> {
             try {
@@ -170,6 +179,76 @@ public abstract class BasePersistentServiceProcessor extends RequestProcessor4CP
         final Op op = Op.valueOf(request.getOperation());
         final Lock lock = readLock;
         lock.lock();
+        try {
+            return doApply(op, bwRequest);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Consecutive requests of the same operation are merged into one storage batch operation.
+     *
+     * @param requests {@link WriteRequest} in log order
+     * @return responses in the same order of requests
+     */
+    @Override
+    public List<Response> onApplyBatch(List<WriteRequest> requests) {
+        final List<Response> responses = new ArrayList<>(requests.size());
+        final Lock lock = readLock;
+        lock.lock();
+        try {
+            int start = 0;
+            while (start < requests.size()) {
+                final Op op = Op.valueOf(requests.get(start).getOperation());
+                final BatchWriteRequest merged = new BatchWriteRequest();
+                int end = start;
+                while (end < requests.size() && op.desc.equals(requests.get(end).getOperation())) {
+                    final byte[] data = requests.get(end).getData().toByteArray();
+                    final BatchWriteRequest each = serializer.deserialize(data, BatchWriteRequest.class);
+                    for (int i = 0; i < each.getKeys().size(); i++) {
+                        merged.append(each.getKeys().get(i), each.getValues().get(i));
+                    }
+                    end++;
+                }
+                final Response response = doApply(op, merged);
+                for (int i = start; i < end; i++) {
+                    responses.add(response);
+                }
+                start = end;
+            }
+            return responses;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Writes of different keys are commutative, so requests are partitioned by the hash of their key. Requests of one
+     * key always fall into the same partition and keep their log order.
+     *
+     * @param request {@link WriteRequest}
+     * @return partition of request, or {@code null} if the request has no key
+     */
+    @Override
+    public String partitionKey(WriteRequest request) {
+        if (StringUtils.isEmpty(request.getKey())) {
+            return null;
+        }
+        return String.valueOf((request.getKey().hashCode() & Integer.MAX_VALUE) % partitionCount);
+    }
+    
+    /**
+     * Writes and deletes of keys leave the same data when they are applied again in log order.
+     *
+     * @return {@code true}
+     */
+    @Override
+    public boolean isIdempotent() {
+        return true;
+    }
+    
+    private Response doApply(final Op op, final BatchWriteRequest bwRequest) {
         try {
             switch (op) {
                 case Write:
@@ -185,8 +264,6 @@ public abstract class BasePersistentServiceProcessor extends RequestProcessor4CP
             return Response.newBuilder().setSuccess(true).build();
         } catch (KvStorageException e) {
             return Response.newBuilder().setSuccess(false).setErrMsg(e.getErrMsg()).build();
-        } finally {
-            lock.unlock();
         }
     }
     
@@ -18,29 +18,38 @@ package com.alibaba.nacos.naming.consistency.persistent.impl;
 
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.exception.runtime.NacosRuntimeException;
+import com.alibaba.nacos.common.utils.ByteUtils;
 import com.alibaba.nacos.common.utils.StringUtils;
 import com.alibaba.nacos.core.exception.ErrorCode;
 import com.alibaba.nacos.core.exception.KvStorageException;
 import com.alibaba.nacos.core.storage.StorageFactory;
 import com.alibaba.nacos.core.storage.kv.KvStorage;
+import com.alibaba.nacos.core.storage.kv.LogKvStorage;
 import com.alibaba.nacos.core.storage.kv.MemoryKvStorage;
 import com.alibaba.nacos.core.utils.TimerContext;
 import com.alibaba.nacos.naming.consistency.KeyBuilder;
 import com.alibaba.nacos.naming.misc.Loggers;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
  * Kv storage implementation for naming.
  *
+ * <p>The data is saved by {@link KvType#File} or {@link KvType#Log} storage. With {@link KvType#Log} storage, the
+ * data and snapshots saved by {@link KvType#File} storage before, one file per key, are imported.
+ *
  * @author xiweng.yy
  */
 public class NamingKvStorage extends MemoryKvStorage {
@@ -51,13 +60,20 @@ public class NamingKvStorage extends MemoryKvStorage {
     
     private final String baseDir;
     
+    private final KvType kvType;
+    
     private final KvStorage baseDirStorage;
     
     private final Map<String, KvStorage> namespaceKvStorage;
     
     public NamingKvStorage(final String baseDir) throws Exception {
+        this(baseDir, KvType.File);
+    }
+    
+    public NamingKvStorage(final String baseDir, final KvType kvType) throws Exception {
         this.baseDir = baseDir;
-        this.baseDirStorage = StorageFactory.createKvStorage(KvStorage.KvType.File, LABEL, baseDir);
+        this.kvType = kvType;
+        this.baseDirStorage = createStorage(baseDir);
         this.namespaceKvStorage = new ConcurrentHashMap<>(16);
     }
     
@@ -142,6 +158,13 @@ public class NamingKvStorage extends MemoryKvStorage {
     @Override
     public void doSnapshot(String backupPath) throws KvStorageException {
         baseDirStorage.doSnapshot(backupPath);
+        if (KvType.Log != kvType) {
+            // The file storage copies the namespace dirs together with the base dir.
+            return;
+        }
+        for (String each : getAllNamespaceDirs()) {
+            actualStorage(each).doSnapshot(Paths.get(backupPath, each).toString());
+        }
     }
     
     @Override
@@ -149,6 +172,10 @@ public class NamingKvStorage extends MemoryKvStorage {
         TimerContext.start(LOAD_SNAPSHOT);
         try {
             baseDirStorage.snapshotLoad(path);
+            if (KvType.Log == kvType) {
+                importFileData(baseDirStorage, new File(path), false);
+                loadLogNamespaceSnapshot(path);
+            }
             loadSnapshotFromActualStorage(baseDirStorage);
             loadNamespaceSnapshot();
         } finally {
@@ -156,6 +183,21 @@ public class NamingKvStorage extends MemoryKvStorage {
         }
     }
     
+    private void loadLogNamespaceSnapshot(String path) throws KvStorageException {
+        Set<String> namespaces = new LinkedHashSet<>(getAllNamespaceDirs());
+        namespaces.addAll(getAllDirs(new File(path)));
+        for (String each : namespaces) {
+            KvStorage storage = actualStorage(each);
+            File snapshotDir = new File(path, each);
+            if (snapshotDir.isDirectory()) {
+                storage.snapshotLoad(snapshotDir.getPath());
+                importFileData(storage, snapshotDir, false);
+            } else {
+                storage.batchDelete(storage.allKeys());
+            }
+        }
+    }
+    
     private void loadSnapshotFromActualStorage(KvStorage actualStorage) throws KvStorageException {
         for (byte[] each : actualStorage.allKeys()) {
             byte[] datum = actualStorage.get(each);
@@ -175,7 +217,11 @@ public class NamingKvStorage extends MemoryKvStorage {
     }
     
     private List<String> getAllNamespaceDirs() {
-        File[] files = new File(baseDir).listFiles();
+        return getAllDirs(new File(baseDir));
+    }
+    
+    private static List<String> getAllDirs(File dir) {
+        File[] files = dir.listFiles();
         List<String> result = Collections.emptyList();
         if (null != files) {
             result = new ArrayList<>(files.length);
@@ -217,7 +263,7 @@ public class NamingKvStorage extends MemoryKvStorage {
         Function<String, KvStorage> kvStorageBuilder = key -> {
             try {
                 String namespacePath = Paths.get(baseDir, key).toString();
-                return StorageFactory.createKvStorage(KvType.File, LABEL, namespacePath);
+                return createStorage(namespacePath);
             } catch (Exception e) {
                 throw new NacosRuntimeException(NacosException.SERVER_ERROR, e);
             }
@@ -225,4 +271,55 @@ public class NamingKvStorage extends MemoryKvStorage {
         namespaceKvStorage.computeIfAbsent(namespace, kvStorageBuilder);
         return namespaceKvStorage.get(namespace);
     }
+    
+    private KvStorage actualStorage(String namespace) throws KvStorageException {
+        try {
+            return createActualStorageIfAbsent(namespace);
+        } catch (Exception e) {
+            throw new KvStorageException(ErrorCode.KVStorageSnapshotLoadError.getCode(),
+                    "Open storage failed, namespace: " + namespace + ", detail: " + e.getMessage(), e);
+        }
+    }
+    
+    private KvStorage createStorage(String dir) throws Exception {
+        KvStorage result = StorageFactory.createKvStorage(kvType, LABEL, dir);
+        if (KvType.Log == kvType) {
+            importFileData(result, new File(dir), true);
+        }
+        return result;
+    }
+    
+    /**
+     * Import the data saved by file storage in the dir, which is one file per key.
+     *
+     * @param storage           storage to import to
+     * @param dir               dir of the data files
+     * @param deleteAfterImport whether delete the data files after imported
+     * @throws KvStorageException exception during import
+     */
+    private static void importFileData(KvStorage storage, File dir, boolean deleteAfterImport)
+            throws KvStorageException {
+        File[] files = dir.listFiles(each -> each.isFile() && !LogKvStorage.isStorageFile(each.getName()));
+        if (null == files || files.length == 0) {
+            return;
+        }
+        List<byte[]> keys = new ArrayList<>(files.length);
+        List<byte[]> values = new ArrayList<>(files.length);
+        try {
+            for (File each : files) {
+                keys.add(ByteUtils.toBytes(each.getName()));
+                values.add(Files.readAllBytes(each.toPath()));
+            }
+            storage.batchPut(keys, values);
+            Loggers.RAFT.info("Imported {} data files from {}", files.length, dir);
+            if (deleteAfterImport) {
+                for (File each : files) {
+                    Files.deleteIfExists(each.toPath());
+                }
+            }
+        } catch (IOException e) {
+            throw new KvStorageException(ErrorCode.KVStorageWriteError.getCode(),
+                    "Import data files failed, dir: " + dir + ", detail: " + e.getMessage(), e);
+        }
+    }
 }
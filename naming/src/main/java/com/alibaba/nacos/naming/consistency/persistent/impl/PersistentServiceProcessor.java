@@ -101,7 +101,7 @@ public class PersistentServiceProcessor extends BasePersistentServiceProcessor {
         Datum datum = Datum.createDatum(key, value);
         req.append(ByteUtils.toBytes(key), serializer.serialize(datum));
         final WriteRequest request = WriteRequest.newBuilder().setData(ByteString.copyFrom(serializer.serialize(req)))
-                .setGroup(Constants.NAMING_PERSISTENT_SERVICE_GROUP).setOperation(Op.Write.desc).build();
+                .setGroup(Constants.NAMING_PERSISTENT_SERVICE_GROUP).setKey(key).setOperation(Op.Write.desc).build();
         try {
             protocol.write(request);
         } catch (Exception e) {
@@ -114,7 +114,7 @@ public class PersistentServiceProcessor extends BasePersistentServiceProcessor {
         final BatchWriteRequest req = new BatchWriteRequest();
         req.append(ByteUtils.toBytes(key), ByteUtils.EMPTY);
         final WriteRequest request = WriteRequest.newBuilder().setData(ByteString.copyFrom(serializer.serialize(req)))
-                .setGroup(Constants.NAMING_PERSISTENT_SERVICE_GROUP).setOperation(Op.Delete.desc).build();
+                .setGroup(Constants.NAMING_PERSISTENT_SERVICE_GROUP).setKey(key).setOperation(Op.Delete.desc).build();
         try {
             protocol.write(request);
         } catch (Exception e) {
@@ -77,6 +77,11 @@ public final class Constants {
      */
     public static final String DATA_WARMUP = "nacos.naming.data.warmup";
     
+    /**
+     * Kv type of the persistent data storage, {@code File} or {@code Log}, default: File.
+     */
+    public static final String PERSISTENT_STORAGE_TYPE = "nacos.naming.data.persistent.storage-type";
+    
     /**
      * default : true.
      */
@@ -37,7 +37,7 @@ import com.alibaba.nacos.naming.core.v2.metadata.ServiceMetadata;
 import com.alibaba.nacos.naming.core.v2.upgrade.UpgradeJudgement;
 import com.alibaba.nacos.naming.misc.Loggers;
 import com.alibaba.nacos.naming.misc.UtilsAndCommons;
-import com.alibaba.nacos.naming.pojo.Subscriber;
+import com.alibaba.nacos.naming.pojo.Subscribers;
 import com.alibaba.nacos.naming.selector.LabelSelector;
 import com.alibaba.nacos.naming.selector.NoneSelector;
 import com.alibaba.nacos.naming.selector.Selector;
@@ -332,6 +332,7 @@ public class ServiceController {
         
         int pageNo = NumberUtils.toInt(WebUtils.optional(request, "pageNo", "1"));
         int pageSize = NumberUtils.toInt(WebUtils.optional(request, "pageSize", "1000"));
+        int offset = NumberUtils.toInt(WebUtils.optional(request, "offset", String.valueOf((pageNo - 1) * pageSize)));
         
         String namespaceId = WebUtils.optional(request, CommonParams.NAMESPACE_ID, Constants.DEFAULT_NAMESPACE_ID);
         String serviceName = WebUtils.required(request, CommonParams.SERVICE_NAME);
@@ -341,21 +342,10 @@ public class ServiceController {
         ObjectNode result = JacksonUtils.createEmptyJsonNode();
         
         try {
-            List<Subscriber> subscribers = subscribeManager.getSubscribers(serviceName, namespaceId, aggregation);
-            
-            int start = (pageNo - 1) * pageSize;
-            if (start < 0) {
-                start = 0;
-            }
-            
-            int end = start + pageSize;
-            int count = subscribers.size();
-            if (end > count) {
-                end = count;
-            }
-            
-            result.replace("subscribers", JacksonUtils.transferToJsonNode(subscribers.subList(start, end)));
-            result.put("count", count);
+            Subscribers subscribers = subscribeManager
+                    .getSubscribers(serviceName, namespaceId, aggregation, offset, pageSize);
+            result.replace("subscribers", JacksonUtils.transferToJsonNode(subscribers.getSubscribers()));
+            result.put("count", subscribers.getCount());
             
             return result;
         } catch (Exception e) {
@@ -16,19 +16,29 @@
 
 package com.alibaba.nacos.naming.core;
 
+import com.alibaba.nacos.core.cluster.Member;
+import com.alibaba.nacos.core.cluster.ServerMemberManager;
+import com.alibaba.nacos.naming.misc.Loggers;
 import com.alibaba.nacos.naming.pojo.Subscriber;
+import com.alibaba.nacos.naming.pojo.Subscribers;
 import com.alibaba.nacos.naming.push.NamingSubscriberServiceAggregationImpl;
 import com.alibaba.nacos.naming.push.NamingSubscriberServiceLocalImpl;
 import org.apache.commons.collections.CollectionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -43,12 +53,21 @@ import java.util.stream.Collectors;
 @Service
 public class SubscribeManager {
     
+    private static final Comparator<Subscriber> SUBSCRIBER_COMPARATOR = Comparator
+            .comparing(Subscriber::getServiceName, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Subscriber::getAddrStr, Comparator.nullsFirst(Comparator.naturalOrder()));
+    
+    private static final long REMOTE_QUERY_TIMEOUT_MILLIS = 5000L;
+    
     @Autowired
     private NamingSubscriberServiceLocalImpl localService;
     
     @Autowired
     private NamingSubscriberServiceAggregationImpl aggregationService;
     
+    @Autowired
+    private ServerMemberManager memberManager;
+    
     /**
      * Get subscribers.
      *
@@ -67,6 +86,84 @@ public class SubscribeManager {
         }
     }
     
+    /**
+     * Get one page of subscribers. With aggregation, the subscribers of this server come first and then the ones of
+     * other members ordered by address; each member is asked for its count first, and only the members overlapping the
+     * requested page are asked for their part of the page. Members are asked concurrently, and the ones which do not
+     * respond within {@link #REMOTE_QUERY_TIMEOUT_MILLIS} are skipped.
+     *
+     * @param serviceName fuzzy service name
+     * @param namespaceId namespace id
+     * @param aggregation aggregation
+     * @param offset      offset of the page
+     * @param limit       size of the page
+     * @return subscribers of the page and the total count
+     */
+    public Subscribers getSubscribers(String serviceName, String namespaceId, boolean aggregation, int offset,
+            int limit) {
+        List<Subscriber> local = new ArrayList<>(localService.getFuzzySubscribers(namespaceId, serviceName));
+        local.sort(SUBSCRIBER_COMPARATOR);
+        int start = Math.max(offset, 0);
+        int end = start + Math.max(limit, 0);
+        List<Subscriber> page = new LinkedList<>(slice(local, start, end));
+        int count = local.size();
+        if (aggregation && memberManager.getServerList().size() > 1) {
+            List<Member> members = new ArrayList<>(memberManager.allMembersWithoutSelf());
+            members.sort(Comparator.comparing(Member::getAddress));
+            long deadline = System.currentTimeMillis() + REMOTE_QUERY_TIMEOUT_MILLIS;
+            List<CompletableFuture<Subscribers>> counts = new ArrayList<>(members.size());
+            for (Member each : members) {
+                counts.add(aggregationService.getFuzzySubscribersFromRemote(each, namespaceId, serviceName, 0, 0));
+            }
+            List<CompletableFuture<Subscribers>> pages = new ArrayList<>();
+            for (int i = 0; i < members.size(); i++) {
+                Subscribers countOnly = await(members.get(i), counts.get(i), deadline);
+                int remoteCount = null == countOnly ? 0 : countOnly.getCount();
+                int from = Math.max(start, count);
+                int to = Math.min(end, count + remoteCount);
+                pages.add(from < to ? aggregationService
+                        .getFuzzySubscribersFromRemote(members.get(i), namespaceId, serviceName, from - count,
+                                to - from) : null);
+                count += remoteCount;
+            }
+            deadline = System.currentTimeMillis() + REMOTE_QUERY_TIMEOUT_MILLIS;
+            for (int i = 0; i < members.size(); i++) {
+                if (null == pages.get(i)) {
+                    continue;
+                }
+                Subscribers remote = await(members.get(i), pages.get(i), deadline);
+                if (null != remote && null != remote.getSubscribers()) {
+                    page.addAll(remote.getSubscribers());
+                }
+            }
+        }
+        Subscribers result = new Subscribers();
+        result.setSubscribers(page);
+        result.setCount(count);
+        return result;
+    }
+    
+    private Subscribers await(Member member, CompletableFuture<Subscribers> future, long deadline) {
+        try {
+            return future.get(Math.max(deadline - System.currentTimeMillis(), 0L), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            future.cancel(true);
+            Loggers.SRV_LOG.warn("[SUBSCRIBER] query subscribers from {} failed: {}", member.getAddress(),
+                    e.toString());
+            return null;
+        }
+    }
+    
+    private List<Subscriber> slice(List<Subscriber> subscribers, int start, int end) {
+        if (start >= subscribers.size()) {
+            return Collections.emptyList();
+        }
+        return subscribers.subList(start, Math.min(end, subscribers.size()));
+    }
+    
     public static <T> Predicate<T> distinctByKey(Function<? super T, Object> keyExtractor) {
         Map<Object, Boolean> seen = new ConcurrentHashMap<>(128);
         return object -> seen.putIfAbsent(keyExtractor.apply(object), Boolean.TRUE) == null;
@@ -18,6 +18,7 @@ package com.alibaba.nacos.naming.core.v2.client;
 
 import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.naming.core.v2.event.client.ClientEvent;
+import com.alibaba.nacos.naming.core.v2.pojo.BatchInstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.misc.Loggers;
@@ -65,9 +66,8 @@ public abstract class AbstractClient implements Client {
      */
     @Override
     public boolean addServiceInstance(Service service, InstancePublishInfo instancePublishInfo) {
-        if (null == publishers.put(service, instancePublishInfo)) {
-            MetricsMonitor.incrementInstanceCount();
-        }
+        InstancePublishInfo old = publishers.put(service, instancePublishInfo);
+        MetricsMonitor.getIpCountMonitor().addAndGet(instanceCount(instancePublishInfo) - instanceCount(old));
         /**
          * 发布时间
          */
@@ -80,7 +80,7 @@ public abstract class AbstractClient implements Client {
     public InstancePublishInfo removeServiceInstance(Service service) {
         InstancePublishInfo result = publishers.remove(service);
         if (null != result) {
-            MetricsMonitor.decrementInstanceCount();
+            MetricsMonitor.getIpCountMonitor().addAndGet(-instanceCount(result));
             NotifyCenter.publishEvent(new ClientEvent.ClientChangedEvent(this));
         }
         Loggers.SRV_LOG.info("Client remove for service {}, {}", service, getClientId());
@@ -129,18 +129,40 @@ public abstract class AbstractClient implements Client {
         List<String> groupNames = new LinkedList<>();
         List<String> serviceNames = new LinkedList<>();
         List<InstancePublishInfo> instances = new LinkedList<>();
+        BatchInstanceData batchInstanceData = new BatchInstanceData();
         for (Map.Entry<Service, InstancePublishInfo> entry : publishers.entrySet()) {
+            if (entry.getValue() instanceof BatchInstancePublishInfo) {
+                batchInstanceData.getNamespaces().add(entry.getKey().getNamespace());
+                batchInstanceData.getGroupNames().add(entry.getKey().getGroup());
+                batchInstanceData.getServiceNames().add(entry.getKey().getName());
+                batchInstanceData.getBatchInstancePublishInfos().add((BatchInstancePublishInfo) entry.getValue());
+                continue;
+            }
             namespaces.add(entry.getKey().getNamespace());
             groupNames.add(entry.getKey().getGroup());
             serviceNames.add(entry.getKey().getName());
             instances.add(entry.getValue());
         }
-        return new ClientSyncData(getClientId(), namespaces, groupNames, serviceNames, instances);
+        return new ClientSyncData(getClientId(), namespaces, groupNames, serviceNames, instances, batchInstanceData);
     }
     
     @Override
     public void release() {
-        MetricsMonitor.getIpCountMonitor().addAndGet(-1 * publishers.size());
+        int instanceCount = 0;
+        for (InstancePublishInfo each : publishers.values()) {
+            instanceCount += instanceCount(each);
+        }
+        MetricsMonitor.getIpCountMonitor().addAndGet(-1 * instanceCount);
         MetricsMonitor.getSubscriberCount().addAndGet(-1 * subscribers.size());
     }
+    
+    private int instanceCount(InstancePublishInfo instancePublishInfo) {
+        if (null == instancePublishInfo) {
+            return 0;
+        }
+        if (instancePublishInfo instanceof BatchInstancePublishInfo) {
+            return ((BatchInstancePublishInfo) instancePublishInfo).getInstancePublishInfos().size();
+        }
+        return 1;
+    }
 }
@@ -42,6 +42,8 @@ public class ClientSyncData implements Serializable {
     
     private List<InstancePublishInfo> instancePublishInfos;
     
+    private BatchInstanceData batchInstanceData;
+    
     public ClientSyncData() {
     }
     
@@ -55,6 +57,12 @@ public class ClientSyncData implements Serializable {
         this.attributes = new ClientSyncAttributes();
     }
     
+    public ClientSyncData(String clientId, List<String> namespaces, List<String> groupNames, List<String> serviceNames,
+            List<InstancePublishInfo> instancePublishInfos, BatchInstanceData batchInstanceData) {
+        this(clientId, namespaces, groupNames, serviceNames, instancePublishInfos);
+        this.batchInstanceData = batchInstanceData;
+    }
+    
     public String getClientId() {
         return clientId;
     }
@@ -95,6 +103,14 @@ public class ClientSyncData implements Serializable {
         this.instancePublishInfos = instancePublishInfos;
     }
     
+    public BatchInstanceData getBatchInstanceData() {
+        return batchInstanceData;
+    }
+    
+    public void setBatchInstanceData(BatchInstanceData batchInstanceData) {
+        this.batchInstanceData = batchInstanceData;
+    }
+    
     public ClientSyncAttributes getAttributes() {
         return attributes;
     }
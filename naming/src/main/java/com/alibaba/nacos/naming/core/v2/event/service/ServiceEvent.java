@@ -58,6 +58,18 @@ public class ServiceEvent extends Event {
         }
     }
     
+    /**
+     * Service metadata updated or deleted event.
+     */
+    public static class ServiceMetadataChangedEvent extends ServiceEvent {
+        
+        private static final long serialVersionUID = 4786343460380542216L;
+        
+        public ServiceMetadataChangedEvent(Service service) {
+            super(service);
+        }
+    }
+    
     /**
      * Service is subscribed by one client event.
      */
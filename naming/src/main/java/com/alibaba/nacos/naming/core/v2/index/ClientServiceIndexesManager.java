@@ -33,6 +33,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Client and service index manager.
@@ -46,6 +47,8 @@ public class ClientServiceIndexesManager extends SmartSubscriber {
     
     private final ConcurrentMap<Service, Set<String>> subscriberIndexes = new ConcurrentHashMap<>();
     
+    private final SubscribedServiceIndex subscribedServiceIndex = new SubscribedServiceIndex();
+    
     public ClientServiceIndexesManager() {
         NotifyCenter.registerSubscriber(this);
     }
@@ -62,6 +65,18 @@ public class ClientServiceIndexesManager extends SmartSubscriber {
         return subscriberIndexes.keySet();
     }
     
+    /**
+     * Search subscribed services by fuzzy group name and service name.
+     *
+     * @param namespaceId  namespace id
+     * @param groupPattern pattern which group name should contain
+     * @param namePattern  pattern which service name should contain
+     * @return subscribed services matched
+     */
+    public Collection<Service> searchSubscribedService(String namespaceId, String groupPattern, String namePattern) {
+        return subscribedServiceIndex.search(namespaceId, groupPattern, namePattern);
+    }
+    
     /**
      * Clear the service index without instances.
      *
@@ -132,20 +147,28 @@ public class ClientServiceIndexesManager extends SmartSubscriber {
     }
     
     private void addSubscriberIndexes(Service service, String clientId) {
-        subscriberIndexes.computeIfAbsent(service, (key) -> new ConcurrentHashSet<>());
+        final AtomicBoolean added = new AtomicBoolean(false);
+        // Update the fuzzy search index inside compute, so it is atomic with the last unsubscribe of the service.
+        subscriberIndexes.compute(service, (key, clients) -> {
+            Set<String> result = null == clients ? new ConcurrentHashSet<>() : clients;
+            subscribedServiceIndex.add(service);
+            added.set(result.add(clientId));
+            return result;
+        });
         // Fix #5404, Only first time add need notify event.
-        if (subscriberIndexes.get(service).add(clientId)) {
+        if (added.get()) {
             NotifyCenter.publishEvent(new ServiceEvent.ServiceSubscribedEvent(service, clientId));
         }
     }
     
     private void removeSubscriberIndexes(Service service, String clientId) {
-        if (!subscriberIndexes.containsKey(service)) {
-            return;
-        }
-        subscriberIndexes.get(service).remove(clientId);
-        if (subscriberIndexes.get(service).isEmpty()) {
-            subscriberIndexes.remove(service);
-        }
+        subscriberIndexes.computeIfPresent(service, (key, clients) -> {
+            clients.remove(clientId);
+            if (clients.isEmpty()) {
+                subscribedServiceIndex.remove(service);
+                return null;
+            }
+            return clients;
+        });
     }
 }
@@ -115,8 +115,11 @@ public class ServiceStorage {
         Set<String> clusters = new HashSet<>();
         for (String each : serviceIndexesManager.getAllClientsRegisteredService(service)) {
             Optional<InstancePublishInfo> instancePublishInfo = getInstanceInfo(each, service);
-            if (instancePublishInfo.isPresent()) {
-                Instance instance = parseInstance(service, instancePublishInfo.get());
+            if (!instancePublishInfo.isPresent()) {
+                continue;
+            }
+            for (InstancePublishInfo instanceInfo : InstanceUtil.getAllInstancePublishInfos(instancePublishInfo.get())) {
+                Instance instance = parseInstance(service, instanceInfo);
                 result.add(instance);
                 clusters.add(instance.getClusterName());
             }
@@ -0,0 +1,135 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.core.v2.index;
+
+import com.alibaba.nacos.common.utils.ConcurrentHashSet;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of subscribed services for fuzzy query, services are partitioned by namespace and indexed by the trigrams of
+ * service name, so that a fuzzy query only checks the services containing all trigrams of the pattern.
+ *
+ * <p>Modifications and queries can be done concurrently, the caller keeps the modifications of one service in order.
+ *
+ * @author nacos
+ */
+public class SubscribedServiceIndex {
+    
+    private static final int GRAM_LENGTH = 3;
+    
+    private final Map<String, NamespaceIndex> namespaceIndexes = new ConcurrentHashMap<>();
+    
+    /**
+     * Add service into index.
+     *
+     * @param service subscribed service
+     */
+    public void add(Service service) {
+        if (null == service.getNamespace() || null == service.getName()) {
+            return;
+        }
+        NamespaceIndex index = namespaceIndexes.computeIfAbsent(service.getNamespace(), key -> new NamespaceIndex());
+        if (!index.services.add(service)) {
+            return;
+        }
+        for (String each : grams(service.getName())) {
+            index.grams.compute(each, (key, services) -> {
+                Set<Service> result = null == services ? new ConcurrentHashSet<>() : services;
+                result.add(service);
+                return result;
+            });
+        }
+    }
+    
+    /**
+     * Remove service from index.
+     *
+     * @param service service without subscriber
+     */
+    public void remove(Service service) {
+        if (null == service.getNamespace() || null == service.getName()) {
+            return;
+        }
+        NamespaceIndex index = namespaceIndexes.get(service.getNamespace());
+        if (null == index || !index.services.remove(service)) {
+            return;
+        }
+        for (String each : grams(service.getName())) {
+            index.grams.computeIfPresent(each, (key, services) -> {
+                services.remove(service);
+                return services.isEmpty() ? null : services;
+            });
+        }
+    }
+    
+    /**
+     * Search services whose group contains {@code groupPattern} and name contains {@code namePattern}.
+     *
+     * @param namespaceId  namespace id
+     * @param groupPattern group name pattern
+     * @param namePattern  service name pattern
+     * @return matched services
+     */
+    public Collection<Service> search(String namespaceId, String groupPattern, String namePattern) {
+        NamespaceIndex index = namespaceIndexes.get(namespaceId);
+        if (null == index) {
+            return Collections.emptyList();
+        }
+        Collection<Service> candidates = index.services;
+        for (String each : grams(namePattern)) {
+            Set<Service> services = index.grams.get(each);
+            if (null == services) {
+                return Collections.emptyList();
+            }
+            if (services.size() < candidates.size()) {
+                candidates = services;
+            }
+        }
+        Collection<Service> result = new HashSet<>();
+        for (Service each : candidates) {
+            if (each.getName().contains(namePattern) && each.getGroup().contains(groupPattern)) {
+                result.add(each);
+            }
+        }
+        return result;
+    }
+    
+    private Set<String> grams(String name) {
+        if (name.length() < GRAM_LENGTH) {
+            return Collections.emptySet();
+        }
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= name.length(); i++) {
+            result.add(name.substring(i, i + GRAM_LENGTH));
+        }
+        return result;
+    }
+    
+    private static class NamespaceIndex {
+        
+        private final Set<Service> services = new ConcurrentHashSet<>();
+        
+        private final Map<String, Set<Service>> grams = new ConcurrentHashMap<>();
+    }
+}
@@ -23,7 +23,9 @@ import com.alibaba.nacos.common.utils.ConcurrentHashSet;
 import com.alibaba.nacos.naming.core.v2.ServiceManager;
 import com.alibaba.nacos.naming.core.v2.event.client.ClientEvent;
 import com.alibaba.nacos.naming.core.v2.event.metadata.MetadataEvent;
+import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import com.alibaba.nacos.naming.utils.InstanceUtil;
 import org.springframework.stereotype.Component;
 
 import java.util.LinkedList;
@@ -231,9 +233,12 @@ public class NamingMetadataManager extends SmartSubscriber {
     
     private void handleClientDisconnectEvent(ClientEvent.ClientDisconnectEvent event) {
         for (Service each : event.getClient().getAllPublishedService()) {
-            String metadataId = event.getClient().getInstancePublishInfo(each).getMetadataId();
-            if (containInstanceMetadata(each, metadataId)) {
-                updateExpiredInfo(true, ExpiredMetadataInfo.newExpiredInstanceMetadata(each, metadataId));
+            InstancePublishInfo instancePublishInfo = event.getClient().getInstancePublishInfo(each);
+            for (InstancePublishInfo instance : InstanceUtil.getAllInstancePublishInfos(instancePublishInfo)) {
+                String metadataId = instance.getMetadataId();
+                if (containInstanceMetadata(each, metadataId)) {
+                    updateExpiredInfo(true, ExpiredMetadataInfo.newExpiredInstanceMetadata(each, metadataId));
+                }
             }
         }
     }
@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.naming.core.v2.metadata;
 
+import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.consistency.DataOperation;
 import com.alibaba.nacos.consistency.SerializeFactory;
 import com.alibaba.nacos.consistency.Serializer;
@@ -27,6 +28,7 @@ import com.alibaba.nacos.consistency.snapshot.SnapshotOperation;
 import com.alibaba.nacos.core.distributed.ProtocolManager;
 import com.alibaba.nacos.core.utils.Loggers;
 import com.alibaba.nacos.naming.core.v2.ServiceManager;
+import com.alibaba.nacos.naming.core.v2.event.service.ServiceEvent;
 import com.alibaba.nacos.naming.core.v2.index.ServiceStorage;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.core.v2.upgrade.doublewrite.delay.DoubleWriteEventListener;
@@ -137,6 +139,7 @@ public class ServiceMetadataProcessor extends RequestProcessor4CP {
             namingMetadataManager.updateServiceMetadata(singleton, op.getMetadata());
         }
         doubleWriteMetadata(service, false);
+        NotifyCenter.publishEvent(new ServiceEvent.ServiceMetadataChangedEvent(service));
     }
     
     /**
@@ -178,6 +181,7 @@ public class ServiceMetadataProcessor extends RequestProcessor4CP {
         }
         serviceStorage.removeData(service);
         doubleWriteMetadata(service, true);
+        NotifyCenter.publishEvent(new ServiceEvent.ServiceMetadataChangedEvent(service));
     }
     
     @Override
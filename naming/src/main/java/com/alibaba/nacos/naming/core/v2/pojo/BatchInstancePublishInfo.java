@@ -0,0 +1,71 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.core.v2.pojo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Instances POJO of client batch published for Nacos v2, which holds all instances of one service for a client.
+ *
+ * @author nacos
+ */
+public class BatchInstancePublishInfo extends InstancePublishInfo {
+    
+    private static final long serialVersionUID = 4893419730457592846L;
+    
+    private List<InstancePublishInfo> instancePublishInfos;
+    
+    public BatchInstancePublishInfo() {
+        this.instancePublishInfos = new ArrayList<>();
+    }
+    
+    public BatchInstancePublishInfo(List<InstancePublishInfo> instancePublishInfos) {
+        this.instancePublishInfos = instancePublishInfos;
+    }
+    
+    public List<InstancePublishInfo> getInstancePublishInfos() {
+        return instancePublishInfos;
+    }
+    
+    public void setInstancePublishInfos(List<InstancePublishInfo> instancePublishInfos) {
+        this.instancePublishInfos = instancePublishInfos;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BatchInstancePublishInfo)) {
+            return false;
+        }
+        BatchInstancePublishInfo that = (BatchInstancePublishInfo) o;
+        return Objects.equals(instancePublishInfos, that.instancePublishInfos);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(instancePublishInfos);
+    }
+    
+    @Override
+    public String toString() {
+        return "BatchInstancePublishInfo{" + "instancePublishInfos=" + instancePublishInfos + '}';
+    }
+}
@@ -24,13 +24,23 @@ import com.alibaba.nacos.naming.core.v2.client.manager.ClientManager;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManagerDelegate;
 import com.alibaba.nacos.naming.core.v2.event.client.ClientOperationEvent;
 import com.alibaba.nacos.naming.core.v2.event.metadata.MetadataEvent;
+import com.alibaba.nacos.naming.core.v2.pojo.BatchInstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.core.v2.service.ClientOperationService;
 import com.alibaba.nacos.naming.misc.Loggers;
 import com.alibaba.nacos.naming.pojo.Subscriber;
+import com.alibaba.nacos.naming.utils.InstanceUtil;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Operation service for ephemeral clients and services.
  *
@@ -62,6 +72,7 @@ public class EphemeralClientOperationServiceImpl implements ClientOperationServi
          * 实例化InstancePublishInfo
          */
         InstancePublishInfo instanceInfo = getPublishInfo(instance);
+        final InstancePublishInfo oldInstance = client.getInstancePublishInfo(singleton);
         /**
          * AbstractClient
          */
@@ -70,6 +81,47 @@ public class EphemeralClientOperationServiceImpl implements ClientOperationServi
         NotifyCenter.publishEvent(new ClientOperationEvent.ClientRegisterServiceEvent(singleton, clientId));
         NotifyCenter
                 .publishEvent(new MetadataEvent.InstanceMetadataEvent(singleton, instanceInfo.getMetadataId(), false));
+        if (oldInstance instanceof BatchInstancePublishInfo) {
+            for (InstancePublishInfo each : InstanceUtil.getAllInstancePublishInfos(oldInstance)) {
+                if (!instanceInfo.getMetadataId().equals(each.getMetadataId())) {
+                    NotifyCenter.publishEvent(
+                            new MetadataEvent.InstanceMetadataEvent(singleton, each.getMetadataId(), true));
+                }
+            }
+        }
+    }
+    
+    /**
+     * Batch register instances to service. The instances replace all instances the client published to the service
+     * before, and are published as a whole, so that one service change and one distro sync are triggered.
+     *
+     * @param service   service
+     * @param instances instances
+     * @param clientId  id of client
+     */
+    public void batchRegisterInstance(Service service, List<Instance> instances, String clientId) {
+        Service singleton = ServiceManager.getInstance().getSingleton(service);
+        Client client = clientManager.getClient(clientId);
+        Map<String, InstancePublishInfo> instanceInfos = new LinkedHashMap<>(instances.size());
+        for (Instance each : instances) {
+            InstancePublishInfo instanceInfo = getPublishInfo(each);
+            instanceInfos.put(instanceInfo.getMetadataId(), instanceInfo);
+        }
+        final InstancePublishInfo oldInstance = client.getInstancePublishInfo(singleton);
+        client.addServiceInstance(singleton, new BatchInstancePublishInfo(new ArrayList<>(instanceInfos.values())));
+        client.setLastUpdatedTime();
+        NotifyCenter.publishEvent(new ClientOperationEvent.ClientRegisterServiceEvent(singleton, clientId));
+        for (String each : instanceInfos.keySet()) {
+            NotifyCenter.publishEvent(new MetadataEvent.InstanceMetadataEvent(singleton, each, false));
+        }
+        if (null != oldInstance) {
+            for (InstancePublishInfo each : InstanceUtil.getAllInstancePublishInfos(oldInstance)) {
+                if (!instanceInfos.containsKey(each.getMetadataId())) {
+                    NotifyCenter.publishEvent(
+                            new MetadataEvent.InstanceMetadataEvent(singleton, each.getMetadataId(), true));
+                }
+            }
+        }
     }
     
     @Override
@@ -80,6 +132,10 @@ public class EphemeralClientOperationServiceImpl implements ClientOperationServi
         }
         Service singleton = ServiceManager.getInstance().getSingleton(service);
         Client client = clientManager.getClient(clientId);
+        if (client.getInstancePublishInfo(singleton) instanceof BatchInstancePublishInfo) {
+            removeBatchInstances(singleton, client, Collections.singletonList(instance));
+            return;
+        }
         InstancePublishInfo removedInstance = client.removeServiceInstance(singleton);
         client.setLastUpdatedTime();
         if (null != removedInstance) {
@@ -89,6 +145,59 @@ public class EphemeralClientOperationServiceImpl implements ClientOperationServi
         }
     }
     
+    /**
+     * Batch deregister instances from service. One service change and one distro sync are triggered for the
+     * instances removed.
+     *
+     * @param service   service
+     * @param instances instances
+     * @param clientId  id of client
+     */
+    public void batchDeregisterInstance(Service service, List<Instance> instances, String clientId) {
+        if (!ServiceManager.getInstance().containSingleton(service)) {
+            Loggers.SRV_LOG.warn("remove instances from non-exist service: {}", service);
+            return;
+        }
+        Service singleton = ServiceManager.getInstance().getSingleton(service);
+        removeBatchInstances(singleton, clientManager.getClient(clientId), instances);
+    }
+    
+    private void removeBatchInstances(Service singleton, Client client, List<Instance> instances) {
+        InstancePublishInfo publishedInstance = client.getInstancePublishInfo(singleton);
+        if (null == publishedInstance) {
+            return;
+        }
+        Set<String> removedIds = new HashSet<>(instances.size());
+        for (Instance each : instances) {
+            removedIds.add(getPublishInfo(each).getMetadataId());
+        }
+        List<InstancePublishInfo> remained = new ArrayList<>();
+        List<InstancePublishInfo> removed = new ArrayList<>();
+        for (InstancePublishInfo each : InstanceUtil.getAllInstancePublishInfos(publishedInstance)) {
+            if (removedIds.contains(each.getMetadataId())) {
+                removed.add(each);
+            } else {
+                remained.add(each);
+            }
+        }
+        if (removed.isEmpty()) {
+            return;
+        }
+        if (remained.isEmpty()) {
+            client.removeServiceInstance(singleton);
+            NotifyCenter.publishEvent(
+                    new ClientOperationEvent.ClientDeregisterServiceEvent(singleton, client.getClientId()));
+        } else {
+            client.addServiceInstance(singleton, new BatchInstancePublishInfo(remained));
+            NotifyCenter
+                    .publishEvent(new ClientOperationEvent.ClientRegisterServiceEvent(singleton, client.getClientId()));
+        }
+        client.setLastUpdatedTime();
+        for (InstancePublishInfo each : removed) {
+            NotifyCenter.publishEvent(new MetadataEvent.InstanceMetadataEvent(singleton, each.getMetadataId(), true));
+        }
+    }
+    
     @Override
     public void subscribeService(Service service, Subscriber subscriber, String clientId) {
         Service singleton = ServiceManager.getInstance().getSingletonIfExist(service).orElse(service);
@@ -17,6 +17,7 @@
 package com.alibaba.nacos.naming.misc;
 
 import com.alibaba.nacos.core.distributed.distro.DistroConfig;
+import com.alibaba.nacos.core.storage.kv.KvStorage;
 import com.alibaba.nacos.sys.env.EnvUtil;
 import org.springframework.stereotype.Component;
 
@@ -32,6 +33,7 @@ import static com.alibaba.nacos.naming.constants.Constants.EXPIRED_METADATA_CLEA
 import static com.alibaba.nacos.naming.constants.Constants.EXPIRED_METADATA_EXPIRED_TIME;
 import static com.alibaba.nacos.naming.constants.Constants.EXPIRE_INSTANCE;
 import static com.alibaba.nacos.naming.constants.Constants.LOAD_DATA_RETRY_DELAY_MILLIS;
+import static com.alibaba.nacos.naming.constants.Constants.PERSISTENT_STORAGE_TYPE;
 
 /**
  * Stores some configurations for Distro protocol.
@@ -121,4 +123,8 @@ public class GlobalConfig {
         return EnvUtil.getProperty(EXPIRED_METADATA_EXPIRED_TIME, Long.class, 60000L);
     }
     
+    public static KvStorage.KvType getPersistentStorageType() {
+        return KvStorage.KvType.valueOf(EnvUtil.getProperty(PERSISTENT_STORAGE_TYPE, KvStorage.KvType.File.name()));
+    }
+    
 }
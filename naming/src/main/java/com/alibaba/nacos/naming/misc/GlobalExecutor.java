@@ -182,8 +182,8 @@ public class GlobalExecutor {
         return NAMING_TIMER_EXECUTOR.scheduleWithFixedDelay(runnable, 0, TICK_PERIOD_MS, TimeUnit.MILLISECONDS);
     }
 
-    public static void scheduleMcpPushTask(Runnable runnable, long initialDelay, long period) {
-        NAMING_TIMER_EXECUTOR.scheduleAtFixedRate(runnable, initialDelay, period, TimeUnit.MILLISECONDS);
+    public static void scheduleMcpPushTask(Runnable runnable, long delay) {
+        NAMING_TIMER_EXECUTOR.schedule(runnable, delay, TimeUnit.MILLISECONDS);
     }
 
     public static ScheduledFuture submitClusterVersionJudge(Runnable runnable, long delay) {
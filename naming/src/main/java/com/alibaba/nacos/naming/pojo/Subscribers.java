@@ -29,6 +29,11 @@ public class Subscribers implements Serializable {
     
     private List<Subscriber> subscribers;
     
+    /**
+     * Total count of subscribers when {@link #subscribers} is one page of them.
+     */
+    private int count;
+    
     public List<Subscriber> getSubscribers() {
         return subscribers;
     }
@@ -36,4 +41,12 @@ public class Subscribers implements Serializable {
     public void setSubscribers(List<Subscriber> subscribers) {
         this.subscribers = subscribers;
     }
+    
+    public int getCount() {
+        return count;
+    }
+    
+    public void setCount(int count) {
+        this.count = count;
+    }
 }
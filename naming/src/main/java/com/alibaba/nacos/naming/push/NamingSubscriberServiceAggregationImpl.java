@@ -17,12 +17,14 @@
 package com.alibaba.nacos.naming.push;
 
 import com.alibaba.nacos.api.naming.CommonParams;
+import com.alibaba.nacos.common.http.Callback;
 import com.alibaba.nacos.common.model.RestResult;
 import com.alibaba.nacos.common.utils.JacksonUtils;
 import com.alibaba.nacos.core.cluster.Member;
 import com.alibaba.nacos.core.cluster.ServerMemberManager;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.misc.HttpClient;
+import com.alibaba.nacos.naming.misc.Loggers;
 import com.alibaba.nacos.naming.misc.UtilsAndCommons;
 import com.alibaba.nacos.naming.pojo.Subscriber;
 import com.alibaba.nacos.naming.pojo.Subscribers;
@@ -33,6 +35,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Aggregation naming subscriber service. Aggregate all implementation of {@link NamingSubscriberService} and
@@ -93,6 +96,62 @@ public class NamingSubscriberServiceAggregationImpl implements NamingSubscriberS
         return result;
     }
     
+    /**
+     * Get one page of fuzzy subscribers and the total count from remote member by async http request.
+     *
+     * @param member      remote member
+     * @param namespaceId namespace id
+     * @param serviceName fuzzy serviceName
+     * @param offset      offset of the page
+     * @param limit       size of the page, {@code 0} to get count only
+     * @return future of subscribers of the page and total count, completed with {@code null} if the member responds
+     *     with failure
+     */
+    public CompletableFuture<Subscribers> getFuzzySubscribersFromRemote(Member member, String namespaceId,
+            String serviceName, int offset, int limit) {
+        Map<String, String> paramValues = new HashMap<>(16);
+        paramValues.put(CommonParams.SERVICE_NAME, serviceName);
+        paramValues.put(CommonParams.NAMESPACE_ID, namespaceId);
+        paramValues.put("aggregation", String.valueOf(Boolean.FALSE));
+        paramValues.put("offset", String.valueOf(offset));
+        paramValues.put("pageSize", String.valueOf(limit));
+        String url = "http://" + member.getAddress() + EnvUtil.getContextPath() + UtilsAndCommons.NACOS_NAMING_CONTEXT
+                + SUBSCRIBER_ON_SYNC_URL;
+        CompletableFuture<Subscribers> result = new CompletableFuture<>();
+        Callback<String> callback = new Callback<String>() {
+            @Override
+            public void onReceive(RestResult<String> response) {
+                if (!response.ok()) {
+                    Loggers.SRV_LOG.warn("[SUBSCRIBER] query subscribers from {} failed: {}", member.getAddress(),
+                            response.getMessage());
+                    result.complete(null);
+                    return;
+                }
+                try {
+                    result.complete(JacksonUtils.toObj(response.getData(), Subscribers.class));
+                } catch (Exception e) {
+                    result.completeExceptionally(e);
+                }
+            }
+            
+            @Override
+            public void onError(Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+            
+            @Override
+            public void onCancel() {
+                result.cancel(true);
+            }
+        };
+        try {
+            HttpClient.asyncHttpGet(url, new ArrayList<>(), paramValues, callback);
+        } catch (Exception e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+    
     private void getSubscribersFromRemotes(String namespaceId, String serviceName, Collection<Subscriber> result) {
         for (Member server : memberManager.allMembersWithoutSelf()) {
             Map<String, String> paramValues = new HashMap<>(128);
@@ -39,7 +39,6 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.stream.Stream;
 
 /**
  * Naming subscriber service for v2.x.
@@ -49,8 +48,6 @@ import java.util.stream.Stream;
 @org.springframework.stereotype.Service
 public class NamingSubscriberServiceV2Impl extends SmartSubscriber implements NamingSubscriberService {
     
-    private static final int PARALLEL_SIZE = 100;
-    
     private final ClientManager clientManager;
     
     private final ClientServiceIndexesManager indexesManager;
@@ -92,12 +89,11 @@ public class NamingSubscriberServiceV2Impl extends SmartSubscriber implements Na
     @Override
     public Collection<Subscriber> getFuzzySubscribers(String namespaceId, String serviceName) {
         Collection<Subscriber> result = new HashSet<>();
-        Stream<Service> serviceStream = getServiceStream();
         String serviceNamePattern = NamingUtils.getServiceName(serviceName);
         String groupNamePattern = NamingUtils.getGroupName(serviceName);
-        serviceStream.filter(service -> service.getNamespace().equals(namespaceId) && service.getName()
-                .contains(serviceNamePattern) && service.getGroup().contains(groupNamePattern))
-                .forEach(service -> result.addAll(getSubscribers(service)));
+        for (Service each : indexesManager.searchSubscribedService(namespaceId, groupNamePattern, serviceNamePattern)) {
+            result.addAll(getSubscribers(each));
+        }
         return result;
     }
     
@@ -132,9 +128,4 @@ public class NamingSubscriberServiceV2Impl extends SmartSubscriber implements Na
                     subscribedEvent.getClientId()));
         }
     }
-    
-    private Stream<Service> getServiceStream() {
-        Collection<Service> services = indexesManager.getSubscribedService();
-        return services.size() > PARALLEL_SIZE ? services.parallelStream() : services.stream();
-    }
 }
@@ -30,9 +30,12 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo.Id;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A selector to implement a so called same-label-prior rule for service discovery.
@@ -68,6 +71,8 @@ public class LabelSelector extends ExpressionSelector implements Selector {
      */
     private Set<String> labels;
     
+    private transient volatile LabelIndex labelIndex;
+    
     private static final Set<String> SUPPORTED_INNER_CONNCETORS = new HashSet<>();
     
     private static final Set<String> SUPPORTED_OUTER_CONNCETORS = new HashSet<>();
@@ -92,6 +97,7 @@ public class LabelSelector extends ExpressionSelector implements Selector {
     
     public void setLabels(Set<String> labels) {
         this.labels = labels;
+        this.labelIndex = null;
     }
     
     public LabelSelector() {
@@ -111,34 +117,177 @@ public class LabelSelector extends ExpressionSelector implements Selector {
         if (labels.isEmpty()) {
             return providers;
         }
-    
+        
+        CmdbReader cmdbReader = getCmdbReader();
+        Set<String> matchedIps = getLabelIndex(cmdbReader, providers).match(cmdbReader, consumer);
+        if (matchedIps == null) {
+            return providers;
+        }
+        
         List<T> instanceList = new ArrayList<>();
         for (T instance : providers) {
-        
-            boolean matched = true;
-            for (String labelName : getLabels()) {
-            
-                String consumerLabelValue = getCmdbReader()
-                        .queryLabel(consumer, PreservedEntityTypes.ip.name(), labelName);
-            
-                if (StringUtils.isNotBlank(consumerLabelValue) && !StringUtils.equals(consumerLabelValue,
-                        getCmdbReader().queryLabel(instance.getIp(), PreservedEntityTypes.ip.name(), labelName))) {
-                    matched = false;
-                    break;
-                }
-            }
-            if (matched) {
+            if (matchedIps.contains(instance.getIp())) {
                 instanceList.add(instance);
             }
         }
-    
+        
         if (instanceList.isEmpty()) {
             return providers;
         }
-    
+        
         return instanceList;
     }
     
+    /**
+     * Get the label index which covers all providers, only the labels of new provider ips are queried from cmdb unless
+     * the cmdb data is changed. The index is rebuilt for each select if the cmdb reader does not track revision.
+     */
+    private <T extends Instance> LabelIndex getLabelIndex(CmdbReader cmdbReader, List<T> providers) {
+        long revision = cmdbReader.getRevision();
+        LabelIndex index = labelIndex;
+        if (index != null && (revision == CmdbReader.UNKNOWN_REVISION || index.cmdbRevision != revision
+                || !index.labelNames.equals(labels))) {
+            index = null;
+        }
+        Set<String> newIps = new HashSet<>();
+        for (T instance : providers) {
+            if (index == null || !index.ipLabels.containsKey(instance.getIp())) {
+                newIps.add(instance.getIp());
+            }
+        }
+        if (index != null && newIps.isEmpty()) {
+            return index;
+        }
+        // Drop ips of removed providers once they are the majority of the index.
+        if (index != null && index.ipLabels.size() + newIps.size() > providers.size() * 2) {
+            index = null;
+            for (T instance : providers) {
+                newIps.add(instance.getIp());
+            }
+        }
+        index = new LabelIndex(labels, revision, index, newIps, cmdbReader);
+        labelIndex = index;
+        return index;
+    }
+    
+    /**
+     * Immutable index of provider ips partitioned by their label values, with a cache of the labels of each consumer
+     * and a cache of matched ips for each consumer label vector.
+     */
+    private static class LabelIndex {
+        
+        private static final int MAX_MATCH_CACHE_SIZE = 1024;
+        
+        private static final int MAX_CONSUMER_CACHE_SIZE = 10240;
+        
+        private static final char SEPARATOR = '\u0000';
+        
+        private final Set<String> labelNames;
+        
+        private final List<String> labelOrder;
+        
+        private final long cmdbRevision;
+        
+        private final Map<String, String[]> ipLabels;
+        
+        private final Map<String, Set<String>> partitions = new HashMap<>(16);
+        
+        private final Map<String, String[]> partitionLabels = new HashMap<>(16);
+        
+        private final Map<String, Set<String>> matchCache = new ConcurrentHashMap<>(16);
+        
+        private final Map<String, String[]> consumerLabelsCache = new ConcurrentHashMap<>(16);
+        
+        private LabelIndex(Set<String> labelNames, long cmdbRevision, LabelIndex base, Set<String> newIps,
+                CmdbReader cmdbReader) {
+            this.labelNames = new HashSet<>(labelNames);
+            this.labelOrder = new ArrayList<>(labelNames);
+            this.cmdbRevision = cmdbRevision;
+            this.ipLabels = base == null ? new HashMap<>(newIps.size()) : new HashMap<>(base.ipLabels);
+            for (String ip : newIps) {
+                ipLabels.put(ip, queryLabels(cmdbReader, ip));
+            }
+            for (Map.Entry<String, String[]> entry : ipLabels.entrySet()) {
+                String key = toKey(entry.getValue());
+                partitions.computeIfAbsent(key, k -> new HashSet<>()).add(entry.getKey());
+                partitionLabels.putIfAbsent(key, entry.getValue());
+            }
+        }
+        
+        /**
+         * Match provider ips with the labels of consumer.
+         *
+         * @return matched provider ips, or null if the consumer has no label and matches all providers
+         */
+        private Set<String> match(CmdbReader cmdbReader, String consumer) {
+            String[] consumerLabels = getConsumerLabels(cmdbReader, consumer);
+            boolean hasLabel = false;
+            for (String value : consumerLabels) {
+                hasLabel |= !value.isEmpty();
+            }
+            if (!hasLabel) {
+                return null;
+            }
+            String key = toKey(consumerLabels);
+            Set<String> result = matchCache.get(key);
+            if (result != null) {
+                return result;
+            }
+            result = new HashSet<>();
+            for (Map.Entry<String, String[]> entry : partitionLabels.entrySet()) {
+                if (matches(consumerLabels, entry.getValue())) {
+                    result.addAll(partitions.get(entry.getKey()));
+                }
+            }
+            if (matchCache.size() < MAX_MATCH_CACHE_SIZE) {
+                matchCache.put(key, result);
+            }
+            return result;
+        }
+        
+        private String[] getConsumerLabels(CmdbReader cmdbReader, String consumer) {
+            String[] result = ipLabels.get(consumer);
+            if (result != null) {
+                return result;
+            }
+            result = consumerLabelsCache.get(consumer);
+            if (result != null) {
+                return result;
+            }
+            result = queryLabels(cmdbReader, consumer);
+            if (consumerLabelsCache.size() < MAX_CONSUMER_CACHE_SIZE) {
+                consumerLabelsCache.put(consumer, result);
+            }
+            return result;
+        }
+        
+        private boolean matches(String[] consumerLabels, String[] providerLabels) {
+            for (int i = 0; i < consumerLabels.length; i++) {
+                if (!consumerLabels[i].isEmpty() && !consumerLabels[i].equals(providerLabels[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        private String[] queryLabels(CmdbReader cmdbReader, String ip) {
+            String[] values = new String[labelOrder.size()];
+            for (int i = 0; i < values.length; i++) {
+                String value = cmdbReader.queryLabel(ip, PreservedEntityTypes.ip.name(), labelOrder.get(i));
+                values[i] = StringUtils.isBlank(value) ? StringUtils.EMPTY : value;
+            }
+            return values;
+        }
+        
+        private static String toKey(String[] values) {
+            StringBuilder key = new StringBuilder();
+            for (String value : values) {
+                key.append(value).append(SEPARATOR);
+            }
+            return key.toString();
+        }
+    }
+    
     /**
      * Expression interpreter for label selector.
      *
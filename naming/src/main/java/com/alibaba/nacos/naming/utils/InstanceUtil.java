@@ -20,10 +20,13 @@ import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.utils.NamingUtils;
 import com.alibaba.nacos.naming.constants.Constants;
 import com.alibaba.nacos.naming.core.v2.metadata.InstanceMetadata;
+import com.alibaba.nacos.naming.core.v2.pojo.BatchInstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -64,6 +67,19 @@ public class InstanceUtil {
         return result;
     }
     
+    /**
+     * Get all instances published in {@code InstancePublishInfo}, which might be a batch of instances.
+     *
+     * @param instanceInfo instance info
+     * @return all instances published
+     */
+    public static List<InstancePublishInfo> getAllInstancePublishInfos(InstancePublishInfo instanceInfo) {
+        if (instanceInfo instanceof BatchInstancePublishInfo) {
+            return ((BatchInstancePublishInfo) instanceInfo).getInstancePublishInfos();
+        }
+        return Collections.singletonList(instanceInfo);
+    }
+    
     /**
      * Update metadata in {@code Instance} according to {@code InstanceMetadata}.
      *
@@ -0,0 +1,106 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.consistency.persistent.impl;
+
+import com.alibaba.nacos.common.utils.ByteUtils;
+import com.alibaba.nacos.consistency.entity.Response;
+import com.alibaba.nacos.consistency.entity.WriteRequest;
+import com.alibaba.nacos.core.storage.kv.KvStorage;
+import com.alibaba.nacos.naming.consistency.Datum;
+import com.alibaba.nacos.naming.consistency.persistent.ClusterVersionJudgement;
+import com.alibaba.nacos.naming.constants.Constants;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import com.google.protobuf.ByteString;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BasePersistentServiceProcessorTest {
+
+    private static final int KEY_COUNT = 64;
+
+    @Mock
+    private ClusterVersionJudgement judgement;
+
+    @Mock
+    private KvStorage kvStorage;
+
+    private BasePersistentServiceProcessor processor;
+
+    @Before
+    public void setUp() throws Exception {
+        EnvUtil.setEnvironment(new MockEnvironment());
+        processor = new StandalonePersistentServiceProcessor(judgement);
+        Field field = BasePersistentServiceProcessor.class.getDeclaredField("kvStorage");
+        field.setAccessible(true);
+        field.set(processor, kvStorage);
+    }
+
+    @Test
+    public void testPartitionKeyOfSameKey() {
+        WriteRequest request = buildWriteRequest("test_key");
+        Assert.assertEquals(processor.partitionKey(request), processor.partitionKey(buildWriteRequest("test_key")));
+        Assert.assertNull(processor.partitionKey(WriteRequest.newBuilder().build()));
+    }
+
+    @Test
+    public void testApplyBatchOfDistinctKeys() throws Exception {
+        Map<String, List<WriteRequest>> partitions = new LinkedHashMap<>();
+        for (int i = 0; i < KEY_COUNT; i++) {
+            WriteRequest request = buildWriteRequest("test_key_" + i);
+            partitions.computeIfAbsent(processor.partitionKey(request), key -> new ArrayList<>()).add(request);
+        }
+        Assert.assertTrue(partitions.size() <= processor.partitionCount);
+        for (List<WriteRequest> each : partitions.values()) {
+            List<Response> responses = processor.onApplyBatch(each);
+            Assert.assertEquals(each.size(), responses.size());
+            for (Response response : responses) {
+                Assert.assertTrue(response.getSuccess());
+            }
+        }
+        verify(kvStorage, atLeastOnce()).batchPut(anyList(), anyList());
+        int storageCalls = mockingDetails(kvStorage).getInvocations().size();
+        Assert.assertEquals(partitions.size(), storageCalls);
+        Assert.assertTrue(storageCalls < KEY_COUNT);
+    }
+
+    private WriteRequest buildWriteRequest(String key) {
+        Datum datum = new Datum();
+        datum.key = key;
+        BatchWriteRequest request = new BatchWriteRequest();
+        request.append(ByteUtils.toBytes(key), processor.serializer.serialize(datum));
+        return WriteRequest.newBuilder().setGroup(Constants.NAMING_PERSISTENT_SERVICE_GROUP).setKey(key)
+                .setOperation(BasePersistentServiceProcessor.Op.Write.desc)
+                .setData(ByteString.copyFrom(processor.serializer.serialize(request))).build();
+    }
+}
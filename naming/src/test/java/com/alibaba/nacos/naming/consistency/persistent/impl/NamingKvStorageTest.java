@@ -16,8 +16,12 @@
 
 package com.alibaba.nacos.naming.consistency.persistent.impl;
 
+import com.alibaba.nacos.common.utils.ByteUtils;
 import com.alibaba.nacos.core.exception.KvStorageException;
 import com.alibaba.nacos.core.storage.kv.FileKvStorage;
+import com.alibaba.nacos.core.storage.kv.KvStorage;
+import com.alibaba.nacos.naming.consistency.KeyBuilder;
+import com.alibaba.nacos.sys.utils.DiskUtils;
 import junit.framework.TestCase;
 import org.junit.Before;
 import org.junit.Test;
@@ -25,7 +29,9 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.io.File;
 import java.lang.reflect.Field;
+import java.nio.file.Files;
 
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -84,4 +90,38 @@ public class NamingKvStorageTest extends TestCase {
         namingKvStorage.snapshotLoad(str);
         verify(baseDirStorageMock).snapshotLoad(str);
     }
+
+    @Test
+    public void testLogStorageImportFileData() throws Exception {
+        File dir = Files.createTempDirectory("naming-kv-storage").toFile();
+        String baseKey = KeyBuilder.getSwitchDomainKey();
+        String namespaceKey = KeyBuilder.buildServiceMetaKey("ns1", "service");
+        try {
+            File dataDir = new File(dir, "data");
+            DiskUtils.forceMkdir(new File(dataDir, "ns1"));
+            DiskUtils.writeFile(new File(dataDir, baseKey), ByteUtils.toBytes("v1"), false);
+            DiskUtils.writeFile(new File(new File(dataDir, "ns1"), namespaceKey), ByteUtils.toBytes("v2"), false);
+            NamingKvStorage storage = new NamingKvStorage(dataDir.getPath(), KvStorage.KvType.Log);
+            String snapshotPath = new File(dir, "snapshot").getPath();
+            try {
+                assertFalse(new File(dataDir, baseKey).exists());
+                assertEquals("v1", ByteUtils.toString(storage.get(ByteUtils.toBytes(baseKey))));
+                assertEquals("v2", ByteUtils.toString(storage.get(ByteUtils.toBytes(namespaceKey))));
+                storage.doSnapshot(snapshotPath);
+                storage.put(ByteUtils.toBytes(namespaceKey), ByteUtils.toBytes("v3"));
+            } finally {
+                storage.shutdown();
+            }
+            NamingKvStorage other = new NamingKvStorage(new File(dir, "other").getPath(), KvStorage.KvType.Log);
+            try {
+                other.snapshotLoad(snapshotPath);
+                assertEquals("v1", ByteUtils.toString(other.get(ByteUtils.toBytes(baseKey))));
+                assertEquals("v2", ByteUtils.toString(other.get(ByteUtils.toBytes(namespaceKey))));
+            } finally {
+                other.shutdown();
+            }
+        } finally {
+            DiskUtils.deleteDirectory(dir.getPath());
+        }
+    }
 }
@@ -16,7 +16,10 @@
 
 package com.alibaba.nacos.naming.core;
 
+import com.alibaba.nacos.core.cluster.Member;
+import com.alibaba.nacos.core.cluster.ServerMemberManager;
 import com.alibaba.nacos.naming.pojo.Subscriber;
+import com.alibaba.nacos.naming.pojo.Subscribers;
 import com.alibaba.nacos.naming.push.NamingSubscriberServiceAggregationImpl;
 import com.alibaba.nacos.naming.push.NamingSubscriberServiceLocalImpl;
 import org.junit.Assert;
@@ -29,7 +32,12 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RunWith(MockitoJUnitRunner.class)
 public class SubscribeManagerTest {
@@ -42,11 +50,15 @@ public class SubscribeManagerTest {
     @Mock
     private NamingSubscriberServiceLocalImpl local;
     
+    @Mock
+    private ServerMemberManager memberManager;
+    
     @Before
     public void before() {
         subscribeManager = new SubscribeManager();
         ReflectionTestUtils.setField(subscribeManager, "aggregationService", aggregation);
         ReflectionTestUtils.setField(subscribeManager, "localService", local);
+        ReflectionTestUtils.setField(subscribeManager, "memberManager", memberManager);
     }
     
     @Test
@@ -111,5 +123,73 @@ public class SubscribeManagerTest {
         
         }
     }
+    
+    @Test
+    public void testGetSubscribersPageAggregation() {
+        String serviceName = "test";
+        String namespaceId = "public";
+        List<Subscriber> clients = new ArrayList<>();
+        clients.add(new Subscriber("127.0.0.2:8080", "test", "app", "127.0.0.2", namespaceId, serviceName, 0));
+        clients.add(new Subscriber("127.0.0.1:8080", "test", "app", "127.0.0.1", namespaceId, serviceName, 0));
+        Mockito.when(local.getFuzzySubscribers(namespaceId, serviceName)).thenReturn(clients);
+        Member remote = Mockito.mock(Member.class);
+        Map<String, Member> members = new HashMap<>();
+        members.put("127.0.0.1:8848", Mockito.mock(Member.class));
+        members.put("1.1.1.1:8848", remote);
+        Mockito.when(memberManager.getServerList()).thenReturn(members);
+        Mockito.when(memberManager.allMembersWithoutSelf()).thenReturn(Collections.singletonList(remote));
+        Subscribers countOnly = new Subscribers();
+        countOnly.setCount(3);
+        Mockito.when(aggregation.getFuzzySubscribersFromRemote(remote, namespaceId, serviceName, 0, 0))
+                .thenReturn(CompletableFuture.completedFuture(countOnly));
+        Subscribers remotePage = new Subscribers();
+        remotePage.setSubscribers(Collections.singletonList(
+                new Subscriber("1.1.1.2:8080", "test", "app", "1.1.1.2", namespaceId, serviceName, 0)));
+        remotePage.setCount(3);
+        Mockito.when(aggregation.getFuzzySubscribersFromRemote(remote, namespaceId, serviceName, 0, 1))
+                .thenReturn(CompletableFuture.completedFuture(remotePage));
+        
+        Subscribers actual = subscribeManager.getSubscribers(serviceName, namespaceId, true, 1, 2);
+        Assert.assertEquals(5, actual.getCount());
+        Assert.assertEquals(2, actual.getSubscribers().size());
+        Assert.assertEquals("127.0.0.2:8080", actual.getSubscribers().get(0).getAddrStr());
+        Assert.assertEquals("1.1.1.2:8080", actual.getSubscribers().get(1).getAddrStr());
+        
+        // Page only in local, remote is only asked for count.
+        actual = subscribeManager.getSubscribers(serviceName, namespaceId, true, 0, 1);
+        Assert.assertEquals(5, actual.getCount());
+        Assert.assertEquals("127.0.0.1:8080", actual.getSubscribers().get(0).getAddrStr());
+        Mockito.verify(aggregation, Mockito.times(1))
+                .getFuzzySubscribersFromRemote(remote, namespaceId, serviceName, 0, 1);
+    }
+    
+    @Test
+    public void testGetSubscribersPageSkipFailedMember() {
+        String serviceName = "test";
+        String namespaceId = "public";
+        Mockito.when(local.getFuzzySubscribers(namespaceId, serviceName)).thenReturn(Collections.singletonList(
+                new Subscriber("127.0.0.1:8080", "test", "app", "127.0.0.1", namespaceId, serviceName, 0)));
+        Member failed = Mockito.mock(Member.class);
+        Mockito.when(failed.getAddress()).thenReturn("1.1.1.1:8848");
+        Member timeout = Mockito.mock(Member.class);
+        Mockito.when(timeout.getAddress()).thenReturn("2.2.2.2:8848");
+        Map<String, Member> members = new HashMap<>();
+        members.put("127.0.0.1:8848", Mockito.mock(Member.class));
+        members.put("1.1.1.1:8848", failed);
+        members.put("2.2.2.2:8848", timeout);
+        Mockito.when(memberManager.getServerList()).thenReturn(members);
+        Mockito.when(memberManager.allMembersWithoutSelf()).thenReturn(Arrays.asList(timeout, failed));
+        CompletableFuture<Subscribers> failedFuture = new CompletableFuture<>();
+        failedFuture.completeExceptionally(new IllegalStateException("connection refused"));
+        Mockito.when(aggregation.getFuzzySubscribersFromRemote(failed, namespaceId, serviceName, 0, 0))
+                .thenReturn(failedFuture);
+        CompletableFuture<Subscribers> timeoutFuture = new CompletableFuture<>();
+        Mockito.when(aggregation.getFuzzySubscribersFromRemote(timeout, namespaceId, serviceName, 0, 0))
+                .thenReturn(timeoutFuture);
+        
+        Subscribers actual = subscribeManager.getSubscribers(serviceName, namespaceId, true, 0, 10);
+        Assert.assertEquals(1, actual.getCount());
+        Assert.assertEquals(1, actual.getSubscribers().size());
+        Assert.assertTrue(timeoutFuture.isCancelled());
+    }
 }
-
@@ -17,9 +17,19 @@
 package com.alibaba.nacos.naming.core.v2.client.impl;
 
 import com.alibaba.nacos.api.common.Constants;
+import com.alibaba.nacos.common.utils.JacksonUtils;
+import com.alibaba.nacos.naming.core.v2.client.BatchInstanceData;
+import com.alibaba.nacos.naming.core.v2.client.ClientSyncData;
+import com.alibaba.nacos.naming.core.v2.pojo.BatchInstancePublishInfo;
+import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 public class ConnectionBasedClientTest {
@@ -46,4 +56,22 @@ public class ConnectionBasedClientTest {
         long mustExpireTime = connectionBasedClient.getLastRenewTime() + 2 * Constants.DEFAULT_IP_DELETE_TIMEOUT;
         assertTrue(connectionBasedClient.isExpire(mustExpireTime));
     }
-}
\ No newline at end of file
+    
+    @Test
+    public void testGenerateSyncDataWithBatchInstances() {
+        Service singleService = Service.newService("public", "group", "single");
+        Service batchService = Service.newService("public", "group", "batch");
+        connectionBasedClient.addServiceInstance(singleService, new InstancePublishInfo("1.1.1.1", 80));
+        BatchInstancePublishInfo batchInstance = new BatchInstancePublishInfo(
+                Arrays.asList(new InstancePublishInfo("1.1.1.1", 81), new InstancePublishInfo("1.1.1.1", 82)));
+        connectionBasedClient.addServiceInstance(batchService, batchInstance);
+        ClientSyncData syncData = connectionBasedClient.generateSyncData();
+        assertEquals(Collections.singletonList("single"), syncData.getServiceNames());
+        assertEquals(1, syncData.getInstancePublishInfos().size());
+        BatchInstanceData batchInstanceData = syncData.getBatchInstanceData();
+        assertEquals(Collections.singletonList("batch"), batchInstanceData.getServiceNames());
+        assertEquals(batchInstance, batchInstanceData.getBatchInstancePublishInfos().get(0));
+        ClientSyncData deserialized = JacksonUtils.toObj(JacksonUtils.toJsonBytes(syncData), ClientSyncData.class);
+        assertEquals(batchInstance, deserialized.getBatchInstanceData().getBatchInstancePublishInfos().get(0));
+    }
+}
@@ -18,8 +18,10 @@ package com.alibaba.nacos.naming.core.v2.index;
 
 import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.naming.core.v2.client.impl.ConnectionBasedClient;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManagerDelegate;
 import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
+import com.alibaba.nacos.naming.core.v2.pojo.BatchInstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.misc.SwitchDomain;
@@ -34,6 +36,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -141,6 +144,27 @@ public class ServiceStorageTest {
         Assert.assertNotNull(list);
     }
     
+    @Test
+    public void testGetAllInstancesFromIndexWithBatchInstances()
+            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
+        ConnectionBasedClient client = new ConnectionBasedClient(NACOS, true);
+        InstancePublishInfo instance1 = new InstancePublishInfo("1.1.1.1", 80);
+        instance1.setCluster("cluster1");
+        InstancePublishInfo instance2 = new InstancePublishInfo("1.1.1.1", 81);
+        instance2.setCluster("cluster2");
+        client.addServiceInstance(SERVICE, new BatchInstancePublishInfo(Arrays.asList(instance1, instance2)));
+        Mockito.when(clientServiceIndexesManager.getAllClientsRegisteredService(SERVICE))
+                .thenReturn(Collections.singletonList(NACOS));
+        Mockito.when(clientManagerDelegate.getClient(NACOS)).thenReturn(client);
+        Method getAllInstancesFromIndex = ServiceStorage.class
+                .getDeclaredMethod("getAllInstancesFromIndex", Service.class);
+        getAllInstancesFromIndex.setAccessible(true);
+        List<Instance> list = (List<Instance>) getAllInstancesFromIndex.invoke(serviceStorage, SERVICE);
+        
+        Assert.assertEquals(2, list.size());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("cluster1", "cluster2")), serviceStorage.getClusters(SERVICE));
+    }
+    
     @Test
     public void testGetInstanceInfo() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
         Class<ServiceStorage> serviceStorageClass = ServiceStorage.class;
@@ -0,0 +1,76 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.core.v2.index;
+
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SubscribedServiceIndexTest {
+    
+    private SubscribedServiceIndex index;
+    
+    private final Service orderService = Service.newService("N", "G", "order-service");
+    
+    private final Service userService = Service.newService("N", "G1", "user-service");
+    
+    private final Service otherNamespace = Service.newService("M", "G", "order-service");
+    
+    @Before
+    public void setUp() {
+        index = new SubscribedServiceIndex();
+        index.add(orderService);
+        index.add(userService);
+        index.add(otherNamespace);
+    }
+    
+    @Test
+    public void testSearchByNamePattern() {
+        Collection<Service> actual = index.search("N", "", "order");
+        assertEquals(1, actual.size());
+        assertTrue(actual.contains(orderService));
+        assertEquals(2, index.search("N", "", "service").size());
+        assertTrue(index.search("N", "", "payment").isEmpty());
+    }
+    
+    @Test
+    public void testSearchByShortPattern() {
+        assertEquals(2, index.search("N", "", "").size());
+        assertEquals(1, index.search("N", "", "us").size());
+    }
+    
+    @Test
+    public void testSearchByGroupPattern() {
+        Collection<Service> actual = index.search("N", "G1", "service");
+        assertEquals(1, actual.size());
+        assertTrue(actual.contains(userService));
+    }
+    
+    @Test
+    public void testRemove() {
+        index.remove(orderService);
+        assertTrue(index.search("N", "", "order").isEmpty());
+        assertEquals(1, index.search("M", "", "order").size());
+        index.remove(userService);
+        assertTrue(index.search("N", "", "").isEmpty());
+    }
+}
@@ -17,14 +17,21 @@
 package com.alibaba.nacos.naming.core.v2.service.impl;
 
 import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.common.notify.Event;
+import com.alibaba.nacos.common.notify.NotifyCenter;
+import com.alibaba.nacos.common.notify.listener.SmartSubscriber;
 import com.alibaba.nacos.naming.core.DistroMapper;
 import com.alibaba.nacos.naming.core.v2.client.Client;
 import com.alibaba.nacos.naming.core.v2.client.ClientSyncAttributes;
+import com.alibaba.nacos.naming.core.v2.client.impl.ConnectionBasedClient;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManager;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManagerDelegate;
 import com.alibaba.nacos.naming.core.v2.client.manager.impl.ConnectionBasedClientManager;
 import com.alibaba.nacos.naming.core.v2.client.manager.impl.EphemeralIpPortClientManager;
 import com.alibaba.nacos.naming.core.v2.client.manager.impl.PersistentIpPortClientManager;
+import com.alibaba.nacos.naming.core.v2.event.metadata.MetadataEvent;
+import com.alibaba.nacos.naming.core.v2.pojo.BatchInstancePublishInfo;
+import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.misc.SwitchDomain;
 import com.alibaba.nacos.naming.pojo.Subscriber;
@@ -36,7 +43,16 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.Mockito.when;
 
@@ -107,6 +123,96 @@ public class EphemeralClientOperationServiceImplTest extends TestCase {
         assertFalse(allPublishService.contains(service));
     }
     
+    @Test
+    public void testBatchRegisterAndDeregisterInstance() {
+        String connectionId = "1610000000000_127.0.0.1_8848";
+        ConnectionBasedClient client = new ConnectionBasedClient(connectionId, true);
+        when(connectionBasedClientManager.getClient(connectionId)).thenReturn(client);
+        Instance instance1 = new Instance();
+        instance1.setIp(ip);
+        instance1.setPort(80);
+        Instance instance2 = new Instance();
+        instance2.setIp(ip);
+        instance2.setPort(81);
+        Instance instance3 = new Instance();
+        instance3.setIp(ip);
+        instance3.setPort(82);
+        // Test batch register instances
+        ephemeralClientOperationServiceImpl
+                .batchRegisterInstance(service, Arrays.asList(instance1, instance2, instance3), connectionId);
+        assertTrue(client.getAllPublishedService().contains(service));
+        assertEquals(3, getPublishedPorts(client).size());
+        // Test batch deregister part of instances
+        ephemeralClientOperationServiceImpl
+                .batchDeregisterInstance(service, Collections.singletonList(instance1), connectionId);
+        assertEquals(Arrays.asList(81, 82), getPublishedPorts(client));
+        // Test deregister single instance from batch instances
+        ephemeralClientOperationServiceImpl.deregisterInstance(service, instance2, connectionId);
+        assertEquals(Collections.singletonList(82), getPublishedPorts(client));
+        // Test batch deregister all remained instances
+        ephemeralClientOperationServiceImpl
+                .batchDeregisterInstance(service, Arrays.asList(instance2, instance3), connectionId);
+        assertFalse(client.getAllPublishedService().contains(service));
+    }
+    
+    @Test
+    public void testRegisterInstanceReplacingBatchInstances() throws InterruptedException {
+        String connectionId = "1610000000000_127.0.0.1_8849";
+        ConnectionBasedClient client = new ConnectionBasedClient(connectionId, true);
+        when(connectionBasedClientManager.getClient(connectionId)).thenReturn(client);
+        Instance instance1 = new Instance();
+        instance1.setIp("2.2.2.2");
+        instance1.setPort(80);
+        Instance instance2 = new Instance();
+        instance2.setIp("2.2.2.2");
+        instance2.setPort(81);
+        Instance instance3 = new Instance();
+        instance3.setIp("2.2.2.2");
+        instance3.setPort(82);
+        Set<String> expected = new HashSet<>();
+        expected.add(ephemeralClientOperationServiceImpl.getPublishInfo(instance2).getMetadataId());
+        expected.add(ephemeralClientOperationServiceImpl.getPublishInfo(instance3).getMetadataId());
+        Set<String> expiredIds = ConcurrentHashMap.newKeySet();
+        CountDownLatch latch = new CountDownLatch(expected.size());
+        SmartSubscriber metadataSubscriber = new SmartSubscriber() {
+            
+            @Override
+            public List<Class<? extends Event>> subscribeTypes() {
+                return Collections.singletonList(MetadataEvent.InstanceMetadataEvent.class);
+            }
+            
+            @Override
+            public void onEvent(Event event) {
+                MetadataEvent.InstanceMetadataEvent metadataEvent = (MetadataEvent.InstanceMetadataEvent) event;
+                if (metadataEvent.isExpired() && expected.contains(metadataEvent.getMetadataId()) && expiredIds
+                        .add(metadataEvent.getMetadataId())) {
+                    latch.countDown();
+                }
+            }
+        };
+        NotifyCenter.registerSubscriber(metadataSubscriber);
+        try {
+            ephemeralClientOperationServiceImpl
+                    .batchRegisterInstance(service, Arrays.asList(instance1, instance2, instance3), connectionId);
+            ephemeralClientOperationServiceImpl.registerInstance(service, instance1, connectionId);
+            assertEquals(80, client.getInstancePublishInfo(service).getPort());
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals(expected, expiredIds);
+        } finally {
+            NotifyCenter.deregisterSubscriber(metadataSubscriber);
+        }
+    }
+    
+    private List<Integer> getPublishedPorts(Client client) {
+        InstancePublishInfo instancePublishInfo = client.getInstancePublishInfo(service);
+        assertTrue(instancePublishInfo instanceof BatchInstancePublishInfo);
+        List<Integer> result = new ArrayList<>();
+        for (InstancePublishInfo each : ((BatchInstancePublishInfo) instancePublishInfo).getInstancePublishInfos()) {
+            result.add(each.getPort());
+        }
+        return result;
+    }
+    
     @Test
     public void testSubscribeAndUnsubscribeService() throws Exception {
         Field clientManagerField = EphemeralClientOperationServiceImpl.class.getDeclaredField("clientManager");
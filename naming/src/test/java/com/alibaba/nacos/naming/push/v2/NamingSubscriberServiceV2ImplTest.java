@@ -83,7 +83,7 @@ public class NamingSubscriberServiceV2ImplTest {
         Collection<Service> services = new LinkedList<>();
         services.add(service);
         services.add(service1);
-        when(indexesManager.getSubscribedService()).thenReturn(services);
+        when(indexesManager.searchSubscribedService("N", "G", "S")).thenReturn(services);
         when(clientManager.getClient(testClientId)).thenReturn(client);
         when(client.getSubscriber(service)).thenReturn(
                 new Subscriber("1.1.1.1:1111", "Test", "unknown", "1.1.1.1", "N", service.getGroupedServiceName(), 0));
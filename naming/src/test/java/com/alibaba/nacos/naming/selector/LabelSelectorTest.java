@@ -16,16 +16,39 @@
 
 package com.alibaba.nacos.naming.selector;
 
+import com.alibaba.nacos.api.cmdb.pojo.PreservedEntityTypes;
 import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.cmdb.service.CmdbReader;
+import com.alibaba.nacos.sys.utils.ApplicationUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Assert;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.context.ConfigurableApplicationContext;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+@RunWith(MockitoJUnitRunner.class)
 public class LabelSelectorTest {
     
+    @Mock
+    private ConfigurableApplicationContext context;
+    
+    @Mock
+    private CmdbReader cmdbReader;
+    
+    private final Map<String, String> zones = new HashMap<>();
+    
     private String expression = "CONSUMER.label.A=PROVIDER.label.A &CONSUMER.label.B=PROVIDER.label.B";
     
     @Test
@@ -40,4 +63,67 @@ public class LabelSelectorTest {
         Assert.assertEquals("B", labs[1]);
     }
     
+    @Test
+    public void testSelectSameLabel() {
+        LabelSelector selector = mockSelector();
+        List<Instance> providers = Arrays.asList(instance("1.1.1.1"), instance("1.1.1.2"), instance("2.2.2.2"));
+        List<Instance> selected = selector.select("1.1.1.9", providers);
+        Assert.assertEquals(2, selected.size());
+        Assert.assertEquals("1.1.1.1", selected.get(0).getIp());
+        Assert.assertEquals("1.1.1.2", selected.get(1).getIp());
+        Assert.assertEquals(Collections.singletonList(providers.get(2)), selector.select("2.2.2.9", providers));
+        // Consumer without label or without matched provider gets all providers.
+        Assert.assertEquals(providers, selector.select("3.3.3.3", providers));
+        zones.put("3.3.3.3", "zone3");
+        Assert.assertEquals(providers, selector.select("3.3.3.3", providers));
+        // Labels of provider and consumer are only queried once while cmdb is not changed.
+        Assert.assertEquals(2, selector.select("1.1.1.9", providers).size());
+        Mockito.verify(cmdbReader).queryLabel("1.1.1.1", PreservedEntityTypes.ip.name(), "zone");
+        Mockito.verify(cmdbReader).queryLabel("1.1.1.9", PreservedEntityTypes.ip.name(), "zone");
+    }
+    
+    @Test
+    public void testSelectWithUnknownRevision() {
+        LabelSelector selector = mockSelector();
+        Mockito.when(cmdbReader.getRevision()).thenReturn(CmdbReader.UNKNOWN_REVISION);
+        List<Instance> providers = Arrays.asList(instance("1.1.1.1"), instance("2.2.2.2"));
+        Assert.assertEquals(1, selector.select("1.1.1.9", providers).size());
+        zones.put("2.2.2.2", "zone1");
+        Assert.assertEquals(2, selector.select("1.1.1.9", providers).size());
+        Mockito.verify(cmdbReader, Mockito.times(2)).queryLabel("1.1.1.9", PreservedEntityTypes.ip.name(), "zone");
+    }
+    
+    @Test
+    public void testSelectAfterChange() {
+        LabelSelector selector = mockSelector();
+        List<Instance> providers = new ArrayList<>(Arrays.asList(instance("1.1.1.1"), instance("2.2.2.2")));
+        Assert.assertEquals(1, selector.select("1.1.1.9", providers).size());
+        providers.add(instance("1.1.1.2"));
+        Assert.assertEquals(2, selector.select("1.1.1.9", providers).size());
+        zones.put("2.2.2.2", "zone1");
+        Mockito.when(cmdbReader.getRevision()).thenReturn(1L);
+        Assert.assertEquals(3, selector.select("1.1.1.9", providers).size());
+    }
+    
+    private LabelSelector mockSelector() {
+        ApplicationUtils.injectContext(context);
+        Mockito.when(context.getBean(CmdbReader.class)).thenReturn(cmdbReader);
+        Mockito.when(cmdbReader.queryLabel(Mockito.anyString(), Mockito.eq(PreservedEntityTypes.ip.name()),
+                Mockito.eq("zone"))).thenAnswer(invocation -> zones.get(invocation.<String>getArgument(0)));
+        zones.put("1.1.1.1", "zone1");
+        zones.put("1.1.1.2", "zone1");
+        zones.put("1.1.1.9", "zone1");
+        zones.put("2.2.2.2", "zone2");
+        zones.put("2.2.2.9", "zone2");
+        LabelSelector selector = new LabelSelector();
+        selector.setLabels(Collections.singleton("zone"));
+        return selector;
+    }
+    
+    private Instance instance(String ip) {
+        Instance instance = new Instance();
+        instance.setIp(ip);
+        instance.setPort(8080);
+        return instance;
+    }
 }
@@ -20,6 +20,7 @@ import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.common.executor.ExecutorFactory;
 import com.alibaba.nacos.common.executor.NameThreadFactory;
 import com.alibaba.nacos.common.utils.ConcurrentHashSet;
+import com.alibaba.nacos.common.utils.MD5Utils;
 import com.alibaba.nacos.common.utils.ThreadUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,6 +28,8 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardWatchEventKinds;
@@ -34,18 +37,20 @@ import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Unified file change monitoring management center, which uses {@link WatchService} internally. One file directory
- * corresponds to one {@link WatchService}. It can only monitor up to 32 file directories. When a file change occurs, a
- * {@link FileChangeEvent} will be issued
+ * Unified file change monitoring management center, which uses {@link WatchService} internally. All file directories
+ * share one {@link WatchService} and one watch thread. The events of a file are debounced within {@code
+ * nacos.watch-file.debounce-ms} milliseconds, and a {@link FileChangeEvent} will be issued only when the content of the
+ * file is changed.
  *
  * @author <a href="mailto:liaochuntao@live.com">liaochuntao</a>
  */
@@ -54,11 +59,13 @@ public class WatchFileCenter {
     private static final Logger LOGGER = LoggerFactory.getLogger(WatchFileCenter.class);
     
     /**
-     * Maximum number of monitored file directories.
+     * The window to coalesce the events of one file.
      */
-    private static final int MAX_WATCH_FILE_JOB = Integer.getInteger("nacos.watch-file.max-dirs", 16);
+    private static final long DEBOUNCE_MS = Long.getLong("nacos.watch-file.debounce-ms", 100L);
     
-    private static final Map<String, WatchDirJob> MANAGER = new HashMap<String, WatchDirJob>(MAX_WATCH_FILE_JOB);
+    private static final Map<String, WatchDirJob> MANAGER = new HashMap<String, WatchDirJob>();
+    
+    private static final Map<WatchKey, WatchDirJob> KEY_MANAGER = new ConcurrentHashMap<WatchKey, WatchDirJob>();
     
     private static final FileSystem FILE_SYSTEM = FileSystems.getDefault();
     
@@ -73,11 +80,11 @@ public class WatchFileCenter {
         });
     }
     
-    /**
-     * The number of directories that are currently monitored.
-     */
-    @SuppressWarnings("checkstyle:StaticVariableName")
-    private static int NOW_WATCH_JOB_CNT = 0;
+    private static WatchService watchService;
+    
+    private static WatchJob watchJob;
+    
+    private static ScheduledExecutorService callBackExecutor;
     
     /**
      * Register {@link FileWatcher} in this directory.
@@ -89,15 +96,12 @@ public class WatchFileCenter {
      */
     public static synchronized boolean registerWatcher(final String paths, FileWatcher watcher) throws NacosException {
         checkState();
-        if (NOW_WATCH_JOB_CNT == MAX_WATCH_FILE_JOB) {
-            return false;
-        }
         WatchDirJob job = MANAGER.get(paths);
         if (job == null) {
+            startWatchJob();
             job = new WatchDirJob(paths);
-            job.start();
+            KEY_MANAGER.put(job.watchKey, job);
             MANAGER.put(paths, job);
-            NOW_WATCH_JOB_CNT++;
         }
         job.addSubscribe(watcher);
         return true;
@@ -110,11 +114,10 @@ public class WatchFileCenter {
      * @return deregister is success
      */
     public static synchronized boolean deregisterAllWatcher(final String path) {
-        WatchDirJob job = MANAGER.get(path);
+        WatchDirJob job = MANAGER.remove(path);
         if (job != null) {
             job.shutdown();
-            MANAGER.remove(path);
-            NOW_WATCH_JOB_CNT--;
+            KEY_MANAGER.remove(job.watchKey);
             return true;
         }
         return false;
@@ -123,7 +126,7 @@ public class WatchFileCenter {
     /**
      * close {@link WatchFileCenter}.
      */
-    public static void shutdown() {
+    public static synchronized void shutdown() {
         if (!CLOSED.compareAndSet(false, true)) {
             return;
         }
@@ -137,7 +140,11 @@ public class WatchFileCenter {
             }
         }
         MANAGER.clear();
-        NOW_WATCH_JOB_CNT = 0;
+        KEY_MANAGER.clear();
+        if (watchJob != null) {
+            watchJob.shutdown();
+            ThreadUtils.shutdownThreadPool(callBackExecutor);
+        }
         LOGGER.warn("[WatchFileCenter] already closed");
     }
     
@@ -157,37 +164,112 @@ public class WatchFileCenter {
         return false;
     }
     
-    private static class WatchDirJob extends Thread {
+    private static void startWatchJob() throws NacosException {
+        if (watchJob != null) {
+            return;
+        }
+        try {
+            watchService = FILE_SYSTEM.newWatchService();
+        } catch (Throwable ex) {
+            throw new NacosException(NacosException.SERVER_ERROR, ex);
+        }
+        callBackExecutor = ExecutorFactory
+                .newSingleScheduledExecutorService(new NameThreadFactory("com.alibaba.nacos.sys.file.watch-callback"));
+        watchJob = new WatchJob(watchService);
+        watchJob.start();
+    }
+    
+    private static class WatchJob extends Thread {
+        
+        private final WatchService watchService;
+        
+        private volatile boolean watch = true;
         
-        private ExecutorService callBackExecutor;
+        WatchJob(WatchService watchService) {
+            setName("com.alibaba.nacos.sys.file.watch");
+            setDaemon(true);
+            this.watchService = watchService;
+        }
+        
+        void shutdown() {
+            watch = false;
+            try {
+                watchService.close();
+            } catch (Throwable ex) {
+                LOGGER.error("[WatchFileCenter] close watch service has error : {}", ex);
+            }
+        }
+        
+        @Override
+        public void run() {
+            while (watch) {
+                try {
+                    final WatchKey watchKey = watchService.take();
+                    final WatchDirJob job = KEY_MANAGER.get(watchKey);
+                    for (WatchEvent<?> event : watchKey.pollEvents()) {
+                        if (job == null) {
+                            continue;
+                        }
+                        // Since the OS's event cache may be overflow, a backstop is needed
+                        if (StandardWatchEventKinds.OVERFLOW.equals(event.kind())) {
+                            job.eventOverflow();
+                        } else {
+                            job.eventReceived(String.valueOf(event.context()));
+                        }
+                    }
+                    watchKey.reset();
+                } catch (InterruptedException ignore) {
+                    Thread.interrupted();
+                } catch (Throwable ex) {
+                    if (watch) {
+                        LOGGER.error("An exception occurred during file listening : {}", ex);
+                    }
+                }
+            }
+        }
+    }
+    
+    private static class WatchDirJob {
         
         private final String paths;
         
-        private WatchService watchService;
+        private final Path dir;
         
-        private volatile boolean watch = true;
+        private final WatchKey watchKey;
         
-        private Set<FileWatcher> watchers = new ConcurrentHashSet<>();
+        private final Set<FileWatcher> watchers = new ConcurrentHashSet<>();
         
-        public WatchDirJob(String paths) throws NacosException {
-            setName(paths);
+        /**
+         * File name -> time of its last event which is not dispatched yet.
+         */
+        private final Map<String, Long> pendingEvents = new ConcurrentHashMap<>();
+        
+        /**
+         * File name -> md5 of the content which is last dispatched.
+         */
+        private final Map<String, String> contentMd5s = new ConcurrentHashMap<>();
+        
+        WatchDirJob(String paths) throws NacosException {
             this.paths = paths;
-            final Path p = Paths.get(paths);
-            if (!p.toFile().isDirectory()) {
+            this.dir = Paths.get(paths);
+            if (!dir.toFile().isDirectory()) {
                 throw new IllegalArgumentException("Must be a file directory : " + paths);
             }
             
-            this.callBackExecutor = ExecutorFactory
-                    .newSingleExecutorService(new NameThreadFactory("com.alibaba.nacos.sys.file.watch-" + paths));
-            
             try {
-                WatchService service = FILE_SYSTEM.newWatchService();
-                p.register(service, StandardWatchEventKinds.OVERFLOW, StandardWatchEventKinds.ENTRY_MODIFY,
-                        StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE);
-                this.watchService = service;
+                this.watchKey = dir.register(watchService, StandardWatchEventKinds.OVERFLOW,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE);
             } catch (Throwable ex) {
                 throw new NacosException(NacosException.SERVER_ERROR, ex);
             }
+            // Take the current contents as the base line, so that an event without content change is dropped.
+            for (File file : listFiles()) {
+                String md5 = contentMd5(file.getName());
+                if (md5 != null) {
+                    contentMd5s.put(file.getName(), md5);
+                }
+            }
         }
         
         void addSubscribe(final FileWatcher watcher) {
@@ -195,43 +277,66 @@ public class WatchFileCenter {
         }
         
         void shutdown() {
-            watch = false;
-            ThreadUtils.shutdownThreadPool(this.callBackExecutor);
+            watchKey.cancel();
+            pendingEvents.clear();
         }
         
-        @Override
-        public void run() {
-            while (watch) {
-                try {
-                    final WatchKey watchKey = watchService.take();
-                    final List<WatchEvent<?>> events = watchKey.pollEvents();
-                    watchKey.reset();
-                    if (callBackExecutor.isShutdown()) {
-                        return;
-                    }
-                    if (events.isEmpty()) {
-                        continue;
-                    }
-                    callBackExecutor.execute(new Runnable() {
-                        @Override
-                        public void run() {
-                            for (WatchEvent<?> event : events) {
-                                WatchEvent.Kind<?> kind = event.kind();
-                                
-                                // Since the OS's event cache may be overflow, a backstop is needed
-                                if (StandardWatchEventKinds.OVERFLOW.equals(kind)) {
-                                    eventOverflow();
-                                } else {
-                                    eventProcess(event.context());
-                                }
-                            }
-                        }
-                    });
-                } catch (InterruptedException ignore) {
-                    Thread.interrupted();
-                } catch (Throwable ex) {
-                    LOGGER.error("An exception occurred during file listening : {}", ex);
+        /**
+         * Record the event of the file, it is dispatched once no more event of the file comes within the debounce
+         * window.
+         *
+         * @param fileName file name
+         */
+        void eventReceived(String fileName) {
+            if (pendingEvents.put(fileName, System.currentTimeMillis()) == null) {
+                scheduleDispatch(fileName, DEBOUNCE_MS);
+            }
+        }
+        
+        private void scheduleDispatch(final String fileName, long delay) {
+            if (callBackExecutor.isShutdown()) {
+                return;
+            }
+            callBackExecutor.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    dispatch(fileName);
                 }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+        
+        private void dispatch(String fileName) {
+            Long lastEventTime = pendingEvents.get(fileName);
+            if (lastEventTime == null) {
+                return;
+            }
+            long remain = lastEventTime + DEBOUNCE_MS - System.currentTimeMillis();
+            // A new event came after this dispatch was scheduled, wait for the rest of its window.
+            if (remain > 0 || !pendingEvents.remove(fileName, lastEventTime)) {
+                scheduleDispatch(fileName, remain > 0 ? remain : DEBOUNCE_MS);
+                return;
+            }
+            String md5 = contentMd5(fileName);
+            String lastMd5 = md5 == null ? contentMd5s.remove(fileName) : contentMd5s.put(fileName, md5);
+            if (Objects.equals(md5, lastMd5)) {
+                return;
+            }
+            eventProcess(fileName);
+        }
+        
+        private String contentMd5(String fileName) {
+            Path file = dir.resolve(fileName);
+            if (Files.isDirectory(file)) {
+                return null;
+            }
+            try {
+                return MD5Utils.md5Hex(Files.readAllBytes(file));
+            } catch (NoSuchFileException ignore) {
+                return null;
+            } catch (Throwable ex) {
+                // Treated as a deleted file, the next readable content will be dispatched.
+                LOGGER.warn("[WatchFileCenter] read file {} has error : {}", file, ex);
+                return null;
             }
         }
         
@@ -261,16 +366,20 @@ public class WatchFileCenter {
         }
         
         private void eventOverflow() {
-            File dir = Paths.get(paths).toFile();
-            for (File file : Objects.requireNonNull(dir.listFiles())) {
-                // Subdirectories do not participate in listening
-                if (file.isDirectory()) {
-                    continue;
-                }
-                eventProcess(file.getName());
+            for (File file : listFiles()) {
+                eventReceived(file.getName());
+            }
+            // Deleted files are missing in the listing.
+            for (String fileName : contentMd5s.keySet()) {
+                eventReceived(fileName);
             }
         }
         
+        private File[] listFiles() {
+            // Subdirectories do not participate in listening
+            return Objects.requireNonNull(dir.toFile().listFiles(File::isFile));
+        }
+        
     }
     
     private static void checkState() {
@@ -0,0 +1,146 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.sys.file;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+public class WatchFileCenterTest {
+    
+    private static final String FILE_NAME = "cluster.conf";
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private String path;
+    
+    private File file;
+    
+    private final List<FileChangeEvent> events = new CopyOnWriteArrayList<FileChangeEvent>();
+    
+    @Before
+    public void setUp() throws Exception {
+        path = folder.getRoot().getAbsolutePath();
+        file = new File(path, FILE_NAME);
+        write("127.0.0.1:8848");
+        Assert.assertTrue(WatchFileCenter.registerWatcher(path, new FileWatcher() {
+            @Override
+            public void onChange(FileChangeEvent event) {
+                events.add(event);
+            }
+            
+            @Override
+            public boolean interest(String context) {
+                return FILE_NAME.equals(context);
+            }
+        }));
+    }
+    
+    @After
+    public void tearDown() {
+        WatchFileCenter.deregisterAllWatcher(path);
+    }
+    
+    @Test
+    public void testBurstOfWritesIsCoalesced() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            write("127.0.0.1:8848\n127.0.0.1:" + (8849 + i));
+        }
+        waitForEvents(1);
+        TimeUnit.MILLISECONDS.sleep(500L);
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals(path, events.get(0).getPaths());
+        Assert.assertEquals(FILE_NAME, String.valueOf(events.get(0).getContext()));
+    }
+    
+    @Test
+    public void testUnchangedContentIsDropped() throws Exception {
+        write("127.0.0.1:8848");
+        TimeUnit.MILLISECONDS.sleep(1000L);
+        Assert.assertEquals(0, events.size());
+        
+        write("127.0.0.1:8849");
+        waitForEvents(1);
+        Assert.assertEquals(1, events.size());
+    }
+    
+    @Test
+    public void testDeleteIsDispatched() throws Exception {
+        Assert.assertTrue(file.delete());
+        waitForEvents(1);
+        Assert.assertEquals(1, events.size());
+    }
+    
+    @Test
+    public void testWatchManyDirectories() throws Exception {
+        final List<String> dirs = new ArrayList<String>();
+        final List<FileChangeEvent> lastDirEvents = new CopyOnWriteArrayList<FileChangeEvent>();
+        try {
+            for (int i = 0; i < 40; i++) {
+                final String dir = folder.newFolder("dir" + i).getAbsolutePath();
+                final boolean last = i == 39;
+                dirs.add(dir);
+                Assert.assertTrue(WatchFileCenter.registerWatcher(dir, new FileWatcher() {
+                    @Override
+                    public void onChange(FileChangeEvent event) {
+                        lastDirEvents.add(event);
+                    }
+                    
+                    @Override
+                    public boolean interest(String context) {
+                        return last && FILE_NAME.equals(context);
+                    }
+                }));
+            }
+            String lastDir = dirs.get(dirs.size() - 1);
+            Files.write(new File(lastDir, FILE_NAME).toPath(), "127.0.0.1:8848".getBytes(StandardCharsets.UTF_8));
+            long deadline = System.currentTimeMillis() + 10000L;
+            while (lastDirEvents.isEmpty() && System.currentTimeMillis() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(50L);
+            }
+            Assert.assertEquals(1, lastDirEvents.size());
+            Assert.assertEquals(lastDir, lastDirEvents.get(0).getPaths());
+        } finally {
+            for (String dir : dirs) {
+                WatchFileCenter.deregisterAllWatcher(dir);
+            }
+        }
+    }
+    
+    private void write(String content) throws Exception {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private void waitForEvents(int count) throws Exception {
+        long deadline = System.currentTimeMillis() + 10000L;
+        while (events.size() < count && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(50L);
+        }
+    }
+}